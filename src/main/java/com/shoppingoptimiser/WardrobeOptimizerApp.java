@@ -3,84 +3,826 @@ package com.shoppingoptimiser;
 import ai.timefold.solver.core.api.solver.Solver;
 import ai.timefold.solver.core.api.solver.SolverFactory;
 import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.CatalogDelta;
+import com.shoppingoptimiser.catalog.CatalogFeed;
+import com.shoppingoptimiser.catalog.CatalogIndex;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.CatalogStore;
+import com.shoppingoptimiser.catalog.DeltaImporter;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.catalog.SkuAggregator;
+import com.shoppingoptimiser.catalog.WardrobeImporter;
+import com.shoppingoptimiser.domain.AggregatedWardrobeSolution;
+import com.shoppingoptimiser.domain.CategoryQuota;
 import com.shoppingoptimiser.domain.ClothingCategory;
 import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.CoverageDeadline;
+import com.shoppingoptimiser.domain.PurchasePeriod;
+import com.shoppingoptimiser.domain.PurchasePlan;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.SkuGroup;
+import com.shoppingoptimiser.domain.Store;
 import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.monitoring.CatalogLoadEvent;
+import com.shoppingoptimiser.monitoring.FirstSolutionTimer;
+import com.shoppingoptimiser.monitoring.FlightRecording;
+import com.shoppingoptimiser.monitoring.PreprocessingEvent;
+import com.shoppingoptimiser.monitoring.ResultRenderingEvent;
+import com.shoppingoptimiser.monitoring.SolveFlightRecorder;
+import com.shoppingoptimiser.sharding.LocalWorkerPool;
+import com.shoppingoptimiser.sharding.ShardCoordinator;
+import com.shoppingoptimiser.sharding.ShardResult;
+import com.shoppingoptimiser.solver.ConvergenceRecorder;
+import com.shoppingoptimiser.solver.ConvergenceTermination;
+import com.shoppingoptimiser.solver.DeadlineResult;
+import com.shoppingoptimiser.solver.DeadlineSolver;
+import com.shoppingoptimiser.solver.DiverseBasket;
+import com.shoppingoptimiser.solver.DiverseBasketCollector;
+import com.shoppingoptimiser.solver.OptimalityGapTermination;
+import com.shoppingoptimiser.solver.OutfitCounter;
+import com.shoppingoptimiser.solver.PortfolioResult;
+import com.shoppingoptimiser.solver.SolveCheckpoint;
+import com.shoppingoptimiser.solver.SolveCheckpointer;
+import com.shoppingoptimiser.solver.SolverPortfolio;
+import com.shoppingoptimiser.solver.SolverProfile;
+import com.shoppingoptimiser.solver.SkuConstraintProvider;
+import com.shoppingoptimiser.solver.SoftScoreUpperBound;
 import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
-
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * Main application to demonstrate the wardrobe optimizer.
  */
 public class WardrobeOptimizerApp {
 
-    public static void main(String[] args) {
+    // Alternative baskets must differ from each other in at least this many items
+    private static final int MIN_BASKET_DISTANCE = 2;
+    // Stop once the best feasible soft score is within this fraction of the upper bound
+    private static final double DEFAULT_OPTIMALITY_GAP = 0.25;
+    private static final int DEFAULT_CHECKPOINT_SECONDS = 30;
+    private static final int DEFAULT_LATENCY_SECONDS = 60;
+    private static final String PERIODS_SOLVER_CONFIG = "solverConfig-periods.xml";
+    private static final int DEFAULT_STORED_CATALOG_SIZE = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        // --jfr=FILE: record the solve lifecycle with Java Flight Recorder using the bundled settings
+        String jfrFile = stringOption(args, "--jfr=");
+        if (jfrFile == null) {
+            optimize(args);
+            return;
+        }
+        try (Recording recording = FlightRecording.start(Paths.get(jfrFile))) {
+            optimize(args);
+            recording.stop();
+            System.out.println("Flight recording written to " + jfrFile);
+        }
+    }
+
+    private static void optimize(String[] args) {
+        // --aggregate-skus: solve on groups of interchangeable items instead of single items
+        boolean aggregateSkus = Arrays.asList(args).contains("--aggregate-skus");
+        // --alternatives=K: also report up to K diverse near-optimal baskets found during search
+        int alternatives = intOption(args, "--alternatives=", 0);
+        DiverseBasketCollector basketCollector = alternatives > 0
+                ? new DiverseBasketCollector(alternatives + 1, MIN_BASKET_DISTANCE) : null;
+        // --portfolio: race late acceptance, tabu search and simulated annealing with several seeds
+        boolean portfolio = Arrays.asList(args).contains("--portfolio");
+        // --gap=G: stop when the soft score is provably within G (e.g. 0.1 = 10%) of the optimum
+        double maxGap = doubleOption(args, "--gap=", DEFAULT_OPTIMALITY_GAP);
+        // --record=FILE: export the best score over time to FILE (.csv or .json)
+        String recordFile = stringOption(args, "--record=");
+        // --preferred-styles-only: only consider items in the preferred styles
+        boolean preferredStylesOnly = Arrays.asList(args).contains("--preferred-styles-only");
+        // --stores=N: spread the catalog over N stores that charge shipping
+        int storeCount = intOption(args, "--stores=", 0);
+        // --shards=N: split the catalog into N price bands, each solved by a worker JVM started on this machine
+        int shardCount = intOption(args, "--shards=", 0);
+        // --workers=HOST:PORT,...: solve one price band per already running ShardWorker
+        String workerAddresses = stringOption(args, "--workers=");
+        // --checkpoint=FILE: save the best solution to FILE every --checkpoint-interval=S seconds (default 30)
+        String checkpointFile = stringOption(args, "--checkpoint=");
+        int checkpointSeconds = intOption(args, "--checkpoint-interval=", DEFAULT_CHECKPOINT_SECONDS);
+        // --resume: start from the checkpoint FILE if it was taken on the same catalog
+        boolean resume = Arrays.asList(args).contains("--resume");
+        // --latency=S: answer within S seconds (default 60); short budgets pick the interactive solver profile
+        Duration latency = Duration.ofSeconds(intOption(args, "--latency=", DEFAULT_LATENCY_SECONDS));
+        // --profile=NAME: use the interactive, default or large solver profile instead of choosing by catalog size
+        String profileName = stringOption(args, "--profile=");
+        // --quotas=CATEGORY:MIN-MAX,...: replace the default category quotas, e.g. outerwear:1-1,accessory:0-2
+        String quotas = stringOption(args, "--quotas=");
+        // --owned=FILE: clothes already owned, as CSV lines of name,category,style,color; only the rest is searched
+        String ownedFile = stringOption(args, "--owned=");
+        // --household=N: shop for N people, each with their own sizes, styles and quotas, on one shared budget
+        List<Shopper> shoppers = SampleCatalog.generateShoppers(intOption(args, "--household=", 0));
+        // --sizes=CATEGORY:SIZE,...: stock the catalog per size and only consider your sizes, e.g. top:M,shoes:42
+        String sizes = stringOption(args, "--sizes=");
+        // --catalog=FILE: read the catalog from a CatalogStore FILE on disk instead of the heap; if FILE does not
+        // exist, a sample of --catalog-size=N items (default 1000000) with per-size stock is written to it first
+        String catalogFile = stringOption(args, "--catalog=");
+        long catalogSize = intOption(args, "--catalog-size=", DEFAULT_STORED_CATALOG_SIZE);
+        // --periods=N: spread the purchases over N months with the budget each, instead of buying all at once
+        int periodCount = intOption(args, "--periods=", 0);
+        // --deadlines=CATEGORY:COUNT@MONTH,...: what must be bought by when, e.g. outerwear:1@3; needs --periods
+        String deadlines = stringOption(args, "--deadlines=");
+        // --feed=FILE: import the changes of a catalog feed snapshot, as CSV lines of
+        // id,name,category,price,style,color,inStock,sizes,store; if FILE does not exist, the catalog is written to it
+        String feedFile = stringOption(args, "--feed=");
+        // --latency-deadline=MS: answer within MS milliseconds, e.g. 800, splitting the time by catalog size and
+        // returning the best basket found by then, feasible or not
+        int latencyDeadlineMillis = intOption(args, "--latency-deadline=", 0);
+
         System.out.println("=== Wardrobe Optimizer ===");
         System.out.println("Optimizing clothing purchases to maximize outfit combinations while staying within budget");
         System.out.println();
 
         // Create sample clothing items
-        List<ClothingItem> items = createSampleWardrobe();
+        CatalogLoadEvent catalogLoadEvent = new CatalogLoadEvent();
+        catalogLoadEvent.begin();
+        // With a catalog store only the candidates are loaded, by the candidate filter below
+        CatalogStore catalogStore = null;
+        List<ClothingItem> items;
+        if (sizes != null && !shoppers.isEmpty()) {
+            throw new IllegalArgumentException("The sizes (" + sizes + ") are a single shopper's"
+                    + " and do not support households, whose shoppers have their own sizes.");
+        }
+        SizeProfile sizeProfile = sizes != null ? SizeProfile.parse(sizes) : SizeProfile.ANY;
+        if (feedFile != null && (catalogFile != null || !shoppers.isEmpty())) {
+            throw new IllegalArgumentException("The catalog feed (" + feedFile
+                    + ") updates a single shopper's catalog in the heap"
+                    + " and does not support catalog stores or households.");
+        }
+        if (alternatives > 0 && (portfolio || aggregateSkus || shardCount > 0 || workerAddresses != null
+                || periodCount > 0 || latencyDeadlineMillis > 0)) {
+            throw new IllegalArgumentException("The alternative baskets (" + alternatives
+                    + ") are collected from a single item-level solve and do not support portfolios, SKU aggregation,"
+                    + " sharding, periods or latency deadlines.");
+        }
+        if (periodCount > 0 && (ownedFile != null || storeCount > 0 || !shoppers.isEmpty())) {
+            throw new IllegalArgumentException("The purchase plan over " + periodCount
+                    + " periods applies to a single shopper's catalog"
+                    + " and does not support owned items, stores or households.");
+        }
+        if (periodCount > 0 && quotas != null) {
+            throw new IllegalArgumentException("The purchase plan over " + periodCount
+                    + " periods is bounded by coverage deadlines instead of the category quotas (" + quotas
+                    + "); use --deadlines.");
+        }
+        if (deadlines != null && periodCount == 0) {
+            throw new IllegalArgumentException("The coverage deadlines (" + deadlines + ") need --periods.");
+        }
+        if (latencyDeadlineMillis > 0 && (catalogFile != null || !shoppers.isEmpty() || periodCount > 0)) {
+            throw new IllegalArgumentException("The latency deadline (" + latencyDeadlineMillis
+                    + " ms) applies to a single shopper's catalog in the heap"
+                    + " and does not support catalog stores, households or periods.");
+        }
+        if (catalogFile != null) {
+            if (!shoppers.isEmpty()) {
+                throw new IllegalArgumentException("The catalog store (" + catalogFile
+                        + ") holds a single shopper's catalog and does not support households.");
+            }
+            catalogStore = openCatalogStore(Paths.get(catalogFile), catalogSize, storeCount);
+            catalogSize = catalogStore.size();
+            items = List.of();
+        } else {
+            items = shoppers.isEmpty()
+                    ? createSampleWardrobe() : SampleCatalog.generateHousehold(shoppers, 500, new Random(42));
+            if (sizeProfile != SizeProfile.ANY) {
+                SampleCatalog.assignSizeStock(items, new Random(44));
+            }
+            if (storeCount > 0) {
+                SampleCatalog.assignStores(items, SampleCatalog.generateStores(storeCount, new Random(43)), new Random(43));
+            }
+            catalogSize = items.size();
+        }
+        catalogLoadEvent.source = catalogStore != null ? "store" : "sample";
+        catalogLoadEvent.itemCount = (int) Math.min(catalogSize, Integer.MAX_VALUE);
+        catalogLoadEvent.commit();
 
-        // Define budget
-        double budget = 120.0;
+        // Define budget, $120 per person in a household
+        double budget = 120.0 * Math.max(1, shoppers.size());
 
         // Define style preferences
         List<String> preferredStyles = List.of("casual", "smart-casual");
 
-        // Create the problem
-        WardrobeSolution problem = new WardrobeSolution(items, budget, preferredStyles);
+        // Create the problem from the candidate items only. Out-of-stock and over-budget items
+        // can never be part of a feasible basket, so leaving them out does not change the optimum.
+        PreprocessingEvent filterEvent = new PreprocessingEvent();
+        filterEvent.begin();
+        CatalogQuery candidateQuery = CatalogQuery.all().inStockOnly().maxPrice(budget).sizes(sizeProfile);
+        if (preferredStylesOnly) {
+            candidateQuery.styles(preferredStyles);
+        }
+        List<ClothingItem> candidates;
+        CatalogIndex catalogIndex = null;
+        if (catalogStore != null) {
+            candidates = findAndClose(catalogStore, candidateQuery);
+            items = candidates;
+        } else {
+            catalogIndex = CatalogIndex.of(items);
+            if (feedFile != null) {
+                importFeed(catalogIndex, Paths.get(feedFile));
+                items = catalogIndex.items();
+                catalogSize = items.size();
+            }
+            candidates = catalogIndex.find(candidateQuery);
+        }
+        filterEvent.stage = "candidate-filter";
+        filterEvent.inputCount = (int) Math.min(catalogSize, Integer.MAX_VALUE);
+        filterEvent.outputCount = candidates.size();
+        filterEvent.commit();
+        List<ClothingItem> owned = ownedFile == null ? List.of() : importOwned(ownedFile);
+        List<ClothingItem> problemItems = new ArrayList<>(owned);
+        problemItems.addAll(candidates);
+        WardrobeSolution problem = new WardrobeSolution(problemItems, budget, preferredStyles);
+        List<CategoryQuota> categoryQuotas = quotas != null ? CategoryQuota.parse(quotas) : CategoryQuota.defaults();
+        problem.setCategoryQuotas(shoppers.isEmpty()
+                ? categoryQuotas : CategoryQuota.perShopper(categoryQuotas, shoppers));
+        SolverProfile profile = profileName != null
+                ? SolverProfile.parse(profileName) : SolverProfile.select(candidates.size(), latency);
 
         System.out.println("Problem setup:");
         System.out.println("  Budget: $" + budget);
-        System.out.println("  Available items: " + items.size());
-        System.out.println("  Preferred styles: " + String.join(", ", preferredStyles));
+        System.out.println("  Available items: " + catalogSize + (catalogStore != null ? " (in " + catalogFile + ")" : ""));
+        System.out.println("  Candidate items: " + candidates.size()
+                + (preferredStylesOnly ? " (in stock, within budget, preferred styles)" : " (in stock, within budget)"));
+        if (!owned.isEmpty()) {
+            System.out.println("  Owned items: " + owned.size() + " (pinned, counted in every outfit)");
+        }
+        if (shoppers.isEmpty()) {
+            System.out.println("  Preferred styles: " + String.join(", ", preferredStyles));
+            if (sizeProfile != SizeProfile.ANY) {
+                System.out.println("  Sizes: " + sizeProfile);
+            }
+        } else {
+            System.out.println("  Household: " + shoppers.size() + " shoppers sharing the budget");
+            for (Shopper shopper : shoppers) {
+                System.out.println("    " + shopper.getName() + " prefers "
+                        + String.join(", ", shopper.getPreferredStyles()) + " in " + shopper.getSizes());
+            }
+        }
+        if (quotas != null) {
+            System.out.println("  Category quotas: " + problem.getCategoryQuotas());
+        }
+        System.out.println("  Solver profile: " + (periodCount > 0 ? PERIODS_SOLVER_CONFIG
+                : profile.name().toLowerCase(Locale.ROOT) + " (" + profile.getResource() + ")"));
+        if (storeCount > 0) {
+            System.out.println("  Stores: " + problem.getStores().size() + " (shipping charged once per store used)");
+        }
         System.out.println();
 
-        // Print inventory statistics
+        // Print inventory statistics, of the candidates only for a catalog store
         printInventoryStatistics(items);
 
-        // Create solver with termination config: stop when optimal solution found OR 1 minute passed
-        SolverConfig solverConfig = new SolverConfig()
-                .withSolutionClass(WardrobeSolution.class)
-                .withEntityClasses(ClothingItem.class)
-                .withConstraintProviderClass(WardrobeConstraintProvider.class);
+        if (latencyDeadlineMillis > 0) {
+            solveByDeadline(catalogIndex, candidateQuery, owned, budget, preferredStyles, problem.getCategoryQuotas(),
+                    Duration.ofMillis(latencyDeadlineMillis));
+            return;
+        }
 
-        // Configure termination: stop at optimal score (0hard) OR after 60 seconds
-        solverConfig.withTerminationConfig(new ai.timefold.solver.core.config.solver.termination.TerminationConfig()
-                .withBestScoreLimit("0hard/*soft")  // Stop when all hard constraints satisfied
-                .withSpentLimit(Duration.ofSeconds(60)));  // OR stop after 60 seconds
+        if (periodCount > 0) {
+            planPurchases(candidates, PurchasePeriod.months(periodCount, budget),
+                    deadlines != null ? CoverageDeadline.parse(deadlines) : CoverageDeadline.defaults(),
+                    preferredStyles, latency);
+            return;
+        }
 
-        SolverFactory<WardrobeSolution> solverFactory = SolverFactory.create(solverConfig);
-        Solver<WardrobeSolution> solver = solverFactory.buildSolver();
+        PreprocessingEvent boundEvent = new PreprocessingEvent();
+        boundEvent.begin();
+        long upperBound = SoftScoreUpperBound.compute(problem);
+        boundEvent.stage = "soft-score-upper-bound";
+        boundEvent.inputCount = candidates.size();
+        boundEvent.commit();
+        System.out.println("Soft score upper bound: " + upperBound);
 
         // Solve the problem
-        System.out.println("Solving (max 60 seconds or until optimal solution found)...");
+        System.out.println("Solving (max " + latency.getSeconds() + " seconds or until within "
+                + String.format("%.0f%%", maxGap * 100) + " of the upper bound)...");
         long startTime = System.currentTimeMillis();
-        WardrobeSolution solution = solver.solve(problem);
+        WardrobeSolution solution;
+        if (shardCount > 0 || workerAddresses != null) {
+            solution = solveSharded(problem, shardCount, workerAddresses, maxGap);
+        } else if (aggregateSkus) {
+            solution = solveAggregated(problem, new OptimalityGapTermination<>(upperBound, maxGap), latency);
+        } else if (portfolio) {
+            solution = solvePortfolio(problem, latency);
+        } else {
+            ConvergenceRecorder<WardrobeSolution> recorder = recordFile == null ? null
+                    : new ConvergenceRecorder<>("default/" + catalogSize + " items");
+            SolveCheckpointer checkpointer = null;
+            if (checkpointFile != null) {
+                Path checkpointPath = Paths.get(checkpointFile);
+                if (resume) {
+                    resumeFromCheckpoint(problem, checkpointPath);
+                }
+                checkpointer = new SolveCheckpointer(checkpointPath, problem, Duration.ofSeconds(checkpointSeconds));
+            }
+            solution = solve(problem, profile, latency, basketCollector,
+                    new OptimalityGapTermination<>(upperBound, maxGap), recorder, checkpointer);
+            if (checkpointer != null) {
+                closeCheckpointer(checkpointer, checkpointFile);
+            }
+            if (recorder != null) {
+                exportConvergence(recorder, recordFile);
+            }
+        }
         long endTime = System.currentTimeMillis();
         double solvingTime = (endTime - startTime) / 1000.0;
 
         System.out.println("Solving completed in " + String.format("%.2f", solvingTime) + " seconds");
 
         // Display results
+        ResultRenderingEvent renderingEvent = new ResultRenderingEvent();
+        renderingEvent.begin();
         System.out.println();
         System.out.println("=== Solution Found ===");
         System.out.println(solution);
+        System.out.println("Optimality gap: " + String.format("%.1f%%",
+                SoftScoreUpperBound.gap(upperBound, solution.getScore()) * 100) + " (bound " + upperBound + ")");
 
-        List<ClothingItem> selected = solution.getSelectedItems();
         System.out.println("\nOutfit Combinations:");
-        long tops = selected.stream().filter(item -> item.getCategory() == ClothingCategory.TOP).count();
-        long bottoms = selected.stream().filter(item -> item.getCategory() == ClothingCategory.BOTTOM).count();
-        long shoes = selected.stream().filter(item -> item.getCategory() == ClothingCategory.SHOES).count();
+        long tops = solution.getCategoryCount(ClothingCategory.TOP);
+        long bottoms = solution.getCategoryCount(ClothingCategory.BOTTOM);
+        long shoes = solution.getCategoryCount(ClothingCategory.SHOES);
         System.out.println("  Tops: " + tops);
         System.out.println("  Bottoms: " + bottoms);
         System.out.println("  Shoes: " + shoes);
-        System.out.println("  Basic combinations: " + (tops * bottoms));
-        System.out.println("  With shoe variations: " + (tops * bottoms * Math.max(1, shoes)));
+        System.out.println("  Valid outfits: " + countOutfits(solution.getSelectedItems()));
+        for (Shopper shopper : shoppers) {
+            List<ClothingItem> shopperItems = solution.getSelectedItems().stream()
+                    .filter(item -> item.getShopper() == shopper)
+                    .collect(java.util.stream.Collectors.toList());
+            System.out.println("    " + shopper.getName() + ": " + shopperItems.size() + " items, "
+                    + OutfitCounter.countOutfits(shopperItems) + " outfits");
+        }
+
+        if (basketCollector != null) {
+            printAlternatives(solution, basketCollector.getBaskets());
+        }
+        renderingEvent.target = "console";
+        renderingEvent.selectedCount = solution.getSelectedCount();
+        renderingEvent.commit();
+    }
+
+    /**
+     * Valid outfits among the given items, counted per shopper in a household
+     */
+    private static long countOutfits(List<ClothingItem> items) {
+        return items.stream()
+                .collect(java.util.stream.Collectors.groupingBy(
+                        item -> Optional.ofNullable(item.getShopper())))
+                .values().stream()
+                .mapToLong(OutfitCounter::countOutfits)
+                .sum();
+    }
+
+    /**
+     * Print the diverse baskets other than the returned solution, ranked by score
+     */
+    private static void printAlternatives(WardrobeSolution solution, List<DiverseBasket> baskets) {
+        System.out.println("\n=== Alternative Baskets ===");
+        Set<ClothingItem> solutionItems = new HashSet<>(solution.getSelectedItems());
+        int rank = 0;
+        for (DiverseBasket basket : baskets) {
+            List<ClothingItem> basketItems = basket.selectedFrom(solution.getItems());
+            if (solutionItems.equals(new HashSet<>(basketItems))) {
+                continue;  // Same as the solution shown above
+            }
+            double cost = WardrobeSolution.totalCostOf(basketItems);
+            System.out.println("Alternative " + (++rank) + ": score " + basket.getScore()
+                    + ", cost $" + String.format("%.2f", cost));
+            for (ClothingItem item : basketItems) {
+                System.out.println("    - " + item.getName() + " (" + item.getCategory() + ") - $"
+                        + String.format("%.2f", item.getPrice()));
+            }
+        }
+        if (rank == 0) {
+            System.out.println("  No other feasible basket found");
+        }
+    }
+
+    /**
+     * Parse an integer option of the form {@code --name=value}
+     */
+    private static int intOption(String[] args, String prefix, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Parse a decimal option of the form {@code --name=value}
+     */
+    private static double doubleOption(String[] args, String prefix, double defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Double.parseDouble(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Parse a text option of the form {@code --name=value}, null if absent
+     */
+    private static String stringOption(String[] args, String prefix) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write the recorded convergence curve, reporting but not failing on I/O errors
+     */
+    private static void exportConvergence(ConvergenceRecorder<WardrobeSolution> recorder, String file) {
+        try {
+            recorder.export(Paths.get(file));
+            System.out.println("Recorded " + recorder.size() + " convergence points to " + file);
+        } catch (IOException e) {
+            System.err.println("Could not write convergence record to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Select the checkpointed items if the checkpoint was taken on this catalog, reporting why not otherwise
+     */
+    private static void resumeFromCheckpoint(WardrobeSolution problem, Path file) {
+        if (!Files.exists(file)) {
+            System.out.println("No checkpoint at " + file + ", starting from scratch");
+            return;
+        }
+        try {
+            SolveCheckpoint checkpoint = SolveCheckpoint.read(file);
+            if (!checkpoint.matches(problem)) {
+                System.out.println("Checkpoint " + file + " was taken on a different catalog, starting from scratch");
+                return;
+            }
+            checkpoint.applyTo(problem);
+            System.out.println("Resuming from checkpoint " + file + ": " + checkpoint.getSelectedCount()
+                    + " items, score " + checkpoint.getScore());
+        } catch (IOException e) {
+            System.err.println("Could not read checkpoint " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the final checkpoint, reporting but not failing on I/O errors
+     */
+    private static void closeCheckpointer(SolveCheckpointer checkpointer, String file) {
+        try {
+            checkpointer.close();
+            System.out.println("Wrote " + checkpointer.getWriteCount() + " checkpoints to " + file);
+        } catch (IOException e) {
+            System.err.println("Could not write checkpoint to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read the shopper's owned wardrobe
+     */
+    private static List<ClothingItem> importOwned(String file) {
+        try {
+            return WardrobeImporter.read(Paths.get(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the owned wardrobe " + file, e);
+        }
+    }
+
+    /**
+     * Apply the changes of a catalog feed snapshot to the index, or write the indexed catalog as the snapshot
+     */
+    private static void importFeed(CatalogIndex index, Path file) {
+        try {
+            if (!Files.exists(file)) {
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    CatalogFeed.write(index.items(), writer);
+                }
+                System.out.println("Catalog feed written to " + file + "; edit it and run again to import the changes");
+                return;
+            }
+            Set<Store> stores = new LinkedHashSet<>();
+            for (ClothingItem item : index.items()) {
+                if (item.getStore() != null) {
+                    stores.add(item.getStore());
+                }
+            }
+            DeltaImporter importer = new DeltaImporter(index);
+            long start = System.nanoTime();
+            CatalogDelta delta = importer.importSnapshot(CatalogFeed.read(file, stores));
+            System.out.println("Catalog feed " + file + ": " + delta + " in "
+                    + (System.nanoTime() - start) / 1_000_000L + " ms");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not import the catalog feed " + file, e);
+        }
+    }
+
+    /**
+     * Answer from the indexed catalog by the deadline, explaining the broken constraints if no basket is feasible
+     */
+    private static void solveByDeadline(CatalogIndex catalogIndex, CatalogQuery candidateQuery,
+                                        List<ClothingItem> owned, double budget, List<String> preferredStyles,
+                                        List<CategoryQuota> categoryQuotas, Duration deadline) {
+        DeadlineSolver solver = new DeadlineSolver();
+        System.out.println("Solving by a deadline of " + deadline.toMillis() + " ms...");
+        DeadlineResult result = solver.solve(catalogIndex, candidateQuery, candidates -> {
+            List<ClothingItem> problemItems = new ArrayList<>(owned);
+            problemItems.addAll(candidates);
+            WardrobeSolution problem = new WardrobeSolution(problemItems, budget, preferredStyles);
+            problem.setCategoryQuotas(categoryQuotas);
+            return problem;
+        }, java.time.Instant.now().plus(deadline));
+        System.out.println("  Plan: " + result.getPlan());
+        System.out.println("  Result: " + result);
+        if (!result.isFeasible()) {
+            System.out.println(result.getExplanation());
+        }
+        System.out.println("  " + solver.getStatistics());
+        System.out.println();
+        System.out.println("=== Solution Found ===");
+        System.out.println(result.getSolution());
+        System.out.println("  Valid outfits: " + countOutfits(result.getSolution().getSelectedItems()));
+    }
+
+    /**
+     * Solve the item-level problem with the solver profile's cached factory
+     */
+    private static WardrobeSolution solve(WardrobeSolution problem, SolverProfile profile, Duration latency,
+                                          DiverseBasketCollector basketCollector,
+                                          OptimalityGapTermination<WardrobeSolution> gapTermination,
+                                          ConvergenceRecorder<WardrobeSolution> recorder,
+                                          SolveCheckpointer checkpointer) {
+        // Stop when within the optimality gap, when the soft score stops improving at the catalog's convergence
+        // rate OR when the profile's termination (capped at the latency) ends the solve.
+        // Collecting alternatives needs the search to continue until it stops improving instead.
+        String solveLabel = "console/" + profile.name().toLowerCase(Locale.ROOT) + "/"
+                + problem.getItems().size() + " items";
+        Solver<WardrobeSolution> solver;
+        if (basketCollector != null) {
+            SolverConfig solverConfig = profile.createSolverConfig().withTerminationConfig(
+                    profile.createTerminationConfig(latency).withUnimprovedSpentLimit(Duration.ofSeconds(10)));
+            solver = SolveFlightRecorder.buildSolver(solveLabel,
+                    () -> SolverFactory.<WardrobeSolution>create(solverConfig).buildSolver());
+        } else {
+            solver = SolveFlightRecorder.buildSolver(solveLabel, () -> profile.buildSolver(latency));
+        }
+        new SolveFlightRecorder<WardrobeSolution>(solveLabel).attachTo(solver);
+        ConvergenceTermination<WardrobeSolution> convergence = null;
+        if (basketCollector != null) {
+            basketCollector.attachTo(solver);
+        } else {
+            gapTermination.attachTo(solver);
+            convergence = ConvergenceTermination.forCatalog(problem.getItems().size());
+            convergence.attachTo(solver);
+        }
+        if (recorder != null) {
+            recorder.attachTo(solver);
+        }
+        if (checkpointer != null) {
+            checkpointer.attachTo(solver);
+        }
+        FirstSolutionTimer<WardrobeSolution> startupTimer = new FirstSolutionTimer<>();
+        startupTimer.attachTo(solver);
+        WardrobeSolution solution = solver.solve(problem);
+        printStartupTimes(startupTimer);
+        if (convergence != null) {
+            printStoppedBy(gapTermination, convergence);
+        }
+        return solution;
+    }
+
+    /**
+     * Print which termination ended the solve
+     */
+    private static void printStoppedBy(OptimalityGapTermination<WardrobeSolution> gapTermination,
+                                       ConvergenceTermination<WardrobeSolution> convergence) {
+        if (gapTermination.isTriggered()) {
+            System.out.println("Stopped by: optimality gap");
+        } else if (convergence.isTriggered()) {
+            System.out.println("Stopped by: convergence (" + String.format("%.2f", convergence.getLastRate())
+                    + " soft/s, below " + String.format("%.2f", convergence.getMinSoftPerSecond()) + " soft/s)");
+        } else {
+            System.out.println("Stopped by: solver profile termination (time or unimproved limit)");
+        }
+    }
+
+    /**
+     * Race several solver configurations in parallel and keep the winner's solution
+     */
+    private static WardrobeSolution solvePortfolio(WardrobeSolution problem, Duration latency) {
+        // The race ends at the first feasible solution
+        SolverConfig baseConfig = createSolverConfig(latency)
+                .withTerminationConfig(createTerminationConfig(latency).withBestScoreLimit("0hard/*soft"));
+        SolverPortfolio solverPortfolio = new SolverPortfolio(SolverPortfolio.defaultContenders(baseConfig, 2));
+        PortfolioResult result = solverPortfolio.solve(problem);
+        System.out.print(result.toReport());
+        System.out.println("Winner: " + result.getWinner().getName());
+        return result.getSolution();
+    }
+
+    /**
+     * Solve price band shards on worker JVMs and repair the union of their partial baskets
+     */
+    private static WardrobeSolution solveSharded(WardrobeSolution problem, int shardCount, String workerAddresses,
+                                                 double maxGap) {
+        if (workerAddresses != null) {
+            return solveSharded(problem, ShardCoordinator.parseWorkers(workerAddresses), maxGap);
+        }
+        System.out.println("Starting " + shardCount + " local shard workers...");
+        try (LocalWorkerPool workers = LocalWorkerPool.start(shardCount, List.of("-Xmx1g"))) {
+            return solveSharded(problem, workers.getAddresses(), maxGap);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static WardrobeSolution solveSharded(WardrobeSolution problem, List<InetSocketAddress> workers,
+                                                 double maxGap) {
+        ShardCoordinator coordinator = new ShardCoordinator(workers).withMaxGap(maxGap);
+        WardrobeSolution solution = coordinator.solve(problem);
+        List<ShardResult> shardResults = coordinator.getLastShardResults();
+        for (int i = 0; i < shardResults.size(); i++) {
+            System.out.println("  Shard " + i + " (" + workers.get(i) + "): " + shardResults.get(i));
+        }
+        System.out.println("  Repaired the union of " + solution.getItems().size() + " basket items");
+        return solution;
+    }
+
+    /**
+     * Item-level solver configuration without phases, for the portfolio to add its own
+     */
+    private static SolverConfig createSolverConfig(Duration latency) {
+        return new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(createTerminationConfig(latency));
+    }
+
+    /**
+     * Open the catalog store in the given file, first writing a sample catalog of the given size to it if the
+     * file does not exist
+     */
+    private static CatalogStore openCatalogStore(Path file, long size, int storeCount) {
+        try {
+            if (!Files.exists(file)) {
+                writeSampleCatalogStore(file, size, storeCount);
+            }
+            return CatalogStore.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the catalog store " + file, e);
+        }
+    }
+
+    /**
+     * Stream a sample catalog with per-size stock into a new store, so it never has to fit in the heap
+     */
+    private static void writeSampleCatalogStore(Path file, long size, int storeCount)
+            throws IOException {
+        System.out.println("Writing a sample catalog of " + size + " items to " + file + "...");
+        List<Store> stores = storeCount > 0 ? SampleCatalog.generateStores(storeCount, new Random(43)) : List.of();
+        Random storeRandom = new Random(43);
+        Random sizeRandom = new Random(44);
+        try (CatalogStore.Writer writer = CatalogStore.create(file)) {
+            SampleCatalog.generate(size, new Random(42), item -> {
+                SampleCatalog.assignSizeStock(item, sizeRandom);
+                if (!stores.isEmpty()) {
+                    item.setStore(stores.get(storeRandom.nextInt(stores.size())));
+                }
+                try {
+                    writer.add(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * The items of the store matching the query, closing the store afterwards
+     */
+    private static List<ClothingItem> findAndClose(CatalogStore store, CatalogQuery query) {
+        try (store) {
+            return store.find(query);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the catalog store", e);
+        }
+    }
+
+    /**
+     * Plan the purchases over the given periods, each with its own budget, and print the plan
+     */
+    private static void planPurchases(List<ClothingItem> candidates, List<PurchasePeriod> periods,
+                                      List<CoverageDeadline> deadlines, List<String> preferredStyles,
+                                      Duration latency) {
+        PurchasePlan plan = new PurchasePlan(candidates, periods, preferredStyles);
+        plan.setCoverageDeadlines(deadlines);
+        SolverConfig solverConfig = SolverConfig.createFromXmlResource(PERIODS_SOLVER_CONFIG);
+        TerminationConfig termination = solverConfig.getTerminationConfig();
+        termination.setSecondsSpentLimit(Math.min(termination.getSecondsSpentLimit(), latency.getSeconds()));
+        System.out.println("Planning " + candidates.size() + " candidate items over " + periods.size()
+                + " periods of $" + periods.get(0).getBudget().getAmount() + " (coverage: " + deadlines + ")...");
+
+        String solveLabel = "console-periods/" + periods.size() + " periods";
+        Solver<PurchasePlan> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                () -> SolverFactory.<PurchasePlan>create(solverConfig).buildSolver());
+        new SolveFlightRecorder<PurchasePlan>(solveLabel).attachTo(solver);
+        FirstSolutionTimer<PurchasePlan> startupTimer = new FirstSolutionTimer<>();
+        startupTimer.attachTo(solver);
+        long startTime = System.currentTimeMillis();
+        PurchasePlan solution = solver.solve(plan);
+        System.out.println("Planning completed in "
+                + String.format("%.2f", (System.currentTimeMillis() - startTime) / 1000.0) + " seconds");
+        printStartupTimes(startupTimer);
+
+        System.out.println();
+        System.out.println("=== Purchase Plan Found ===");
+        System.out.println(solution);
+        System.out.println("Valid outfits by the end of the season: "
+                + OutfitCounter.countOutfits(solution.getBoughtItems()));
+    }
+
+    /**
+     * Collapse interchangeable items into SKU groups, solve the smaller problem and expand the result
+     */
+    private static WardrobeSolution solveAggregated(WardrobeSolution problem,
+                                                    OptimalityGapTermination<AggregatedWardrobeSolution> gapTermination,
+                                                    Duration latency) {
+        SkuAggregator aggregator = new SkuAggregator();
+        PreprocessingEvent aggregationEvent = new PreprocessingEvent();
+        aggregationEvent.begin();
+        AggregatedWardrobeSolution aggregated = aggregator.aggregate(problem);
+        aggregationEvent.stage = "sku-aggregation";
+        aggregationEvent.inputCount = aggregated.getItemCount();
+        aggregationEvent.outputCount = aggregated.getGroups().size();
+        aggregationEvent.commit();
+        System.out.println("Aggregated " + aggregated.getItemCount() + " items into "
+                + aggregated.getGroups().size() + " SKU groups");
+
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(AggregatedWardrobeSolution.class)
+                .withEntityClasses(SkuGroup.class)
+                .withConstraintProviderClass(SkuConstraintProvider.class)
+                .withTerminationConfig(createTerminationConfig(latency));
+
+        String solveLabel = "console-aggregated/" + aggregated.getGroups().size() + " groups";
+        Solver<AggregatedWardrobeSolution> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                () -> SolverFactory.<AggregatedWardrobeSolution>create(solverConfig).buildSolver());
+        new SolveFlightRecorder<AggregatedWardrobeSolution>(solveLabel).attachTo(solver);
+        // Aggregation does not change the optimum, so the item-level bound applies
+        gapTermination.attachTo(solver);
+        FirstSolutionTimer<AggregatedWardrobeSolution> startupTimer = new FirstSolutionTimer<>();
+        startupTimer.attachTo(solver);
+        AggregatedWardrobeSolution solution = solver.solve(aggregated);
+        printStartupTimes(startupTimer);
+        return aggregator.expand(solution, problem);
+    }
+
+    /**
+     * Print how long after JVM start the first and the first feasible solution were found
+     */
+    private static void printStartupTimes(FirstSolutionTimer<?> startupTimer) {
+        if (startupTimer.getFirstSolutionMillis() >= 0L) {
+            System.out.println("Time to first solution: " + startupTimer.getFirstSolutionMillis()
+                    + " ms after JVM start");
+        }
+        if (startupTimer.getFirstFeasibleMillis() >= 0L) {
+            System.out.println("Time to first feasible solution: " + startupTimer.getFirstFeasibleMillis()
+                    + " ms after JVM start");
+        }
+    }
+
+    /**
+     * Stop once the latency budget is spent; the optimality gap termination usually stops the solver well before
+     */
+    private static TerminationConfig createTerminationConfig(Duration latency) {
+        return new TerminationConfig()
+                .withSpentLimit(latency);
     }
 
     /**
@@ -185,82 +927,7 @@ public class WardrobeOptimizerApp {
      * Create a sample wardrobe with various clothing items (500 items total)
      */
     private static List<ClothingItem> createSampleWardrobe() {
-        List<ClothingItem> items = new ArrayList<>();
-
-        // Generate 500 items with variety
-        String[] styles = {"casual", "formal", "smart-casual", "sport", "streetwear", "vintage", "beach", "outdoor"};
-        String[] colors = {"black", "white", "gray", "navy", "blue", "red", "green", "beige", "brown", "purple", "yellow", "orange"};
-        String[] topTypes = {"T-shirt", "Dress Shirt", "Sweater", "Polo", "Henley", "Oxford Shirt", "Flannel",
-                            "Turtleneck", "Cardigan", "Hoodie", "Tank Top", "Rugby Shirt", "Blouse", "Vest"};
-        String[] bottomTypes = {"Jeans", "Chinos", "Dress Pants", "Shorts", "Cargo Pants", "Slacks", "Joggers",
-                               "Corduroy Pants", "Leggings", "Track Pants"};
-        String[] shoeTypes = {"Sneakers", "Dress Shoes", "Loafers", "Running Shoes", "Boots", "Sandals",
-                             "Boat Shoes", "Canvas Shoes", "Oxfords", "Brogues"};
-        String[] outerwearTypes = {"Jacket", "Blazer", "Coat", "Parka", "Vest", "Windbreaker", "Raincoat"};
-        String[] accessoryTypes = {"Belt", "Watch", "Sunglasses", "Hat", "Scarf", "Tie", "Bracelet"};
-
-        java.util.Random rand = new java.util.Random(42); // Fixed seed for reproducibility
-
-        // Generate Tops (200 items)
-        for (int i = 1; i <= 200; i++) {
-            String id = "T" + i;
-            String type = topTypes[rand.nextInt(topTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 15 + rand.nextInt(85); // $15-$99
-            boolean inStock = rand.nextDouble() > 0.05; // 95% in stock
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.TOP, price, style, color, inStock));
-        }
-
-        // Generate Bottoms (150 items)
-        for (int i = 1; i <= 150; i++) {
-            String id = "B" + i;
-            String type = bottomTypes[rand.nextInt(bottomTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 25 + rand.nextInt(100); // $25-$124
-            boolean inStock = rand.nextDouble() > 0.05; // 95% in stock
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.BOTTOM, price, style, color, inStock));
-        }
-
-        // Generate Shoes (80 items)
-        for (int i = 1; i <= 80; i++) {
-            String id = "S" + i;
-            String type = shoeTypes[rand.nextInt(shoeTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 40 + rand.nextInt(140); // $40-$179
-            boolean inStock = rand.nextDouble() > 0.08; // 92% in stock
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.SHOES, price, style, color, inStock));
-        }
-
-        // Generate Outerwear (40 items)
-        for (int i = 1; i <= 40; i++) {
-            String id = "O" + i;
-            String type = outerwearTypes[rand.nextInt(outerwearTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 60 + rand.nextInt(140); // $60-$199
-            boolean inStock = rand.nextDouble() > 0.10; // 90% in stock
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.OUTERWEAR, price, style, color, inStock));
-        }
-
-        // Generate Accessories (30 items)
-        for (int i = 1; i <= 30; i++) {
-            String id = "A" + i;
-            String type = accessoryTypes[rand.nextInt(accessoryTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 10 + rand.nextInt(140); // $10-$149
-            boolean inStock = rand.nextDouble() > 0.05; // 95% in stock
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.ACCESSORY, price, style, color, inStock));
-        }
-
-        return items;
+        // 200 tops, 150 bottoms, 80 shoes, 40 outerwear, 30 accessories
+        return SampleCatalog.generate(500, new Random(42)); // Fixed seed for reproducibility
     }
 }
@@ -3,10 +3,22 @@ package com.shoppingoptimiser;
 import ai.timefold.solver.core.api.solver.Solver;
 import ai.timefold.solver.core.api.solver.SolverFactory;
 import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import com.shoppingoptimiser.catalog.CatalogIndex;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.SampleCatalog;
 import com.shoppingoptimiser.domain.ClothingCategory;
 import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.ColorRegistry;
 import com.shoppingoptimiser.domain.WardrobeSolution;
-import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+import com.shoppingoptimiser.monitoring.CatalogLoadEvent;
+import com.shoppingoptimiser.monitoring.ResultRenderingEvent;
+import com.shoppingoptimiser.monitoring.SolveFlightRecorder;
+import com.shoppingoptimiser.solver.ConvergenceRecorder;
+import com.shoppingoptimiser.solver.OptimalityGapTermination;
+import com.shoppingoptimiser.solver.OutfitCounter;
+import com.shoppingoptimiser.solver.SoftScoreUpperBound;
+import com.shoppingoptimiser.solver.SolverProfile;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -14,6 +26,9 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -23,6 +38,7 @@ import javafx.stage.Stage;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -34,9 +50,20 @@ import java.util.stream.Collectors;
  */
 public class WardrobeOptimizerUI extends Application {
 
+    // Stop once the best feasible soft score is within this fraction of the upper bound
+    private static final double OPTIMALITY_GAP = 0.25;
+    // Latency budget of a solve, which picks the solver profile together with the catalog size
+    private static final Duration SOLVE_LATENCY = Duration.ofSeconds(60);
+    // Convergence curves kept on the chart for comparison
+    private static final int MAX_CHART_RUNS = 5;
+    // Canvases start at about the viewport size and grow to fit what is drawn
+    private static final double CANVAS_WIDTH = 650;
+    private static final double MIN_CANVAS_HEIGHT = 500;
+
     private TextArea logArea;
     private Canvas inventoryCanvas;
-    private Canvas solutionCanvas;
+    private Canvas solutionCanvas; // Created on the first solution
+    private ScrollPane solutionScroll;
     private Label statusLabel;
     private Label scoreLabel;
     private Label budgetDisplayLabel;
@@ -46,6 +73,9 @@ public class WardrobeOptimizerUI extends Application {
     private Spinner<Double> budgetSpinner;
     private Spinner<Integer> inventorySizeSpinner;
     private Label inventoryLabel;
+    private VBox chartBox;
+    private LineChart<Number, Number> convergenceChart; // Created on the first plotted run
+    private int runCount;
 
     private List<ClothingItem> items;
     private WardrobeSolution solution;
@@ -72,18 +102,36 @@ public class WardrobeOptimizerUI extends Application {
         // Center: Split view with inventory and solution
         SplitPane centerSplit = createCenterSection();
 
-        // Bottom: Log area
-        VBox bottomBox = createBottomSection();
+        // Bottom: Log area and convergence chart side by side
+        SplitPane bottomSplit = new SplitPane();
+        bottomSplit.setDividerPositions(0.5);
+        bottomSplit.getItems().addAll(createBottomSection(), createConvergenceSection());
 
-        mainSplit.getItems().addAll(centerSplit, bottomBox);
+        mainSplit.getItems().addAll(centerSplit, bottomSplit);
         root.setCenter(mainSplit);
 
         Scene scene = new Scene(root, 1400, 900);
         primaryStage.setScene(scene);
         primaryStage.show();
 
-        // Initialize with sample data
-        initializeInventory();
+        // Initialize with sample data once the window has been drawn
+        Platform.runLater(this::initializeInventory);
+        warmUpSolver();
+    }
+
+    /**
+     * Load the solver classes and build the constraint network on a background thread while the user looks at
+     * the inventory, so the first solve does not pay for it.
+     */
+    private void warmUpSolver() {
+        Thread warmUp = new Thread(() -> {
+            SolverFactory<WardrobeSolution> solverFactory = SolverProfile.DEFAULT.getSolverFactory();
+            ((DefaultSolverFactory<WardrobeSolution>) solverFactory).getScoreDirectorFactory().buildScoreDirector()
+                    .close();
+        }, "solver-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.setPriority(Thread.MIN_PRIORITY);
+        warmUp.start();
     }
 
     private VBox createTopSection() {
@@ -184,7 +232,7 @@ public class WardrobeOptimizerUI extends Application {
         inventoryLabel = new Label("Inventory (" + inventorySize + " items)");
         inventoryLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
 
-        inventoryCanvas = new Canvas(650, 2000);  // Start with larger height
+        inventoryCanvas = new Canvas(CANVAS_WIDTH, MIN_CANVAS_HEIGHT);
         ScrollPane inventoryScroll = new ScrollPane(inventoryCanvas);
         inventoryScroll.setFitToWidth(false);
         inventoryScroll.setPrefViewportHeight(500);
@@ -192,7 +240,7 @@ public class WardrobeOptimizerUI extends Application {
         // Bind canvas width to scroll pane viewport width and redraw on resize
         inventoryScroll.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null && items != null && !items.isEmpty()) {
-                inventoryCanvas.setWidth(Math.max(650, newVal.getWidth()));
+                inventoryCanvas.setWidth(Math.max(CANVAS_WIDTH, newVal.getWidth()));
                 drawInventory();
             }
         });
@@ -207,15 +255,14 @@ public class WardrobeOptimizerUI extends Application {
         Label solutionLabel = new Label("Selected Items & Outfit Combinations");
         solutionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
 
-        solutionCanvas = new Canvas(650, 2000);  // Start with larger height
-        ScrollPane solutionScroll = new ScrollPane(solutionCanvas);
+        solutionScroll = new ScrollPane(new Label("Press Solve to see the selected items."));
         solutionScroll.setFitToWidth(false);
         solutionScroll.setPrefViewportHeight(500);
 
         // Bind canvas width to scroll pane viewport width and redraw on resize
         solutionScroll.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal != null && solution != null) {
-                solutionCanvas.setWidth(Math.max(650, newVal.getWidth()));
+            if (newVal != null && solution != null && solutionCanvas != null) {
+                solutionCanvas.setWidth(Math.max(CANVAS_WIDTH, newVal.getWidth()));
                 drawSolution();
             }
         });
@@ -246,16 +293,82 @@ public class WardrobeOptimizerUI extends Application {
         return bottomBox;
     }
 
+    private VBox createConvergenceSection() {
+        chartBox = new VBox(5);
+        chartBox.setPadding(new Insets(10, 0, 0, 0));
+
+        Label chartLabel = new Label("Convergence (best feasible soft score):");
+        chartLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+
+        chartBox.getChildren().addAll(chartLabel, new Label("No runs yet."));
+        return chartBox;
+    }
+
+    /**
+     * Replace the placeholder with the chart; charts are costly to build and most sessions start with browsing.
+     */
+    private void createConvergenceChart() {
+        NumberAxis timeAxis = new NumberAxis();
+        timeAxis.setLabel("Time (s)");
+        NumberAxis scoreAxis = new NumberAxis();
+        scoreAxis.setLabel("Soft score");
+        scoreAxis.setForceZeroInRange(false);
+
+        convergenceChart = new LineChart<>(timeAxis, scoreAxis);
+        convergenceChart.setAnimated(false);
+        convergenceChart.setCreateSymbols(false);
+        convergenceChart.setPrefHeight(150);
+        VBox.setVgrow(convergenceChart, Priority.ALWAYS);
+
+        chartBox.getChildren().set(1, convergenceChart);
+    }
+
+    /**
+     * Add a recorded run to the chart as a step curve, dropping the oldest run when full.
+     * Must be called on the JavaFX thread.
+     */
+    private void plotConvergence(ConvergenceRecorder<WardrobeSolution> recorder) {
+        if (convergenceChart == null) {
+            createConvergenceChart();
+        }
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setName(recorder.getLabel());
+        Integer previousSoft = null;
+        for (int i = 0; i < recorder.size(); i++) {
+            if (!recorder.getBestScore(i).isFeasible()) {
+                continue;
+            }
+            double seconds = recorder.getTimeMillis(i) / 1000.0;
+            int soft = recorder.getBestScore(i).softScore();
+            if (previousSoft != null) {
+                series.getData().add(new XYChart.Data<>(seconds, previousSoft));
+            }
+            series.getData().add(new XYChart.Data<>(seconds, soft));
+            previousSoft = soft;
+        }
+        if (convergenceChart.getData().size() >= MAX_CHART_RUNS) {
+            convergenceChart.getData().remove(0);
+        }
+        convergenceChart.getData().add(series);
+    }
+
     private void initializeInventory() {
         log("Initializing inventory with " + inventorySize + " items...");
+        CatalogLoadEvent catalogLoadEvent = new CatalogLoadEvent();
+        catalogLoadEvent.begin();
         items = createSampleWardrobe();
+        catalogLoadEvent.source = "sample";
+        catalogLoadEvent.itemCount = items.size();
+        catalogLoadEvent.commit();
         log("Inventory created: " + items.size() + " items");
         inventoryLabel.setText("Inventory (" + items.size() + " items)");
 
         // Clear solution
         solution = null;
-        GraphicsContext gc = solutionCanvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, solutionCanvas.getWidth(), solutionCanvas.getHeight());
+        if (solutionCanvas != null) {
+            GraphicsContext gc = solutionCanvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, solutionCanvas.getWidth(), solutionCanvas.getHeight());
+        }
 
         // Reset status
         statusLabel.setText("Ready to solve");
@@ -312,7 +425,7 @@ public class WardrobeOptimizerUI extends Application {
         }
 
         // Update canvas height to fit all content
-        double finalHeight = Math.max(2000, y + 50);
+        double finalHeight = Math.max(MIN_CANVAS_HEIGHT, y + 50);
         inventoryCanvas.setHeight(finalHeight);
 
         // Clear the entire canvas first with the new height
@@ -353,7 +466,7 @@ public class WardrobeOptimizerUI extends Application {
 
     private void drawClothingItem(GraphicsContext gc, ClothingItem item, double x, double y, boolean selected) {
         // Get color from item
-        Color itemColor = getColorFromString(item.getColor());
+        Color itemColor = colorOf(item.getColorId());
 
         // Draw based on category
         switch (item.getCategory()) {
@@ -491,22 +604,9 @@ public class WardrobeOptimizerUI extends Application {
         gc.strokeOval(x + 20, y + 25, 10, 10);
     }
 
-    private Color getColorFromString(String colorName) {
-        switch (colorName.toLowerCase()) {
-            case "black": return Color.BLACK;
-            case "white": return Color.WHITE;
-            case "gray": case "grey": return Color.GRAY;
-            case "navy": return Color.DARKBLUE;
-            case "blue": return Color.BLUE;
-            case "red": return Color.RED;
-            case "green": return Color.GREEN;
-            case "beige": return Color.BEIGE;
-            case "brown": return Color.BROWN;
-            case "purple": return Color.PURPLE;
-            case "yellow": return Color.YELLOW;
-            case "orange": return Color.ORANGE;
-            default: return Color.LIGHTGRAY;
-        }
+    private Color colorOf(int colorId) {
+        int rgb = ColorRegistry.getDefault().rgbOf(colorId);
+        return Color.rgb((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
     }
 
     private void solveProblem() {
@@ -523,26 +623,34 @@ public class WardrobeOptimizerUI extends Application {
                 log("Available items: " + items.size());
                 log("Preferred styles: casual, smart-casual");
 
-                // Create problem
+                // Create problem from the items that can be part of a feasible basket
                 List<String> preferredStyles = List.of("casual", "smart-casual");
-                WardrobeSolution problem = new WardrobeSolution(items, budget, preferredStyles);
-
-                // Configure solver with random seed for non-deterministic results
-                SolverConfig solverConfig = new SolverConfig()
-                        .withSolutionClass(WardrobeSolution.class)
-                        .withEntityClasses(ClothingItem.class)
-                        .withConstraintProviderClass(WardrobeConstraintProvider.class)
-                        .withRandomSeed(System.currentTimeMillis());  // Different seed each run
-
-                solverConfig.withTerminationConfig(
-                        new ai.timefold.solver.core.config.solver.termination.TerminationConfig()
-                                .withBestScoreLimit("0hard/*soft")
-                                .withSpentLimit(Duration.ofSeconds(60)));
-
-                SolverFactory<WardrobeSolution> solverFactory = SolverFactory.create(solverConfig);
-                Solver<WardrobeSolution> solver = solverFactory.buildSolver();
-
-                log("Solving (max 60 seconds or until optimal solution found)...");
+                List<ClothingItem> candidates = CatalogIndex.of(items)
+                        .find(CatalogQuery.all().inStockOnly().maxPrice(budget));
+                log("Candidate items (in stock, within budget): " + candidates.size());
+                WardrobeSolution problem = new WardrobeSolution(candidates, budget, preferredStyles);
+
+                // Configure solver from the profile for the catalog size, with a random seed for
+                // non-deterministic results
+                SolverProfile profile = SolverProfile.select(candidates.size(), SOLVE_LATENCY);
+                log("Solver profile: " + profile.name().toLowerCase(java.util.Locale.ROOT));
+                SolverConfig solverConfig = profile.createSolverConfig()
+                        .withRandomSeed(System.currentTimeMillis())  // Different seed each run
+                        .withTerminationConfig(profile.createTerminationConfig(SOLVE_LATENCY));
+
+                String solveLabel = "ui/" + items.size() + " items";
+                Solver<WardrobeSolution> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                        () -> SolverFactory.<WardrobeSolution>create(solverConfig).buildSolver());
+                new SolveFlightRecorder<WardrobeSolution>(solveLabel).attachTo(solver);
+                long upperBound = SoftScoreUpperBound.compute(problem);
+                new OptimalityGapTermination<WardrobeSolution>(upperBound, OPTIMALITY_GAP).attachTo(solver);
+                ConvergenceRecorder<WardrobeSolution> recorder = new ConvergenceRecorder<>(
+                        "Run " + (++runCount) + ": " + items.size() + " items, $" + String.format("%.0f", budget));
+                recorder.attachTo(solver);
+
+                log("Soft score upper bound: " + upperBound);
+                log("Solving (max " + SOLVE_LATENCY.getSeconds() + " seconds or until within "
+                        + String.format("%.0f%%", OPTIMALITY_GAP * 100) + " of the upper bound)...");
                 long startTime = System.currentTimeMillis();
                 solution = solver.solve(problem);
                 long endTime = System.currentTimeMillis();
@@ -551,27 +659,27 @@ public class WardrobeOptimizerUI extends Application {
                 log("Solving completed in " + String.format("%.2f", solvingTime) + " seconds");
                 log("\n=== Solution Found ===");
                 log("Score: " + solution.getScore());
+                log("Optimality gap: " + String.format("%.1f%%",
+                        SoftScoreUpperBound.gap(upperBound, solution.getScore()) * 100));
                 log("Total Cost: $" + String.format("%.2f", solution.getTotalCost()));
-                log("Items Selected: " + solution.getSelectedItems().size());
+                log("Items Selected: " + solution.getSelectedCount());
 
-                List<ClothingItem> selected = solution.getSelectedItems();
                 log("\nSelected Items:");
-                for (ClothingItem item : selected) {
+                for (ClothingItem item : solution.getSelectionIndex().getSelectedItems()) {
                     log("  - " + item.getName() + " (" + item.getCategory() + ") - $" +
                         String.format("%.2f", item.getPrice()) + " - " + item.getStyle() + " - " + item.getColor());
                 }
 
                 // Calculate outfit combinations
-                long tops = selected.stream().filter(item -> item.getCategory() == ClothingCategory.TOP).count();
-                long bottoms = selected.stream().filter(item -> item.getCategory() == ClothingCategory.BOTTOM).count();
-                long shoes = selected.stream().filter(item -> item.getCategory() == ClothingCategory.SHOES).count();
+                long tops = solution.getCategoryCount(ClothingCategory.TOP);
+                long bottoms = solution.getCategoryCount(ClothingCategory.BOTTOM);
+                long shoes = solution.getCategoryCount(ClothingCategory.SHOES);
 
                 log("\nOutfit Combinations:");
                 log("  Tops: " + tops);
                 log("  Bottoms: " + bottoms);
                 log("  Shoes: " + shoes);
-                log("  Basic combinations: " + (tops * bottoms));
-                log("  With shoe variations: " + (tops * bottoms * Math.max(1, shoes)));
+                log("  Valid outfits: " + OutfitCounter.countOutfits(solution.getSelectedItems()));
 
                 // Update UI
                 Platform.runLater(() -> {
@@ -579,7 +687,13 @@ public class WardrobeOptimizerUI extends Application {
                     statusLabel.setTextFill(Color.LIGHTGREEN);
                     scoreLabel.setText("Score: " + solution.getScore());
                     progressBar.setProgress(1.0);
+                    ResultRenderingEvent renderingEvent = new ResultRenderingEvent();
+                    renderingEvent.begin();
                     drawSolution();
+                    plotConvergence(recorder);
+                    renderingEvent.target = "ui";
+                    renderingEvent.selectedCount = solution.getSelectedCount();
+                    renderingEvent.commit();
                     solveButton.setDisable(false);
                 });
 
@@ -599,14 +713,19 @@ public class WardrobeOptimizerUI extends Application {
     private void drawSolution() {
         if (solution == null) return;
 
+        if (solutionCanvas == null) {
+            solutionCanvas = new Canvas(Math.max(CANVAS_WIDTH, solutionScroll.getViewportBounds().getWidth()),
+                    MIN_CANVAS_HEIGHT);
+            solutionScroll.setContent(solutionCanvas);
+        }
         GraphicsContext gc = solutionCanvas.getGraphicsContext2D();
 
-        List<ClothingItem> selected = solution.getSelectedItems();
-
         // First pass: calculate required height
         double y = 120;
-        Map<ClothingCategory, List<ClothingItem>> byCategory = selected.stream()
-                .collect(Collectors.groupingBy(ClothingItem::getCategory));
+        Map<ClothingCategory, List<ClothingItem>> byCategory = new EnumMap<>(ClothingCategory.class);
+        for (ClothingCategory category : ClothingCategory.values()) {
+            byCategory.put(category, solution.getSelectedItems(category));
+        }
 
         double canvasWidth = solutionCanvas.getWidth() - 20;  // Use actual canvas width minus padding
         int itemsPerRow = Math.max(1, (int) (canvasWidth / 80));
@@ -623,7 +742,7 @@ public class WardrobeOptimizerUI extends Application {
         y += 50;  // Outfit combinations line
 
         // Set canvas height
-        double finalHeight = Math.max(2000, y + 50);
+        double finalHeight = Math.max(MIN_CANVAS_HEIGHT, y + 50);
         solutionCanvas.setHeight(finalHeight);
         gc.clearRect(0, 0, solutionCanvas.getWidth(), solutionCanvas.getHeight());
 
@@ -636,7 +755,7 @@ public class WardrobeOptimizerUI extends Application {
         gc.setFont(Font.font("Arial", 14));
         gc.fillText("Score: " + solution.getScore(), 10, 45);
         gc.fillText("Total Cost: $" + String.format("%.2f", solution.getTotalCost()) + " / $" + budget, 10, 65);
-        gc.fillText("Items Selected: " + selected.size(), 10, 85);
+        gc.fillText("Items Selected: " + solution.getSelectedCount(), 10, 85);
 
         y = 120;
         for (ClothingCategory category : ClothingCategory.values()) {
@@ -677,23 +796,13 @@ public class WardrobeOptimizerUI extends Application {
         }
 
         // Draw outfit combinations visualization
-        List<ClothingItem> tops = selected.stream()
-                .filter(item -> item.getCategory() == ClothingCategory.TOP)
-                .collect(Collectors.toList());
-        List<ClothingItem> bottoms = selected.stream()
-                .filter(item -> item.getCategory() == ClothingCategory.BOTTOM)
-                .collect(Collectors.toList());
-        List<ClothingItem> shoesList = selected.stream()
-                .filter(item -> item.getCategory() == ClothingCategory.SHOES)
-                .collect(Collectors.toList());
-        List<ClothingItem> outerwearList = selected.stream()
-                .filter(item -> item.getCategory() == ClothingCategory.OUTERWEAR)
-                .collect(Collectors.toList());
-        List<ClothingItem> accessoryList = selected.stream()
-                .filter(item -> item.getCategory() == ClothingCategory.ACCESSORY)
-                .collect(Collectors.toList());
-
-        long totalCombinations = tops.size() * bottoms.size() * Math.max(1, shoesList.size());
+        List<ClothingItem> tops = byCategory.get(ClothingCategory.TOP);
+        List<ClothingItem> bottoms = byCategory.get(ClothingCategory.BOTTOM);
+        List<ClothingItem> shoesList = byCategory.get(ClothingCategory.SHOES);
+        List<ClothingItem> outerwearList = byCategory.get(ClothingCategory.OUTERWEAR);
+        List<ClothingItem> accessoryList = byCategory.get(ClothingCategory.ACCESSORY);
+
+        long totalCombinations = OutfitCounter.countOutfits(solution.getSelectedItems());
 
         gc.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         gc.setFill(Color.BLACK);
@@ -821,89 +930,7 @@ public class WardrobeOptimizerUI extends Application {
      * Create sample inventory based on configured size
      */
     private List<ClothingItem> createSampleWardrobe() {
-        List<ClothingItem> items = new ArrayList<>();
-
-        String[] styles = {"casual", "formal", "smart-casual", "sport", "streetwear", "vintage", "beach", "outdoor"};
-        String[] colors = {"black", "white", "gray", "navy", "blue", "red", "green", "beige", "brown", "purple", "yellow", "orange"};
-        String[] topTypes = {"T-shirt", "Dress Shirt", "Sweater", "Polo", "Henley", "Oxford Shirt", "Flannel",
-                            "Turtleneck", "Cardigan", "Hoodie", "Tank Top", "Rugby Shirt", "Blouse", "Vest"};
-        String[] bottomTypes = {"Jeans", "Chinos", "Dress Pants", "Shorts", "Cargo Pants", "Slacks", "Joggers",
-                               "Corduroy Pants", "Leggings", "Track Pants"};
-        String[] shoeTypes = {"Sneakers", "Dress Shoes", "Loafers", "Running Shoes", "Boots", "Sandals",
-                             "Boat Shoes", "Canvas Shoes", "Oxfords", "Brogues"};
-        String[] outerwearTypes = {"Jacket", "Blazer", "Coat", "Parka", "Vest", "Windbreaker", "Raincoat"};
-        String[] accessoryTypes = {"Belt", "Watch", "Sunglasses", "Hat", "Scarf", "Tie", "Bracelet"};
-
-        Random rand = new Random(); // Random seed for variety on regenerate
-
-        // Calculate distribution: 40% tops, 30% bottoms, 16% shoes, 8% outerwear, 6% accessories
-        int numTops = (int) (inventorySize * 0.40);
-        int numBottoms = (int) (inventorySize * 0.30);
-        int numShoes = (int) (inventorySize * 0.16);
-        int numOuterwear = (int) (inventorySize * 0.08);
-        int numAccessories = inventorySize - numTops - numBottoms - numShoes - numOuterwear;
-
-        // Generate Tops
-        for (int i = 1; i <= numTops; i++) {
-            String id = "T" + i;
-            String type = topTypes[rand.nextInt(topTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 15 + rand.nextInt(85);
-            boolean inStock = rand.nextDouble() > 0.05;
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.TOP, price, style, color, inStock));
-        }
-
-        // Generate Bottoms
-        for (int i = 1; i <= numBottoms; i++) {
-            String id = "B" + i;
-            String type = bottomTypes[rand.nextInt(bottomTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 25 + rand.nextInt(100);
-            boolean inStock = rand.nextDouble() > 0.05;
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.BOTTOM, price, style, color, inStock));
-        }
-
-        // Generate Shoes
-        for (int i = 1; i <= numShoes; i++) {
-            String id = "S" + i;
-            String type = shoeTypes[rand.nextInt(shoeTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 40 + rand.nextInt(140);
-            boolean inStock = rand.nextDouble() > 0.08;
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.SHOES, price, style, color, inStock));
-        }
-
-        // Generate Outerwear
-        for (int i = 1; i <= numOuterwear; i++) {
-            String id = "O" + i;
-            String type = outerwearTypes[rand.nextInt(outerwearTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 60 + rand.nextInt(140);
-            boolean inStock = rand.nextDouble() > 0.10;
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.OUTERWEAR, price, style, color, inStock));
-        }
-
-        // Generate Accessories
-        for (int i = 1; i <= numAccessories; i++) {
-            String id = "A" + i;
-            String type = accessoryTypes[rand.nextInt(accessoryTypes.length)];
-            String color = colors[rand.nextInt(colors.length)];
-            String style = styles[rand.nextInt(styles.length)];
-            double price = 10 + rand.nextInt(140);
-            boolean inStock = rand.nextDouble() > 0.05;
-            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
-            items.add(new ClothingItem(id, name, ClothingCategory.ACCESSORY, price, style, color, inStock));
-        }
-
-        return items;
+        return SampleCatalog.generate(inventorySize, new Random()); // Random seed for variety on regenerate
     }
 
     public static void main(String[] args) {
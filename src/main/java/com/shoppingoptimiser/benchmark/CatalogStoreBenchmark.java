@@ -0,0 +1,74 @@
+package com.shoppingoptimiser.benchmark;
+
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.CatalogStore;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingCategory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a sample catalog of any size to a CatalogStore without holding it in the heap, then times candidate
+ * queries against the mapped file and reports the heap in use. Run it with a small heap, e.g. {@code -Xmx256m},
+ * to see that the catalog size is bounded by disk: only the items a query returns are created.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.CatalogStoreBenchmark [items] [file]"}
+ */
+public class CatalogStoreBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        long size = args.length > 0 ? Long.parseLong(args[0]) : 5_000_000L;
+        Path file = Paths.get(args.length > 1 ? args[1] : "catalog.store");
+
+        long start = System.nanoTime();
+        try (CatalogStore.Writer writer = CatalogStore.create(file)) {
+            SampleCatalog.generate(size, new Random(42), item -> {
+                try {
+                    writer.add(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        System.out.println(String.format("=== Wrote %d items in %.1f s, %d MB on disk, max heap %d MB ===",
+                size, (System.nanoTime() - start) / 1e9, Files.size(file) >> 20, Runtime.getRuntime().maxMemory() >> 20));
+
+        start = System.nanoTime();
+        try (CatalogStore store = CatalogStore.open(file)) {
+            System.out.println(String.format("  Opened in %d ms, heap in use %d MB",
+                    (System.nanoTime() - start) / 1_000_000L, usedHeapMegabytes()));
+            System.out.println(String.format("  %-48s  %10s  %10s", "Query", "Items", "ms"));
+            // Every query runs twice, the first run also warms up the JIT and the page cache
+            for (int run = 0; run < 2; run++) {
+                measure(store, "in stock, up to $120, streamed", CatalogQuery.all().inStockOnly().maxPrice(120));
+                measure(store, "casual or smart-casual, up to $40, streamed",
+                        CatalogQuery.all().styles("casual", "smart-casual").maxPrice(40));
+                start = System.nanoTime();
+                List<?> found = store.find(CatalogQuery.all().categories(ClothingCategory.TOP)
+                        .styles("casual").colors("navy").maxPrice(20).inStockOnly());
+                System.out.println(String.format("  %-48s  %10d  %10d", "navy casual tops up to $20, collected",
+                        found.size(), (System.nanoTime() - start) / 1_000_000L));
+            }
+            System.out.println(String.format("  Heap in use after the queries: %d MB", usedHeapMegabytes()));
+        }
+    }
+
+    private static void measure(CatalogStore store, String label, CatalogQuery query) {
+        long[] count = {0L};
+        long start = System.nanoTime();
+        store.forEach(query, item -> count[0]++);
+        System.out.println(String.format("  %-48s  %10d  %10d", label, count[0],
+                (System.nanoTime() - start) / 1_000_000L));
+    }
+
+    private static long usedHeapMegabytes() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+    }
+}
@@ -0,0 +1,71 @@
+package com.shoppingoptimiser.benchmark;
+
+import com.shoppingoptimiser.catalog.CatalogIndex;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.DeadlinePlan;
+import com.shoppingoptimiser.solver.DeadlineResult;
+import com.shoppingoptimiser.solver.DeadlineSolver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures deadline solves on catalogs of growing size: how the plan splits the time, how close to the
+ * deadline the answers come, how many miss it, and the scores of the answers.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.DeadlineBenchmark [deadline ms] [solves] [items...]"}
+ */
+public class DeadlineBenchmark {
+
+    private static final double BUDGET = 120.0;
+
+    public static void main(String[] args) {
+        long deadlineMillis = args.length > 0 ? Long.parseLong(args[0]) : 800L;
+        int solves = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            sizes.add(Integer.parseInt(args[i]));
+        }
+        if (sizes.isEmpty()) {
+            sizes = List.of(500, 5_000, 50_000, 500_000);
+        }
+        CatalogQuery candidateQuery = CatalogQuery.all().inStockOnly().maxPrice(BUDGET);
+        System.out.println("=== Deadline solves within " + deadlineMillis + " ms, " + solves + " per catalog ===");
+        // The first catalog is also solved to warm up the JIT
+        List<Integer> rounds = new ArrayList<>(sizes);
+        rounds.add(0, sizes.get(0));
+        for (int round = 0; round < rounds.size(); round++) {
+            int size = rounds.get(round);
+            CatalogIndex index = CatalogIndex.of(SampleCatalog.generate(size, new Random(42)));
+            DeadlineSolver solver = new DeadlineSolver();
+            List<Long> elapsedMicros = new ArrayList<>(solves);
+            long softTotal = 0L;
+            DeadlineResult result = null;
+            for (int i = 0; i < solves; i++) {
+                Instant start = Instant.now();
+                result = solver.solve(index, candidateQuery,
+                        (List<ClothingItem> candidates) -> new WardrobeSolution(candidates, BUDGET, List.of("casual")),
+                        start.plusMillis(deadlineMillis));
+                elapsedMicros.add(Duration.between(start, Instant.now()).toNanos() / 1000L);
+                softTotal += result.getScore().softScore();
+            }
+            if (round == 0) {
+                continue;
+            }
+            Collections.sort(elapsedMicros);
+            System.out.println(String.format("  %,d items, %d entities: %s", size,
+                    result.getSolution().getItems().size(), DeadlinePlan.partition(Duration.ofMillis(deadlineMillis), size)));
+            System.out.println(String.format("    elapsed p50 %.1f ms, p99 %.1f ms, max %.1f ms; mean soft score %d",
+                    elapsedMicros.get(solves / 2) / 1e3, elapsedMicros.get((int) Math.ceil(solves * 0.99) - 1) / 1e3,
+                    elapsedMicros.get(solves - 1) / 1e3, softTotal / solves));
+            System.out.println("    last: " + result);
+            System.out.println("    " + solver.getStatistics());
+        }
+    }
+}
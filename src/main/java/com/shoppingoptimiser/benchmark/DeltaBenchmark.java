@@ -0,0 +1,133 @@
+package com.shoppingoptimiser.benchmark;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.CatalogDelta;
+import com.shoppingoptimiser.catalog.CatalogIndex;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.DeltaImporter;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.CatalogDeltaChange;
+import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures importing catalog feed snapshots with a growing share of changed items: detecting the changes,
+ * applying them to the index against rebuilding it, and applying them to a running solve against starting a
+ * new solve on the changed catalog, comparing the best scores one second after the change.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.DeltaBenchmark [items] [solver items] [change %...]"}
+ */
+public class DeltaBenchmark {
+
+    private static final double BUDGET = 120.0;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int solverSize = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        List<Double> changeRates = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            changeRates.add(Double.parseDouble(args[i]) / 100.0);
+        }
+        if (changeRates.isEmpty()) {
+            changeRates = List.of(0.001, 0.01, 0.1);
+        }
+        CatalogQuery candidateQuery = CatalogQuery.all().inStockOnly().maxPrice(BUDGET);
+        SolverFactory<WardrobeSolution> solverFactory = SolverFactory.create(new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(Duration.ofMinutes(10))));
+
+        System.out.println("=== Catalog deltas on " + size + " items, solving " + solverSize + " items ===");
+        System.out.println(String.format("  %8s  %8s  %10s  %10s  %12s  %10s  %16s  %16s",
+                "Changed", "Delta", "Detect ms", "Apply ms", "Rebuild ms", "Solver ms", "Kept after 1 s", "New after 1 s"));
+        // The first round also warms up the JIT
+        List<Double> rounds = new ArrayList<>(changeRates);
+        rounds.add(0, changeRates.get(0));
+        for (int round = 0; round < rounds.size(); round++) {
+            double changeRate = rounds.get(round);
+            List<ClothingItem> catalog = SampleCatalog.generate(size, new Random(42));
+            DeltaImporter importer = new DeltaImporter(CatalogIndex.of(catalog));
+            List<ClothingItem> snapshot = SampleCatalog.nextSnapshot(catalog, changeRate, new Random(round));
+
+            long start = System.nanoTime();
+            CatalogDelta delta = importer.diff(snapshot);
+            long detectNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            importer.apply(delta);
+            long applyNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            CatalogIndex.of(snapshot);
+            long rebuildNanos = System.nanoTime() - start;
+
+            Object[] solverResult = measureSolver(solverFactory, solverSize, changeRate, candidateQuery, round);
+            if (round > 0) {
+                System.out.println(String.format("  %7.1f%%  %8d  %10.1f  %10.1f  %12.1f  %10.1f  %16s  %16s",
+                        changeRate * 100, delta.size(), detectNanos / 1e6, applyNanos / 1e6, rebuildNanos / 1e6,
+                        (Long) solverResult[0] / 1e6, solverResult[1], solverResult[2]));
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds from submitting a catalog delta to a solve that ran for a second until it is applied, the
+     * solve's best score a second after the change, and the best score of a new solve on the changed catalog
+     * after a second.
+     */
+    private static Object[] measureSolver(SolverFactory<WardrobeSolution> solverFactory, int size, double changeRate,
+                                          CatalogQuery candidateQuery, int round) throws Exception {
+        List<ClothingItem> catalog = SampleCatalog.generate(size, new Random(42));
+        DeltaImporter importer = new DeltaImporter(CatalogIndex.of(catalog));
+        List<ClothingItem> snapshot = SampleCatalog.nextSnapshot(catalog, changeRate, new Random(round));
+        CatalogDelta delta = importer.diff(snapshot);
+        CatalogIndex index = importer.getIndex();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Solver<WardrobeSolution> solver = solverFactory.buildSolver();
+        AtomicReference<HardSoftScore> best = new AtomicReference<>();
+        solver.addEventListener(event -> best.set(event.getNewBestSolution().getScore()));
+        Future<?> solve = executor.submit(() -> solver.solve(
+                new WardrobeSolution(index.find(candidateQuery), BUDGET, List.of("casual"))));
+        Thread.sleep(1000L);
+        CountDownLatch applied = new CountDownLatch(1);
+        CatalogDeltaChange change = new CatalogDeltaChange(delta, candidateQuery::matches);
+        long start = System.nanoTime();
+        solver.addProblemChange((workingSolution, director) -> {
+            change.doChange(workingSolution, director);
+            applied.countDown();
+        });
+        applied.await();
+        long changeNanos = System.nanoTime() - start;
+        Thread.sleep(Math.max(0L, 1000L - changeNanos / 1_000_000L));
+        HardSoftScore kept = best.get();
+        solver.terminateEarly();
+        solve.get();
+
+        importer.apply(delta);
+        Solver<WardrobeSolution> restarted = solverFactory.buildSolver();
+        AtomicReference<HardSoftScore> restartedBest = new AtomicReference<>();
+        restarted.addEventListener(event -> restartedBest.set(event.getNewBestSolution().getScore()));
+        solve = executor.submit(() -> restarted.solve(
+                new WardrobeSolution(index.find(candidateQuery), BUDGET, List.of("casual"))));
+        Thread.sleep(1000L);
+        HardSoftScore fresh = restartedBest.get();
+        restarted.terminateEarly();
+        solve.get();
+        executor.shutdown();
+        return new Object[]{changeNanos, kept, fresh};
+    }
+}
@@ -0,0 +1,104 @@
+package com.shoppingoptimiser.benchmark;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.SolverProfile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares one household solve on a shared budget with solving every shopper separately on an equal share of
+ * the budget. The separate solves split the time limit evenly, so both sides spend the same total time.
+ * The household solve also reports how long it took to reach the summed score of the separate solves.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.HouseholdBenchmark [seconds] [people] [itemsPerPerson]"}
+ */
+public class HouseholdBenchmark {
+
+    private static final double BUDGET_PER_PERSON = 120.0;
+
+    public static void main(String[] args) {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 60L;
+        int people = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int itemsPerPerson = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        List<Shopper> shoppers = SampleCatalog.generateShoppers(people);
+        List<ClothingItem> items = SampleCatalog.generateHousehold(shoppers, itemsPerPerson, new Random(42));
+
+        System.out.println("=== Household of " + people + " x " + itemsPerPerson + " items, $"
+                + BUDGET_PER_PERSON + " per person, " + seconds + " s in total ===");
+
+        // Separately: one solve per shopper on their own items and share of the budget
+        Duration perShopperLimit = Duration.ofMillis(seconds * 1000L / people);
+        long separateNanos = 0L;
+        int separateHard = 0;
+        int separateSoft = 0;
+        for (Shopper shopper : shoppers) {
+            List<ClothingItem> shopperItems = new ArrayList<>(itemsPerPerson);
+            for (ClothingItem item : items) {
+                if (item.getShopper() == shopper) {
+                    shopperItems.add(copyOf(item, null));
+                }
+            }
+            WardrobeSolution problem = new WardrobeSolution(shopperItems, BUDGET_PER_PERSON,
+                    shopper.getPreferredStyles());
+            long start = System.nanoTime();
+            WardrobeSolution solution = buildSolver(shopperItems.size(), perShopperLimit).solve(problem);
+            long nanos = System.nanoTime() - start;
+            separateNanos += nanos;
+            separateHard += solution.getScore().hardScore();
+            separateSoft += solution.getScore().softScore();
+            System.out.println(String.format("  %-12s %10d ms  %s", shopper.getName(), nanos / 1_000_000L,
+                    solution.getScore()));
+        }
+        System.out.println(String.format("  %-12s %10d ms  %dhard/%dsoft", "Separately",
+                separateNanos / 1_000_000L, separateHard, separateSoft));
+
+        // Together: one solve over all items with the pooled budget and quotas per shopper
+        List<ClothingItem> householdItems = new ArrayList<>(items.size());
+        for (ClothingItem item : items) {
+            householdItems.add(copyOf(item, item.getShopper()));
+        }
+        WardrobeSolution household = new WardrobeSolution(householdItems, BUDGET_PER_PERSON * people, List.of());
+        household.setCategoryQuotas(CategoryQuota.perShopper(CategoryQuota.defaults(), shoppers));
+        Solver<WardrobeSolution> solver = buildSolver(householdItems.size(), Duration.ofSeconds(seconds));
+        HardSoftScore target = HardSoftScore.of(Math.min(0, separateHard), separateSoft);
+        long start = System.nanoTime();
+        long[] reachedNanos = {-1L};
+        solver.addEventListener(event -> {
+            if (reachedNanos[0] < 0L && ((HardSoftScore) event.getNewBestScore()).compareTo(target) >= 0) {
+                reachedNanos[0] = System.nanoTime() - start;
+            }
+        });
+        WardrobeSolution solution = solver.solve(household);
+        long householdNanos = System.nanoTime() - start;
+        System.out.println(String.format("  %-12s %10d ms  %s", "Together", householdNanos / 1_000_000L,
+                solution.getScore()));
+        System.out.println(reachedNanos[0] < 0L
+                ? "  The household solve did not reach the separate total"
+                : "  The household solve reached the separate total after " + reachedNanos[0] / 1_000_000L + " ms");
+    }
+
+    private static Solver<WardrobeSolution> buildSolver(int itemCount, Duration spentLimit) {
+        SolverConfig config = SolverProfile.select(itemCount, spentLimit).createSolverConfig()
+                .withRandomSeed(42L)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(spentLimit));
+        return SolverFactory.<WardrobeSolution>create(config).buildSolver();
+    }
+
+    private static ClothingItem copyOf(ClothingItem item, Shopper shopper) {
+        ClothingItem copy = new ClothingItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                item.getStyle(), item.getColor(), item.isInStock());
+        copy.setShopper(shopper);
+        return copy;
+    }
+}
@@ -0,0 +1,89 @@
+package com.shoppingoptimiser.benchmark;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures score calculation speed on one large catalog, first without stores and then spread over many stores
+ * that charge shipping, to show that grouping by store keeps the budget constraint incremental.
+ * Every move flips a random item and is undone right away, like a local search evaluating a move.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.MultiStoreBenchmark [items] [stores] [seconds]"}
+ */
+public class MultiStoreBenchmark {
+
+    private static final int BASKET_SIZE = 12;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int storeCount = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10L;
+
+        SolverConfig config = new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class);
+        DefaultSolverFactory<WardrobeSolution> solverFactory =
+                (DefaultSolverFactory<WardrobeSolution>) SolverFactory.<WardrobeSolution>create(config);
+
+        System.out.println("=== Score calculation speed, " + size + " items ===");
+        System.out.println(String.format("  %8s  %14s  %16s  %s", "Stores", "Init (ms)", "Score calcs/s", "Score"));
+        // The first run also warms up the JIT, so every configuration runs twice
+        for (int stores : new int[]{0, storeCount, 0, storeCount}) {
+            List<ClothingItem> items = SampleCatalog.generate(size, new Random(42));
+            if (stores > 0) {
+                SampleCatalog.assignStores(items, SampleCatalog.generateStores(stores, new Random(43)), new Random(43));
+            }
+            Random random = new Random(1);
+            for (int i = 0; i < BASKET_SIZE; i++) {
+                items.get(random.nextInt(size)).setSelected(true);
+            }
+            measure(solverFactory, new WardrobeSolution(items, 120.0, List.of("casual", "smart-casual")),
+                    stores, seconds * 1000L);
+        }
+    }
+
+    private static void measure(DefaultSolverFactory<WardrobeSolution> solverFactory, WardrobeSolution problem,
+                                int stores, long millis) {
+        try (InnerScoreDirector<WardrobeSolution, HardSoftScore> scoreDirector =
+                     solverFactory.<HardSoftScore>getScoreDirectorFactory().buildScoreDirector()) {
+            long initStart = System.nanoTime();
+            scoreDirector.setWorkingSolution(problem);
+            HardSoftScore score = scoreDirector.calculateScore();
+            long initMillis = (System.nanoTime() - initStart) / 1_000_000L;
+
+            List<ClothingItem> items = scoreDirector.getWorkingSolution().getItems();
+            Random random = new Random(7);
+            long calculations = 0L;
+            long start = System.nanoTime();
+            long deadline = start + millis * 1_000_000L;
+            while (System.nanoTime() < deadline) {
+                ClothingItem item = items.get(random.nextInt(items.size()));
+                flip(scoreDirector, item);
+                scoreDirector.calculateScore();
+                flip(scoreDirector, item);
+                scoreDirector.calculateScore();
+                calculations += 2;
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("  %8d  %14d  %16d  %s",
+                    stores, initMillis, (long) (calculations / elapsedSeconds), score));
+        }
+    }
+
+    private static void flip(InnerScoreDirector<WardrobeSolution, HardSoftScore> scoreDirector, ClothingItem item) {
+        scoreDirector.beforeVariableChanged(item, "selected");
+        item.setSelected(!item.isSelected());
+        scoreDirector.afterVariableChanged(item, "selected");
+        scoreDirector.triggerVariableListeners();
+    }
+}
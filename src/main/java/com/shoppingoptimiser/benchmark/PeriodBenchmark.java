@@ -0,0 +1,96 @@
+package com.shoppingoptimiser.benchmark;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.PlannedPurchase;
+import com.shoppingoptimiser.domain.PurchasePeriod;
+import com.shoppingoptimiser.domain.PurchasePlan;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how multi-period purchase plans scale with the number of periods on one catalog: score calculation
+ * speed with random period changes, then a solve with the period profile's tabu search, reporting when the
+ * best plan was found and its score.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.PeriodBenchmark [seconds] [items] [periods...]"}
+ */
+public class PeriodBenchmark {
+
+    private static final double BUDGET_PER_PERIOD = 120.0;
+
+    public static void main(String[] args) {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 30L;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        List<Integer> periodCounts = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            periodCounts.add(Integer.parseInt(args[i]));
+        }
+        if (periodCounts.isEmpty()) {
+            periodCounts = List.of(1, 2, 3, 6, 12);
+        }
+        SolverConfig config = SolverConfig.createFromXmlResource("solverConfig-periods.xml")
+                .withTerminationConfig(new TerminationConfig()
+                        .withSpentLimit(Duration.ofSeconds(seconds))
+                        .withUnimprovedSpentLimit(Duration.ofSeconds(Math.max(1L, seconds / 3))));
+        DefaultSolverFactory<PurchasePlan> solverFactory =
+                (DefaultSolverFactory<PurchasePlan>) SolverFactory.<PurchasePlan>create(config);
+        List<ClothingItem> items = SampleCatalog.generate(size, new Random(42));
+
+        System.out.println("=== Purchase plans over " + size + " items, $" + BUDGET_PER_PERIOD + " per period ===");
+        System.out.println(String.format("  %7s  %14s  %10s  %12s  %s",
+                "Periods", "Score calcs/s", "Wall ms", "Best at ms", "Score"));
+        // The first measurement also warms up the JIT
+        measureSpeed(solverFactory, new PurchasePlan(items, PurchasePeriod.months(1, BUDGET_PER_PERIOD), List.of()));
+        for (int periodCount : periodCounts) {
+            List<PurchasePeriod> periods = PurchasePeriod.months(periodCount, BUDGET_PER_PERIOD);
+            long speed = measureSpeed(solverFactory, new PurchasePlan(items, periods, List.of("casual")));
+
+            Solver<PurchasePlan> solver = solverFactory.buildSolver();
+            long start = System.nanoTime();
+            long[] bestNanos = {0L};
+            solver.addEventListener(event -> bestNanos[0] = System.nanoTime() - start);
+            PurchasePlan solution = solver.solve(new PurchasePlan(items, periods, List.of("casual")));
+            long wallNanos = System.nanoTime() - start;
+            System.out.println(String.format("  %7d  %14d  %10d  %12d  %s", periodCount, speed,
+                    wallNanos / 1_000_000L, bestNanos[0] / 1_000_000L, solution.getScore()));
+        }
+    }
+
+    /**
+     * Score calculations per second over 5 seconds of moves of random items to random periods or none.
+     */
+    private static long measureSpeed(DefaultSolverFactory<PurchasePlan> solverFactory, PurchasePlan plan) {
+        try (InnerScoreDirector<PurchasePlan, HardSoftScore> scoreDirector =
+                     solverFactory.<HardSoftScore>getScoreDirectorFactory().buildScoreDirector()) {
+            scoreDirector.setWorkingSolution(plan);
+            scoreDirector.calculateScore();
+            List<PlannedPurchase> purchases = scoreDirector.getWorkingSolution().getPurchases();
+            List<PurchasePeriod> periods = scoreDirector.getWorkingSolution().getPeriods();
+            Random random = new Random(7);
+            long calculations = 0L;
+            long start = System.nanoTime();
+            long deadline = start + 5_000_000_000L;
+            while (System.nanoTime() < deadline) {
+                PlannedPurchase purchase = purchases.get(random.nextInt(purchases.size()));
+                int choice = random.nextInt(periods.size() + 1);
+                scoreDirector.beforeVariableChanged(purchase, "period");
+                purchase.setPeriod(choice == periods.size() ? null : periods.get(choice));
+                scoreDirector.afterVariableChanged(purchase, "period");
+                scoreDirector.triggerVariableListeners();
+                scoreDirector.calculateScore();
+                calculations++;
+            }
+            return (long) (calculations / ((System.nanoTime() - start) / 1e9));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.shoppingoptimiser.benchmark;
+
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.PortfolioResult;
+import com.shoppingoptimiser.solver.SolverPortfolio;
+import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Races the default solver portfolio on catalogs of increasing size and reports which configuration wins.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.PortfolioBenchmark [seconds] [size...]"}
+ */
+public class PortfolioBenchmark {
+
+    public static void main(String[] args) {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 20L;
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            sizes.add(Integer.parseInt(args[i]));
+        }
+        if (sizes.isEmpty()) {
+            sizes = List.of(500, 2000, 5000);
+        }
+
+        // No best score limit: contenders compete on soft score until the time limit or elimination
+        SolverConfig baseConfig = new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(Duration.ofSeconds(seconds)));
+
+        List<PortfolioResult> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<ClothingItem> items = SampleCatalog.generate(size, new Random(42));
+            WardrobeSolution problem = new WardrobeSolution(items, 120.0, List.of("casual", "smart-casual"));
+            PortfolioResult result = new SolverPortfolio(SolverPortfolio.defaultContenders(baseConfig, 2))
+                    .solve(problem);
+            System.out.print(result.toReport());
+            results.add(result);
+        }
+
+        System.out.println();
+        System.out.println("=== Winners by catalog size ===");
+        System.out.println(String.format("  %8s  %-24s %-16s %10s", "Items", "Winner", "Score", "Best at ms"));
+        for (PortfolioResult result : results) {
+            System.out.println(String.format("  %8d  %-24s %-16s %10d",
+                    result.getCatalogSize(),
+                    result.getWinner().getName(),
+                    result.getWinner().getBestScore(),
+                    result.getWinner().getBestTimeMillis()));
+        }
+    }
+}
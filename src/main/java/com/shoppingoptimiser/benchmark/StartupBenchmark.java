@@ -0,0 +1,73 @@
+package com.shoppingoptimiser.benchmark;
+
+import com.shoppingoptimiser.WardrobeOptimizerApp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the console app's time to first solution from a cold JVM, without and with the AppCDS archive
+ * built by {@code sbt appCds}. Every run is a fresh JVM on the current classpath that stops at its first
+ * feasible basket; the median of the runs is reported.
+ * Usage: {@code sbt appCds "runMain com.shoppingoptimiser.benchmark.StartupBenchmark [runs] [archive]"}
+ */
+public class StartupBenchmark {
+
+    private static final String FIRST_SOLUTION = "Time to first solution: ";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String archive = args.length > 1 ? args[1] : "target/appcds/shopping-optimiser.jsa";
+
+        System.out.println("=== Time to first solution, median of " + runs + " cold starts ===");
+        report("default CDS", measure(runs, List.of()));
+        if (new File(archive).exists()) {
+            report("AppCDS", measure(runs, List.of("-XX:SharedArchiveFile=" + archive)));
+        } else {
+            System.out.println("  No AppCDS archive at " + archive + ", run sbt appCds first");
+        }
+    }
+
+    private static List<Long> measure(int runs, List<String> jvmOptions) throws IOException, InterruptedException {
+        List<Long> millis = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(WardrobeOptimizerApp.class.getName());
+            command.add("--gap=1");
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            Long firstSolution = null;
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (line.startsWith(FIRST_SOLUTION)) {
+                        firstSolution = Long.parseLong(line.substring(FIRST_SOLUTION.length()).split(" ")[0]);
+                    }
+                }
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0 || firstSolution == null) {
+                throw new IllegalStateException("Run " + i + " failed with exit code " + exitCode + ".");
+            }
+            millis.add(firstSolution);
+        }
+        return millis;
+    }
+
+    private static void report(String label, List<Long> millis) {
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        System.out.println(String.format("  %-12s %6d ms  (runs: %s)", label, sorted.get(sorted.size() / 2), millis));
+    }
+}
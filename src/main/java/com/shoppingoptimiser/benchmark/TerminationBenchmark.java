@@ -0,0 +1,103 @@
+package com.shoppingoptimiser.benchmark;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.ConvergenceTermination;
+import com.shoppingoptimiser.solver.SolverProfile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares a fixed spent limit with the convergence termination on catalogs of increasing size: both solve the
+ * same catalog with the same seeds and the profile for its size, and the averages of wall time and final score
+ * are reported. The convergence runs keep the spent limit as a cap for catalogs that never become feasible.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.benchmark.TerminationBenchmark [seconds] [runs] [size...]"}
+ */
+public class TerminationBenchmark {
+
+    public static void main(String[] args) {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 60L;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            sizes.add(Integer.parseInt(args[i]));
+        }
+        if (sizes.isEmpty()) {
+            sizes = List.of(500, 2000, 5000);
+        }
+        Duration spentLimit = Duration.ofSeconds(seconds);
+
+        System.out.println("=== Spent limit of " + seconds + " s vs convergence, average of " + runs + " runs ===");
+        System.out.println(String.format("  %8s  %-12s %10s %10s %12s  %s",
+                "Items", "Termination", "Wall ms", "Hard", "Soft", "Fired"));
+        for (int size : sizes) {
+            List<ClothingItem> items = SampleCatalog.generate(size, new Random(42));
+            SolverProfile profile = SolverProfile.select(size, spentLimit);
+            Summary fixed = new Summary();
+            Summary converging = new Summary();
+            for (int run = 0; run < runs; run++) {
+                SolverConfig config = profile.createSolverConfig()
+                        .withRandomSeed(1000L + run)
+                        .withTerminationConfig(new TerminationConfig().withSpentLimit(spentLimit));
+                SolverFactory<WardrobeSolution> solverFactory = SolverFactory.create(config);
+
+                Solver<WardrobeSolution> solver = solverFactory.buildSolver();
+                long start = System.nanoTime();
+                WardrobeSolution solution = solver.solve(problem(items));
+                fixed.add(System.nanoTime() - start, solution.getScore(), false);
+
+                solver = solverFactory.buildSolver();
+                ConvergenceTermination<WardrobeSolution> convergence = ConvergenceTermination.forCatalog(size);
+                convergence.attachTo(solver);
+                start = System.nanoTime();
+                solution = solver.solve(problem(items));
+                converging.add(System.nanoTime() - start, solution.getScore(), convergence.isTriggered());
+            }
+            System.out.println(fixed.toRow(size, "spent-limit"));
+            System.out.println(converging.toRow(size, "convergence"));
+        }
+    }
+
+    private static WardrobeSolution problem(List<ClothingItem> items) {
+        List<ClothingItem> copies = new ArrayList<>(items.size());
+        for (ClothingItem item : items) {
+            copies.add(new ClothingItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                    item.getStyle(), item.getColor(), item.isInStock()));
+        }
+        return new WardrobeSolution(copies, 120.0, List.of("casual", "smart-casual"));
+    }
+
+    private static final class Summary {
+
+        private int runs;
+        private long totalNanos;
+        private long totalHard;
+        private long totalSoft;
+        private int fired;
+
+        private void add(long nanos, HardSoftScore score, boolean convergenceFired) {
+            runs++;
+            totalNanos += nanos;
+            totalHard += score.hardScore();
+            totalSoft += score.softScore();
+            if (convergenceFired) {
+                fired++;
+            }
+        }
+
+        private String toRow(int size, String termination) {
+            return String.format("  %8d  %-12s %10d %10.1f %12.1f  %d/%d",
+                    size, termination, totalNanos / runs / 1_000_000L,
+                    (double) totalHard / runs, (double) totalSoft / runs, fired, runs);
+        }
+    }
+}
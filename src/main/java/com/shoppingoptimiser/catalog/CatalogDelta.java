@@ -0,0 +1,51 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingItem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes between a loaded catalog and a new snapshot of its feed, by item id: the items that are new,
+ * the new versions of the items whose row changed, and the loaded items that are no longer in the feed.
+ */
+public final class CatalogDelta {
+
+    private final List<ClothingItem> inserted;
+    private final List<ClothingItem> updated;
+    private final List<ClothingItem> deleted;
+
+    public CatalogDelta(List<ClothingItem> inserted, List<ClothingItem> updated, List<ClothingItem> deleted) {
+        this.inserted = Collections.unmodifiableList(inserted);
+        this.updated = Collections.unmodifiableList(updated);
+        this.deleted = Collections.unmodifiableList(deleted);
+    }
+
+    public List<ClothingItem> getInserted() {
+        return inserted;
+    }
+
+    public List<ClothingItem> getUpdated() {
+        return updated;
+    }
+
+    public List<ClothingItem> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Number of changed items.
+     */
+    public int size() {
+        return inserted.size() + updated.size() + deleted.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return inserted.size() + " inserted, " + updated.size() + " updated, " + deleted.size() + " deleted";
+    }
+}
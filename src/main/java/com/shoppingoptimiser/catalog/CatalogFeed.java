@@ -0,0 +1,174 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.Store;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads and writes snapshots of a retail catalog feed as CSV lines of
+ * {@code id,name,category,price,style,color,inStock,sizes,store}, e.g. {@code T17,Navy Polo,top,24.00,casual,navy,true,3c,ST2}.
+ * The sizes are the hexadecimal mask of {@link ClothingItem#getSizeStock()}, or empty for every size, and the
+ * store is the id of one of the known stores, or empty. Fields with a comma, a double quote or surrounding spaces
+ * are quoted, with double quotes doubled inside, e.g. {@code "Shirt, ""Oxford"""}; unquoted fields are trimmed.
+ * A {@code id,...} header line, blank lines and {@code #} comments are skipped. Feed items carry no shopper, so
+ * their stock is the row's own.
+ */
+public final class CatalogFeed {
+
+    private static final int FIELD_COUNT = 9;
+
+    private CatalogFeed() {
+    }
+
+    public static List<ClothingItem> read(Path file, Collection<Store> stores) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader, stores);
+        }
+    }
+
+    public static List<ClothingItem> read(Reader reader, Collection<Store> stores) throws IOException {
+        Map<String, Store> storesById = new HashMap<>();
+        for (Store store : stores) {
+            storesById.put(store.getId(), store);
+        }
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<ClothingItem> items = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")
+                    || (items.isEmpty() && trimmed.toLowerCase(Locale.ROOT).startsWith("id,"))) {
+                continue;
+            }
+            items.add(parse(trimmed, lineNumber, storesById));
+        }
+        return items;
+    }
+
+    public static void write(List<ClothingItem> items, Writer writer) throws IOException {
+        writer.write("id,name,category,price,style,color,inStock,sizes,store\n");
+        for (ClothingItem item : items) {
+            writer.write(field(item.getId()) + "," + field(item.getName())
+                    + "," + item.getCategory().name().toLowerCase(Locale.ROOT)
+                    + "," + String.format(Locale.ROOT, "%.2f", item.getPrice()) + "," + field(item.getStyle())
+                    + "," + field(item.getColor()) + "," + item.isInStock()
+                    + "," + (item.getSizeStock() == SizeProfile.ALL_SIZES ? "" : Long.toHexString(item.getSizeStock()))
+                    + "," + (item.getStore() == null ? "" : field(item.getStore().getId())) + "\n");
+        }
+    }
+
+    /**
+     * The value as a CSV field, quoted if it would not read back as is. Rows are single lines, so line breaks
+     * cannot be written.
+     */
+    static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("The feed field (" + value + ") must not contain a line break.");
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.equals(value.trim())) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * The fields of a row, unquoted, with unquoted fields trimmed.
+     */
+    static List<String> split(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>(FIELD_COUNT);
+        int i = 0;
+        while (true) {
+            while (i < line.length() && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < line.length() && line.charAt(i) == '"') {
+                StringBuilder field = new StringBuilder();
+                i++;
+                while (true) {
+                    int quote = line.indexOf('"', i);
+                    if (quote < 0) {
+                        throw new IllegalArgumentException("Line " + lineNumber + " has an unclosed quote (" + line
+                                + ").");
+                    }
+                    field.append(line, i, quote);
+                    i = quote + 1;
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < line.length() && line.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Line " + lineNumber + " has text after a quoted field ("
+                            + line + ").");
+                }
+                fields.add(field.toString());
+            } else {
+                int comma = line.indexOf(',', i);
+                fields.add(line.substring(i, comma < 0 ? line.length() : comma).trim());
+                i = comma < 0 ? line.length() : comma;
+            }
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++; // Past the comma
+        }
+    }
+
+    private static ClothingItem parse(String line, int lineNumber, Map<String, Store> storesById) {
+        List<String> fields = split(line, lineNumber);
+        if (fields.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException("Line " + lineNumber + " (" + line
+                    + ") must have " + FIELD_COUNT + " fields: id,name,category,price,style,color,inStock,sizes,store.");
+        }
+        ClothingCategory category;
+        try {
+            category = ClothingCategory.valueOf(fields.get(2).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + " has an unknown category ("
+                    + fields.get(2) + ").");
+        }
+        ClothingItem item;
+        try {
+            item = new ClothingItem(fields.get(0), fields.get(1), category, Double.parseDouble(fields.get(3)),
+                    fields.get(4), fields.get(5).toLowerCase(Locale.ROOT), Boolean.parseBoolean(fields.get(6)));
+            String sizes = fields.get(7);
+            item.setSizeStock(sizes.isEmpty() ? SizeProfile.ALL_SIZES : Long.parseUnsignedLong(sizes, 16));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + " has an invalid number (" + line + ").");
+        }
+        String storeId = fields.get(8);
+        if (!storeId.isEmpty()) {
+            Store store = storesById.get(storeId);
+            if (store == null) {
+                throw new IllegalArgumentException("Line " + lineNumber + " has an unknown store (" + storeId + ").");
+            }
+            item.setStore(store);
+        }
+        return item;
+    }
+}
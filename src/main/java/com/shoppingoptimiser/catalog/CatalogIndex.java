@@ -0,0 +1,391 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory inverted index over a catalog: category → style → color → item positions sorted by price.
+ * Positions are indexes into the catalog list and are kept in primitive arrays next to their prices,
+ * so a price limit is a binary search and a query touches only the matching buckets. Results are
+ * {@link BitSet}s of positions, which combine cheaply and map back to items in catalog order.
+ * Each store keeps the BitSet of its items, so stock and store filters are a few ANDs into the set of eligible
+ * positions, tested once per item collected. Buckets keep the stocked sizes of their items next to the prices,
+ * so a size filter is one bit test per item collected, and a limit per bucket stops at the cheapest items.
+ * A {@link CatalogDelta} is applied in place: changed items get new positions at the end, their old positions
+ * leave the live set, and only the buckets they touch are rebuilt. Once more than {@link #MAX_DEAD_SHARE} of the
+ * positions are dead, the index is compacted: live items move down in order and every bucket is remapped without
+ * re-sorting, so a long-running importer stays bounded by the live catalog. Positions returned by
+ * {@link #query} are therefore only valid until the next {@link #apply}. The index is not thread-safe.
+ */
+public class CatalogIndex {
+
+    // Share of dead positions, left by deleted and updated items, above which apply compacts the index
+    static final double MAX_DEAD_SHARE = 0.25;
+
+    private ArrayList<ClothingItem> items; // null at the positions of deleted and updated items
+    private BitSet live;
+    private BitSet inStock;
+    private final Map<String, Integer> positionById = new HashMap<>();
+    private final Map<String, BitSet> byStore = new HashMap<>();
+    private final Map<ClothingCategory, Map<String, Map<String, Bucket>>> buckets = new EnumMap<>(ClothingCategory.class);
+
+    private CatalogIndex(List<ClothingItem> items) {
+        this.items = new ArrayList<>(items);
+        this.live = new BitSet(items.size());
+        this.live.set(0, items.size());
+        this.inStock = new BitSet(items.size());
+        Map<ClothingCategory, Map<String, Map<String, List<Integer>>>> positions = new EnumMap<>(ClothingCategory.class);
+        for (int i = 0; i < items.size(); i++) {
+            ClothingItem item = items.get(i);
+            track(item, i);
+            positions.computeIfAbsent(item.getCategory(), c -> new HashMap<>())
+                    .computeIfAbsent(key(item.getStyle()), s -> new HashMap<>())
+                    .computeIfAbsent(key(item.getColor()), c -> new ArrayList<>())
+                    .add(i);
+        }
+        positions.forEach((category, byStyle) -> {
+            Map<String, Map<String, Bucket>> styleBuckets = new HashMap<>();
+            byStyle.forEach((style, byColor) -> {
+                Map<String, Bucket> colorBuckets = new HashMap<>();
+                byColor.forEach((color, list) -> colorBuckets.put(color, new Bucket(list, this.items)));
+                styleBuckets.put(style, colorBuckets);
+            });
+            buckets.put(category, styleBuckets);
+        });
+    }
+
+    public static CatalogIndex of(List<ClothingItem> items) {
+        return new CatalogIndex(items);
+    }
+
+    /**
+     * Replaces the deleted and updated items by id and adds the inserted ones, touching only their buckets.
+     */
+    public void apply(CatalogDelta delta) {
+        Map<ClothingCategory, Map<String, Map<String, List<Integer>>>> added = new EnumMap<>(ClothingCategory.class);
+        for (ClothingItem deleted : delta.getDeleted()) {
+            ClothingItem old = untrack(deleted.getId());
+            touch(added, old);
+        }
+        for (ClothingItem updated : delta.getUpdated()) {
+            ClothingItem old = untrack(updated.getId());
+            touch(added, old);
+        }
+        List<ClothingItem> newItems = new ArrayList<>(delta.getInserted().size() + delta.getUpdated().size());
+        for (ClothingItem inserted : delta.getInserted()) {
+            if (positionById.containsKey(inserted.getId())) {
+                throw new IllegalArgumentException("The inserted item (" + inserted.getId() + ") is already indexed.");
+            }
+            newItems.add(inserted);
+        }
+        newItems.addAll(delta.getUpdated());
+        for (ClothingItem item : newItems) {
+            int position = items.size();
+            items.add(item);
+            live.set(position);
+            track(item, position);
+            touch(added, item).add(position);
+        }
+        added.forEach((category, byStyle) -> byStyle.forEach((style, byColor) -> byColor.forEach((color, list) -> {
+            Map<String, Bucket> colorBuckets = buckets.computeIfAbsent(category, c -> new HashMap<>())
+                    .computeIfAbsent(style, s -> new HashMap<>());
+            Bucket bucket = colorBuckets.get(color);
+            Bucket merged = bucket == null ? new Bucket(list, items) : bucket.merge(new Bucket(list, items), live);
+            if (merged.positions.length == 0) {
+                colorBuckets.remove(color);
+            } else {
+                colorBuckets.put(color, merged);
+            }
+        })));
+        if (items.size() - live.cardinality() > items.size() * MAX_DEAD_SHARE) {
+            compact();
+        }
+    }
+
+    /**
+     * Moves the live items down to positions 0..size-1 in order and remaps the buckets, which keeps them sorted.
+     */
+    private void compact() {
+        int[] newPositions = new int[items.size()];
+        ArrayList<ClothingItem> compacted = new ArrayList<>(live.cardinality());
+        for (int i = 0; i < items.size(); i++) {
+            newPositions[i] = live.get(i) ? compacted.size() : -1;
+            if (live.get(i)) {
+                compacted.add(items.get(i));
+            }
+        }
+        items = compacted;
+        live = new BitSet(items.size());
+        live.set(0, items.size());
+        inStock = new BitSet(items.size());
+        positionById.clear();
+        byStore.clear();
+        for (int i = 0; i < items.size(); i++) {
+            track(items.get(i), i);
+        }
+        for (Map<String, Map<String, Bucket>> byStyle : buckets.values()) {
+            for (Map<String, Bucket> byColor : byStyle.values()) {
+                byColor.replaceAll((color, bucket) -> bucket.remap(newPositions));
+            }
+        }
+    }
+
+    /**
+     * Number of positions in use, live or dead; at most the size over 1 - {@link #MAX_DEAD_SHARE}.
+     */
+    int capacity() {
+        return items.size();
+    }
+
+    private void track(ClothingItem item, int position) {
+        positionById.put(item.getId(), position);
+        if (item.isInStock()) {
+            inStock.set(position);
+        }
+        if (item.getStore() != null) {
+            byStore.computeIfAbsent(item.getStore().getId(), s -> new BitSet(items.size())).set(position);
+        }
+    }
+
+    private ClothingItem untrack(String id) {
+        Integer position = positionById.remove(id);
+        if (position == null) {
+            throw new IllegalArgumentException("The changed item (" + id + ") is not indexed.");
+        }
+        ClothingItem old = items.set(position, null);
+        live.clear(position);
+        inStock.clear(position);
+        if (old.getStore() != null) {
+            byStore.get(old.getStore().getId()).clear(position);
+        }
+        return old;
+    }
+
+    /**
+     * The new positions of the item's bucket, registering the bucket for a rebuild.
+     */
+    private static List<Integer> touch(Map<ClothingCategory, Map<String, Map<String, List<Integer>>>> added,
+                                       ClothingItem item) {
+        return added.computeIfAbsent(item.getCategory(), c -> new HashMap<>())
+                .computeIfAbsent(key(item.getStyle()), s -> new HashMap<>())
+                .computeIfAbsent(key(item.getColor()), c -> new ArrayList<>());
+    }
+
+    /**
+     * Positions of all items matching the query.
+     */
+    public BitSet query(CatalogQuery query) {
+        BitSet eligible = (BitSet) live.clone();
+        if (query.isInStockOnly()) {
+            eligible.and(inStock);
+        }
+        if (query.getStoreIds() != null) {
+            BitSet inStores = new BitSet(items.size());
+            for (String storeId : query.getStoreIds()) {
+                BitSet storeItems = byStore.get(storeId);
+                if (storeItems != null) {
+                    inStores.or(storeItems);
+                }
+            }
+            eligible.and(inStores);
+        }
+        BitSet result = new BitSet(items.size());
+        for (ClothingCategory category : query.getCategories()) {
+            Map<String, Map<String, Bucket>> byStyle = buckets.get(category);
+            if (byStyle == null) {
+                continue;
+            }
+            long sizeMask = query.getSizes().maskOf(category);
+            for (Map<String, Bucket> byColor : select(byStyle, query.getStyles())) {
+                for (Bucket bucket : select(byColor, query.getColors())) {
+                    bucket.collect(query.getMaxPriceCents(), sizeMask, eligible, query.getPerGroupLimit(), result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Items at the given positions, in catalog order.
+     */
+    public List<ClothingItem> itemsOf(BitSet positions) {
+        List<ClothingItem> result = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            result.add(items.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Shortcut for {@code itemsOf(query(query))}.
+     */
+    public List<ClothingItem> find(CatalogQuery query) {
+        return itemsOf(query(query));
+    }
+
+    /**
+     * The indexed item with the given id, or null.
+     */
+    public ClothingItem get(String id) {
+        Integer position = positionById.get(id);
+        return position == null ? null : items.get(position);
+    }
+
+    /**
+     * All indexed items, in catalog order with changed items last.
+     */
+    public List<ClothingItem> items() {
+        return itemsOf(live);
+    }
+
+    public int size() {
+        return live.cardinality();
+    }
+
+    /**
+     * Number of (category, style, color) groups, each with its own bucket.
+     */
+    public int groupCount() {
+        int count = 0;
+        for (Map<String, Map<String, Bucket>> byStyle : buckets.values()) {
+            for (Map<String, Bucket> byColor : byStyle.values()) {
+                count += byColor.size();
+            }
+        }
+        return count;
+    }
+
+    static <V> Iterable<V> select(Map<String, V> byKey, Set<String> keys) {
+        if (keys == null) {
+            return byKey.values();
+        }
+        List<V> selected = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            V value = byKey.get(key);
+            if (value != null) {
+                selected.add(value);
+            }
+        }
+        return selected;
+    }
+
+    static String key(String attribute) {
+        return attribute == null ? "" : attribute.toLowerCase();
+    }
+
+    /**
+     * Item positions of one (category, style, color) combination, sorted by price, with their stocked sizes.
+     */
+    private static final class Bucket {
+        private final int[] positions;
+        private final long[] priceCents;
+        private final long[] sizeStock;
+
+        private Bucket(List<Integer> unsorted, List<ClothingItem> items) {
+            List<Integer> sorted = new ArrayList<>(unsorted);
+            sorted.sort((a, b) -> Long.compare(items.get(a).getPriceCents(), items.get(b).getPriceCents()));
+            positions = new int[sorted.size()];
+            priceCents = new long[sorted.size()];
+            sizeStock = new long[sorted.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = sorted.get(i);
+                priceCents[i] = items.get(positions[i]).getPriceCents();
+                sizeStock[i] = items.get(positions[i]).getSizeStock();
+            }
+        }
+
+        private Bucket(int length) {
+            positions = new int[length];
+            priceCents = new long[length];
+            sizeStock = new long[length];
+        }
+
+        /**
+         * The live positions of this bucket and the added bucket, merged in price order without re-sorting.
+         */
+        private Bucket merge(Bucket added, BitSet live) {
+            Bucket merged = new Bucket(positions.length + added.positions.length);
+            int length = 0;
+            int j = 0;
+            for (int i = 0; i < positions.length; i++) {
+                if (!live.get(positions[i])) {
+                    continue;
+                }
+                while (j < added.positions.length && added.priceCents[j] < priceCents[i]) {
+                    length = merged.copy(length, added, j++);
+                }
+                length = merged.copy(length, this, i);
+            }
+            while (j < added.positions.length) {
+                length = merged.copy(length, added, j++);
+            }
+            return length == merged.positions.length ? merged : merged.truncate(length);
+        }
+
+        /**
+         * This bucket at the positions after compaction, dropping dead ones, in the same price order.
+         */
+        private Bucket remap(int[] newPositions) {
+            Bucket remapped = new Bucket(positions.length);
+            int length = 0;
+            for (int i = 0; i < positions.length; i++) {
+                if (newPositions[positions[i]] >= 0) {
+                    length = remapped.copy(length, this, i);
+                    remapped.positions[length - 1] = newPositions[positions[i]];
+                }
+            }
+            return length == remapped.positions.length ? remapped : remapped.truncate(length);
+        }
+
+        private int copy(int index, Bucket from, int fromIndex) {
+            positions[index] = from.positions[fromIndex];
+            priceCents[index] = from.priceCents[fromIndex];
+            sizeStock[index] = from.sizeStock[fromIndex];
+            return index + 1;
+        }
+
+        private Bucket truncate(int length) {
+            Bucket truncated = new Bucket(length);
+            System.arraycopy(positions, 0, truncated.positions, 0, length);
+            System.arraycopy(priceCents, 0, truncated.priceCents, 0, length);
+            System.arraycopy(sizeStock, 0, truncated.sizeStock, 0, length);
+            return truncated;
+        }
+
+        private void collect(long maxPriceCents, long sizeMask, BitSet eligible, int limit, BitSet result) {
+            int end = upperBound(maxPriceCents);
+            int collected = 0;
+            for (int i = 0; i < end && collected < limit; i++) {
+                if ((sizeStock[i] & sizeMask) != 0L && eligible.get(positions[i])) {
+                    result.set(positions[i]);
+                    collected++;
+                }
+            }
+        }
+
+        /**
+         * Number of positions priced at most maxPriceCents.
+         */
+        private int upperBound(long maxPriceCents) {
+            int low = 0;
+            int high = priceCents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (priceCents[mid] <= maxPriceCents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
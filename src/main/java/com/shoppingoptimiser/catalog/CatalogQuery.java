@@ -0,0 +1,166 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.SizeProfile;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Attribute filter answered by {@link CatalogIndex}, e.g. "casual or smart-casual tops up to $40 in stock":
+ * {@code CatalogQuery.all().categories(TOP).styles("casual", "smart-casual").maxPrice(40).inStockOnly()}.
+ * Unset attributes match everything; styles and colors are compared case-insensitively, store ids exactly.
+ */
+public class CatalogQuery {
+
+    private Set<ClothingCategory> categories = EnumSet.allOf(ClothingCategory.class);
+    private Set<String> styles; // null matches all styles
+    private Set<String> colors; // null matches all colors
+    private Set<String> storeIds; // null matches all stores
+    private SizeProfile sizes = SizeProfile.ANY;
+    private long maxPriceCents = Long.MAX_VALUE;
+    private int perGroupLimit = Integer.MAX_VALUE;
+    private boolean inStockOnly;
+
+    private CatalogQuery() {
+    }
+
+    public static CatalogQuery all() {
+        return new CatalogQuery();
+    }
+
+    /**
+     * A copy to refine without changing this query.
+     */
+    public CatalogQuery copy() {
+        CatalogQuery copy = new CatalogQuery();
+        copy.categories = EnumSet.copyOf(categories);
+        copy.styles = styles;
+        copy.colors = colors;
+        copy.storeIds = storeIds;
+        copy.sizes = sizes;
+        copy.maxPriceCents = maxPriceCents;
+        copy.perGroupLimit = perGroupLimit;
+        copy.inStockOnly = inStockOnly;
+        return copy;
+    }
+
+    public CatalogQuery categories(ClothingCategory first, ClothingCategory... rest) {
+        this.categories = EnumSet.of(first, rest);
+        return this;
+    }
+
+    public CatalogQuery styles(String... styles) {
+        return styles(Arrays.asList(styles));
+    }
+
+    public CatalogQuery styles(Collection<String> styles) {
+        this.styles = lowerCase(styles);
+        return this;
+    }
+
+    public CatalogQuery colors(String... colors) {
+        this.colors = lowerCase(Arrays.asList(colors));
+        return this;
+    }
+
+    /**
+     * Only items sold by one of the given stores, by store id.
+     */
+    public CatalogQuery stores(String... storeIds) {
+        this.storeIds = new LinkedHashSet<>(Arrays.asList(storeIds));
+        return this;
+    }
+
+    /**
+     * Only items stocked in the size worn in their category, if the profile has one.
+     */
+    public CatalogQuery sizes(SizeProfile sizes) {
+        this.sizes = sizes;
+        return this;
+    }
+
+    /**
+     * Only items priced at most the given amount.
+     */
+    public CatalogQuery maxPrice(double maxPrice) {
+        this.maxPriceCents = Math.round(maxPrice * 100);
+        return this;
+    }
+
+    /**
+     * Only the given number of cheapest matching items of every category, style and color, e.g. to keep a
+     * problem small enough to solve within a deadline.
+     */
+    public CatalogQuery cheapestPerGroup(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("The items per group (" + count + ") must be at least 1.");
+        }
+        this.perGroupLimit = count;
+        return this;
+    }
+
+    public CatalogQuery inStockOnly() {
+        this.inStockOnly = true;
+        return this;
+    }
+
+    /**
+     * Whether a single item matches, with the same rules as the index; for items that are not indexed yet.
+     * The {@link #cheapestPerGroup} limit depends on the other items and is not checked.
+     */
+    public boolean matches(ClothingItem item) {
+        return categories.contains(item.getCategory())
+                && (styles == null || styles.contains(CatalogIndex.key(item.getStyle())))
+                && (colors == null || colors.contains(CatalogIndex.key(item.getColor())))
+                && (storeIds == null || (item.getStore() != null && storeIds.contains(item.getStore().getId())))
+                && (item.getSizeStock() & sizes.maskOf(item.getCategory())) != 0L
+                && item.getPriceCents() <= maxPriceCents
+                && (!inStockOnly || item.isInStock());
+    }
+
+    private static Set<String> lowerCase(Collection<String> values) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String value : values) {
+            result.add(value.toLowerCase());
+        }
+        return result;
+    }
+
+    Set<ClothingCategory> getCategories() {
+        return Collections.unmodifiableSet(categories);
+    }
+
+    Set<String> getStyles() {
+        return styles;
+    }
+
+    Set<String> getColors() {
+        return colors;
+    }
+
+    Set<String> getStoreIds() {
+        return storeIds;
+    }
+
+    SizeProfile getSizes() {
+        return sizes;
+    }
+
+    long getMaxPriceCents() {
+        return maxPriceCents;
+    }
+
+    int getPerGroupLimit() {
+        return perGroupLimit;
+    }
+
+    boolean isInStockOnly() {
+        return inStockOnly;
+    }
+}
@@ -0,0 +1,472 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Catalog kept in a memory-mapped file, for catalogs larger than the heap. The file has the layout of
+ * {@link CatalogIndex}: fixed-width records clustered by (category, style, color) bucket and sorted by price
+ * within each bucket, so a query binary searches the price limit in the mapped records of the matching buckets,
+ * checks stock, sizes and store on the records and only creates the items it returns. The heap holds just the
+ * bucket directory and the stores. Queries answer the same {@link CatalogQuery}s as the index.
+ * <p>
+ * Layout: a header with the stores, the bucket directory and the region offsets; the records, 32 bytes each
+ * (see {@link #RECORD_SIZE}); and the UTF-8 ids and names the records point to.
+ */
+public final class CatalogStore implements Closeable {
+
+    private static final int MAGIC = 0x57435331; // "WCS1"
+    static final int RECORD_SIZE = 32;
+    // Record fields, by offset
+    private static final int SIZE_STOCK = 0; // long
+    private static final int STRINGS = 8; // long, file position of the id followed by the name
+    private static final int PRICE_CENTS = 16; // int
+    private static final int STORE = 20; // int, index into the stores or -1
+    private static final int ID_LENGTH = 24; // unsigned short
+    private static final int NAME_LENGTH = 26; // unsigned short
+    private static final int IN_STOCK = 28; // byte
+    // Mapped segments of the file; a multiple of the record size, so records never straddle two segments
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final List<Store> stores;
+    private final Map<ClothingCategory, Map<String, Map<String, Bucket>>> buckets;
+    private final long recordsOffset;
+    private final long recordCount;
+
+    private CatalogStore(FileChannel channel, List<Store> stores,
+                         Map<ClothingCategory, Map<String, Map<String, Bucket>>> buckets,
+                         long recordsOffset, long recordCount) throws IOException {
+        this.channel = channel;
+        this.stores = stores;
+        this.buckets = buckets;
+        this.recordsOffset = recordsOffset;
+        this.recordCount = recordCount;
+        long size = channel.size();
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+        }
+    }
+
+    /**
+     * Start writing a new store to the given file, replacing it once the writer is closed.
+     */
+    public static Writer create(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    public static CatalogStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("The file (" + file + ") is not a catalog store.");
+            }
+            List<Store> stores = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                stores.add(new Store(in.readUTF(), in.readUTF(), in.readDouble(), in.readDouble()));
+            }
+            Map<ClothingCategory, Map<String, Map<String, Bucket>>> buckets = new EnumMap<>(ClothingCategory.class);
+            for (int i = in.readInt(); i > 0; i--) {
+                ClothingCategory category = ClothingCategory.values()[in.readByte()];
+                Bucket bucket = new Bucket(category, in.readUTF(), in.readUTF(), in.readLong(), in.readLong());
+                buckets.computeIfAbsent(category, c -> new HashMap<>())
+                        .computeIfAbsent(CatalogIndex.key(bucket.style), s -> new HashMap<>())
+                        .put(CatalogIndex.key(bucket.color), bucket);
+            }
+            long recordsOffset = in.readLong();
+            long recordCount = in.readLong();
+            return new CatalogStore(channel, Collections.unmodifiableList(stores), buckets, recordsOffset, recordCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Hand every item matching the query to the action, bucket by bucket and cheapest first within a bucket.
+     */
+    public void forEach(CatalogQuery query, Consumer<ClothingItem> action) {
+        boolean[] inStores = null;
+        if (query.getStoreIds() != null) {
+            inStores = new boolean[stores.size()];
+            for (int i = 0; i < stores.size(); i++) {
+                inStores[i] = query.getStoreIds().contains(stores.get(i).getId());
+            }
+        }
+        for (ClothingCategory category : query.getCategories()) {
+            Map<String, Map<String, Bucket>> byStyle = buckets.get(category);
+            if (byStyle == null) {
+                continue;
+            }
+            long sizeMask = query.getSizes().maskOf(category);
+            for (Map<String, Bucket> byColor : CatalogIndex.select(byStyle, query.getStyles())) {
+                for (Bucket bucket : CatalogIndex.select(byColor, query.getColors())) {
+                    long end = upperBound(bucket, query.getMaxPriceCents());
+                    int collected = 0;
+                    int limit = query.getPerGroupLimit();
+                    for (long record = bucket.firstRecord; record < end && collected < limit; record++) {
+                        long position = recordsOffset + record * RECORD_SIZE;
+                        ByteBuffer segment = segments[(int) (position >>> SEGMENT_BITS)];
+                        int offset = (int) (position & SEGMENT_MASK);
+                        if (query.isInStockOnly() && segment.get(offset + IN_STOCK) == 0) {
+                            continue;
+                        }
+                        if ((segment.getLong(offset + SIZE_STOCK) & sizeMask) == 0L) {
+                            continue;
+                        }
+                        int store = segment.getInt(offset + STORE);
+                        if (inStores != null && (store < 0 || !inStores[store])) {
+                            continue;
+                        }
+                        action.accept(itemAt(segment, offset, bucket));
+                        collected++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * All items matching the query, bucket by bucket and cheapest first within a bucket.
+     */
+    public List<ClothingItem> find(CatalogQuery query) {
+        List<ClothingItem> result = new ArrayList<>();
+        forEach(query, result::add);
+        return result;
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    public List<Store> getStores() {
+        return stores;
+    }
+
+    /**
+     * Closes the file; the mappings are released once they are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Index of the first record of the bucket priced above maxPriceCents.
+     */
+    private long upperBound(Bucket bucket, long maxPriceCents) {
+        long low = bucket.firstRecord;
+        long high = bucket.firstRecord + bucket.count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            long position = recordsOffset + mid * RECORD_SIZE + PRICE_CENTS;
+            if (segments[(int) (position >>> SEGMENT_BITS)].getInt((int) (position & SEGMENT_MASK)) <= maxPriceCents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ClothingItem itemAt(ByteBuffer segment, int offset, Bucket bucket) {
+        int idLength = segment.getShort(offset + ID_LENGTH) & 0xffff;
+        int nameLength = segment.getShort(offset + NAME_LENGTH) & 0xffff;
+        byte[] strings = read(segment.getLong(offset + STRINGS), idLength + nameLength);
+        ClothingItem item = new ClothingItem(new String(strings, 0, idLength, StandardCharsets.UTF_8),
+                new String(strings, idLength, nameLength, StandardCharsets.UTF_8), bucket.category,
+                segment.getInt(offset + PRICE_CENTS) / 100.0, bucket.style, bucket.color,
+                segment.get(offset + IN_STOCK) != 0);
+        item.setSizeStock(segment.getLong(offset + SIZE_STOCK));
+        int store = segment.getInt(offset + STORE);
+        if (store >= 0) {
+            item.setStore(stores.get(store));
+        }
+        return item;
+    }
+
+    /**
+     * The bytes at the given file position, which may straddle two segments.
+     */
+    private byte[] read(long position, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            ByteBuffer segment = segments[(int) ((position + copied) >>> SEGMENT_BITS)].duplicate();
+            segment.position((int) ((position + copied) & SEGMENT_MASK));
+            int chunk = Math.min(length - copied, segment.remaining());
+            segment.get(bytes, copied, chunk);
+            copied += chunk;
+        }
+        return bytes;
+    }
+
+    /**
+     * The records of one (category, style, color) combination, sorted by price.
+     */
+    private static final class Bucket {
+        private final ClothingCategory category;
+        private final String style;
+        private final String color;
+        private final long firstRecord;
+        private final long count;
+
+        private Bucket(ClothingCategory category, String style, String color, long firstRecord, long count) {
+            this.category = category;
+            this.style = style;
+            this.color = color;
+            this.firstRecord = firstRecord;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Writes a store from items added one at a time. Items are spilled to one temporary file per bucket, and
+     * closing sorts each bucket by price on its own, so only the largest bucket has to fit in the heap.
+     * The store replaces the target file atomically once it is complete. Closing removes the spills whether or
+     * not the store could be written; the spills of a writer that is never closed are removed when the JVM exits.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path spillDirectory;
+        // Spills by category, then style and color as first seen, in the order the buckets are written
+        private final Map<ClothingCategory, TreeMap<String, TreeMap<String, Spill>>> spills =
+                new EnumMap<>(ClothingCategory.class);
+        private final List<Store> stores = new ArrayList<>();
+        private final Map<String, Integer> storeIndexes = new HashMap<>();
+        private int bucketCount;
+        private long itemCount;
+
+        private Writer(Path file) throws IOException {
+            this.file = file;
+            Path parent = file.toAbsolutePath().getParent();
+            this.spillDirectory = Files.createTempDirectory(parent, file.getFileName() + ".spill");
+            // Deleted on exit in reverse order of registration, so after the spills registered later
+            spillDirectory.toFile().deleteOnExit();
+        }
+
+        public void add(ClothingItem item) throws IOException {
+            Spill spill = spills.computeIfAbsent(item.getCategory(), c -> new TreeMap<>())
+                    .computeIfAbsent(CatalogIndex.key(item.getStyle()), s -> new TreeMap<>())
+                    .get(CatalogIndex.key(item.getColor()));
+            if (spill == null) {
+                spill = new Spill(spillDirectory.resolve("bucket" + bucketCount++), item.getStyle(), item.getColor());
+                spills.get(item.getCategory()).get(CatalogIndex.key(item.getStyle()))
+                        .put(CatalogIndex.key(item.getColor()), spill);
+            }
+            int store = -1;
+            if (item.getStore() != null) {
+                store = storeIndexes.computeIfAbsent(item.getStore().getId(), id -> {
+                    stores.add(item.getStore());
+                    return stores.size() - 1;
+                });
+            }
+            long priceCents = item.getPriceCents();
+            if (priceCents < 0 || priceCents > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The price (" + item.getPrice() + ") of item " + item.getId()
+                        + " cannot be stored.");
+            }
+            spill.out.writeInt((int) priceCents);
+            spill.out.writeBoolean(item.isInStock());
+            spill.out.writeLong(item.getSizeStock());
+            spill.out.writeInt(store);
+            spill.out.writeUTF(item.getId());
+            spill.out.writeUTF(item.getName() == null ? "" : item.getName());
+            spill.count++;
+            itemCount++;
+        }
+
+        /**
+         * Sort every bucket by price, write the records and strings and move the store over the target file.
+         */
+        @Override
+        public void close() throws IOException {
+            List<Spill> ordered = new ArrayList<>();
+            spills.values().forEach(byStyle -> byStyle.values().forEach(byColor -> ordered.addAll(byColor.values())));
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Path strings = spillDirectory.resolve("strings");
+            strings.toFile().deleteOnExit();
+            boolean written = false;
+            try {
+                for (Spill spill : ordered) {
+                    spill.out.close();
+                }
+                write(ordered, temporary, strings);
+                written = true;
+            } finally {
+                // On failure the spills are still in the directory and the temporary store is incomplete
+                for (Spill spill : ordered) {
+                    Files.deleteIfExists(spill.file);
+                }
+                Files.deleteIfExists(strings);
+                Files.deleteIfExists(spillDirectory);
+                if (!written) {
+                    Files.deleteIfExists(temporary);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private void write(List<Spill> ordered, Path temporary, Path strings) throws IOException {
+            byte[] header = header();
+            long recordsOffset = recordsOffset(header.length);
+            long stringsPosition = recordsOffset + itemCount * RECORD_SIZE;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)));
+                 DataOutputStream stringOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(strings)))) {
+                out.write(header);
+                out.write(new byte[(int) (recordsOffset - header.length)]);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+                for (Spill spill : ordered) {
+                    SortedBucket bucket = SortedBucket.read(spill);
+                    for (int i : bucket.byPrice) {
+                        byte[] id = bucket.ids[i].getBytes(StandardCharsets.UTF_8);
+                        byte[] name = bucket.names[i].getBytes(StandardCharsets.UTF_8);
+                        record.clear();
+                        record.putLong(SIZE_STOCK, bucket.sizeStock[i]);
+                        record.putLong(STRINGS, stringsPosition);
+                        record.putInt(PRICE_CENTS, bucket.priceCents[i]);
+                        record.putInt(STORE, bucket.stores[i]);
+                        record.putShort(ID_LENGTH, (short) id.length);
+                        record.putShort(NAME_LENGTH, (short) name.length);
+                        record.put(IN_STOCK, (byte) (bucket.inStock[i] ? 1 : 0));
+                        out.write(record.array());
+                        stringOut.write(id);
+                        stringOut.write(name);
+                        stringsPosition += id.length + name.length;
+                    }
+                    Files.delete(spill.file);
+                }
+                stringOut.flush();
+                Files.copy(strings, out);
+            }
+        }
+
+        private static long recordsOffset(long headerLength) {
+            return (headerLength + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+        }
+
+        private byte[] header() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(stores.size());
+            for (Store store : stores) {
+                out.writeUTF(store.getId());
+                out.writeUTF(store.getName() == null ? "" : store.getName());
+                out.writeDouble(store.getShippingFee());
+                out.writeDouble(store.getFreeShippingThreshold());
+            }
+            out.writeInt(bucketCount);
+            long firstRecord = 0L;
+            for (Map.Entry<ClothingCategory, TreeMap<String, TreeMap<String, Spill>>> byCategory : spills.entrySet()) {
+                for (TreeMap<String, Spill> byColor : byCategory.getValue().values()) {
+                    for (Spill spill : byColor.values()) {
+                        out.writeByte(byCategory.getKey().ordinal());
+                        out.writeUTF(spill.style == null ? "" : spill.style);
+                        out.writeUTF(spill.color == null ? "" : spill.color);
+                        out.writeLong(firstRecord);
+                        out.writeLong(spill.count);
+                        firstRecord += spill.count;
+                    }
+                }
+            }
+            // The records start after the header, rounded up to a whole record; the header ends with two longs
+            out.writeLong(recordsOffset(bytes.size() + 16L));
+            out.writeLong(itemCount);
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * The items of one bucket as they were added, spilled to a temporary file.
+     */
+    private static final class Spill {
+        private final Path file;
+        private final String style;
+        private final String color;
+        private final DataOutputStream out;
+        private long count;
+
+        private Spill(Path file, String style, String color) throws IOException {
+            this.file = file;
+            this.style = style;
+            this.color = color;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 16 * 1024));
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * One spilled bucket read back into primitive arrays, with its positions sorted by price.
+     */
+    private static final class SortedBucket {
+        private int[] priceCents;
+        private boolean[] inStock;
+        private long[] sizeStock;
+        private int[] stores;
+        private String[] ids;
+        private String[] names;
+        private Integer[] byPrice;
+
+        private static SortedBucket read(Spill spill) throws IOException {
+            if (spill.count > Integer.MAX_VALUE) {
+                throw new IllegalStateException("The bucket " + spill.style + "/" + spill.color + " has "
+                        + spill.count + " items, more than can be sorted in memory.");
+            }
+            int count = (int) spill.count;
+            SortedBucket bucket = new SortedBucket();
+            bucket.priceCents = new int[count];
+            bucket.inStock = new boolean[count];
+            bucket.sizeStock = new long[count];
+            bucket.stores = new int[count];
+            bucket.ids = new String[count];
+            bucket.names = new String[count];
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spill.file)))) {
+                for (int i = 0; i < count; i++) {
+                    bucket.priceCents[i] = in.readInt();
+                    bucket.inStock[i] = in.readBoolean();
+                    bucket.sizeStock[i] = in.readLong();
+                    bucket.stores[i] = in.readInt();
+                    bucket.ids[i] = in.readUTF();
+                    bucket.names[i] = in.readUTF();
+                }
+            }
+            bucket.byPrice = new Integer[count];
+            Arrays.setAll(bucket.byPrice, i -> i);
+            // Stable, so items of the same price keep the order they were added in
+            Arrays.sort(bucket.byPrice, (a, b) -> Integer.compare(bucket.priceCents[a], bucket.priceCents[b]));
+            return bucket;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.monitoring.CatalogDeltaEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a {@link CatalogIndex} in sync with full snapshots of a catalog feed by importing only what changed.
+ * Every indexed item is remembered by id with a 64-bit hash of its row, so comparing a snapshot is one hash per
+ * item and one map lookup: unknown ids are inserts, known ids with another hash are updates and ids missing
+ * from the snapshot are deletes. Detecting and applying are recorded as {@link CatalogDeltaEvent}s.
+ */
+public class DeltaImporter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final CatalogIndex index;
+    private final Map<String, Long> hashById = new LinkedHashMap<>();
+
+    public DeltaImporter(CatalogIndex index) {
+        this.index = index;
+        for (ClothingItem item : index.items()) {
+            hashById.put(item.getId(), hash(item));
+        }
+    }
+
+    /**
+     * Detects the changes of a snapshot against the indexed catalog, without applying them.
+     */
+    public CatalogDelta diff(List<ClothingItem> snapshot) {
+        CatalogDeltaEvent event = new CatalogDeltaEvent();
+        event.begin();
+        List<ClothingItem> inserted = new ArrayList<>();
+        List<ClothingItem> updated = new ArrayList<>();
+        Set<String> seen = new HashSet<>(snapshot.size() * 2);
+        for (ClothingItem item : snapshot) {
+            if (!seen.add(item.getId())) {
+                throw new IllegalArgumentException("The snapshot has the item (" + item.getId() + ") twice.");
+            }
+            Long known = hashById.get(item.getId());
+            if (known == null) {
+                inserted.add(item);
+            } else if (known != hash(item)) {
+                updated.add(item);
+            }
+        }
+        List<ClothingItem> deleted = new ArrayList<>();
+        if (seen.size() - inserted.size() < hashById.size()) {
+            for (String id : hashById.keySet()) {
+                if (!seen.contains(id)) {
+                    deleted.add(index.get(id));
+                }
+            }
+        }
+        CatalogDelta delta = new CatalogDelta(inserted, updated, deleted);
+        commit(event, "detect", delta);
+        return delta;
+    }
+
+    /**
+     * Applies changes detected by {@link #diff} to the index.
+     */
+    public void apply(CatalogDelta delta) {
+        CatalogDeltaEvent event = new CatalogDeltaEvent();
+        event.begin();
+        index.apply(delta);
+        for (ClothingItem item : delta.getDeleted()) {
+            hashById.remove(item.getId());
+        }
+        for (ClothingItem item : delta.getUpdated()) {
+            hashById.put(item.getId(), hash(item));
+        }
+        for (ClothingItem item : delta.getInserted()) {
+            hashById.put(item.getId(), hash(item));
+        }
+        commit(event, "index", delta);
+    }
+
+    /**
+     * Shortcut for {@code apply(diff(snapshot))}, returning the applied changes.
+     */
+    public CatalogDelta importSnapshot(List<ClothingItem> snapshot) {
+        CatalogDelta delta = diff(snapshot);
+        if (!delta.isEmpty()) {
+            apply(delta);
+        }
+        return delta;
+    }
+
+    public CatalogIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * FNV-1a hash of the fields a feed row carries; the solver's planning state is left out.
+     */
+    static long hash(ClothingItem item) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, item.getId());
+        hash = hash(hash, item.getName());
+        hash = hash(hash, item.getCategory().ordinal());
+        hash = hash(hash, item.getPriceCents());
+        hash = hash(hash, item.getStyle());
+        hash = hash(hash, item.getColor());
+        hash = hash(hash, item.isInStock() ? 1L : 0L);
+        hash = hash(hash, item.getSizeStock());
+        return hash(hash, item.getStore() == null ? null : item.getStore().getId());
+    }
+
+    private static long hash(long hash, String value) {
+        // A feed writes a missing value as an empty field and reads it back as "", so both hash the same
+        if (value == null) {
+            value = "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // The length separates adjacent fields, so "ab","c" and "a","bc" differ
+        return hash(hash, value.length());
+    }
+
+    private static long hash(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xffL)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static void commit(CatalogDeltaEvent event, String stage, CatalogDelta delta) {
+        event.stage = stage;
+        event.inserted = delta.getInserted().size();
+        event.updated = delta.getUpdated().size();
+        event.deleted = delta.getDeleted().size();
+        event.commit();
+    }
+}
@@ -0,0 +1,201 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.Store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Generates sample clothing inventories of any size, shared by the applications and benchmarks.
+ */
+public final class SampleCatalog {
+
+    public static final String[] STYLES = {"casual", "formal", "smart-casual", "sport", "streetwear", "vintage", "beach", "outdoor"};
+    public static final String[] COLORS = {"black", "white", "gray", "navy", "blue", "red", "green", "beige", "brown", "purple", "yellow", "orange"};
+
+    private static final String[] TOP_TYPES = {"T-shirt", "Dress Shirt", "Sweater", "Polo", "Henley", "Oxford Shirt", "Flannel",
+            "Turtleneck", "Cardigan", "Hoodie", "Tank Top", "Rugby Shirt", "Blouse", "Vest"};
+    private static final String[] BOTTOM_TYPES = {"Jeans", "Chinos", "Dress Pants", "Shorts", "Cargo Pants", "Slacks", "Joggers",
+            "Corduroy Pants", "Leggings", "Track Pants"};
+    private static final String[] SHOE_TYPES = {"Sneakers", "Dress Shoes", "Loafers", "Running Shoes", "Boots", "Sandals",
+            "Boat Shoes", "Canvas Shoes", "Oxfords", "Brogues"};
+    private static final String[] OUTERWEAR_TYPES = {"Jacket", "Blazer", "Coat", "Parka", "Vest", "Windbreaker", "Raincoat"};
+    private static final String[] ACCESSORY_TYPES = {"Belt", "Watch", "Sunglasses", "Hat", "Scarf", "Tie", "Bracelet"};
+
+    private SampleCatalog() {
+    }
+
+    /**
+     * Create a sample inventory of the given size.
+     * Distribution: 40% tops, 30% bottoms, 16% shoes, 8% outerwear, 6% accessories.
+     */
+    public static List<ClothingItem> generate(int size, Random rand) {
+        List<ClothingItem> items = new ArrayList<>(size);
+        generate(size, rand, items::add);
+        return items;
+    }
+
+    /**
+     * Create the same sample inventory as {@link #generate(int, Random)}, handing every item to the sink as it
+     * is created instead of collecting them, so catalogs larger than the heap can be written to a CatalogStore.
+     */
+    public static void generate(long size, Random rand, Consumer<ClothingItem> sink) {
+        long numTops = (long) (size * 0.40);
+        long numBottoms = (long) (size * 0.30);
+        long numShoes = (long) (size * 0.16);
+        long numOuterwear = (long) (size * 0.08);
+        long numAccessories = size - numTops - numBottoms - numShoes - numOuterwear;
+
+        addItems(sink, rand, numTops, "T", ClothingCategory.TOP, TOP_TYPES, 15, 85, 0.05);  // $15-$99
+        addItems(sink, rand, numBottoms, "B", ClothingCategory.BOTTOM, BOTTOM_TYPES, 25, 100, 0.05);  // $25-$124
+        addItems(sink, rand, numShoes, "S", ClothingCategory.SHOES, SHOE_TYPES, 40, 140, 0.08);  // $40-$179
+        addItems(sink, rand, numOuterwear, "O", ClothingCategory.OUTERWEAR, OUTERWEAR_TYPES, 60, 140, 0.10);  // $60-$199
+        addItems(sink, rand, numAccessories, "A", ClothingCategory.ACCESSORY, ACCESSORY_TYPES, 10, 140, 0.05);  // $10-$149
+    }
+
+    /**
+     * Create sample household members, each preferring two styles and wearing their own sizes.
+     */
+    public static List<Shopper> generateShoppers(int count) {
+        List<Shopper> shoppers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SizeProfile sizes = SizeProfile.ANY;
+            for (ClothingCategory category : new ClothingCategory[]{ClothingCategory.TOP, ClothingCategory.BOTTOM,
+                    ClothingCategory.SHOES, ClothingCategory.OUTERWEAR}) {
+                String[] chart = SizeProfile.sizesOf(category);
+                sizes = sizes.with(category, chart[(i * 3 + 1) % chart.length]);
+            }
+            shoppers.add(new Shopper(i, "Shopper " + (i + 1),
+                    List.of(STYLES[i % STYLES.length], STYLES[(i + 2) % STYLES.length]), sizes));
+        }
+        return shoppers;
+    }
+
+    /**
+     * Create one shared sample inventory of the given size with per-size stock, and give every shopper their
+     * own copy of each item to select, so the item is in stock for them if it is stocked in their size.
+     * Ids are prefixed with the shopper's id, e.g. {@code P2-T17}.
+     */
+    public static List<ClothingItem> generateHousehold(List<Shopper> shoppers, int sizePerShopper, Random rand) {
+        List<ClothingItem> catalog = generate(sizePerShopper, rand);
+        assignSizeStock(catalog, rand);
+        List<ClothingItem> items = new ArrayList<>(shoppers.size() * sizePerShopper);
+        for (Shopper shopper : shoppers) {
+            for (ClothingItem item : catalog) {
+                ClothingItem copy = new ClothingItem(shopper.getId() + "-" + item.getId(), item.getName(),
+                        item.getCategory(), item.getPrice(), item.getStyle(), item.getColor(), item.isInStock());
+                copy.setSizeStock(item.getSizeStock());
+                copy.setShopper(shopper);
+                items.add(copy);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Stock every size of each item's category with a probability of 75%.
+     */
+    public static void assignSizeStock(List<ClothingItem> items, Random rand) {
+        for (ClothingItem item : items) {
+            assignSizeStock(item, rand);
+        }
+    }
+
+    /**
+     * Stock every size of the item's category with a probability of 75%, for items streamed one at a time.
+     */
+    public static void assignSizeStock(ClothingItem item, Random rand) {
+        int sizeCount = SizeProfile.sizesOf(item.getCategory()).length;
+        long sizeStock = 0L;
+        for (int i = 0; i < sizeCount; i++) {
+            if (rand.nextDouble() < 0.75) {
+                sizeStock |= 1L << i;
+            }
+        }
+        item.setSizeStock(sizeStock);
+    }
+
+    /**
+     * Create sample stores with shipping fees of $3-$12 and free shipping from $50-$200; every fifth store
+     * never ships for free.
+     */
+    public static List<Store> generateStores(int count, Random rand) {
+        List<Store> stores = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            double shippingFee = 3 + rand.nextInt(10);
+            double freeShippingThreshold = i % 5 == 0 ? 0.0 : 50 + 25 * rand.nextInt(7);
+            stores.add(new Store("ST" + i, "Store " + i, shippingFee, freeShippingThreshold));
+        }
+        return stores;
+    }
+
+    /**
+     * Spread the items over the stores uniformly at random.
+     */
+    public static void assignStores(List<ClothingItem> items, List<Store> stores, Random rand) {
+        for (ClothingItem item : items) {
+            item.setStore(stores.get(rand.nextInt(stores.size())));
+        }
+    }
+
+    /**
+     * The next snapshot of a sample catalog feed, with the given fraction of the items changed: half of them
+     * repriced by up to $10, a third sold out or restocked and the rest deleted, plus a fifth as many new items.
+     * The catalog is left unchanged; changed items are copies.
+     */
+    public static List<ClothingItem> nextSnapshot(List<ClothingItem> catalog, double changeRate, Random rand) {
+        List<ClothingItem> snapshot = new ArrayList<>(catalog.size());
+        for (ClothingItem item : catalog) {
+            if (rand.nextDouble() >= changeRate) {
+                snapshot.add(item);
+                continue;
+            }
+            double change = rand.nextDouble();
+            if (change < 0.5) {
+                ClothingItem repriced = copy(item);
+                repriced.setPrice(Math.max(1, item.getPrice() + (rand.nextBoolean() ? 1 : -1) * (1 + rand.nextInt(10))));
+                snapshot.add(repriced);
+            } else if (change < 0.83) {
+                ClothingItem restocked = copy(item);
+                restocked.setInStock(!item.isInStock());
+                snapshot.add(restocked);
+            }
+        }
+        // New ids get a random batch prefix, so snapshots never reuse the id of an item deleted earlier
+        String idPrefix = "N" + Long.toString(rand.nextLong() >>> 1, 36) + "-";
+        generate((long) (catalog.size() * changeRate * 0.2), rand, item -> {
+            item.setId(idPrefix + item.getId());
+            snapshot.add(item);
+        });
+        return snapshot;
+    }
+
+    private static ClothingItem copy(ClothingItem item) {
+        ClothingItem copy = new ClothingItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                item.getStyle(), item.getColor(), item.isInStock());
+        copy.setSizeStock(item.getSizeStock());
+        copy.setStore(item.getStore());
+        return copy;
+    }
+
+    private static void addItems(Consumer<ClothingItem> sink, Random rand, long count, String idPrefix,
+                                 ClothingCategory category, String[] types,
+                                 int minPrice, int priceSpread, double outOfStockRate) {
+        for (long i = 1; i <= count; i++) {
+            String id = idPrefix + i;
+            String type = types[rand.nextInt(types.length)];
+            String color = COLORS[rand.nextInt(COLORS.length)];
+            String style = STYLES[rand.nextInt(STYLES.length)];
+            double price = minPrice + rand.nextInt(priceSpread);
+            boolean inStock = rand.nextDouble() > outOfStockRate;
+            String name = color.substring(0, 1).toUpperCase() + color.substring(1) + " " + type;
+            sink.accept(new ClothingItem(id, name, category, price, style, color, inStock));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.AggregatedWardrobeSolution;
+import com.shoppingoptimiser.domain.Budget;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.SkuGroup;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collapses interchangeable catalog items into {@link SkuGroup}s and expands solved groups back
+ * to concrete items. Two items are interchangeable when they share category, color, style, price,
+ * stock status, store, shopper and whether they are owned, since no constraint can tell them apart.
+ */
+public class SkuAggregator {
+
+    /**
+     * Build the compressed problem for the given item-level problem.
+     */
+    public AggregatedWardrobeSolution aggregate(WardrobeSolution problem) {
+        Map<SkuKey, List<String>> itemIdsByKey = new LinkedHashMap<>();
+        Map<SkuKey, ClothingItem> prototypeByKey = new HashMap<>();
+        for (ClothingItem item : problem.getItems()) {
+            SkuKey key = new SkuKey(item);
+            itemIdsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(item.getId());
+            prototypeByKey.putIfAbsent(key, item);
+        }
+
+        List<SkuGroup> groups = new ArrayList<>(itemIdsByKey.size());
+        for (Map.Entry<SkuKey, List<String>> entry : itemIdsByKey.entrySet()) {
+            ClothingItem prototype = prototypeByKey.get(entry.getKey());
+            SkuGroup group = new SkuGroup("G" + (groups.size() + 1), prototype.getCategory(), prototype.getPrice(),
+                    prototype.getStyle(), prototype.getColor(), prototype.isInStock(), entry.getValue());
+            group.setStore(prototype.getStore());
+            group.setShopper(prototype.getShopper());
+            if (prototype.isOwned()) {
+                group.setOwned(true);
+                group.setQuantity(group.getAvailable());
+            }
+            groups.add(group);
+        }
+        AggregatedWardrobeSolution aggregated = new AggregatedWardrobeSolution(groups,
+                new Budget(problem.getBudget().getAmount()), problem.getPreferredStyles());
+        aggregated.setCategoryQuotas(problem.getCategoryQuotas());
+        return aggregated;
+    }
+
+    /**
+     * Apply a solved compressed problem to the items of the original problem:
+     * the first {@code quantity} items of every group are selected, all others deselected.
+     */
+    public WardrobeSolution expand(AggregatedWardrobeSolution solved, WardrobeSolution problem) {
+        Map<String, ClothingItem> itemsById = new HashMap<>();
+        for (ClothingItem item : problem.getItems()) {
+            item.setSelected(false);
+            itemsById.put(item.getId(), item);
+        }
+        for (SkuGroup group : solved.getGroups()) {
+            List<String> itemIds = group.getItemIds();
+            for (int i = 0; i < group.getSelectedQuantity(); i++) {
+                itemsById.get(itemIds.get(i)).setSelected(true);
+            }
+        }
+        problem.refreshSelectionIndex();
+        problem.setScore(solved.getScore());
+        return problem;
+    }
+
+    /**
+     * Identity of a group of interchangeable items.
+     */
+    private static final class SkuKey {
+        private final ClothingCategory category;
+        private final int colorId;
+        private final String style;
+        private final double price;
+        private final boolean inStock;
+        private final Store store;
+        private final Shopper shopper;
+        private final boolean owned;
+
+        private SkuKey(ClothingItem item) {
+            this.category = item.getCategory();
+            this.colorId = item.getColorId();
+            this.style = item.getStyle();
+            this.price = item.getPrice();
+            this.inStock = item.isInStock();
+            this.store = item.getStore();
+            this.shopper = item.getShopper();
+            this.owned = item.isOwned();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SkuKey)) return false;
+            SkuKey other = (SkuKey) o;
+            return category == other.category
+                    && Double.compare(price, other.price) == 0
+                    && inStock == other.inStock
+                    && colorId == other.colorId
+                    && Objects.equals(style, other.style)
+                    && store == other.store
+                    && shopper == other.shopper
+                    && owned == other.owned;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, colorId, style, price, inStock, store, shopper, owned);
+        }
+    }
+}
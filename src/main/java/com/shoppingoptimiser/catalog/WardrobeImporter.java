@@ -0,0 +1,64 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the clothes a shopper already owns from CSV lines of {@code name,category,style,color}, e.g.
+ * {@code Blue Jeans,bottom,casual,blue}. A {@code name,...} header line, blank lines and {@code #} comments
+ * are skipped. Every line becomes a pinned {@link ClothingItem#owned owned item} with the id {@code W1},
+ * {@code W2}, ... in file order.
+ */
+public final class WardrobeImporter {
+
+    public static final String ID_PREFIX = "W";
+
+    private WardrobeImporter() {
+    }
+
+    public static List<ClothingItem> read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    public static List<ClothingItem> read(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<ClothingItem> items = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")
+                    || (items.isEmpty() && trimmed.toLowerCase(Locale.ROOT).startsWith("name,"))) {
+                continue;
+            }
+            String[] fields = trimmed.split(",", -1);
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Line " + lineNumber + " (" + line
+                        + ") must have 4 fields: name,category,style,color.");
+            }
+            ClothingCategory category;
+            try {
+                category = ClothingCategory.valueOf(fields[1].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + " has an unknown category ("
+                        + fields[1].trim() + ").");
+            }
+            items.add(ClothingItem.owned(ID_PREFIX + (items.size() + 1), fields[0].trim(), category,
+                    fields[2].trim(), fields[3].trim().toLowerCase(Locale.ROOT)));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,134 @@
+package com.shoppingoptimiser.domain;
+
+import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
+import ai.timefold.solver.core.api.domain.solution.PlanningScore;
+import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
+import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
+import ai.timefold.solver.core.api.domain.solution.ProblemFactProperty;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compressed form of a {@link WardrobeSolution} where interchangeable items are collapsed into
+ * quantity-bearing {@link SkuGroup}s, shrinking the entity count on large catalogs.
+ */
+@PlanningSolution
+public class AggregatedWardrobeSolution {
+
+    @PlanningEntityCollectionProperty
+    private List<SkuGroup> groups;
+
+    @ProblemFactProperty
+    private Budget budget;
+    private List<String> preferredStyles;
+    @ProblemFactProperty
+    private StylePreference stylePreference;
+    @ProblemFactCollectionProperty
+    private List<Store> stores = new ArrayList<>();
+    @ProblemFactCollectionProperty
+    private List<CategoryQuota> categoryQuotas = CategoryQuota.defaults();
+    @ProblemFactCollectionProperty
+    private List<Shopper> shoppers = new ArrayList<>();
+
+    @PlanningScore
+    private HardSoftScore score;
+
+    // No-arg constructor required by Timefold
+    public AggregatedWardrobeSolution() {
+    }
+
+    public AggregatedWardrobeSolution(List<SkuGroup> groups, Budget budget, List<String> preferredStyles) {
+        this.groups = groups;
+        this.budget = budget;
+        this.preferredStyles = preferredStyles != null ? preferredStyles : new ArrayList<>();
+        Set<Shopper> distinctShoppers = new LinkedHashSet<>();
+        for (SkuGroup group : groups) {
+            if (group.getShopper() != null) {
+                distinctShoppers.add(group.getShopper());
+            }
+        }
+        this.shoppers = new ArrayList<>(distinctShoppers);
+        this.stylePreference = StylePreference.of(this.preferredStyles, shoppers);
+        Set<Store> distinctStores = new LinkedHashSet<>();
+        for (SkuGroup group : groups) {
+            group.setStyleMask(stylePreference.maskOf(group.getStyle()));
+            if (group.getStore() != null) {
+                distinctStores.add(group.getStore());
+            }
+        }
+        this.stores = new ArrayList<>(distinctStores);
+    }
+
+    public int getItemCount() {
+        return groups.stream().mapToInt(SkuGroup::getAvailable).sum();
+    }
+
+    // Getters and setters
+    public List<SkuGroup> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<SkuGroup> groups) {
+        this.groups = groups;
+    }
+
+    public List<Store> getStores() {
+        return stores;
+    }
+
+    public void setStores(List<Store> stores) {
+        this.stores = stores;
+    }
+
+    public List<CategoryQuota> getCategoryQuotas() {
+        return categoryQuotas;
+    }
+
+    public void setCategoryQuotas(List<CategoryQuota> categoryQuotas) {
+        this.categoryQuotas = categoryQuotas;
+    }
+
+    public List<Shopper> getShoppers() {
+        return shoppers;
+    }
+
+    public void setShoppers(List<Shopper> shoppers) {
+        this.shoppers = shoppers;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    public void setBudget(Budget budget) {
+        this.budget = budget;
+    }
+
+    public List<String> getPreferredStyles() {
+        return preferredStyles;
+    }
+
+    public void setPreferredStyles(List<String> preferredStyles) {
+        this.preferredStyles = preferredStyles;
+    }
+
+    public StylePreference getStylePreference() {
+        return stylePreference;
+    }
+
+    public void setStylePreference(StylePreference stylePreference) {
+        this.stylePreference = stylePreference;
+    }
+
+    public HardSoftScore getScore() {
+        return score;
+    }
+
+    public void setScore(HardSoftScore score) {
+        this.score = score;
+    }
+}
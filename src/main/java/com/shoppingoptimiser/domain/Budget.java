@@ -20,4 +20,11 @@ public class Budget {
     public void setAmount(double amount) {
         this.amount = amount;
     }
+
+    /**
+     * The amount in cents, rounded like item prices, so a basket priced exactly at the budget fits it.
+     */
+    public long getAmountCents() {
+        return Math.round(amount * 100);
+    }
 }
@@ -0,0 +1,132 @@
+package com.shoppingoptimiser.domain;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How many items of one category a basket must contain, as a problem fact. By default a basket needs at least
+ * one TOP, BOTTOM and SHOES for a complete outfit and may contain any number of every category.
+ * In a household every {@link Shopper} has quotas of their own, counting only the items for them.
+ */
+public class CategoryQuota {
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private ClothingCategory category;
+    private int minCount;
+    private int maxCount = UNBOUNDED;
+    private Shopper shopper; // Whose items are counted, null for a single shopper
+
+    // No-arg constructor required by Timefold
+    public CategoryQuota() {
+    }
+
+    public CategoryQuota(ClothingCategory category, int minCount, int maxCount) {
+        if (minCount < 0 || maxCount < minCount) {
+            throw new IllegalArgumentException("The quota of " + category + " (" + minCount + " to " + maxCount
+                    + ") needs 0 <= min <= max.");
+        }
+        this.category = category;
+        this.minCount = minCount;
+        this.maxCount = maxCount;
+    }
+
+    public CategoryQuota(ClothingCategory category, int minCount, int maxCount, Shopper shopper) {
+        this(category, minCount, maxCount);
+        this.shopper = shopper;
+    }
+
+    /**
+     * One quota per category: at least one of every category an outfit needs, no upper limits.
+     */
+    public static List<CategoryQuota> defaults() {
+        List<CategoryQuota> quotas = new ArrayList<>();
+        for (ClothingCategory category : ClothingCategory.values()) {
+            boolean essential = category == ClothingCategory.TOP || category == ClothingCategory.BOTTOM
+                    || category == ClothingCategory.SHOES;
+            quotas.add(new CategoryQuota(category, essential ? 1 : 0, UNBOUNDED));
+        }
+        return quotas;
+    }
+
+    /**
+     * The default quotas with some replaced, e.g. {@code "outerwear:1-1,accessory:0-2,top:2-"}.
+     * A missing maximum means unbounded.
+     */
+    public static List<CategoryQuota> parse(String quotas) {
+        Map<ClothingCategory, CategoryQuota> byCategory = new EnumMap<>(ClothingCategory.class);
+        for (CategoryQuota quota : defaults()) {
+            byCategory.put(quota.getCategory(), quota);
+        }
+        for (String entry : quotas.split(",")) {
+            String[] categoryAndRange = entry.trim().split(":");
+            String[] range = categoryAndRange.length == 2 ? categoryAndRange[1].split("-", -1) : new String[0];
+            if (range.length != 2) {
+                throw new IllegalArgumentException("Invalid category quota (" + entry
+                        + "), expected CATEGORY:MIN-MAX or CATEGORY:MIN-.");
+            }
+            ClothingCategory category;
+            try {
+                category = ClothingCategory.valueOf(categoryAndRange[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown category (" + categoryAndRange[0] + ") in quota ("
+                        + entry + ").");
+            }
+            try {
+                int min = Integer.parseInt(range[0].trim());
+                int max = range[1].isBlank() ? UNBOUNDED : Integer.parseInt(range[1].trim());
+                byCategory.put(category, new CategoryQuota(category, min, max));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid count in category quota (" + entry + ").");
+            }
+        }
+        return new ArrayList<>(byCategory.values());
+    }
+
+    /**
+     * A copy of the given quotas for every shopper of a household.
+     */
+    public static List<CategoryQuota> perShopper(List<CategoryQuota> quotas, List<Shopper> shoppers) {
+        List<CategoryQuota> copies = new ArrayList<>(quotas.size() * shoppers.size());
+        for (Shopper shopper : shoppers) {
+            for (CategoryQuota quota : quotas) {
+                copies.add(new CategoryQuota(quota.getCategory(), quota.getMinCount(), quota.getMaxCount(), shopper));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * How many items the given count is short of the minimum or over the maximum.
+     */
+    public int violation(int count) {
+        if (count < minCount) {
+            return minCount - count;
+        }
+        return count > maxCount ? count - maxCount : 0;
+    }
+
+    public ClothingCategory getCategory() {
+        return category;
+    }
+
+    public int getMinCount() {
+        return minCount;
+    }
+
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    public Shopper getShopper() {
+        return shopper;
+    }
+
+    @Override
+    public String toString() {
+        return (shopper != null ? shopper.getName() + " " : "") + category + " " + minCount + "-" + (maxCount == UNBOUNDED ? "" : String.valueOf(maxCount));
+    }
+}
@@ -1,26 +1,42 @@
 package com.shoppingoptimiser.domain;
 
 import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
+import ai.timefold.solver.core.api.domain.entity.PlanningPin;
+import ai.timefold.solver.core.api.domain.lookup.PlanningId;
 import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
+import ai.timefold.solver.core.api.domain.variable.ShadowVariable;
 
 /**
  * Represents a clothing item that can be purchased.
  * The planning variable is whether this item is selected for purchase (true/false).
+ * Items the shopper already owns are pinned: always selected, free, and never moved by the solver.
  */
 @PlanningEntity
 public class ClothingItem {
 
+    @PlanningId // Problem changes look up the working item by id
     private String id;
     private String name;
     private ClothingCategory category;
     private double price;
     private String style; // e.g., "casual", "formal", "sport"
     private String color;
-    private boolean inStock; // Item must be in stock and available in your size
+    private int colorId; // Id of the color in the default ColorRegistry
+    private boolean inStock; // Item must be in stock, see #isInStock for the size
+    private long sizeStock = SizeProfile.ALL_SIZES; // Bit i set if size i of the category's chart is in stock
+    private Store store; // Retailer selling this item, null if shipping does not apply
+    private Shopper shopper; // Household member this item is for, null for a single shopper
+    private long styleMask; // Bit of this item's style, assigned by the solution's StylePreference
+    @PlanningPin
+    private boolean owned; // Already in the shopper's wardrobe, see #owned
 
     @PlanningVariable(valueRangeProviderRefs = "selectedRange")
     private Boolean selected;
 
+    // Selection state currently reflected in the solution's SelectionIndex
+    @ShadowVariable(variableListenerClass = SelectionIndexVariableListener.class, sourceVariableName = "selected")
+    private Boolean indexedSelected;
+
     // No-arg constructor required by Timefold
     public ClothingItem() {
     }
@@ -33,10 +49,23 @@ public class ClothingItem {
         this.price = price;
         this.style = style;
         this.color = color;
+        this.colorId = ColorRegistry.getDefault().idOf(color);
         this.inStock = inStock;
         this.selected = false;
     }
 
+    /**
+     * An item from the shopper's own wardrobe: selected, pinned, in stock and free, so it counts toward the
+     * category quotas, color rules and outfits without taking budget. Two owned items never break a color rule,
+     * as no move could fix it.
+     */
+    public static ClothingItem owned(String id, String name, ClothingCategory category, String style, String color) {
+        ClothingItem item = new ClothingItem(id, name, category, 0.0, style, color, true);
+        item.owned = true;
+        item.selected = true;
+        return item;
+    }
+
     // Getters and setters
     public String getId() {
         return id;
@@ -84,24 +113,100 @@ public class ClothingItem {
 
     public void setColor(String color) {
         this.color = color;
+        this.colorId = ColorRegistry.getDefault().idOf(color);
+    }
+
+    public int getColorId() {
+        return colorId;
     }
 
+    /**
+     * In stock, and for a household member in their size: one bit test of the stocked sizes against the size
+     * the shopper wears in this category. Without a shopper, CatalogQuery#sizes filters the sizes instead.
+     */
     public boolean isInStock() {
-        return inStock;
+        return inStock && (shopper == null || isStockedIn(shopper.getSizes().maskOf(category)));
+    }
+
+    /**
+     * Whether any of the sizes in the given mask is in stock.
+     */
+    public boolean isStockedIn(long sizeMask) {
+        return (sizeStock & sizeMask) != 0L;
     }
 
     public void setInStock(boolean inStock) {
         this.inStock = inStock;
     }
 
+    public long getSizeStock() {
+        return sizeStock;
+    }
+
+    public void setSizeStock(long sizeStock) {
+        this.sizeStock = sizeStock;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public Shopper getShopper() {
+        return shopper;
+    }
+
+    public void setShopper(Shopper shopper) {
+        this.shopper = shopper;
+    }
+
+    public long getStyleMask() {
+        return styleMask;
+    }
+
+    public void setStyleMask(long styleMask) {
+        this.styleMask = styleMask;
+    }
+
     public Boolean getSelected() {
         return selected;
     }
 
+    /**
+     * Outside the solver, the solution's selection index does not see this change until
+     * {@link WardrobeSolution#refreshSelectionIndex()} is called.
+     */
     public void setSelected(Boolean selected) {
         this.selected = selected;
     }
 
+    public boolean isSelected() {
+        return selected != null && selected;
+    }
+
+    public boolean isOwned() {
+        return owned;
+    }
+
+    public void setOwned(boolean owned) {
+        this.owned = owned;
+    }
+
+    public long getPriceCents() {
+        return Math.round(price * 100);
+    }
+
+    public Boolean getIndexedSelected() {
+        return indexedSelected;
+    }
+
+    public void setIndexedSelected(Boolean indexedSelected) {
+        this.indexedSelected = indexedSelected;
+    }
+
     @Override
     public String toString() {
         return "ClothingItem{" +
@@ -112,6 +217,9 @@ public class ClothingItem {
                 ", style='" + style + '\'' +
                 ", color='" + color + '\'' +
                 ", inStock=" + inStock +
+                (store != null ? ", store=" + store.getId() : "") +
+                (shopper != null ? ", shopper=" + shopper.getId() : "") +
+                (owned ? ", owned" : "") +
                 ", selected=" + selected +
                 '}';
     }
@@ -0,0 +1,258 @@
+package com.shoppingoptimiser.domain;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The color palette with dense integer ids. Entities resolve their color name to an id once
+ * (see {@link ClothingItem#getColorId()}), and constraints then check neutrality and clashes with array
+ * lookups instead of lower-casing and comparing strings per tuple.
+ *
+ * The palette is loaded from {@code colors.properties} on the classpath, or from the file named by the
+ * {@value #CONFIG_PROPERTY} system property. Colors missing from the configuration are appended on first
+ * use as light gray accents that only clash with themselves.
+ */
+public final class ColorRegistry {
+
+    public static final String CONFIG_PROPERTY = "shoppingoptimiser.colors";
+    public static final String RESOURCE = "/colors.properties";
+
+    private static final int UNKNOWN_RGB = 0xD3D3D3; // Light gray
+
+    private static volatile ColorRegistry defaultRegistry;
+
+    private final Map<String, Integer> idByName = new ConcurrentHashMap<>();
+    // Replaced as a whole when a color is added, so readers never see a half-grown palette
+    private volatile Palette palette = new Palette(0);
+
+    private ColorRegistry() {
+    }
+
+    /**
+     * The registry shared by all entities, loaded on first use.
+     */
+    public static ColorRegistry getDefault() {
+        ColorRegistry registry = defaultRegistry;
+        if (registry == null) {
+            synchronized (ColorRegistry.class) {
+                registry = defaultRegistry;
+                if (registry == null) {
+                    registry = loadDefault();
+                    defaultRegistry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    private static ColorRegistry loadDefault() {
+        String configFile = System.getProperty(CONFIG_PROPERTY);
+        try {
+            if (configFile != null) {
+                return load(Paths.get(configFile));
+            }
+            InputStream in = ColorRegistry.class.getResourceAsStream(RESOURCE);
+            if (in == null) {
+                return new ColorRegistry();
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return load(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the color palette.", e);
+        }
+    }
+
+    public static ColorRegistry load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Parse a palette: one {@code name = #rrggbb neutral|accent [clashes color ...]} per line,
+     * {@code #} starts a comment line.
+     */
+    public static ColorRegistry load(Reader reader) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<Integer> rgbs = new ArrayList<>();
+        List<Boolean> neutrals = new ArrayList<>();
+        List<String[]> clashes = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            String[] values = separator < 0 ? new String[0] : line.substring(separator + 1).trim().split("\\s+");
+            if (values.length < 2 || !values[0].startsWith("#")
+                    || (values.length > 2 && !values[2].equals("clashes"))) {
+                throw new IllegalArgumentException("Invalid color definition on line " + lineNumber + " ("
+                        + line + "), expected: <name> = <#rrggbb> <neutral|accent> [clashes <color> ...]");
+            }
+            names.add(line.substring(0, separator).trim());
+            try {
+                rgbs.add(Integer.parseInt(values[0].substring(1), 16));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid RGB value (" + values[0] + ") on line " + lineNumber + ".");
+            }
+            if (!values[1].equals("neutral") && !values[1].equals("accent")) {
+                throw new IllegalArgumentException("Invalid color kind (" + values[1] + ") on line " + lineNumber
+                        + ", expected neutral or accent.");
+            }
+            neutrals.add(values[1].equals("neutral"));
+            clashes.add(values.length > 3 ? Arrays.copyOfRange(values, 3, values.length) : new String[0]);
+        }
+
+        ColorRegistry registry = new ColorRegistry();
+        for (int i = 0; i < names.size(); i++) {
+            registry.register(names.get(i), rgbs.get(i), neutrals.get(i));
+        }
+        for (int i = 0; i < names.size(); i++) {
+            int id = registry.idOf(names.get(i));
+            for (String other : clashes.get(i)) {
+                Integer otherId = registry.idByName.get(key(other));
+                if (otherId == null) {
+                    throw new IllegalArgumentException("The color (" + names.get(i)
+                            + ") clashes with an undefined color (" + other + ").");
+                }
+                registry.palette.addClash(id, otherId);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * The id of the given color, adding it to the palette if it is not defined.
+     */
+    public int idOf(String color) {
+        String key = key(color);
+        Integer id = idByName.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idByName.get(key);
+            return id != null ? id : register(key, UNKNOWN_RGB, false);
+        }
+    }
+
+    private synchronized int register(String name, int rgb, boolean neutral) {
+        String key = key(name);
+        if (idByName.containsKey(key)) {
+            throw new IllegalArgumentException("The color (" + name + ") is defined twice.");
+        }
+        Palette grown = palette.grow(key, rgb, neutral);
+        palette = grown;
+        int id = grown.size - 1;
+        idByName.put(key, id);
+        return id;
+    }
+
+    public int size() {
+        return palette.size;
+    }
+
+    public String nameOf(int colorId) {
+        return palette.names[colorId];
+    }
+
+    public int rgbOf(int colorId) {
+        return palette.rgbs[colorId];
+    }
+
+    public boolean isNeutral(int colorId) {
+        return palette.neutrals[colorId];
+    }
+
+    /**
+     * Whether items of the two colors may not be worn together; a color always clashes with itself.
+     */
+    public boolean clashes(int colorId, int otherColorId) {
+        Palette current = palette;
+        return current.clashMatrix[colorId * current.size + otherColorId];
+    }
+
+    /**
+     * The ids of all colors that clash with the given one, including itself.
+     */
+    public int[] clashesOf(int colorId) {
+        return palette.clashLists[colorId];
+    }
+
+    private static String key(String color) {
+        return color == null ? "" : color.toLowerCase();
+    }
+
+    /**
+     * Immutable snapshot of the palette's tables, except while {@link #load(Reader)} adds clashes.
+     */
+    private static final class Palette {
+
+        private final int size;
+        private final String[] names;
+        private final int[] rgbs;
+        private final boolean[] neutrals;
+        private final boolean[] clashMatrix; // size * size, row-major
+        private final int[][] clashLists;
+
+        private Palette(int size) {
+            this.size = size;
+            this.names = new String[size];
+            this.rgbs = new int[size];
+            this.neutrals = new boolean[size];
+            this.clashMatrix = new boolean[size * size];
+            this.clashLists = new int[size][];
+        }
+
+        private Palette grow(String name, int rgb, boolean neutral) {
+            Palette grown = new Palette(size + 1);
+            System.arraycopy(names, 0, grown.names, 0, size);
+            System.arraycopy(rgbs, 0, grown.rgbs, 0, size);
+            System.arraycopy(neutrals, 0, grown.neutrals, 0, size);
+            for (int row = 0; row < size; row++) {
+                System.arraycopy(clashMatrix, row * size, grown.clashMatrix, row * grown.size, size);
+                grown.clashLists[row] = clashLists[row];
+            }
+            grown.names[size] = name;
+            grown.rgbs[size] = rgb;
+            grown.neutrals[size] = neutral;
+            grown.clashMatrix[size * grown.size + size] = true;
+            grown.clashLists[size] = new int[]{size};
+            return grown;
+        }
+
+        private void addClash(int a, int b) {
+            if (clashMatrix[a * size + b]) {
+                return;
+            }
+            clashMatrix[a * size + b] = true;
+            clashMatrix[b * size + a] = true;
+            clashLists[a] = append(clashLists[a], b);
+            clashLists[b] = append(clashLists[b], a);
+        }
+
+        private static int[] append(int[] values, int value) {
+            int[] appended = Arrays.copyOf(values, values.length + 1);
+            appended[values.length] = value;
+            return appended;
+        }
+    }
+}
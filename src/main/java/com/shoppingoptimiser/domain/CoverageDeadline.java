@@ -0,0 +1,102 @@
+package com.shoppingoptimiser.domain;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How many items of one category a purchase plan must have bought by the end of a period, as a problem fact.
+ * By default a plan completes one outfit, a TOP, BOTTOM and SHOES, in its first period.
+ */
+public class CoverageDeadline {
+
+    private ClothingCategory category;
+    private int minCount;
+    private int periodIndex; // Last period, inclusive, in which the items may be bought
+
+    // No-arg constructor required by Timefold
+    public CoverageDeadline() {
+    }
+
+    public CoverageDeadline(ClothingCategory category, int minCount, int periodIndex) {
+        if (minCount < 1 || periodIndex < 0) {
+            throw new IllegalArgumentException("The deadline of " + category + " (" + minCount + " by period "
+                    + periodIndex + ") needs a count of at least 1 and a period of at least 0.");
+        }
+        this.category = category;
+        this.minCount = minCount;
+        this.periodIndex = periodIndex;
+    }
+
+    /**
+     * One of every category an outfit needs, in the first period.
+     */
+    public static List<CoverageDeadline> defaults() {
+        List<CoverageDeadline> deadlines = new ArrayList<>();
+        for (ClothingCategory category : new ClothingCategory[]{
+                ClothingCategory.TOP, ClothingCategory.BOTTOM, ClothingCategory.SHOES}) {
+            deadlines.add(new CoverageDeadline(category, 1, 0));
+        }
+        return deadlines;
+    }
+
+    /**
+     * The default deadlines with some replaced or added, e.g. {@code "outerwear:1@3,top:3@2"} for a coat by the
+     * third period and three tops by the second. Periods are counted from 1 here, as users name them.
+     */
+    public static List<CoverageDeadline> parse(String deadlines) {
+        Map<ClothingCategory, CoverageDeadline> byCategory = new EnumMap<>(ClothingCategory.class);
+        for (CoverageDeadline deadline : defaults()) {
+            byCategory.put(deadline.getCategory(), deadline);
+        }
+        for (String entry : deadlines.split(",")) {
+            String[] categoryAndRest = entry.trim().split(":");
+            String[] countAndPeriod = categoryAndRest.length == 2 ? categoryAndRest[1].split("@") : new String[0];
+            if (countAndPeriod.length != 2) {
+                throw new IllegalArgumentException("Invalid coverage deadline (" + entry
+                        + "), expected CATEGORY:COUNT@PERIOD.");
+            }
+            ClothingCategory category;
+            try {
+                category = ClothingCategory.valueOf(categoryAndRest[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown category (" + categoryAndRest[0]
+                        + ") in coverage deadline (" + entry + ").");
+            }
+            try {
+                int count = Integer.parseInt(countAndPeriod[0].trim());
+                int period = Integer.parseInt(countAndPeriod[1].trim());
+                byCategory.put(category, new CoverageDeadline(category, count, period - 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in coverage deadline (" + entry + ").");
+            }
+        }
+        return new ArrayList<>(byCategory.values());
+    }
+
+    /**
+     * How many items the given count bought by the deadline is short of the minimum.
+     */
+    public int shortfall(int count) {
+        return Math.max(0, minCount - count);
+    }
+
+    public ClothingCategory getCategory() {
+        return category;
+    }
+
+    public int getMinCount() {
+        return minCount;
+    }
+
+    public int getPeriodIndex() {
+        return periodIndex;
+    }
+
+    @Override
+    public String toString() {
+        return minCount + " " + category + " by period " + (periodIndex + 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.shoppingoptimiser.domain;
+
+import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
+import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
+
+/**
+ * A catalog item in a season's purchase plan. The planning variable is the period the item is bought in,
+ * or none if it is not bought at all.
+ */
+@PlanningEntity
+public class PlannedPurchase {
+
+    private String id;
+    private ClothingItem item;
+    private long styleMask; // Bit of the item's style, assigned by the plan's StylePreference
+
+    @PlanningVariable(valueRangeProviderRefs = "periodRange", allowsUnassigned = true)
+    private PurchasePeriod period;
+
+    // No-arg constructor required by Timefold
+    public PlannedPurchase() {
+    }
+
+    public PlannedPurchase(ClothingItem item) {
+        this.id = item.getId();
+        this.item = item;
+    }
+
+    public ClothingCategory getCategory() {
+        return item.getCategory();
+    }
+
+    public int getColorId() {
+        return item.getColorId();
+    }
+
+    public int getPriceCents() {
+        return (int) item.getPriceCents();
+    }
+
+    public boolean isInStock() {
+        return item.isInStock();
+    }
+
+    /**
+     * Index of the period the item is bought in, or -1 if it is not bought.
+     */
+    public int getPeriodIndex() {
+        return period == null ? -1 : period.getIndex();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ClothingItem getItem() {
+        return item;
+    }
+
+    public long getStyleMask() {
+        return styleMask;
+    }
+
+    public void setStyleMask(long styleMask) {
+        this.styleMask = styleMask;
+    }
+
+    public PurchasePeriod getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(PurchasePeriod period) {
+        this.period = period;
+    }
+
+    @Override
+    public String toString() {
+        return "PlannedPurchase{" +
+                "id='" + id + '\'' +
+                ", category=" + getCategory() +
+                ", price=$" + item.getPrice() +
+                ", color='" + item.getColor() + '\'' +
+                ", period=" + period +
+                '}';
+    }
+}
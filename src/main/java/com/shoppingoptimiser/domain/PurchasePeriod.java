@@ -0,0 +1,64 @@
+package com.shoppingoptimiser.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One period of a season's purchase plan, e.g. a month, with its own budget, as a problem fact.
+ * Periods are numbered from 0 in the order they happen.
+ */
+public class PurchasePeriod {
+
+    private int index;
+    private String name;
+    private Budget budget;
+
+    // No-arg constructor required by Timefold
+    public PurchasePeriod() {
+    }
+
+    public PurchasePeriod(int index, String name, double budgetAmount) {
+        if (index < 0) {
+            throw new IllegalArgumentException("The index (" + index + ") of period " + name
+                    + " cannot be negative.");
+        }
+        this.index = index;
+        this.name = name;
+        this.budget = new Budget(budgetAmount);
+    }
+
+    /**
+     * The given number of consecutive months, each with the same budget.
+     */
+    public static List<PurchasePeriod> months(int count, double budgetPerMonth) {
+        if (count < 1) {
+            throw new IllegalArgumentException("The period count (" + count + ") must be at least 1.");
+        }
+        List<PurchasePeriod> periods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            periods.add(new PurchasePeriod(i, "Month " + (i + 1), budgetPerMonth));
+        }
+        return periods;
+    }
+
+    public int getBudgetCents() {
+        return (int) budget.getAmountCents();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
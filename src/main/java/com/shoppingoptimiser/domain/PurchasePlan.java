@@ -0,0 +1,142 @@
+package com.shoppingoptimiser.domain;
+
+import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
+import ai.timefold.solver.core.api.domain.solution.PlanningScore;
+import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
+import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
+import ai.timefold.solver.core.api.domain.solution.ProblemFactProperty;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A season's purchases spread over several periods, each with its own budget. Every candidate item is bought
+ * in one period or not at all; coverage deadlines say what must be bought by when, and the outfits are counted
+ * on everything bought over the season.
+ */
+@PlanningSolution
+public class PurchasePlan {
+
+    @PlanningEntityCollectionProperty
+    private List<PlannedPurchase> purchases;
+
+    @ProblemFactCollectionProperty
+    @ValueRangeProvider(id = "periodRange")
+    private List<PurchasePeriod> periods;
+    @ProblemFactCollectionProperty
+    private List<CoverageDeadline> coverageDeadlines = CoverageDeadline.defaults();
+    private List<String> preferredStyles;
+    @ProblemFactProperty
+    private StylePreference stylePreference;
+
+    @PlanningScore
+    private HardSoftScore score;
+
+    // No-arg constructor required by Timefold
+    public PurchasePlan() {
+    }
+
+    public PurchasePlan(List<ClothingItem> items, List<PurchasePeriod> periods, List<String> preferredStyles) {
+        this.purchases = new ArrayList<>(items.size());
+        this.periods = periods;
+        this.preferredStyles = preferredStyles != null ? preferredStyles : new ArrayList<>();
+        this.stylePreference = StylePreference.of(this.preferredStyles);
+        for (ClothingItem item : items) {
+            PlannedPurchase purchase = new PlannedPurchase(item);
+            purchase.setStyleMask(stylePreference.maskOf(item.getStyle()));
+            purchases.add(purchase);
+        }
+    }
+
+    /**
+     * The items bought in the given period.
+     */
+    public List<PlannedPurchase> getPurchases(PurchasePeriod period) {
+        return purchases.stream().filter(purchase -> purchase.getPeriod() == period).collect(Collectors.toList());
+    }
+
+    /**
+     * Everything bought over the season, as items.
+     */
+    public List<ClothingItem> getBoughtItems() {
+        return purchases.stream().filter(purchase -> purchase.getPeriod() != null)
+                .map(PlannedPurchase::getItem).collect(Collectors.toList());
+    }
+
+    public double getSpent(PurchasePeriod period) {
+        return getPurchases(period).stream().mapToLong(PlannedPurchase::getPriceCents).sum() / 100.0;
+    }
+
+    // Getters and setters
+    public List<PlannedPurchase> getPurchases() {
+        return purchases;
+    }
+
+    public void setPurchases(List<PlannedPurchase> purchases) {
+        this.purchases = purchases;
+    }
+
+    public List<PurchasePeriod> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<PurchasePeriod> periods) {
+        this.periods = periods;
+    }
+
+    public List<CoverageDeadline> getCoverageDeadlines() {
+        return coverageDeadlines;
+    }
+
+    public void setCoverageDeadlines(List<CoverageDeadline> coverageDeadlines) {
+        this.coverageDeadlines = coverageDeadlines;
+    }
+
+    public List<String> getPreferredStyles() {
+        return preferredStyles;
+    }
+
+    public StylePreference getStylePreference() {
+        return stylePreference;
+    }
+
+    public void setStylePreference(StylePreference stylePreference) {
+        this.stylePreference = stylePreference;
+    }
+
+    public HardSoftScore getScore() {
+        return score;
+    }
+
+    public void setScore(HardSoftScore score) {
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nPurchasePlan:\n");
+        sb.append("  Score: ").append(score).append("\n");
+        for (PurchasePeriod period : periods) {
+            List<PlannedPurchase> bought = getPurchases(period);
+            sb.append("  ").append(period.getName())
+              .append(": $").append(String.format("%.2f", getSpent(period)))
+              .append(" of $").append(String.format("%.2f", period.getBudget().getAmount()))
+              .append(", ").append(bought.size()).append(" items\n");
+            for (PlannedPurchase purchase : bought) {
+                ClothingItem item = purchase.getItem();
+                sb.append("    - ID: ").append(item.getId())
+                  .append(", Name: ").append(item.getName())
+                  .append(", Category: ").append(item.getCategory())
+                  .append(", Price: $").append(String.format("%.2f", item.getPrice()))
+                  .append(", Style: ").append(item.getStyle())
+                  .append(", Color: ").append(item.getColor())
+                  .append("\n");
+            }
+        }
+        return sb.toString();
+    }
+}
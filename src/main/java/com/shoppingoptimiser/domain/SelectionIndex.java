@@ -0,0 +1,94 @@
+package com.shoppingoptimiser.domain;
+
+import ai.timefold.solver.core.api.domain.solution.cloner.DeepPlanningClone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Incrementally maintained view of the selected items of a {@link WardrobeSolution}.
+ * Kept in sync by {@link SelectionIndexVariableListener} while solving, so the selected set,
+ * the running cost and the per-category counts can be read without rescanning the catalog.
+ */
+@DeepPlanningClone
+public class SelectionIndex {
+
+    private Set<ClothingItem> selectedItems = new LinkedHashSet<>();
+    @DeepPlanningClone // Arrays are shared between clones unless marked
+    private int[] categoryCounts = new int[ClothingCategory.values().length];
+    private long totalCostCents;
+
+    public SelectionIndex() {
+    }
+
+    /**
+     * Build an index for the given items, marking each item as indexed with its current selection.
+     */
+    public static SelectionIndex of(List<ClothingItem> items) {
+        SelectionIndex index = new SelectionIndex();
+        index.rebuild(items);
+        return index;
+    }
+
+    /**
+     * Recompute the index from scratch. Only needed when items were changed outside the solver.
+     */
+    public void rebuild(List<ClothingItem> items) {
+        selectedItems.clear();
+        categoryCounts = new int[ClothingCategory.values().length];
+        totalCostCents = 0L;
+        if (items == null) {
+            return;
+        }
+        for (ClothingItem item : items) {
+            boolean selected = item.isSelected();
+            item.setIndexedSelected(selected);
+            if (selected) {
+                add(item);
+            }
+        }
+    }
+
+    void add(ClothingItem item) {
+        if (selectedItems.add(item)) {
+            categoryCounts[item.getCategory().ordinal()]++;
+            totalCostCents += item.getPriceCents();
+        }
+    }
+
+    void remove(ClothingItem item) {
+        if (selectedItems.remove(item)) {
+            categoryCounts[item.getCategory().ordinal()]--;
+            totalCostCents -= item.getPriceCents();
+        }
+    }
+
+    public Set<ClothingItem> getSelectedItems() {
+        return Collections.unmodifiableSet(selectedItems);
+    }
+
+    public List<ClothingItem> getSelectedItems(ClothingCategory category) {
+        List<ClothingItem> result = new ArrayList<>(categoryCounts[category.ordinal()]);
+        for (ClothingItem item : selectedItems) {
+            if (item.getCategory() == category) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public int getSelectedCount() {
+        return selectedItems.size();
+    }
+
+    public int getCategoryCount(ClothingCategory category) {
+        return categoryCounts[category.ordinal()];
+    }
+
+    public long getTotalCostCents() {
+        return totalCostCents;
+    }
+}
@@ -0,0 +1,68 @@
+package com.shoppingoptimiser.domain;
+
+import ai.timefold.solver.core.api.domain.variable.VariableListener;
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+
+/**
+ * Keeps the working solution's {@link SelectionIndex} in sync with the {@code selected} planning variable.
+ * The {@code indexedSelected} shadow variable records what the index currently holds for each item,
+ * so every update is a single O(1) add or remove.
+ */
+public class SelectionIndexVariableListener implements VariableListener<WardrobeSolution, ClothingItem> {
+
+    @Override
+    public void resetWorkingSolution(ScoreDirector<WardrobeSolution> scoreDirector) {
+        // Items may have been changed outside the solver before solving started
+        WardrobeSolution solution = scoreDirector.getWorkingSolution();
+        solution.getSelectionIndex().rebuild(solution.getItems());
+    }
+
+    @Override
+    public void beforeEntityAdded(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        // Do nothing
+    }
+
+    @Override
+    public void afterEntityAdded(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        updateIndex(scoreDirector, item);
+    }
+
+    @Override
+    public void beforeVariableChanged(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        // Do nothing
+    }
+
+    @Override
+    public void afterVariableChanged(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        updateIndex(scoreDirector, item);
+    }
+
+    @Override
+    public void beforeEntityRemoved(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        if (Boolean.TRUE.equals(item.getIndexedSelected())) {
+            scoreDirector.getWorkingSolution().getSelectionIndex().remove(item);
+        }
+    }
+
+    @Override
+    public void afterEntityRemoved(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        // Do nothing
+    }
+
+    private void updateIndex(ScoreDirector<WardrobeSolution> scoreDirector, ClothingItem item) {
+        boolean selected = item.isSelected();
+        boolean indexed = Boolean.TRUE.equals(item.getIndexedSelected());
+        if (selected == indexed) {
+            return;
+        }
+        SelectionIndex index = scoreDirector.getWorkingSolution().getSelectionIndex();
+        if (selected) {
+            index.add(item);
+        } else {
+            index.remove(item);
+        }
+        scoreDirector.beforeVariableChanged(item, "indexedSelected");
+        item.setIndexedSelected(selected);
+        scoreDirector.afterVariableChanged(item, "indexedSelected");
+    }
+}
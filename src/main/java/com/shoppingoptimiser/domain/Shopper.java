@@ -0,0 +1,64 @@
+package com.shoppingoptimiser.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A member of a household shopping on one shared budget, as a problem fact. Every candidate item is for one
+ * shopper (in their size), and the quotas, color rules, outfits and preferred styles apply per shopper,
+ * while the budget is pooled. Items without a shopper belong to the single shopper of a plain request.
+ * The sizes the shopper wears decide which items of a shared catalog are in stock for them.
+ */
+public class Shopper {
+
+    private String id;
+    private String name;
+    private int index; // Position in the household, used to look up this shopper's StylePreference mask
+    private List<String> preferredStyles = new ArrayList<>();
+    private SizeProfile sizes = SizeProfile.ANY;
+
+    // No-arg constructor required by Timefold
+    public Shopper() {
+    }
+
+    public Shopper(int index, String name, List<String> preferredStyles) {
+        this(index, name, preferredStyles, SizeProfile.ANY);
+    }
+
+    public Shopper(int index, String name, List<String> preferredStyles, SizeProfile sizes) {
+        if (index < 0) {
+            throw new IllegalArgumentException("The index (" + index + ") of shopper " + name
+                    + " cannot be negative.");
+        }
+        this.id = "P" + (index + 1);
+        this.name = name;
+        this.index = index;
+        this.preferredStyles = preferredStyles != null ? new ArrayList<>(preferredStyles) : new ArrayList<>();
+        this.sizes = sizes != null ? sizes : SizeProfile.ANY;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public List<String> getPreferredStyles() {
+        return preferredStyles;
+    }
+
+    public SizeProfile getSizes() {
+        return sizes;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
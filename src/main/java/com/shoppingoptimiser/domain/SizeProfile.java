@@ -0,0 +1,116 @@
+package com.shoppingoptimiser.domain;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The sizes a shopper wears, one per category, as bit masks over the category's size chart.
+ * Items carry the sizes they are stocked in as a mask over the same chart, so "in stock in your size" is a
+ * single AND of two longs. Categories without a size match every size.
+ */
+public final class SizeProfile {
+
+    /**
+     * Mask of every size, for items without size data and categories without a size.
+     */
+    public static final long ALL_SIZES = -1L;
+
+    public static final SizeProfile ANY = new SizeProfile(allSizes());
+
+    private static final Map<ClothingCategory, String[]> SIZE_CHARTS = new EnumMap<>(ClothingCategory.class);
+
+    static {
+        SIZE_CHARTS.put(ClothingCategory.TOP, new String[]{"XS", "S", "M", "L", "XL", "XXL"});
+        SIZE_CHARTS.put(ClothingCategory.BOTTOM, new String[]{"28", "30", "32", "34", "36", "38", "40"});
+        SIZE_CHARTS.put(ClothingCategory.SHOES, new String[]{"37", "38", "39", "40", "41", "42", "43", "44", "45", "46"});
+        SIZE_CHARTS.put(ClothingCategory.OUTERWEAR, new String[]{"XS", "S", "M", "L", "XL", "XXL"});
+        SIZE_CHARTS.put(ClothingCategory.ACCESSORY, new String[]{"ONE SIZE"});
+    }
+
+    private final long[] masks; // By category ordinal
+
+    private SizeProfile(long[] masks) {
+        this.masks = masks;
+    }
+
+    private static long[] allSizes() {
+        long[] masks = new long[ClothingCategory.values().length];
+        Arrays.fill(masks, ALL_SIZES);
+        return masks;
+    }
+
+    /**
+     * The sizes of a category's chart, smallest first; an item's stock mask has bit i set for size i.
+     */
+    public static String[] sizesOf(ClothingCategory category) {
+        return SIZE_CHARTS.get(category).clone();
+    }
+
+    /**
+     * Mask of one size of a category, e.g. {@code maskOf(SHOES, "42")}.
+     */
+    public static long maskOf(ClothingCategory category, String size) {
+        String[] chart = SIZE_CHARTS.get(category);
+        String key = size.trim().toUpperCase(Locale.ROOT);
+        for (int i = 0; i < chart.length; i++) {
+            if (chart[i].equals(key)) {
+                return 1L << i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown size (" + size + ") for " + category
+                + ", expected one of " + Arrays.toString(chart) + ".");
+    }
+
+    /**
+     * Sizes for some categories, e.g. {@code "top:M,bottom:32,shoes:42"}; the others match every size.
+     */
+    public static SizeProfile parse(String sizes) {
+        SizeProfile profile = ANY;
+        for (String entry : sizes.split(",")) {
+            String[] categoryAndSize = entry.trim().split(":");
+            if (categoryAndSize.length != 2) {
+                throw new IllegalArgumentException("Invalid size (" + entry + "), expected CATEGORY:SIZE.");
+            }
+            ClothingCategory category;
+            try {
+                category = ClothingCategory.valueOf(categoryAndSize[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown category (" + categoryAndSize[0]
+                        + ") in size (" + entry + ").");
+            }
+            profile = profile.with(category, categoryAndSize[1]);
+        }
+        return profile;
+    }
+
+    /**
+     * A copy of this profile wearing the given size in the given category.
+     */
+    public SizeProfile with(ClothingCategory category, String size) {
+        long[] copy = masks.clone();
+        copy[category.ordinal()] = maskOf(category, size);
+        return new SizeProfile(copy);
+    }
+
+    /**
+     * Mask of the size worn in the given category, or {@link #ALL_SIZES} if any size fits.
+     */
+    public long maskOf(ClothingCategory category) {
+        return masks[category.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (ClothingCategory category : ClothingCategory.values()) {
+            long mask = masks[category.ordinal()];
+            if (mask != ALL_SIZES) {
+                sb.append(sb.length() == 0 ? "" : ", ").append(category).append(' ')
+                  .append(SIZE_CHARTS.get(category)[Long.numberOfTrailingZeros(mask)]);
+            }
+        }
+        return sb.length() == 0 ? "any size" : sb.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package com.shoppingoptimiser.domain;
+
+import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
+import ai.timefold.solver.core.api.domain.entity.PlanningPin;
+import ai.timefold.solver.core.api.domain.valuerange.CountableValueRange;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeFactory;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
+import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of interchangeable clothing items (same category, color, style, price and stock status).
+ * The planning variable is how many items of the group are bought, from 0 up to the group size.
+ * Groups of owned items are pinned at their full size.
+ */
+@PlanningEntity
+public class SkuGroup {
+
+    private String id;
+    private ClothingCategory category;
+    private double price;
+    private String style;
+    private String color;
+    private int colorId; // Id of the color in the default ColorRegistry
+    private boolean inStock;
+    private Store store; // Retailer selling this group, null if shipping does not apply
+    private Shopper shopper; // Household member the items are for, null for a single shopper
+    private long styleMask; // Bit of this group's style, assigned by the solution's StylePreference
+    private List<String> itemIds; // Concrete items this group stands for
+    @PlanningPin
+    private boolean owned; // Items the shopper already owns, always all selected
+
+    @PlanningVariable(valueRangeProviderRefs = "quantityRange")
+    private Integer quantity;
+
+    // No-arg constructor required by Timefold
+    public SkuGroup() {
+    }
+
+    public SkuGroup(String id, ClothingCategory category, double price, String style, String color,
+                    boolean inStock, List<String> itemIds) {
+        this.id = id;
+        this.category = category;
+        this.price = price;
+        this.style = style;
+        this.color = color;
+        this.colorId = ColorRegistry.getDefault().idOf(color);
+        this.inStock = inStock;
+        this.itemIds = new ArrayList<>(itemIds);
+    }
+
+    @ValueRangeProvider(id = "quantityRange")
+    public CountableValueRange<Integer> getQuantityRange() {
+        return ValueRangeFactory.createIntValueRange(0, getAvailable() + 1);
+    }
+
+    public int getAvailable() {
+        return itemIds.size();
+    }
+
+    public int getSelectedQuantity() {
+        return quantity == null ? 0 : quantity;
+    }
+
+    public int getPriceCents() {
+        return (int) Math.round(price * 100);
+    }
+
+    // Getters and setters
+    public long getStyleMask() {
+        return styleMask;
+    }
+
+    public void setStyleMask(long styleMask) {
+        this.styleMask = styleMask;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ClothingCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(ClothingCategory category) {
+        this.category = category;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public String getStyle() {
+        return style;
+    }
+
+    public void setStyle(String style) {
+        this.style = style;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+        this.colorId = ColorRegistry.getDefault().idOf(color);
+    }
+
+    public int getColorId() {
+        return colorId;
+    }
+
+    public boolean isInStock() {
+        return inStock;
+    }
+
+    public void setInStock(boolean inStock) {
+        this.inStock = inStock;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public Shopper getShopper() {
+        return shopper;
+    }
+
+    public void setShopper(Shopper shopper) {
+        this.shopper = shopper;
+    }
+
+    public List<String> getItemIds() {
+        return itemIds;
+    }
+
+    public void setItemIds(List<String> itemIds) {
+        this.itemIds = itemIds;
+    }
+
+    public boolean isOwned() {
+        return owned;
+    }
+
+    public void setOwned(boolean owned) {
+        this.owned = owned;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public String toString() {
+        return "SkuGroup{" +
+                "id='" + id + '\'' +
+                ", category=" + category +
+                ", price=$" + price +
+                ", style='" + style + '\'' +
+                ", color='" + color + '\'' +
+                ", inStock=" + inStock +
+                ", available=" + getAvailable() +
+                (shopper != null ? ", shopper=" + shopper.getId() : "") +
+                (owned ? ", owned" : "") +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package com.shoppingoptimiser.domain;
+
+/**
+ * A retailer items are bought from, as a problem fact. Every store that at least one selected item comes
+ * from charges its shipping fee once, unless the order's subtotal at that store reaches its free shipping
+ * threshold.
+ */
+public class Store {
+
+    private String id;
+    private String name;
+    private double shippingFee;
+    private double freeShippingThreshold; // 0 means shipping is never free
+
+    // No-arg constructor required by Timefold
+    public Store() {
+    }
+
+    public Store(String id, String name, double shippingFee, double freeShippingThreshold) {
+        this.id = id;
+        this.name = name;
+        this.shippingFee = shippingFee;
+        this.freeShippingThreshold = freeShippingThreshold;
+    }
+
+    /**
+     * Shipping charged for an order of the given subtotal at the given store; items without a store ship free.
+     */
+    public static int shippingCents(Store store, long subtotalCents) {
+        return store == null ? 0 : store.getShippingCents(subtotalCents);
+    }
+
+    public int getShippingCents(long subtotalCents) {
+        if (subtotalCents <= 0L) {
+            return 0;
+        }
+        long thresholdCents = Math.round(freeShippingThreshold * 100);
+        if (thresholdCents > 0L && subtotalCents >= thresholdCents) {
+            return 0;
+        }
+        return (int) Math.round(shippingFee * 100);
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getShippingFee() {
+        return shippingFee;
+    }
+
+    public void setShippingFee(double shippingFee) {
+        this.shippingFee = shippingFee;
+    }
+
+    public double getFreeShippingThreshold() {
+        return freeShippingThreshold;
+    }
+
+    public void setFreeShippingThreshold(double freeShippingThreshold) {
+        this.freeShippingThreshold = freeShippingThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,100 @@
+package com.shoppingoptimiser.domain;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The request's preferred styles as a bitmask. Every distinct preferred style gets one bit, and entities
+ * carry the bit of their own style (see {@link ClothingItem#getStyleMask()}), or 0 if nobody prefers it, so
+ * checking whether an entity is in a preferred style is a single AND instead of a lookup in the preference list.
+ * Only preferred styles need bits, so a catalog may have any number of styles.
+ * In a household every {@link Shopper} has a mask of their own, indexed by {@link Shopper#getIndex()}.
+ */
+public class StylePreference {
+
+    public static final int MAX_STYLES = Long.SIZE;
+
+    private Map<String, Long> maskByStyle = new LinkedHashMap<>();
+    private long preferredMask;
+    private long[] shopperMasks = new long[0];
+
+    // No-arg constructor required by Timefold
+    public StylePreference() {
+    }
+
+    /**
+     * @param preferredStyles the request's preferences
+     */
+    public static StylePreference of(Collection<String> preferredStyles) {
+        return of(preferredStyles, List.of());
+    }
+
+    /**
+     * @param preferredStyles the request's preferences, for entities without a shopper
+     * @param shoppers        the household members, each with their own preferences
+     */
+    public static StylePreference of(Collection<String> preferredStyles, Collection<Shopper> shoppers) {
+        StylePreference preference = new StylePreference();
+        for (String style : preferredStyles) {
+            preference.preferredMask |= preference.assignBit(style);
+        }
+        for (Shopper shopper : shoppers) {
+            long mask = 0L;
+            for (String style : shopper.getPreferredStyles()) {
+                mask |= preference.assignBit(style);
+            }
+            if (preference.shopperMasks.length <= shopper.getIndex()) {
+                preference.shopperMasks = Arrays.copyOf(preference.shopperMasks, shopper.getIndex() + 1);
+            }
+            preference.shopperMasks[shopper.getIndex()] = mask;
+        }
+        return preference;
+    }
+
+    private long assignBit(String style) {
+        String key = key(style);
+        Long mask = maskByStyle.get(key);
+        if (mask == null) {
+            if (maskByStyle.size() == MAX_STYLES) {
+                throw new IllegalArgumentException("A problem cannot prefer more than " + MAX_STYLES
+                        + " distinct styles (" + maskByStyle.keySet() + ", " + style + ").");
+            }
+            mask = 1L << maskByStyle.size();
+            maskByStyle.put(key, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * The bit of the given style, or 0 if no one prefers it.
+     */
+    public long maskOf(String style) {
+        return maskByStyle.getOrDefault(key(style), 0L);
+    }
+
+    public boolean matches(long styleMask) {
+        return (styleMask & preferredMask) != 0L;
+    }
+
+    /**
+     * Whether an entity for the given shopper, or for the request if there is none, is in a preferred style.
+     */
+    public boolean matches(long styleMask, Shopper shopper) {
+        if (shopper == null) {
+            return matches(styleMask);
+        }
+        int index = shopper.getIndex();
+        return index < shopperMasks.length && (styleMask & shopperMasks[index]) != 0L;
+    }
+
+    public long getPreferredMask() {
+        return preferredMask;
+    }
+
+    private static String key(String style) {
+        return style == null ? "" : style.toLowerCase();
+    }
+}
@@ -3,13 +3,18 @@ package com.shoppingoptimiser.domain;
 import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.PlanningScore;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
+import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactProperty;
 import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
 import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents the complete wardrobe optimization problem and solution.
@@ -23,6 +28,17 @@ public class WardrobeSolution {
     @ProblemFactProperty
     private Budget budget;
     private List<String> preferredStyles; // User's style preferences
+    @ProblemFactProperty
+    private StylePreference stylePreference;
+    @ProblemFactCollectionProperty
+    private List<Store> stores = new ArrayList<>(); // Stores of the items, derived from them
+    @ProblemFactCollectionProperty
+    private List<CategoryQuota> categoryQuotas = CategoryQuota.defaults();
+    @ProblemFactCollectionProperty
+    private List<Shopper> shoppers = new ArrayList<>(); // Household members of the items, derived from them
+
+    // Selected items, running cost and per-category counts, maintained while solving
+    private SelectionIndex selectionIndex = new SelectionIndex();
 
     @PlanningScore
     private HardSoftScore score;
@@ -35,6 +51,53 @@ public class WardrobeSolution {
         this.items = items;
         this.budget = new Budget(budgetAmount);
         this.preferredStyles = preferredStyles != null ? preferredStyles : new ArrayList<>();
+        this.selectionIndex = SelectionIndex.of(items);
+        collectShoppers();
+        assignStyleMasks();
+        collectStores();
+    }
+
+    /**
+     * Recompute the distinct stores of the items.
+     */
+    private void collectStores() {
+        Set<Store> distinct = new LinkedHashSet<>();
+        if (items != null) {
+            for (ClothingItem item : items) {
+                if (item.getStore() != null) {
+                    distinct.add(item.getStore());
+                }
+            }
+        }
+        stores = new ArrayList<>(distinct);
+    }
+
+    /**
+     * Recompute the distinct household members of the items.
+     */
+    private void collectShoppers() {
+        Set<Shopper> distinct = new LinkedHashSet<>();
+        if (items != null) {
+            for (ClothingItem item : items) {
+                if (item.getShopper() != null) {
+                    distinct.add(item.getShopper());
+                }
+            }
+        }
+        shoppers = new ArrayList<>(distinct);
+    }
+
+    /**
+     * Recompute the style preference bitmask and the style mask of every item.
+     */
+    private void assignStyleMasks() {
+        if (items == null) {
+            return;
+        }
+        stylePreference = StylePreference.of(preferredStyles != null ? preferredStyles : List.of(), shoppers);
+        for (ClothingItem item : items) {
+            item.setStyleMask(stylePreference.maskOf(item.getStyle()));
+        }
     }
 
     @ValueRangeProvider(id = "selectedRange")
@@ -42,19 +105,82 @@ public class WardrobeSolution {
         return List.of(Boolean.TRUE, Boolean.FALSE);
     }
 
+    /**
+     * The selected items as recorded by the selection index, which the solver keeps in sync. After selecting or
+     * deselecting items outside the solver, call {@link #refreshSelectionIndex()} before reading them here or
+     * through the other selection getters and the costs.
+     */
     public List<ClothingItem> getSelectedItems() {
-        if (items == null) {
-            return new ArrayList<>();
-        }
-        return items.stream()
-                .filter(item -> item.getSelected() != null && item.getSelected())
-                .collect(Collectors.toList());
+        return new ArrayList<>(selectionIndex.getSelectedItems());
+    }
+
+    /**
+     * Read from the selection index, see {@link #getSelectedItems()}.
+     */
+    public List<ClothingItem> getSelectedItems(ClothingCategory category) {
+        return selectionIndex.getSelectedItems(category);
+    }
+
+    /**
+     * Read from the selection index, see {@link #getSelectedItems()}.
+     */
+    public int getSelectedCount() {
+        return selectionIndex.getSelectedCount();
+    }
+
+    /**
+     * Read from the selection index, see {@link #getSelectedItems()}.
+     */
+    public int getCategoryCount(ClothingCategory category) {
+        return selectionIndex.getCategoryCount(category);
     }
 
+    /**
+     * Price of the selected items plus shipping, read from the selection index, see {@link #getSelectedItems()}.
+     */
     public double getTotalCost() {
-        return getSelectedItems().stream()
-                .mapToDouble(ClothingItem::getPrice)
-                .sum();
+        return (selectionIndex.getTotalCostCents() + getShippingCostCents()) / 100.0;
+    }
+
+    public double getShippingCost() {
+        return getShippingCostCents() / 100.0;
+    }
+
+    private long getShippingCostCents() {
+        return stores.isEmpty() ? 0L : shippingCentsOf(selectionIndex.getSelectedItems());
+    }
+
+    /**
+     * Price of the given items plus shipping, as {@link #getTotalCost()} for another selection, e.g. an alternative
+     * basket.
+     */
+    public static double totalCostOf(Collection<ClothingItem> selectedItems) {
+        long priceCents = 0L;
+        for (ClothingItem item : selectedItems) {
+            priceCents += item.getPriceCents();
+        }
+        return (priceCents + shippingCentsOf(selectedItems)) / 100.0;
+    }
+
+    private static long shippingCentsOf(Collection<ClothingItem> selectedItems) {
+        Map<Store, Long> subtotalCentsByStore = new HashMap<>();
+        for (ClothingItem item : selectedItems) {
+            if (item.getStore() != null) {
+                subtotalCentsByStore.merge(item.getStore(), item.getPriceCents(), Long::sum);
+            }
+        }
+        long shippingCents = 0L;
+        for (Map.Entry<Store, Long> entry : subtotalCentsByStore.entrySet()) {
+            shippingCents += entry.getKey().getShippingCents(entry.getValue());
+        }
+        return shippingCents;
+    }
+
+    /**
+     * Rebuild the selection index after items were selected or deselected outside the solver.
+     */
+    public void refreshSelectionIndex() {
+        selectionIndex.rebuild(items);
     }
 
     // Getters and setters
@@ -64,6 +190,34 @@ public class WardrobeSolution {
 
     public void setItems(List<ClothingItem> items) {
         this.items = items;
+        this.selectionIndex = SelectionIndex.of(items);
+        collectShoppers();
+        assignStyleMasks();
+        collectStores();
+    }
+
+    public List<Store> getStores() {
+        return stores;
+    }
+
+    public void setStores(List<Store> stores) {
+        this.stores = stores;
+    }
+
+    public List<CategoryQuota> getCategoryQuotas() {
+        return categoryQuotas;
+    }
+
+    public void setCategoryQuotas(List<CategoryQuota> categoryQuotas) {
+        this.categoryQuotas = categoryQuotas;
+    }
+
+    public List<Shopper> getShoppers() {
+        return shoppers;
+    }
+
+    public void setShoppers(List<Shopper> shoppers) {
+        this.shoppers = shoppers;
     }
 
     public Budget getBudget() {
@@ -79,7 +233,24 @@ public class WardrobeSolution {
     }
 
     public void setPreferredStyles(List<String> preferredStyles) {
-        this.preferredStyles = preferredStyles;
+        this.preferredStyles = preferredStyles != null ? preferredStyles : new ArrayList<>();
+        assignStyleMasks();
+    }
+
+    public StylePreference getStylePreference() {
+        return stylePreference;
+    }
+
+    public void setStylePreference(StylePreference stylePreference) {
+        this.stylePreference = stylePreference;
+    }
+
+    public SelectionIndex getSelectionIndex() {
+        return selectionIndex;
+    }
+
+    public void setSelectionIndex(SelectionIndex selectionIndex) {
+        this.selectionIndex = selectionIndex;
     }
 
     public HardSoftScore getScore() {
@@ -92,15 +263,17 @@ public class WardrobeSolution {
 
     @Override
     public String toString() {
-        List<ClothingItem> selected = getSelectedItems();
         StringBuilder sb = new StringBuilder();
         sb.append("\nWardrobeSolution:\n");
         sb.append("  Budget: $").append(budget != null ? String.format("%.2f", budget.getAmount()) : "0.00").append("\n");
         sb.append("  Total Cost: $").append(String.format("%.2f", getTotalCost())).append("\n");
-        sb.append("  Items Selected: ").append(selected.size()).append("\n");
+        if (!stores.isEmpty()) {
+            sb.append("  Shipping: $").append(String.format("%.2f", getShippingCost())).append("\n");
+        }
+        sb.append("  Items Selected: ").append(getSelectedCount()).append("\n");
         sb.append("  Score: ").append(score).append("\n");
         sb.append("  Selected Items:\n");
-        for (ClothingItem item : selected) {
+        for (ClothingItem item : selectionIndex.getSelectedItems()) {
             sb.append("    - ID: ").append(item.getId())
               .append(", Name: ").append(item.getName())
               .append(", Category: ").append(item.getCategory())
@@ -108,6 +281,9 @@ public class WardrobeSolution {
               .append(", Style: ").append(item.getStyle())
               .append(", Color: ").append(item.getColor())
               .append(", InStock: ").append(item.isInStock())
+              .append(item.getStore() != null ? ", Store: " + item.getStore().getName() : "")
+              .append(item.getShopper() != null ? ", For: " + item.getShopper().getName() : "")
+              .append(item.isOwned() ? ", Owned" : "")
               .append("\n");
         }
         return sb.toString();
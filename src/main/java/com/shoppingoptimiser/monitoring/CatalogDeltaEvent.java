@@ -0,0 +1,29 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Detecting the changes of a catalog feed, or applying them to an index or a running solve.
+ */
+@Name("com.shoppingoptimiser.CatalogDelta")
+@Label("Catalog Delta")
+@Category({"Shopping Optimiser", "Catalog"})
+@Description("Detecting the changes of a catalog feed, or applying them to an index or a running solve")
+public class CatalogDeltaEvent extends Event {
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Inserted")
+    public int inserted;
+
+    @Label("Updated")
+    public int updated;
+
+    @Label("Deleted")
+    public int deleted;
+}
@@ -0,0 +1,23 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading or generating the catalog of clothing items.
+ */
+@Name("com.shoppingoptimiser.CatalogLoad")
+@Label("Catalog Load")
+@Category({"Shopping Optimiser", "Catalog"})
+@Description("Loading or generating the catalog of clothing items")
+public class CatalogLoadEvent extends Event {
+
+    @Label("Source")
+    public String source;
+
+    @Label("Item Count")
+    public int itemCount;
+}
@@ -0,0 +1,44 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One deadline solve, from the call to the answer, with how the time was planned and whether it was kept.
+ */
+@Name("com.shoppingoptimiser.DeadlineSolve")
+@Label("Deadline Solve")
+@Category({"Shopping Optimiser", "Solver"})
+@Description("One deadline solve, from the call to the answer")
+public class DeadlineSolveEvent extends Event {
+
+    @Label("Time to Deadline")
+    @Timespan(Timespan.MILLISECONDS)
+    public long deadlineMillis;
+
+    @Label("Catalog Size")
+    public long catalogSize;
+
+    @Label("Entity Count")
+    public int entityCount;
+
+    @Label("Plan")
+    public String plan;
+
+    @Label("Local Search")
+    @Timespan(Timespan.MILLISECONDS)
+    public long localSearchMillis;
+
+    @Label("Best Score")
+    public String bestScore;
+
+    @Label("Feasible")
+    public boolean feasible;
+
+    @Label("Missed")
+    public boolean missed;
+}
@@ -0,0 +1,51 @@
+package com.shoppingoptimiser.monitoring;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.api.solver.event.SolverEventListener;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures cold start as the JVM uptime at the first best solution and at the first feasible one, so JVM
+ * startup, class loading and building the constraint network all count, not just the solve itself.
+ */
+public class FirstSolutionTimer<Solution_> implements SolverEventListener<Solution_> {
+
+    private volatile long firstSolutionMillis = -1L;
+    private volatile long firstFeasibleMillis = -1L;
+
+    public void attachTo(Solver<Solution_> solver) {
+        solver.addEventListener(this);
+    }
+
+    @Override
+    public void bestSolutionChanged(BestSolutionChangedEvent<Solution_> event) {
+        if (firstFeasibleMillis >= 0L) {
+            return;
+        }
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstSolutionMillis < 0L) {
+            firstSolutionMillis = uptime;
+        }
+        Score<?> score = event.getNewBestScore();
+        if (score.isSolutionInitialized() && score.isFeasible()) {
+            firstFeasibleMillis = uptime;
+        }
+    }
+
+    /**
+     * JVM uptime in milliseconds at the first best solution, -1 if there was none.
+     */
+    public long getFirstSolutionMillis() {
+        return firstSolutionMillis;
+    }
+
+    /**
+     * JVM uptime in milliseconds at the first feasible best solution, -1 if there was none.
+     */
+    public long getFirstFeasibleMillis() {
+        return firstFeasibleMillis;
+    }
+}
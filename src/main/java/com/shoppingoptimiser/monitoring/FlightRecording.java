@@ -0,0 +1,53 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts an in-process JFR recording with the bundled {@code shopping-optimiser.jfc} settings:
+ * all Shopping Optimiser events plus CPU sampling, GC and lock contention.
+ * The same file works on the command line:
+ * {@code -XX:StartFlightRecording=settings=src/main/resources/shopping-optimiser.jfc,filename=solve.jfr}
+ */
+public final class FlightRecording {
+
+    public static final String CONFIGURATION_RESOURCE = "/shopping-optimiser.jfc";
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Load the bundled recording configuration from the classpath.
+     */
+    public static Configuration bundledConfiguration() throws IOException {
+        InputStream in = FlightRecording.class.getResourceAsStream(CONFIGURATION_RESOURCE);
+        if (in == null) {
+            throw new IOException("The JFR configuration (" + CONFIGURATION_RESOURCE + ") is not on the classpath.");
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        } catch (ParseException e) {
+            throw new IOException("The JFR configuration (" + CONFIGURATION_RESOURCE + ") is invalid.", e);
+        }
+    }
+
+    /**
+     * Start recording; stopping the returned recording writes it to the destination.
+     */
+    public static Recording start(Path destination) throws IOException {
+        Recording recording = new Recording(bundledConfiguration());
+        recording.setName("shopping-optimiser");
+        recording.setDestination(destination);
+        recording.setToDisk(true);
+        recording.start();
+        return recording;
+    }
+}
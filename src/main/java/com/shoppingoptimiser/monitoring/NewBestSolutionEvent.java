@@ -0,0 +1,34 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The solver found a new best solution.
+ */
+@Name("com.shoppingoptimiser.NewBestSolution")
+@Label("New Best Solution")
+@Category({"Shopping Optimiser", "Solver"})
+@Description("The solver found a new best solution")
+public class NewBestSolutionEvent extends Event {
+
+    @Label("Solve")
+    public String solveLabel;
+
+    @Label("Phase Index")
+    public int phaseIndex;
+
+    @Label("Step Index")
+    public int stepIndex;
+
+    @Label("Best Score")
+    public String bestScore;
+
+    @Label("Time Spent")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeMillisSpent;
+}
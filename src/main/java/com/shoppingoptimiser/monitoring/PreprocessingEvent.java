@@ -0,0 +1,26 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Work done on the problem before the solver sees it, such as bounds, aggregation or filtering.
+ */
+@Name("com.shoppingoptimiser.Preprocessing")
+@Label("Pre-processing")
+@Category({"Shopping Optimiser", "Catalog"})
+@Description("Work done on the problem before solving, such as bounds, aggregation or filtering")
+public class PreprocessingEvent extends Event {
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Input Count")
+    public int inputCount;
+
+    @Label("Output Count")
+    public int outputCount;
+}
@@ -0,0 +1,23 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Printing or drawing a solved basket.
+ */
+@Name("com.shoppingoptimiser.ResultRendering")
+@Label("Result Rendering")
+@Category({"Shopping Optimiser", "Rendering"})
+@Description("Printing or drawing a solved basket")
+public class ResultRenderingEvent extends Event {
+
+    @Label("Target")
+    public String target;
+
+    @Label("Selected Count")
+    public int selectedCount;
+}
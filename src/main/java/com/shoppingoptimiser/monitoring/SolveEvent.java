@@ -0,0 +1,29 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call to {@code Solver.solve}, from solving started to solving ended.
+ */
+@Name("com.shoppingoptimiser.Solve")
+@Label("Solve")
+@Category({"Shopping Optimiser", "Solver"})
+@Description("One call to Solver.solve")
+public class SolveEvent extends Event {
+
+    @Label("Solve")
+    public String solveLabel;
+
+    @Label("Entity Count")
+    public int entityCount;
+
+    @Label("Best Score")
+    public String bestScore;
+
+    @Label("Score Calculation Count")
+    public long scoreCalculationCount;
+}
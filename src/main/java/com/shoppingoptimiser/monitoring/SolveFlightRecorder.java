@@ -0,0 +1,117 @@
+package com.shoppingoptimiser.monitoring;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
+import ai.timefold.solver.core.impl.phase.scope.AbstractStepScope;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+
+import java.util.function.Supplier;
+
+/**
+ * Emits {@link SolveEvent}, {@link SolverPhaseEvent} and {@link NewBestSolutionEvent} from the solver thread.
+ * One instance per solver; the events cost next to nothing when JFR is not recording them.
+ */
+public class SolveFlightRecorder<Solution_> extends PhaseLifecycleListenerAdapter<Solution_> {
+
+    private final String solveLabel;
+    private SolveEvent solveEvent;
+    private SolverPhaseEvent phaseEvent;
+    private long phaseStartScoreCalculationCount;
+
+    /**
+     * @param solveLabel identifies the solve in the recording, e.g. the app and catalog size
+     */
+    public SolveFlightRecorder(String solveLabel) {
+        this.solveLabel = solveLabel;
+    }
+
+    /**
+     * Register this recorder on a solver built from a {@code SolverFactory}.
+     */
+    public void attachTo(Solver<Solution_> solver) {
+        ((DefaultSolver<Solution_>) solver).addPhaseLifecycleListener(this);
+    }
+
+    /**
+     * Build a solver inside a {@link SolverBootstrapEvent}.
+     */
+    public static <Solution_> Solver<Solution_> buildSolver(String solveLabel,
+                                                            Supplier<Solver<Solution_>> builder) {
+        SolverBootstrapEvent event = new SolverBootstrapEvent();
+        event.begin();
+        Solver<Solution_> solver = builder.get();
+        event.solveLabel = solveLabel;
+        event.commit();
+        return solver;
+    }
+
+    @Override
+    public void solvingStarted(SolverScope<Solution_> solverScope) {
+        solveEvent = new SolveEvent();
+        solveEvent.begin();
+    }
+
+    @Override
+    public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
+        phaseEvent = new SolverPhaseEvent();
+        phaseEvent.begin();
+        phaseStartScoreCalculationCount = phaseScope.getSolverScope().getScoreCalculationCount();
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+        if (!stepScope.getBestScoreImproved()) {
+            return;
+        }
+        NewBestSolutionEvent event = new NewBestSolutionEvent();
+        if (event.isEnabled()) {
+            event.solveLabel = solveLabel;
+            event.phaseIndex = stepScope.getPhaseScope().getPhaseIndex();
+            event.stepIndex = stepScope.getStepIndex();
+            event.bestScore = String.valueOf(stepScope.getScore());
+            event.timeMillisSpent = stepScope.getPhaseScope().getSolverScope().calculateTimeMillisSpentUpToNow();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
+        SolverPhaseEvent event = phaseEvent;
+        phaseEvent = null;
+        if (event != null && event.shouldCommit()) {
+            event.solveLabel = solveLabel;
+            event.phaseIndex = phaseScope.getPhaseIndex();
+            event.phaseType = phaseType(phaseScope);
+            event.stepCount = phaseScope.getNextStepIndex();
+            event.bestScore = String.valueOf((Score<?>) phaseScope.getBestScore());
+            // The phase scope only knows its own count after the listeners ran
+            event.scoreCalculationCount = phaseScope.getSolverScope().getScoreCalculationCount()
+                    - phaseStartScoreCalculationCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void solvingEnded(SolverScope<Solution_> solverScope) {
+        SolveEvent event = solveEvent;
+        solveEvent = null;
+        if (event != null && event.shouldCommit()) {
+            event.solveLabel = solveLabel;
+            event.entityCount = solverScope.getWorkingEntityCount();
+            event.bestScore = String.valueOf(solverScope.getBestScore());
+            event.scoreCalculationCount = solverScope.getScoreCalculationCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * "ConstructionHeuristic" or "LocalSearch", derived from the phase scope class.
+     */
+    private static String phaseType(AbstractPhaseScope<?> phaseScope) {
+        String name = phaseScope.getClass().getSimpleName();
+        return name.endsWith("PhaseScope") ? name.substring(0, name.length() - "PhaseScope".length()) : name;
+    }
+}
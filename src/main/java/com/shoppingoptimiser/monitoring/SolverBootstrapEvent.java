@@ -0,0 +1,20 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building a solver: {@code SolverFactory.create} and {@code buildSolver}.
+ */
+@Name("com.shoppingoptimiser.SolverBootstrap")
+@Label("Solver Bootstrap")
+@Category({"Shopping Optimiser", "Solver"})
+@Description("SolverFactory.create and buildSolver")
+public class SolverBootstrapEvent extends Event {
+
+    @Label("Solve")
+    public String solveLabel;
+}
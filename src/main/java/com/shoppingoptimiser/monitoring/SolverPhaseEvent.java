@@ -0,0 +1,35 @@
+package com.shoppingoptimiser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One solver phase, e.g. the construction heuristic or a local search.
+ */
+@Name("com.shoppingoptimiser.SolverPhase")
+@Label("Solver Phase")
+@Category({"Shopping Optimiser", "Solver"})
+@Description("One solver phase, e.g. the construction heuristic or a local search")
+public class SolverPhaseEvent extends Event {
+
+    @Label("Solve")
+    public String solveLabel;
+
+    @Label("Phase Index")
+    public int phaseIndex;
+
+    @Label("Phase Type")
+    public String phaseType;
+
+    @Label("Step Count")
+    public int stepCount;
+
+    @Label("Best Score")
+    public String bestScore;
+
+    @Label("Score Calculation Count")
+    public long scoreCalculationCount;
+}
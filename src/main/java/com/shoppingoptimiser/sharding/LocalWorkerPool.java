@@ -0,0 +1,124 @@
+package com.shoppingoptimiser.sharding;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Starts {@link ShardWorker} processes on this machine with the current classpath, each in its own JVM on a
+ * free loopback port, and stops them again on {@link #close()}.
+ */
+public class LocalWorkerPool implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final List<Process> processes = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+
+    private LocalWorkerPool() {
+    }
+
+    /**
+     * Start the given number of workers, each with the given extra JVM options (e.g. {@code -Xmx2g}),
+     * and wait until all of them accept connections.
+     */
+    public static LocalWorkerPool start(int workerCount, List<String> jvmOptions) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("The worker count (" + workerCount + ") must be at least 1.");
+        }
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        LocalWorkerPool pool = new LocalWorkerPool();
+        List<CompletableFuture<Integer>> ports = new ArrayList<>(workerCount);
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(jvmOptions);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(ShardWorker.class.getName());
+                command.add("--port=0");
+                Process process = new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                pool.processes.add(process);
+                ports.add(readPort(process));
+            }
+            for (CompletableFuture<Integer> port : ports) {
+                pool.addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                        port.get(STARTUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)));
+            }
+            return pool;
+        } catch (ExecutionException | TimeoutException e) {
+            pool.close();
+            throw new IOException("A shard worker did not start.", e.getCause() != null ? e.getCause() : e);
+        } catch (InterruptedException e) {
+            pool.close();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting the shard workers.", e);
+        }
+    }
+
+    /**
+     * Wait for the worker's ready message on a background thread, then keep draining its output so that
+     * logging can never block the worker.
+     */
+    private static CompletableFuture<Integer> readPort(Process process) {
+        CompletableFuture<Integer> port = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (!port.isDone() && line.startsWith(ShardWorker.READY_MESSAGE)) {
+                        port.complete(Integer.parseInt(line.substring(ShardWorker.READY_MESSAGE.length()).trim()));
+                    }
+                }
+                port.completeExceptionally(new IOException("The worker exited with code " + process.waitFor() + "."));
+            } catch (IOException | RuntimeException e) {
+                port.completeExceptionally(e);
+            } catch (InterruptedException e) {
+                port.completeExceptionally(e);
+                Thread.currentThread().interrupt();
+            }
+        }, "shard-worker-output");
+        reader.setDaemon(true);
+        reader.start();
+        return port;
+    }
+
+    public List<InetSocketAddress> getAddresses() {
+        return List.copyOf(addresses);
+    }
+
+    /**
+     * Ask the workers to shut down and kill any that are still running shortly after.
+     */
+    @Override
+    public void close() {
+        if (!addresses.isEmpty()) {
+            new ShardCoordinator(addresses).shutdownWorkers();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
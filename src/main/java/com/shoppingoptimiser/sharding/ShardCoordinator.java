@@ -0,0 +1,273 @@
+package com.shoppingoptimiser.sharding;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.monitoring.SolveFlightRecorder;
+import com.shoppingoptimiser.solver.OptimalityGapTermination;
+import com.shoppingoptimiser.solver.SoftScoreUpperBound;
+import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a catalog into shards, has one {@link ShardWorker} solve each shard, and then runs a repair solve on
+ * the union of the partial baskets, starting from the best of them. The repair problem only holds a few items
+ * per shard, so it can recombine items from different shards in well under the shard time limit.
+ *
+ * Each category is sorted by price and dealt over the shards like cards, so every shard gets a slice of every
+ * price band of every category. A shard is then a smaller copy of the catalog with feasible baskets of its own,
+ * which neither a split by category nor one contiguous price range per shard would give.
+ */
+public class ShardCoordinator {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    // Allowance for sending the shard and building the solver on top of the worker's time limit
+    private static final Duration REPLY_MARGIN = Duration.ofSeconds(30);
+
+    private final List<InetSocketAddress> workers;
+    private Duration shardTimeLimit = Duration.ofSeconds(20);
+    private Duration repairTimeLimit = Duration.ofSeconds(5);
+    private double maxGap = 0.25;
+    private List<ShardResult> lastShardResults = List.of();
+
+    public ShardCoordinator(List<InetSocketAddress> workers) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("Sharded solving needs at least one worker.");
+        }
+        this.workers = List.copyOf(workers);
+    }
+
+    /**
+     * Parse a comma separated list of {@code host:port} worker addresses.
+     */
+    public static List<InetSocketAddress> parseWorkers(String addresses) {
+        List<InetSocketAddress> workers = new ArrayList<>();
+        for (String address : addresses.split(",")) {
+            address = address.trim();
+            int separator = address.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid worker address (" + address + "), expected host:port.");
+            }
+            try {
+                workers.add(new InetSocketAddress(address.substring(0, separator),
+                        Integer.parseInt(address.substring(separator + 1))));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid port in worker address (" + address + ").");
+            }
+        }
+        return workers;
+    }
+
+    /**
+     * Split the items into the given number of shards with the same mix of categories and prices.
+     * Owned items are part of every basket, so every shard gets all of them.
+     */
+    public static List<List<ClothingItem>> partitionByPrice(List<ClothingItem> items, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("The shard count (" + shardCount + ") must be at least 1.");
+        }
+        Map<ClothingCategory, List<ClothingItem>> byCategory = new EnumMap<>(ClothingCategory.class);
+        List<ClothingItem> owned = new ArrayList<>();
+        for (ClothingItem item : items) {
+            if (item.isOwned()) {
+                owned.add(item);
+                continue;
+            }
+            byCategory.computeIfAbsent(item.getCategory(), category -> new ArrayList<>()).add(item);
+        }
+        List<List<ClothingItem>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>(owned));
+        }
+        for (List<ClothingItem> categoryItems : byCategory.values()) {
+            categoryItems.sort(Comparator.comparingLong(ClothingItem::getPriceCents));
+            for (int i = 0; i < categoryItems.size(); i++) {
+                shards.get(i % shardCount).add(categoryItems.get(i));
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Solve the problem on the workers and return the repaired combination of their partial baskets.
+     * The returned solution only holds the items of the partial baskets. Its score equals the score of the same
+     * selection on the whole catalog as long as it is feasible. Households are not supported, since the shard
+     * protocol does not carry shoppers.
+     */
+    public WardrobeSolution solve(WardrobeSolution problem) {
+        if (!problem.getShoppers().isEmpty()) {
+            throw new IllegalArgumentException("The problem is for a household of " + problem.getShoppers().size()
+                    + " shoppers, which sharded solving does not support.");
+        }
+        List<List<ClothingItem>> shards = partitionByPrice(problem.getItems(), workers.size());
+        List<ShardResult> results = solveShards(problem, shards);
+        lastShardResults = results;
+
+        Map<String, ClothingItem> itemsById = new HashMap<>();
+        for (ClothingItem item : problem.getItems()) {
+            itemsById.put(item.getId(), item);
+        }
+        ShardResult best = results.get(0);
+        for (ShardResult result : results) {
+            if (result.getScore().compareTo(best.getScore()) > 0) {
+                best = result;
+            }
+        }
+        // Union of the partial baskets, warm started from the best one
+        Set<String> bestIds = new HashSet<>(best.getSelectedIds());
+        Map<String, ClothingItem> pool = new LinkedHashMap<>();
+        for (ShardResult result : results) {
+            for (String id : result.getSelectedIds()) {
+                ClothingItem item = itemsById.get(id);
+                if (item == null) {
+                    throw new IllegalStateException("A worker selected an unknown item (" + id + ").");
+                }
+                pool.computeIfAbsent(id, key -> copyOf(item, bestIds.contains(key)));
+            }
+        }
+        WardrobeSolution combined = new WardrobeSolution(new ArrayList<>(pool.values()),
+                problem.getBudget().getAmount(), problem.getPreferredStyles());
+        combined.setCategoryQuotas(problem.getCategoryQuotas());
+        return repair(combined, SoftScoreUpperBound.compute(problem));
+    }
+
+    /**
+     * The partial baskets of the last {@link #solve(WardrobeSolution)}, in shard order.
+     */
+    public List<ShardResult> getLastShardResults() {
+        return lastShardResults;
+    }
+
+    private List<ShardResult> solveShards(WardrobeSolution problem, List<List<ClothingItem>> shards) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        try {
+            List<Future<ShardResult>> futures = new ArrayList<>(workers.size());
+            for (int i = 0; i < workers.size(); i++) {
+                InetSocketAddress worker = workers.get(i);
+                WardrobeSolution shard = new WardrobeSolution(shards.get(i),
+                        problem.getBudget().getAmount(), problem.getPreferredStyles());
+                shard.setCategoryQuotas(problem.getCategoryQuotas());
+                futures.add(executor.submit(() -> send(worker, shard)));
+            }
+            List<ShardResult> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof UncheckedIOException
+                            ? e.getCause().getCause() : e.getCause();
+                    throw new IllegalStateException("Shard " + i + " failed on worker " + workers.get(i)
+                            + ": " + cause.getMessage(), cause);
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the workers.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ShardResult send(InetSocketAddress worker, WardrobeSolution shard) {
+        try (Socket socket = new Socket()) {
+            socket.connect(worker, (int) CONNECT_TIMEOUT.toMillis());
+            socket.setSoTimeout((int) shardTimeLimit.plus(REPLY_MARGIN).toMillis());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            ShardProtocol.writeSolve(out, shard, shardTimeLimit.toMillis(), maxGap);
+            out.flush();
+            return ShardProtocol.readResult(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Solve the combined basket items, stopping early once within the gap of the whole catalog's bound.
+     */
+    private WardrobeSolution repair(WardrobeSolution combined, long upperBound) {
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(new TerminationConfig()
+                        .withSpentLimit(repairTimeLimit)
+                        .withUnimprovedSpentLimit(Duration.ofSeconds(1)));
+        String solveLabel = "shard-repair/" + combined.getItems().size() + " items";
+        Solver<WardrobeSolution> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                () -> SolverFactory.<WardrobeSolution>create(solverConfig).buildSolver());
+        new SolveFlightRecorder<WardrobeSolution>(solveLabel).attachTo(solver);
+        new OptimalityGapTermination<WardrobeSolution>(upperBound, maxGap).attachTo(solver);
+        return solver.solve(combined);
+    }
+
+    /**
+     * Ask every worker to exit, ignoring workers that are already gone.
+     */
+    public void shutdownWorkers() {
+        for (InetSocketAddress worker : workers) {
+            try (Socket socket = new Socket()) {
+                socket.connect(worker, (int) CONNECT_TIMEOUT.toMillis());
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                ShardProtocol.writeShutdown(out);
+                out.flush();
+            } catch (IOException e) {
+                // Nothing left to stop
+            }
+        }
+    }
+
+    private static ClothingItem copyOf(ClothingItem item, boolean selected) {
+        ClothingItem copy = new ClothingItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                item.getStyle(), item.getColor(), item.isInStock());
+        copy.setStore(item.getStore());
+        copy.setOwned(item.isOwned());
+        copy.setSelected(selected || item.isOwned());
+        return copy;
+    }
+
+    public ShardCoordinator withShardTimeLimit(Duration shardTimeLimit) {
+        this.shardTimeLimit = shardTimeLimit;
+        return this;
+    }
+
+    /**
+     * Relative optimality gap at which workers and the repair solve stop before their time limit.
+     */
+    public ShardCoordinator withMaxGap(double maxGap) {
+        this.maxGap = maxGap;
+        return this;
+    }
+
+    public ShardCoordinator withRepairTimeLimit(Duration repairTimeLimit) {
+        this.repairTimeLimit = repairTimeLimit;
+        return this;
+    }
+}
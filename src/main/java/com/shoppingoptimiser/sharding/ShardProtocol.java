@@ -0,0 +1,207 @@
+package com.shoppingoptimiser.sharding;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary wire format between {@link ShardCoordinator} and {@link ShardWorker}. Every message starts with
+ * {@link #MAGIC} and a message type. A solve request carries the shard's items (with their stores written
+ * once in a table), the budget, the preferred styles, the category quotas, the worker's time limit and the optimality gap to stop
+ * at; the reply carries the score and the ids of the selected items, or an error message.
+ */
+final class ShardProtocol {
+
+    static final int MAGIC = 0x57524433; // "WRD3"
+
+    static final byte SOLVE = 1;
+    static final byte SHUTDOWN = 2;
+
+    static final byte OK = 1;
+    static final byte ERROR = 2;
+
+    private static final int NO_STORE = -1;
+    private static final ClothingCategory[] CATEGORIES = ClothingCategory.values();
+
+    private ShardProtocol() {
+    }
+
+    static void writeSolve(DataOutput out, WardrobeSolution shard, long timeLimitMillis, double maxGap)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(SOLVE);
+        out.writeLong(timeLimitMillis);
+        out.writeDouble(maxGap);
+        out.writeDouble(shard.getBudget().getAmount());
+        List<String> styles = shard.getPreferredStyles();
+        out.writeInt(styles.size());
+        for (String style : styles) {
+            out.writeUTF(style);
+        }
+        List<CategoryQuota> quotas = shard.getCategoryQuotas();
+        out.writeInt(quotas.size());
+        for (CategoryQuota quota : quotas) {
+            out.writeByte(quota.getCategory().ordinal());
+            out.writeInt(quota.getMinCount());
+            out.writeInt(quota.getMaxCount());
+        }
+
+        Map<Store, Integer> storeIndex = new IdentityHashMap<>();
+        List<Store> stores = shard.getStores();
+        out.writeInt(stores.size());
+        for (Store store : stores) {
+            storeIndex.put(store, storeIndex.size());
+            out.writeUTF(store.getId());
+            out.writeUTF(store.getName());
+            out.writeDouble(store.getShippingFee());
+            out.writeDouble(store.getFreeShippingThreshold());
+        }
+
+        List<ClothingItem> items = shard.getItems();
+        out.writeInt(items.size());
+        for (ClothingItem item : items) {
+            out.writeUTF(item.getId());
+            out.writeUTF(item.getName());
+            out.writeByte(item.getCategory().ordinal());
+            out.writeDouble(item.getPrice());
+            out.writeUTF(item.getStyle());
+            out.writeUTF(item.getColor());
+            out.writeBoolean(item.isInStock());
+            out.writeBoolean(item.isOwned());
+            out.writeInt(item.getStore() == null ? NO_STORE : storeIndex.get(item.getStore()));
+        }
+    }
+
+    static void writeShutdown(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(SHUTDOWN);
+    }
+
+    /**
+     * Read the message header and return its type.
+     */
+    static byte readType(DataInput in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a shard protocol message (magic " + Integer.toHexString(magic) + ").");
+        }
+        return in.readByte();
+    }
+
+    /**
+     * Read the body of a {@link #SOLVE} message.
+     */
+    static SolveRequest readSolve(DataInput in) throws IOException {
+        long timeLimitMillis = in.readLong();
+        double maxGap = in.readDouble();
+        double budget = in.readDouble();
+        int styleCount = in.readInt();
+        List<String> styles = new ArrayList<>(styleCount);
+        for (int i = 0; i < styleCount; i++) {
+            styles.add(in.readUTF());
+        }
+        int quotaCount = in.readInt();
+        List<CategoryQuota> quotas = new ArrayList<>(quotaCount);
+        for (int i = 0; i < quotaCount; i++) {
+            quotas.add(new CategoryQuota(readCategory(in, "quota " + i), in.readInt(), in.readInt()));
+        }
+
+        int storeCount = in.readInt();
+        Store[] stores = new Store[storeCount];
+        for (int i = 0; i < storeCount; i++) {
+            stores[i] = new Store(in.readUTF(), in.readUTF(), in.readDouble(), in.readDouble());
+        }
+
+        int itemCount = in.readInt();
+        List<ClothingItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            String id = in.readUTF();
+            String name = in.readUTF();
+            ClothingItem item = new ClothingItem(id, name, readCategory(in, "item " + id), in.readDouble(),
+                    in.readUTF(), in.readUTF(), in.readBoolean());
+            if (in.readBoolean()) {
+                item.setOwned(true);
+                item.setSelected(true);
+            }
+            int store = in.readInt();
+            if (store != NO_STORE) {
+                item.setStore(stores[store]);
+            }
+            items.add(item);
+        }
+        WardrobeSolution problem = new WardrobeSolution(items, budget, styles);
+        problem.setCategoryQuotas(quotas);
+        return new SolveRequest(problem, timeLimitMillis, maxGap);
+    }
+
+    private static ClothingCategory readCategory(DataInput in, String owner) throws IOException {
+        int category = in.readUnsignedByte();
+        if (category >= CATEGORIES.length) {
+            throw new IOException("Unknown category ordinal (" + category + ") for " + owner + ".");
+        }
+        return CATEGORIES[category];
+    }
+
+    static void writeResult(DataOutput out, HardSoftScore score, List<ClothingItem> selectedItems)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(OK);
+        out.writeUTF(score.toString());
+        out.writeInt(selectedItems.size());
+        for (ClothingItem item : selectedItems) {
+            out.writeUTF(item.getId());
+        }
+    }
+
+    static void writeError(DataOutput out, String message) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(ERROR);
+        out.writeUTF(message == null ? "unknown error" : message);
+    }
+
+    /**
+     * Read a worker's reply, failing with the worker's message if it could not solve the shard.
+     */
+    static ShardResult readResult(DataInput in) throws IOException {
+        byte type = readType(in);
+        if (type == ERROR) {
+            throw new IOException("The worker failed: " + in.readUTF());
+        }
+        if (type != OK) {
+            throw new IOException("Unexpected reply type (" + type + ").");
+        }
+        HardSoftScore score = HardSoftScore.parseScore(in.readUTF());
+        int count = in.readInt();
+        List<String> selectedIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            selectedIds.add(in.readUTF());
+        }
+        return new ShardResult(score, selectedIds);
+    }
+
+    /**
+     * A shard to solve, as received by a worker.
+     */
+    static final class SolveRequest {
+        final WardrobeSolution problem;
+        final long timeLimitMillis;
+        final double maxGap;
+
+        SolveRequest(WardrobeSolution problem, long timeLimitMillis, double maxGap) {
+            this.problem = problem;
+            this.timeLimitMillis = timeLimitMillis;
+            this.maxGap = maxGap;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.shoppingoptimiser.sharding;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import java.util.List;
+
+/**
+ * The partial basket a worker found for one shard: its score on that shard and the ids of the selected items.
+ */
+public class ShardResult {
+
+    private final HardSoftScore score;
+    private final List<String> selectedIds;
+
+    public ShardResult(HardSoftScore score, List<String> selectedIds) {
+        this.score = score;
+        this.selectedIds = List.copyOf(selectedIds);
+    }
+
+    public HardSoftScore getScore() {
+        return score;
+    }
+
+    public List<String> getSelectedIds() {
+        return selectedIds;
+    }
+
+    @Override
+    public String toString() {
+        return selectedIds.size() + " items, score " + score;
+    }
+}
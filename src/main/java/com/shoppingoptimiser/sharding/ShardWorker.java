@@ -0,0 +1,118 @@
+package com.shoppingoptimiser.sharding;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.monitoring.SolveFlightRecorder;
+import com.shoppingoptimiser.solver.OptimalityGapTermination;
+import com.shoppingoptimiser.solver.SoftScoreUpperBound;
+import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+
+/**
+ * Solves shards sent by a {@link ShardCoordinator}, one connection and one shard at a time, so each worker
+ * JVM puts its whole heap and all its cores behind a single solve. Listens on the loopback interface only.
+ * Usage: {@code sbt "runMain com.shoppingoptimiser.sharding.ShardWorker [--port=N]"}, port 0 picks a free one.
+ */
+public class ShardWorker {
+
+    // Printed once the worker accepts connections, followed by the port
+    public static final String READY_MESSAGE = "Shard worker listening on port ";
+
+    private final ServerSocket serverSocket;
+    private final SolverFactory<WardrobeSolution> solverFactory;
+
+    public ShardWorker(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.solverFactory = SolverFactory.create(new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class));
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            }
+        }
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            System.out.println(READY_MESSAGE + serverSocket.getLocalPort());
+            System.out.flush();
+            new ShardWorker(serverSocket).serve();
+        }
+    }
+
+    /**
+     * Answer requests until a coordinator sends a shutdown message or the server socket is closed.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                if (!handle(socket)) {
+                    return;
+                }
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                // A broken connection only loses that request
+                System.err.println("Shard request failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Handle one connection, returning false if the worker should shut down.
+     */
+    private boolean handle(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        byte type = ShardProtocol.readType(in);
+        if (type == ShardProtocol.SHUTDOWN) {
+            return false;
+        }
+        if (type != ShardProtocol.SOLVE) {
+            ShardProtocol.writeError(out, "Unknown request type (" + type + ").");
+        } else {
+            ShardProtocol.SolveRequest request = ShardProtocol.readSolve(in);
+            try {
+                WardrobeSolution solution = solve(request.problem, request.timeLimitMillis, request.maxGap);
+                ShardProtocol.writeResult(out, solution.getScore(), solution.getSelectedItems());
+            } catch (RuntimeException e) {
+                ShardProtocol.writeError(out, e.toString());
+            }
+        }
+        out.flush();
+        return true;
+    }
+
+    /**
+     * Solve until the time limit, or until the soft score is within the gap of the shard's own upper bound.
+     */
+    private WardrobeSolution solve(WardrobeSolution problem, long timeLimitMillis, double maxGap) {
+        String solveLabel = "shard-worker/" + problem.getItems().size() + " items";
+        TerminationConfig terminationConfig = new TerminationConfig()
+                .withSpentLimit(Duration.ofMillis(timeLimitMillis));
+        Solver<WardrobeSolution> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                () -> solverFactory.buildSolver(new SolverConfigOverride<WardrobeSolution>()
+                        .withTerminationConfig(terminationConfig)));
+        new SolveFlightRecorder<WardrobeSolution>(solveLabel).attachTo(solver);
+        new OptimalityGapTermination<WardrobeSolution>(SoftScoreUpperBound.compute(problem), maxGap).attachTo(solver);
+        return solver.solve(problem);
+    }
+}
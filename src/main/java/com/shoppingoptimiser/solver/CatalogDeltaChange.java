@@ -0,0 +1,107 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+import com.shoppingoptimiser.catalog.CatalogDelta;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.monitoring.CatalogDeltaEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Applies catalog changes to a running solve, e.g. {@code solver.addProblemChange(new CatalogDeltaChange(delta,
+ * candidateQuery::matches))}, so the solver keeps its search state instead of restarting on the new catalog.
+ * Deleted items leave the problem, updated items are replaced by their new version and keep their selection,
+ * and inserted items join unselected; items that are not candidates, e.g. sold out or over budget, are left out.
+ * Owned items are never touched. The {@link CatalogDeltaEvent} spans from submitting the change to applying it.
+ * Households are not supported: their items are per-shopper copies of the catalog.
+ */
+public class CatalogDeltaChange implements ProblemChange<WardrobeSolution> {
+
+    private final CatalogDelta delta;
+    private final Predicate<ClothingItem> candidate;
+    private final CatalogDeltaEvent event = new CatalogDeltaEvent();
+
+    public CatalogDeltaChange(CatalogDelta delta, Predicate<ClothingItem> candidate) {
+        this.delta = delta;
+        this.candidate = candidate;
+        event.begin();
+    }
+
+    @Override
+    public void doChange(WardrobeSolution workingSolution, ProblemChangeDirector director) {
+        Map<String, ClothingItem> workingById = new HashMap<>(workingSolution.getItems().size() * 2);
+        for (ClothingItem item : workingSolution.getItems()) {
+            workingById.put(item.getId(), item);
+        }
+        Map<String, Store> storesById = new HashMap<>();
+        for (Store store : workingSolution.getStores()) {
+            storesById.put(store.getId(), store);
+        }
+        int deleted = 0;
+        for (ClothingItem item : delta.getDeleted()) {
+            if (remove(workingById.get(item.getId()), workingSolution, director)) {
+                deleted++;
+            }
+        }
+        int updated = 0;
+        for (ClothingItem item : delta.getUpdated()) {
+            ClothingItem old = workingById.get(item.getId());
+            if (old != null && old.isOwned()) {
+                continue;
+            }
+            boolean removed = remove(old, workingSolution, director);
+            if (candidate.test(item)) {
+                add(item, removed ? old.getSelected() : Boolean.FALSE, workingSolution, storesById, director);
+                updated++;
+            } else if (removed) {
+                deleted++;
+            }
+        }
+        int inserted = 0;
+        for (ClothingItem item : delta.getInserted()) {
+            if (!workingById.containsKey(item.getId()) && candidate.test(item)) {
+                add(item, Boolean.FALSE, workingSolution, storesById, director);
+                inserted++;
+            }
+        }
+        event.stage = "solver";
+        event.inserted = inserted;
+        event.updated = updated;
+        event.deleted = deleted;
+        event.commit();
+    }
+
+    private static boolean remove(ClothingItem working, WardrobeSolution workingSolution,
+                                  ProblemChangeDirector director) {
+        if (working == null || working.isOwned()) {
+            return false;
+        }
+        director.removeEntity(working, workingSolution.getItems()::remove);
+        return true;
+    }
+
+    private static void add(ClothingItem item, Boolean selected, WardrobeSolution workingSolution,
+                            Map<String, Store> storesById, ProblemChangeDirector director) {
+        // A copy, so the solver never writes to the catalog's item
+        ClothingItem copy = new ClothingItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                item.getStyle(), item.getColor(), item.isInStock());
+        copy.setSizeStock(item.getSizeStock());
+        copy.setStyleMask(workingSolution.getStylePreference().maskOf(item.getStyle()));
+        copy.setSelected(selected);
+        if (item.getStore() != null) {
+            Store store = storesById.get(item.getStore().getId());
+            if (store == null) {
+                store = item.getStore();
+                storesById.put(store.getId(), store);
+                director.addProblemFact(store, workingSolution.getStores()::add);
+            }
+            copy.setStore(store);
+        }
+        director.addEntity(copy, workingSolution.getItems()::add);
+    }
+}
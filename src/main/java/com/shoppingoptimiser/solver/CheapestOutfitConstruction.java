@@ -0,0 +1,121 @@
+package com.shoppingoptimiser.solver;
+
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.ColorRegistry;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A greedy construction heuristic for deadline solves: selects the cheapest in-stock items that bring every
+ * category up to its quota minimum, bottoms first, skipping colors that clash with the bottoms, tops or shoes
+ * already chosen. The solver's own construction heuristic has nothing to assign, as items start deselected, so
+ * without it a solve stopped early returns an empty, infeasible basket. The result is feasible whenever the
+ * cheapest such outfit fits the budget, and local search improves it from there.
+ */
+public final class CheapestOutfitConstruction {
+
+    private static final ClothingCategory[] ORDER = {ClothingCategory.BOTTOM, ClothingCategory.TOP,
+            ClothingCategory.SHOES, ClothingCategory.OUTERWEAR, ClothingCategory.ACCESSORY};
+
+    private CheapestOutfitConstruction() {
+    }
+
+    /**
+     * Selects items of the problem in place and returns how many were selected.
+     */
+    public static int construct(WardrobeSolution problem) {
+        // By shopper, null for a single shopper's catalog, then by category, cheapest first
+        Map<Optional<Shopper>, Map<ClothingCategory, List<ClothingItem>>> byShopper = new HashMap<>();
+        for (ClothingItem item : problem.getItems()) {
+            byShopper.computeIfAbsent(Optional.ofNullable(item.getShopper()), s -> new EnumMap<>(ClothingCategory.class))
+                    .computeIfAbsent(item.getCategory(), c -> new ArrayList<>())
+                    .add(item);
+        }
+        int selectedCount = 0;
+        for (Map.Entry<Optional<Shopper>, Map<ClothingCategory, List<ClothingItem>>> entry : byShopper.entrySet()) {
+            Map<ClothingCategory, Integer> minCounts = new EnumMap<>(ClothingCategory.class);
+            for (CategoryQuota quota : problem.getCategoryQuotas()) {
+                if (Optional.ofNullable(quota.getShopper()).equals(entry.getKey())) {
+                    minCounts.merge(quota.getCategory(), quota.getMinCount(), Math::max);
+                }
+            }
+            selectedCount += construct(entry.getValue(), minCounts);
+        }
+        problem.refreshSelectionIndex();
+        return selectedCount;
+    }
+
+    private static int construct(Map<ClothingCategory, List<ClothingItem>> byCategory,
+                                 Map<ClothingCategory, Integer> minCounts) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        Map<ClothingCategory, List<ClothingItem>> selected = new EnumMap<>(ClothingCategory.class);
+        byCategory.forEach((category, items) -> {
+            for (ClothingItem item : items) {
+                if (item.isSelected()) {
+                    selected.computeIfAbsent(category, c -> new ArrayList<>()).add(item);
+                }
+            }
+        });
+        int selectedCount = 0;
+        for (ClothingCategory category : ORDER) {
+            int missing = minCounts.getOrDefault(category, 0) - selected.getOrDefault(category, List.of()).size();
+            if (missing <= 0) {
+                continue;
+            }
+            List<ClothingItem> cheapestFirst = new ArrayList<>(byCategory.getOrDefault(category, List.of()));
+            cheapestFirst.sort(Comparator.comparingLong(ClothingItem::getPriceCents));
+            for (ClothingItem item : cheapestFirst) {
+                if (missing == 0) {
+                    break;
+                }
+                if (item.isSelected() || item.isOwned() || !item.isInStock()
+                        || clashesWithSelected(item, selected, colors)) {
+                    continue;
+                }
+                item.setSelected(true);
+                selected.computeIfAbsent(category, c -> new ArrayList<>()).add(item);
+                missing--;
+                selectedCount++;
+            }
+        }
+        return selectedCount;
+    }
+
+    /**
+     * Whether the item's color clashes with a selected item of a category it is worn with, as the hard color
+     * constraints of {@link WardrobeConstraintProvider} define it.
+     */
+    private static boolean clashesWithSelected(ClothingItem item, Map<ClothingCategory, List<ClothingItem>> selected,
+                                               ColorRegistry colors) {
+        List<ClothingCategory> wornWith;
+        switch (item.getCategory()) {
+            case TOP:
+            case SHOES:
+                wornWith = List.of(ClothingCategory.BOTTOM);
+                break;
+            case BOTTOM:
+                wornWith = List.of(ClothingCategory.TOP, ClothingCategory.SHOES);
+                break;
+            default:
+                return false;
+        }
+        for (ClothingCategory category : wornWith) {
+            for (ClothingItem other : selected.getOrDefault(category, List.of())) {
+                if (colors.clashes(item.getColorId(), other.getColorId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
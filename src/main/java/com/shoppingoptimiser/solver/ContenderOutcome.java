@@ -0,0 +1,53 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+/**
+ * How one portfolio contender ended the race.
+ */
+public class ContenderOutcome {
+
+    private final String name;
+    private final HardSoftScore bestScore;
+    private final long bestTimeMillis;
+    private final boolean stoppedEarly;
+    private final WardrobeSolution bestSolution;
+
+    public ContenderOutcome(String name, HardSoftScore bestScore, long bestTimeMillis, boolean stoppedEarly,
+                            WardrobeSolution bestSolution) {
+        this.name = name;
+        this.bestScore = bestScore;
+        this.bestTimeMillis = bestTimeMillis;
+        this.stoppedEarly = stoppedEarly;
+        this.bestSolution = bestSolution;
+    }
+
+    /**
+     * Higher score wins, ties go to the contender that reached it first.
+     */
+    boolean beats(ContenderOutcome other) {
+        int comparison = bestScore.compareTo(other.bestScore);
+        return comparison > 0 || (comparison == 0 && bestTimeMillis < other.bestTimeMillis);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HardSoftScore getBestScore() {
+        return bestScore;
+    }
+
+    public long getBestTimeMillis() {
+        return bestTimeMillis;
+    }
+
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    public WardrobeSolution getBestSolution() {
+        return bestSolution;
+    }
+}
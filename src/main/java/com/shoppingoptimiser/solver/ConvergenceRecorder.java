@@ -0,0 +1,196 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.impl.constructionheuristic.scope.ConstructionHeuristicStepScope;
+import ai.timefold.solver.core.impl.localsearch.scope.LocalSearchStepScope;
+import ai.timefold.solver.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
+import ai.timefold.solver.core.impl.phase.scope.AbstractStepScope;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records how the best score evolves during a solve: one point (time spent, best score, moves evaluated,
+ * score calculation speed) per best score improvement, plus one at the end of every phase.
+ * Points go into arrays preallocated at construction, so recording does not allocate. When the buffer
+ * is full, every other point is dropped and the curve keeps its shape at half the resolution.
+ */
+public class ConvergenceRecorder<Solution_> extends PhaseLifecycleListenerAdapter<Solution_> {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final String label;
+    private final long[] timeMillis;
+    private final int[] hardScores;
+    private final int[] softScores;
+    private final long[] movesEvaluated;
+    private final long[] scoreCalculationSpeeds;
+    private volatile int size;
+    private long moveCount;
+
+    public ConvergenceRecorder(String label) {
+        this(label, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param label    name of the run in exports, e.g. the configuration and catalog size
+     * @param capacity maximum number of points kept
+     */
+    public ConvergenceRecorder(String label, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("The capacity (" + capacity + ") must be at least 2.");
+        }
+        this.label = label;
+        this.timeMillis = new long[capacity];
+        this.hardScores = new int[capacity];
+        this.softScores = new int[capacity];
+        this.movesEvaluated = new long[capacity];
+        this.scoreCalculationSpeeds = new long[capacity];
+    }
+
+    /**
+     * Register this recorder on a solver built from a {@code SolverFactory}.
+     */
+    public void attachTo(Solver<Solution_> solver) {
+        ((DefaultSolver<Solution_>) solver).addPhaseLifecycleListener(this);
+    }
+
+    @Override
+    public void solvingStarted(SolverScope<Solution_> solverScope) {
+        size = 0;
+        moveCount = 0L;
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+        // The solver scope does not keep a move count, so sum the moves evaluated by each step
+        Long selectedMoveCount = null;
+        if (stepScope instanceof LocalSearchStepScope) {
+            selectedMoveCount = ((LocalSearchStepScope<Solution_>) stepScope).getSelectedMoveCount();
+        } else if (stepScope instanceof ConstructionHeuristicStepScope) {
+            selectedMoveCount = ((ConstructionHeuristicStepScope<Solution_>) stepScope).getSelectedMoveCount();
+        }
+        if (selectedMoveCount != null) {
+            moveCount += selectedMoveCount;
+        }
+        if (stepScope.getBestScoreImproved()) {
+            record(stepScope.getPhaseScope().getSolverScope());
+        }
+    }
+
+    @Override
+    public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
+        record(phaseScope.getSolverScope());
+    }
+
+    private void record(SolverScope<Solution_> solverScope) {
+        HardSoftScore bestScore = (HardSoftScore) solverScope.getBestScore();
+        if (bestScore == null) {
+            return;
+        }
+        long timeSpent = solverScope.calculateTimeMillisSpentUpToNow();
+        add(timeSpent, bestScore.hardScore(), bestScore.softScore(), moveCount,
+                SolverScope.getSpeed(solverScope.getScoreCalculationCount(), timeSpent));
+    }
+
+    void add(long time, int hardScore, int softScore, long moves, long scoreCalculationSpeed) {
+        int index = size;
+        if (index == timeMillis.length) {
+            index = compact();
+        }
+        timeMillis[index] = time;
+        hardScores[index] = hardScore;
+        softScores[index] = softScore;
+        movesEvaluated[index] = moves;
+        scoreCalculationSpeeds[index] = scoreCalculationSpeed;
+        size = index + 1;
+    }
+
+    /**
+     * Keep the first point and every other point after it, return the first free index.
+     */
+    private int compact() {
+        int kept = 1;
+        for (int i = 2; i < timeMillis.length; i += 2) {
+            timeMillis[kept] = timeMillis[i];
+            hardScores[kept] = hardScores[i];
+            softScores[kept] = softScores[i];
+            movesEvaluated[kept] = movesEvaluated[i];
+            scoreCalculationSpeeds[kept] = scoreCalculationSpeeds[i];
+            kept++;
+        }
+        return kept;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTimeMillis(int index) {
+        return timeMillis[index];
+    }
+
+    public HardSoftScore getBestScore(int index) {
+        return HardSoftScore.of(hardScores[index], softScores[index]);
+    }
+
+    public long getMovesEvaluated(int index) {
+        return movesEvaluated[index];
+    }
+
+    public long getScoreCalculationSpeed(int index) {
+        return scoreCalculationSpeeds[index];
+    }
+
+    /**
+     * Write the points as CSV with a header row.
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("label,timeMillis,hardScore,softScore,movesEvaluated,scoreCalculationSpeed\n");
+        String quotedLabel = "\"" + label.replace("\"", "\"\"") + "\"";
+        for (int i = 0; i < size; i++) {
+            writer.write(quotedLabel + "," + timeMillis[i] + "," + hardScores[i] + "," + softScores[i] + ","
+                    + movesEvaluated[i] + "," + scoreCalculationSpeeds[i] + "\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Write the points as a JSON object: {@code {"label": ..., "points": [{...}, ...]}}.
+     */
+    public void writeJson(Writer writer) throws IOException {
+        writer.write("{\"label\":\"" + label.replace("\\", "\\\\").replace("\"", "\\\"") + "\",\"points\":[");
+        for (int i = 0; i < size; i++) {
+            writer.write((i == 0 ? "" : ",") + "\n  {\"timeMillis\":" + timeMillis[i]
+                    + ",\"hardScore\":" + hardScores[i] + ",\"softScore\":" + softScores[i]
+                    + ",\"movesEvaluated\":" + movesEvaluated[i]
+                    + ",\"scoreCalculationSpeed\":" + scoreCalculationSpeeds[i] + "}");
+        }
+        writer.write("\n]}\n");
+        writer.flush();
+    }
+
+    /**
+     * Export to a file, as JSON if the name ends with {@code .json} and as CSV otherwise.
+     */
+    public void export(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            if (path.getFileName().toString().endsWith(".json")) {
+                writeJson(writer);
+            } else {
+                writeCsv(writer);
+            }
+        }
+    }
+}
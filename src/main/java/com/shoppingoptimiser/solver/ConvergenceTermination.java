@@ -0,0 +1,154 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.api.solver.event.SolverEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terminates the solver once the best feasible solution improves by less than {@code minSoftPerSecond} soft
+ * points per second over a sliding window. The best solution events alone cannot notice a search that stopped
+ * improving, so a background thread checks the rate a few times per window until the solver stops.
+ * Combine with a spent limit for problems that never become feasible.
+ */
+public class ConvergenceTermination<Solution_> implements SolverEventListener<Solution_> {
+
+    // A 500 item catalog converges below half a soft point per second; the threshold scales inversely with size
+    static final int REFERENCE_ITEMS = 500;
+    static final double REFERENCE_SOFT_PER_SECOND = 0.5;
+    // Every started block of this many items adds a default window, since large catalogs improve in bursts
+    static final int ITEMS_PER_WINDOW = 2000;
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+
+    private final double minSoftPerSecond;
+    private final long windowNanos;
+    // Best scores of the last window, plus the last one before it as the baseline
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private Solver<Solution_> solver;
+    private ScheduledExecutorService checker;
+    private volatile boolean triggered;
+    private volatile double lastRate = Double.NaN;
+
+    /**
+     * @param minSoftPerSecond the improvement rate below which the search counts as converged
+     * @param window           how far back the rate is measured
+     */
+    public ConvergenceTermination(double minSoftPerSecond, Duration window) {
+        if (minSoftPerSecond < 0.0) {
+            throw new IllegalArgumentException("The minSoftPerSecond (" + minSoftPerSecond
+                    + ") cannot be negative.");
+        }
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("The window (" + window + ") must be positive.");
+        }
+        this.minSoftPerSecond = minSoftPerSecond;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * A termination for a catalog of the given number of items: bigger catalogs take longer per move,
+     * so they may improve more slowly, and over a longer window, before they count as converged.
+     */
+    public static <Solution_> ConvergenceTermination<Solution_> forCatalog(int entityCount) {
+        int items = Math.max(entityCount, 1);
+        double minSoftPerSecond = REFERENCE_SOFT_PER_SECOND * REFERENCE_ITEMS / items;
+        long windows = (items + ITEMS_PER_WINDOW - 1) / ITEMS_PER_WINDOW;
+        return new ConvergenceTermination<>(minSoftPerSecond, DEFAULT_WINDOW.multipliedBy(windows));
+    }
+
+    public void attachTo(Solver<Solution_> solver) {
+        this.solver = solver;
+        solver.addEventListener(this);
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "convergence-termination");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = Math.max(windowNanos / 10, TimeUnit.MILLISECONDS.toNanos(100));
+        checker.scheduleWithFixedDelay(this::check, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bestSolutionChanged(BestSolutionChangedEvent<Solution_> event) {
+        record(System.nanoTime(), (HardSoftScore) event.getNewBestScore());
+    }
+
+    private void check() {
+        boolean started;
+        synchronized (this) {
+            started = !samples.isEmpty();
+        }
+        if (triggered || (started && !solver.isSolving())) {
+            checker.shutdown();
+        } else if (isConverged(System.nanoTime())) {
+            triggered = true;
+            checker.shutdown();
+            solver.terminateEarly();
+        }
+    }
+
+    synchronized void record(long nanos, HardSoftScore score) {
+        samples.addLast(new Sample(nanos, score));
+    }
+
+    /**
+     * Whether the best solution at the given time is feasible and improved too little over the last window.
+     */
+    synchronized boolean isConverged(long nowNanos) {
+        if (samples.isEmpty() || nowNanos - samples.peekFirst().nanos < windowNanos) {
+            return false;
+        }
+        // Drop the samples before the baseline, the last one that is at least a window old
+        while (samples.size() > 1) {
+            Sample first = samples.pollFirst();
+            if (nowNanos - samples.peekFirst().nanos < windowNanos) {
+                samples.addFirst(first);
+                break;
+            }
+        }
+        HardSoftScore baseline = samples.peekFirst().score;
+        HardSoftScore current = samples.peekLast().score;
+        if (!current.isFeasible() || baseline.hardScore() < current.hardScore()) {
+            return false;
+        }
+        lastRate = (current.softScore() - baseline.softScore()) * 1e9 / windowNanos;
+        return lastRate < minSoftPerSecond;
+    }
+
+    public double getMinSoftPerSecond() {
+        return minSoftPerSecond;
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    /**
+     * The soft score gained per second over the last window that was checked, NaN before the first check.
+     */
+    public double getLastRate() {
+        return lastRate;
+    }
+
+    public boolean isTriggered() {
+        return triggered;
+    }
+
+    private static final class Sample {
+
+        private final long nanos;
+        private final HardSoftScore score;
+
+        private Sample(long nanos, HardSoftScore score) {
+            this.nanos = nanos;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.shoppingoptimiser.solver;
+
+import java.time.Duration;
+
+/**
+ * How a {@link DeadlineSolver} splits the time until a deadline between its stages: filtering the catalog into
+ * a problem, the construction of a cheap starting basket, local search, and a safety margin for returning the
+ * answer. Pre-processing and construction grow with the catalog, so their shares are estimated from its size
+ * and capped, and local search gets the rest. Starting the solver grows with the problem and cannot be
+ * interrupted, so {@link #getMaxEntities()} bounds the problem to what local search can start in time.
+ */
+public final class DeadlinePlan {
+
+    // Measured on one CPU, 40 ns warm: candidate query, problem setup and selection index per catalog item
+    static final long PREPROCESSING_NANOS_PER_ITEM = 60L;
+    // Measured on one CPU, 10 ns warm: sorting the candidates by price and picking the cheapest outfit
+    static final long CONSTRUCTION_NANOS_PER_ITEM = 15L;
+    // Measured on one CPU, 3.4 us warm: building the solver's constraint network and the first score, per entity
+    static final long SOLVER_START_NANOS_PER_ENTITY = 4_000L;
+    // Local search may spend at most this share of its time starting the solver
+    static final double MAX_SOLVER_START_SHARE = 0.3;
+    static final double MAX_PREPROCESSING_SHARE = 0.4;
+    static final double MAX_CONSTRUCTION_SHARE = 0.15;
+    static final double MARGIN_SHARE = 0.05;
+    static final Duration MIN_MARGIN = Duration.ofMillis(20);
+
+    private final Duration total;
+    private final Duration preprocessing;
+    private final Duration construction;
+    private final Duration localSearch;
+    private final Duration margin;
+
+    private DeadlinePlan(Duration total, Duration preprocessing, Duration construction, Duration localSearch,
+                         Duration margin) {
+        this.total = total;
+        this.preprocessing = preprocessing;
+        this.construction = construction;
+        this.localSearch = localSearch;
+        this.margin = margin;
+    }
+
+    /**
+     * The plan for answering on a catalog of the given size within the given time.
+     */
+    public static DeadlinePlan partition(Duration total, long catalogSize) {
+        if (total.isNegative()) {
+            total = Duration.ZERO;
+        }
+        long totalNanos = total.toNanos();
+        long marginNanos = Math.min(totalNanos, Math.max(MIN_MARGIN.toNanos(), (long) (totalNanos * MARGIN_SHARE)));
+        long preprocessingNanos = Math.min((long) (totalNanos * MAX_PREPROCESSING_SHARE),
+                saturatedMultiply(catalogSize, PREPROCESSING_NANOS_PER_ITEM));
+        long constructionNanos = Math.min((long) (totalNanos * MAX_CONSTRUCTION_SHARE),
+                saturatedMultiply(catalogSize, CONSTRUCTION_NANOS_PER_ITEM));
+        long localSearchNanos = Math.max(0L, totalNanos - marginNanos - preprocessingNanos - constructionNanos);
+        return new DeadlinePlan(total, Duration.ofNanos(preprocessingNanos), Duration.ofNanos(constructionNanos),
+                Duration.ofNanos(localSearchNanos), Duration.ofNanos(marginNanos));
+    }
+
+    private static long saturatedMultiply(long itemCount, long nanosPerItem) {
+        return itemCount > Long.MAX_VALUE / nanosPerItem ? Long.MAX_VALUE : itemCount * nanosPerItem;
+    }
+
+    public Duration getTotal() {
+        return total;
+    }
+
+    public Duration getPreprocessing() {
+        return preprocessing;
+    }
+
+    public Duration getConstruction() {
+        return construction;
+    }
+
+    public Duration getLocalSearch() {
+        return localSearch;
+    }
+
+    public Duration getMargin() {
+        return margin;
+    }
+
+    /**
+     * Estimated time to start a solver on the given number of planning entities, before its first step.
+     */
+    public static Duration solverStart(int entityCount) {
+        return Duration.ofNanos(entityCount * SOLVER_START_NANOS_PER_ENTITY);
+    }
+
+    /**
+     * The most planning entities the solver can start on within its share of the local search time.
+     */
+    public int getMaxEntities() {
+        return (int) Math.min(Integer.MAX_VALUE,
+                (long) (localSearch.toNanos() * MAX_SOLVER_START_SHARE) / SOLVER_START_NANOS_PER_ENTITY);
+    }
+
+    @Override
+    public String toString() {
+        return total.toMillis() + " ms = " + preprocessing.toMillis() + " pre-processing + "
+                + construction.toMillis() + " construction + " + localSearch.toMillis() + " local search + "
+                + margin.toMillis() + " margin";
+    }
+}
@@ -0,0 +1,124 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.ScoreExplanation;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Answer of a {@link DeadlineSolver}: the best basket found by the deadline, feasible or not, with the plan
+ * and the time each stage actually took. An infeasible answer comes with an explanation of the broken hard
+ * constraints, built on first request so it never delays the answer.
+ */
+public class DeadlineResult {
+
+    private final WardrobeSolution solution;
+    private final DeadlinePlan plan;
+    private final Duration preprocessing;
+    private final Duration construction;
+    private final Duration localSearch;
+    private final long slackNanos;
+    private final SolverFactory<WardrobeSolution> solverFactory;
+    private String explanation;
+
+    DeadlineResult(WardrobeSolution solution, DeadlinePlan plan, Duration preprocessing, Duration construction,
+                   Duration localSearch, long slackNanos, SolverFactory<WardrobeSolution> solverFactory) {
+        this.solution = solution;
+        this.plan = plan;
+        this.preprocessing = preprocessing;
+        this.construction = construction;
+        this.localSearch = localSearch;
+        this.slackNanos = slackNanos;
+        this.solverFactory = solverFactory;
+    }
+
+    public WardrobeSolution getSolution() {
+        return solution;
+    }
+
+    public HardSoftScore getScore() {
+        return solution.getScore();
+    }
+
+    public boolean isFeasible() {
+        return solution.getScore() != null && solution.getScore().isFeasible();
+    }
+
+    /**
+     * Whether the answer came after the deadline.
+     */
+    public boolean isMissed() {
+        return slackNanos < 0L;
+    }
+
+    /**
+     * Time the answer came before (positive) or after (negative) the deadline.
+     */
+    public Duration getSlack() {
+        return Duration.ofNanos(slackNanos);
+    }
+
+    public DeadlinePlan getPlan() {
+        return plan;
+    }
+
+    public Duration getPreprocessing() {
+        return preprocessing;
+    }
+
+    public Duration getConstruction() {
+        return construction;
+    }
+
+    /**
+     * Time spent in local search, zero if no time was left for it.
+     */
+    public Duration getLocalSearch() {
+        return localSearch;
+    }
+
+    /**
+     * Why the answer is infeasible, one broken hard constraint per line with its penalty, worst first;
+     * null for a feasible answer.
+     */
+    public synchronized String getExplanation() {
+        if (isFeasible()) {
+            return null;
+        }
+        if (explanation == null) {
+            ScoreExplanation<WardrobeSolution, HardSoftScore> scoreExplanation =
+                    SolutionManager.<WardrobeSolution, HardSoftScore>create(solverFactory).explain(solution);
+            List<ConstraintMatchTotal<HardSoftScore>> broken = new ArrayList<>();
+            for (ConstraintMatchTotal<HardSoftScore> constraint : scoreExplanation.getConstraintMatchTotalMap().values()) {
+                if (constraint.getScore().hardScore() < 0) {
+                    broken.add(constraint);
+                }
+            }
+            broken.sort(Comparator.comparingInt(constraint -> constraint.getScore().hardScore()));
+            StringBuilder sb = new StringBuilder("No feasible basket was found by the deadline");
+            sb.append(localSearch.isZero() ? ", which left no time for local search" : "").append(':');
+            for (ConstraintMatchTotal<HardSoftScore> constraint : broken) {
+                int matchCount = constraint.getConstraintMatchCount();
+                sb.append("\n  ").append(constraint.getConstraintRef().constraintName()).append(": ").append(constraint.getScore())
+                  .append(" (").append(matchCount).append(matchCount == 1 ? " match)" : " matches)");
+            }
+            explanation = sb.toString();
+        }
+        return explanation;
+    }
+
+    @Override
+    public String toString() {
+        return solution.getScore() + (isFeasible() ? "" : " (infeasible)") + " with "
+                + String.format("%.1f ms", Math.abs(slackNanos) / 1e6) + (isMissed() ? " past" : " before")
+                + " the deadline: " + preprocessing.toMillis() + " ms pre-processing, " + construction.toMillis()
+                + " ms construction, " + localSearch.toMillis() + " ms local search";
+    }
+}
@@ -0,0 +1,163 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.Solver;
+import com.shoppingoptimiser.catalog.CatalogIndex;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.monitoring.DeadlineSolveEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Anytime solves that answer by an absolute deadline, e.g. a front end's 800 ms budget per recommendation.
+ * The time is split by a {@link DeadlinePlan} for the catalog's size:
+ * <ol>
+ * <li>Pre-processing queries the candidates, only the cheapest of every group if the full problem could not
+ * start solving in time, and builds the problem.</li>
+ * <li>Construction selects the cheapest outfit that meets the quotas, see {@link CheapestOutfitConstruction},
+ * so there is an answer, usually feasible, before any search.</li>
+ * <li>Local search improves it until the deadline less the margin, with the profile for the problem and time
+ * left; it is skipped if less than {@link #MIN_LOCAL_SEARCH} is left once the solver has started.</li>
+ * </ol>
+ * The best basket is always returned, feasible or not, and every answer is recorded in the
+ * {@link DeadlineStatistics} and as a {@link DeadlineSolveEvent}.
+ */
+public class DeadlineSolver {
+
+    // Less local search time than this cannot start a solver, so the constructed basket is returned as is
+    public static final Duration MIN_LOCAL_SEARCH = Duration.ofMillis(10);
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deadline-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DeadlineStatistics statistics;
+
+    public DeadlineSolver() {
+        this(new DeadlineStatistics());
+    }
+
+    /**
+     * Builds the solver factories of the profiles for short deadlines now, so the first solve does not pay for
+     * parsing their configuration.
+     */
+    public DeadlineSolver(DeadlineStatistics statistics) {
+        this.statistics = statistics;
+        SolverProfile.INTERACTIVE.getSolverFactory();
+        SolverProfile.LARGE.getSolverFactory();
+    }
+
+    /**
+     * The best basket of the catalog's candidates found by the deadline.
+     *
+     * @param problemFactory builds the problem from the candidates, e.g. adding owned items and quotas
+     */
+    public DeadlineResult solve(CatalogIndex catalog, CatalogQuery candidateQuery,
+                                Function<List<ClothingItem>, WardrobeSolution> problemFactory, Instant deadline) {
+        long start = System.nanoTime();
+        long deadlineNanos = start + Duration.between(Instant.now(), deadline).toNanos();
+        DeadlinePlan plan = DeadlinePlan.partition(Duration.ofNanos(deadlineNanos - start), catalog.size());
+        DeadlineSolveEvent event = new DeadlineSolveEvent();
+        event.begin();
+
+        CatalogQuery query = candidateQuery;
+        if (catalog.size() > plan.getMaxEntities()) {
+            query = candidateQuery.copy().cheapestPerGroup(Math.max(1, plan.getMaxEntities() / catalog.groupCount()));
+        }
+        WardrobeSolution problem = problemFactory.apply(catalog.find(query));
+        long preprocessed = System.nanoTime();
+
+        CheapestOutfitConstruction.construct(problem);
+        long constructed = System.nanoTime();
+
+        // The solver's own time limit does not count all of its start, so the estimated start is left out of it;
+        // a timer still stops the solver at the end of the local search time if the estimate was too low.
+        int entityCount = problem.getItems().size();
+        long localSearchEnd = deadlineNanos - plan.getMargin().toNanos();
+        Duration localSearch = Duration.ofMillis(Math.max(0L, localSearchEnd - constructed) / 1_000_000L)
+                .minus(DeadlinePlan.solverStart(entityCount));
+        SolverProfile profile = SolverProfile.select(entityCount, localSearch);
+        WardrobeSolution best;
+        boolean localSearchSkipped = localSearch.compareTo(MIN_LOCAL_SEARCH) < 0;
+        if (localSearchSkipped) {
+            problem.setScore(SolutionManager.<WardrobeSolution, HardSoftScore>create(profile.getSolverFactory())
+                    .update(problem));
+            best = problem;
+        } else {
+            Solver<WardrobeSolution> solver = profile.buildSolver(localSearch);
+            Stop stop = new Stop(solver);
+            stop.schedule(localSearchEnd - System.nanoTime());
+            try {
+                best = solver.solve(problem);
+            } finally {
+                stop.cancel();
+            }
+        }
+        long end = System.nanoTime();
+
+        DeadlineResult result = new DeadlineResult(best, plan, Duration.ofNanos(preprocessed - start),
+                Duration.ofNanos(constructed - preprocessed),
+                localSearchSkipped ? Duration.ZERO : Duration.ofNanos(end - constructed),
+                deadlineNanos - end, profile.getSolverFactory());
+        statistics.record(deadlineNanos - end, result.isFeasible(), localSearchSkipped);
+        event.deadlineMillis = plan.getTotal().toMillis();
+        event.catalogSize = catalog.size();
+        event.entityCount = entityCount;
+        event.plan = plan.toString();
+        event.localSearchMillis = result.getLocalSearch().toMillis();
+        event.bestScore = String.valueOf(best.getScore());
+        event.feasible = result.isFeasible();
+        event.missed = result.isMissed();
+        event.commit();
+        return result;
+    }
+
+    public DeadlineStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Terminates a solver early at the end of its local search time, once it has started solving.
+     */
+    private static final class Stop implements Runnable {
+
+        private final Solver<WardrobeSolution> solver;
+        private volatile boolean cancelled;
+
+        private Stop(Solver<WardrobeSolution> solver) {
+            this.solver = solver;
+        }
+
+        private void schedule(long delayNanos) {
+            TIMER.schedule(this, Math.max(0L, delayNanos), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            // A solver that has not started yet would forget an early termination when it starts
+            if (solver.isSolving()) {
+                solver.terminateEarly();
+            } else {
+                schedule(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+    }
+}
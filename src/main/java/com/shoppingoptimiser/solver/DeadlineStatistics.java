@@ -0,0 +1,91 @@
+package com.shoppingoptimiser.solver;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deadline misses of the solves of a {@link DeadlineSolver}, safe to share between threads: how many answers
+ * came after their deadline and by how much, how many were infeasible, and how many had no time left for local
+ * search. The slack is the time an answer came before its deadline; a miss has none.
+ */
+public class DeadlineStatistics {
+
+    private final LongAdder solveCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder infeasibleCount = new LongAdder();
+    private final LongAdder localSearchSkippedCount = new LongAdder();
+    private final LongAdder totalOverrunNanos = new LongAdder();
+    private final AtomicLong maxOverrunNanos = new AtomicLong();
+    private final AtomicLong minSlackNanos = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * Records one answer, given its time before (positive) or after (negative) the deadline.
+     */
+    public void record(long slackNanos, boolean feasible, boolean localSearchSkipped) {
+        solveCount.increment();
+        if (slackNanos < 0L) {
+            missCount.increment();
+            totalOverrunNanos.add(-slackNanos);
+            maxOverrunNanos.accumulateAndGet(-slackNanos, Math::max);
+        }
+        minSlackNanos.accumulateAndGet(slackNanos, Math::min);
+        if (!feasible) {
+            infeasibleCount.increment();
+        }
+        if (localSearchSkipped) {
+            localSearchSkippedCount.increment();
+        }
+    }
+
+    public long getSolveCount() {
+        return solveCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Fraction of the solves that answered after their deadline, 0 without solves.
+     */
+    public double getMissRate() {
+        long solves = getSolveCount();
+        return solves == 0L ? 0.0 : (double) getMissCount() / solves;
+    }
+
+    public long getInfeasibleCount() {
+        return infeasibleCount.sum();
+    }
+
+    public long getLocalSearchSkippedCount() {
+        return localSearchSkippedCount.sum();
+    }
+
+    /**
+     * Average time the missed answers came after their deadline, in milliseconds, 0 without misses.
+     */
+    public double getMeanOverrunMillis() {
+        long misses = getMissCount();
+        return misses == 0L ? 0.0 : totalOverrunNanos.sum() / 1e6 / misses;
+    }
+
+    public double getMaxOverrunMillis() {
+        return maxOverrunNanos.get() / 1e6;
+    }
+
+    /**
+     * Least time an answer came before its deadline, in milliseconds; negative if one was missed.
+     */
+    public double getMinSlackMillis() {
+        long slack = minSlackNanos.get();
+        return slack == Long.MAX_VALUE ? 0.0 : slack / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d solves, %d missed (%.1f%%, worst by %.1f ms), %d infeasible, "
+                        + "%d without local search, least slack %.1f ms",
+                getSolveCount(), getMissCount(), getMissRate() * 100, getMaxOverrunMillis(), getInfeasibleCount(),
+                getLocalSearchSkippedCount(), getMinSlackMillis());
+    }
+}
@@ -0,0 +1,83 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A feasible selection found during search, stored as a compact bitset over catalog positions.
+ */
+public class DiverseBasket {
+
+    private final HardSoftScore score;
+    private final long[] selection; // Bit i set = item at catalog position i is selected
+    private final int selectedCount;
+
+    DiverseBasket(HardSoftScore score, long[] selection) {
+        this.score = score;
+        this.selection = selection;
+        int count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        this.selectedCount = count;
+    }
+
+    /**
+     * Number of items selected in exactly one of the two baskets.
+     */
+    public int distanceTo(DiverseBasket other) {
+        return hammingDistance(selection, other.selection);
+    }
+
+    static int hammingDistance(long[] a, long[] b) {
+        int distance = 0;
+        int common = Math.min(a.length, b.length);
+        for (int i = 0; i < common; i++) {
+            distance += Long.bitCount(a[i] ^ b[i]);
+        }
+        for (int i = common; i < a.length; i++) {
+            distance += Long.bitCount(a[i]);
+        }
+        for (int i = common; i < b.length; i++) {
+            distance += Long.bitCount(b[i]);
+        }
+        return distance;
+    }
+
+    public boolean isSelected(int position) {
+        int word = position >>> 6;
+        return word < selection.length && (selection[word] & (1L << position)) != 0;
+    }
+
+    /**
+     * Resolve the selected positions against the catalog order the basket was recorded with.
+     */
+    public <T> List<T> selectedFrom(List<T> catalog) {
+        List<T> selected = new ArrayList<>(selectedCount);
+        for (int position = 0; position < catalog.size(); position++) {
+            if (isSelected(position)) {
+                selected.add(catalog.get(position));
+            }
+        }
+        return selected;
+    }
+
+    public HardSoftScore getScore() {
+        return score;
+    }
+
+    public int getSelectedCount() {
+        return selectedCount;
+    }
+
+    long[] getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String toString() {
+        return "DiverseBasket{score=" + score + ", selectedCount=" + selectedCount + '}';
+    }
+}
@@ -0,0 +1,136 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
+import ai.timefold.solver.core.impl.phase.scope.AbstractStepScope;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the K best distinct feasible selections visited during search, not only the best one.
+ * Every step's working solution is offered; a basket is kept only if no better or equal basket lies
+ * within the minimum Hamming distance of it. Memory stays bounded at K bitsets.
+ */
+public class DiverseBasketCollector extends PhaseLifecycleListenerAdapter<WardrobeSolution> {
+
+    private static final Comparator<DiverseBasket> BEST_FIRST =
+            Comparator.comparing(DiverseBasket::getScore).reversed();
+
+    private final int maxBaskets;
+    private final int minDistance;
+
+    private final List<DiverseBasket> baskets = new ArrayList<>();
+    private Map<ClothingItem, Integer> positionByItem = new IdentityHashMap<>();
+    private int wordCount;
+
+    /**
+     * @param maxBaskets  how many baskets to keep (K)
+     * @param minDistance minimum number of differing items between any two kept baskets
+     */
+    public DiverseBasketCollector(int maxBaskets, int minDistance) {
+        if (maxBaskets < 1) {
+            throw new IllegalArgumentException("The maxBaskets (" + maxBaskets + ") must be at least 1.");
+        }
+        if (minDistance < 1) {
+            throw new IllegalArgumentException("The minDistance (" + minDistance + ") must be at least 1.");
+        }
+        this.maxBaskets = maxBaskets;
+        this.minDistance = minDistance;
+    }
+
+    /**
+     * Register this collector on a solver built from a {@code SolverFactory}.
+     */
+    public void attachTo(Solver<WardrobeSolution> solver) {
+        ((DefaultSolver<WardrobeSolution>) solver).addPhaseLifecycleListener(this);
+    }
+
+    @Override
+    public void solvingStarted(SolverScope<WardrobeSolution> solverScope) {
+        synchronized (baskets) {
+            baskets.clear();
+        }
+    }
+
+    @Override
+    public void phaseStarted(AbstractPhaseScope<WardrobeSolution> phaseScope) {
+        // The working solution is only final once the phase starts
+        List<ClothingItem> items = phaseScope.getWorkingSolution().getItems();
+        positionByItem = new IdentityHashMap<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            positionByItem.put(items.get(i), i);
+        }
+        wordCount = (items.size() + 63) >>> 6;
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope<WardrobeSolution> stepScope) {
+        HardSoftScore score = (HardSoftScore) stepScope.getScore();
+        if (score == null || !score.isFeasible() || !canEnter(score)) {
+            return;
+        }
+        long[] selection = new long[wordCount];
+        for (ClothingItem item : stepScope.getWorkingSolution().getSelectionIndex().getSelectedItems()) {
+            int position = positionByItem.get(item);
+            selection[position >>> 6] |= 1L << position;
+        }
+        offer(new DiverseBasket(score, selection));
+    }
+
+    private boolean canEnter(HardSoftScore score) {
+        synchronized (baskets) {
+            return baskets.size() < maxBaskets || score.compareTo(baskets.get(baskets.size() - 1).getScore()) > 0;
+        }
+    }
+
+    /**
+     * Keep the candidate if it beats every kept basket within {@code minDistance} of it,
+     * evicting those neighbours and the worst basket beyond K.
+     */
+    boolean offer(DiverseBasket candidate) {
+        synchronized (baskets) {
+            List<DiverseBasket> neighbours = new ArrayList<>(1);
+            for (DiverseBasket basket : baskets) {
+                if (basket.distanceTo(candidate) < minDistance) {
+                    if (basket.getScore().compareTo(candidate.getScore()) >= 0) {
+                        return false;
+                    }
+                    neighbours.add(basket);
+                }
+            }
+            baskets.removeAll(neighbours);
+            int insertAt = 0;
+            while (insertAt < baskets.size() && BEST_FIRST.compare(baskets.get(insertAt), candidate) <= 0) {
+                insertAt++;
+            }
+            if (insertAt >= maxBaskets) {
+                return false;
+            }
+            baskets.add(insertAt, candidate);
+            if (baskets.size() > maxBaskets) {
+                baskets.remove(baskets.size() - 1);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The kept baskets ranked by score, best first.
+     */
+    public List<DiverseBasket> getBaskets() {
+        synchronized (baskets) {
+            return Collections.unmodifiableList(new ArrayList<>(baskets));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.api.solver.event.SolverEventListener;
+
+/**
+ * Terminates the solver as soon as the best solution is feasible and its soft score is within
+ * {@code maxGap} of the {@link SoftScoreUpperBound}. Combine with a spent limit for problems where
+ * the bound is never approached.
+ */
+public class OptimalityGapTermination<Solution_> implements SolverEventListener<Solution_> {
+
+    private final long upperBound;
+    private final double maxGap;
+    private Solver<Solution_> solver;
+    private volatile boolean triggered;
+
+    /**
+     * @param upperBound the soft score bound, see {@link SoftScoreUpperBound#compute(com.shoppingoptimiser.domain.WardrobeSolution)}
+     * @param maxGap     relative gap to accept, e.g. 0.05 for within 5% of the bound
+     */
+    public OptimalityGapTermination(long upperBound, double maxGap) {
+        if (maxGap < 0.0) {
+            throw new IllegalArgumentException("The maxGap (" + maxGap + ") cannot be negative.");
+        }
+        this.upperBound = upperBound;
+        this.maxGap = maxGap;
+    }
+
+    public void attachTo(Solver<Solution_> solver) {
+        this.solver = solver;
+        solver.addEventListener(this);
+    }
+
+    @Override
+    public void bestSolutionChanged(BestSolutionChangedEvent<Solution_> event) {
+        HardSoftScore score = (HardSoftScore) event.getNewBestScore();
+        if (!triggered && score.isFeasible() && SoftScoreUpperBound.gap(upperBound, score) <= maxGap) {
+            triggered = true;
+            solver.terminateEarly();
+        }
+    }
+
+    public long getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isTriggered() {
+        return triggered;
+    }
+}
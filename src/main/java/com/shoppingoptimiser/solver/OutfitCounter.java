@@ -0,0 +1,163 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.stream.uni.UniConstraintCollector;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.ColorRegistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Counts valid outfits: (top, bottom, shoes) triples where the bottom's color clashes with neither the top's
+ * nor the shoes' color, matching the color rules of the hard constraints.
+ *
+ * Only per-category-per-color counts are kept, indexed by {@link ColorRegistry} id. For every bottom color c
+ * the number of outfits is {@code bottoms[c] * (tops - tops clashing with c) * (shoes - shoes clashing with c)},
+ * so adding or removing an item is O(1) and recounting only visits the bottom colors present and their
+ * (few) clashing colors, independent of how many items are selected and of the palette size.
+ */
+public class OutfitCounter {
+
+    private final ColorRegistry colors;
+    private int[] tops = new int[0];
+    private int[] bottoms = new int[0];
+    private int[] shoes = new int[0];
+    private int totalTops;
+    private int totalShoes;
+    // Colors with at least one bottom, and each color's position in that list (-1 if absent)
+    private int[] bottomColors = new int[0];
+    private int[] bottomColorPositions = new int[0];
+    private int bottomColorCount;
+
+    public OutfitCounter() {
+        this(ColorRegistry.getDefault());
+    }
+
+    public OutfitCounter(ColorRegistry colors) {
+        this.colors = colors;
+    }
+
+    /**
+     * Exact number of valid outfits among the given items.
+     */
+    public static long countOutfits(Collection<ClothingItem> items) {
+        OutfitCounter counter = new OutfitCounter();
+        for (ClothingItem item : items) {
+            counter.add(item.getCategory(), item.getColorId(), 1);
+        }
+        return counter.count();
+    }
+
+    /**
+     * Constraint collector counting the outfits of the grouped tuples.
+     *
+     * @param categoryMapping category of a tuple
+     * @param colorIdMapping  {@link ColorRegistry} id of the color of a tuple
+     * @param quantityMapping how many items a tuple stands for
+     */
+    public static <A> UniConstraintCollector<A, OutfitCounter, Integer> collector(
+            Function<A, ClothingCategory> categoryMapping, ToIntFunction<A> colorIdMapping,
+            ToIntFunction<A> quantityMapping) {
+        return new UniConstraintCollector<>() {
+            @Override
+            public Supplier<OutfitCounter> supplier() {
+                return OutfitCounter::new;
+            }
+
+            @Override
+            public BiFunction<OutfitCounter, A, Runnable> accumulator() {
+                return (counter, a) -> {
+                    ClothingCategory category = categoryMapping.apply(a);
+                    int colorId = colorIdMapping.applyAsInt(a);
+                    int quantity = quantityMapping.applyAsInt(a);
+                    counter.add(category, colorId, quantity);
+                    return () -> counter.add(category, colorId, -quantity);
+                };
+            }
+
+            @Override
+            public Function<OutfitCounter, Integer> finisher() {
+                return counter -> (int) Math.min(Integer.MAX_VALUE, counter.count());
+            }
+        };
+    }
+
+    /**
+     * Add (or with a negative quantity, remove) items; categories other than tops, bottoms and shoes are ignored.
+     */
+    public void add(ClothingCategory category, int colorId, int quantity) {
+        switch (category) {
+            case TOP:
+                tops = ensureCapacity(tops, colorId);
+                tops[colorId] += quantity;
+                totalTops += quantity;
+                break;
+            case BOTTOM:
+                bottoms = ensureCapacity(bottoms, colorId);
+                int before = bottoms[colorId];
+                bottoms[colorId] += quantity;
+                if (before == 0 && bottoms[colorId] != 0) {
+                    addBottomColor(colorId);
+                } else if (before != 0 && bottoms[colorId] == 0) {
+                    removeBottomColor(colorId);
+                }
+                break;
+            case SHOES:
+                shoes = ensureCapacity(shoes, colorId);
+                shoes[colorId] += quantity;
+                totalShoes += quantity;
+                break;
+            default:
+                break;
+        }
+    }
+
+    public long count() {
+        long outfits = 0L;
+        for (int i = 0; i < bottomColorCount; i++) {
+            int bottomColor = bottomColors[i];
+            long matchingTops = totalTops;
+            long matchingShoes = totalShoes;
+            for (int clashingColor : colors.clashesOf(bottomColor)) {
+                matchingTops -= countOf(tops, clashingColor);
+                matchingShoes -= countOf(shoes, clashingColor);
+            }
+            outfits += bottoms[bottomColor] * matchingTops * matchingShoes;
+        }
+        return outfits;
+    }
+
+    private void addBottomColor(int colorId) {
+        if (bottomColorPositions.length <= colorId) {
+            int oldLength = bottomColorPositions.length;
+            bottomColorPositions = ensureCapacity(bottomColorPositions, colorId);
+            Arrays.fill(bottomColorPositions, oldLength, bottomColorPositions.length, -1);
+        }
+        if (bottomColorCount == bottomColors.length) {
+            bottomColors = Arrays.copyOf(bottomColors, Math.max(8, bottomColorCount * 2));
+        }
+        bottomColorPositions[colorId] = bottomColorCount;
+        bottomColors[bottomColorCount++] = colorId;
+    }
+
+    private void removeBottomColor(int colorId) {
+        int position = bottomColorPositions[colorId];
+        int last = bottomColors[--bottomColorCount];
+        bottomColors[position] = last;
+        bottomColorPositions[last] = position;
+        bottomColorPositions[colorId] = -1;
+    }
+
+    private static int countOf(int[] counts, int colorId) {
+        return colorId < counts.length ? counts[colorId] : 0;
+    }
+
+    private static int[] ensureCapacity(int[] counts, int colorId) {
+        return colorId < counts.length ? counts : Arrays.copyOf(counts, Math.max(colorId + 1, counts.length * 2));
+    }
+}
@@ -0,0 +1,62 @@
+package com.shoppingoptimiser.solver;
+
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link SolverPortfolio} race: the winning contender and the standings of all contenders.
+ */
+public class PortfolioResult {
+
+    private final int catalogSize;
+    private final ContenderOutcome winner;
+    private final List<ContenderOutcome> outcomes;
+    private final long wallTimeMillis;
+
+    public PortfolioResult(int catalogSize, ContenderOutcome winner, List<ContenderOutcome> outcomes,
+                           long wallTimeMillis) {
+        this.catalogSize = catalogSize;
+        this.winner = winner;
+        this.outcomes = List.copyOf(outcomes);
+        this.wallTimeMillis = wallTimeMillis;
+    }
+
+    public WardrobeSolution getSolution() {
+        return winner == null ? null : winner.getBestSolution();
+    }
+
+    public int getCatalogSize() {
+        return catalogSize;
+    }
+
+    public ContenderOutcome getWinner() {
+        return winner;
+    }
+
+    public List<ContenderOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public long getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    /**
+     * One line per contender: best score, when it was reached and whether the contender was stopped early.
+     */
+    public String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Portfolio race on ").append(catalogSize).append(" items (")
+          .append(String.format("%.2f", wallTimeMillis / 1000.0)).append(" s)\n");
+        for (ContenderOutcome outcome : outcomes) {
+            sb.append(String.format("  %s %-24s best %-16s at %6d ms%s%n",
+                    outcome == winner ? "*" : " ",
+                    outcome.getName(),
+                    outcome.getBestScore(),
+                    outcome.getBestTimeMillis(),
+                    outcome.isStoppedEarly() ? "  (stopped early)" : ""));
+        }
+        return sb.toString();
+    }
+}
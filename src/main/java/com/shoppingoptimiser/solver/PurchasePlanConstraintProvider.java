@@ -0,0 +1,150 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ColorRegistry;
+import com.shoppingoptimiser.domain.CoverageDeadline;
+import com.shoppingoptimiser.domain.PlannedPurchase;
+import com.shoppingoptimiser.domain.StylePreference;
+
+/**
+ * Constraints of a multi-period {@link com.shoppingoptimiser.domain.PurchasePlan}, scored like
+ * WardrobeConstraintProvider on everything bought over the season, except that every period has its own
+ * budget and the coverage deadlines replace the category quotas. {@code forEach} skips the items that are
+ * not bought, since their period is unassigned.
+ */
+public class PurchasePlanConstraintProvider implements ConstraintProvider {
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        return new Constraint[]{
+                // Hard constraints
+                periodBudgets(constraintFactory),
+                coverageDeadlines(constraintFactory),
+                mustBeInStockConstraint(constraintFactory),
+                topAndBottomDifferentColors(constraintFactory),
+                bottomAndShoesDifferentColors(constraintFactory),
+
+                // Soft constraints
+                maximizeOutfitCombinations(constraintFactory),
+                coordinatedColors(constraintFactory),
+                preferredStyles(constraintFactory)
+        };
+    }
+
+    // ==================== HARD CONSTRAINTS ====================
+
+    /**
+     * Hard constraint: What is bought in a period must not exceed that period's budget
+     * Items are summed per period, so moving an item between periods only updates the two running sums
+     */
+    Constraint periodBudgets(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .groupBy(PlannedPurchase::getPeriod, ConstraintCollectors.sum(PlannedPurchase::getPriceCents))
+                .filter((period, spentCents) -> spentCents > period.getBudgetCents())
+                .penalize(HardSoftScore.ONE_HARD, (period, spentCents) -> spentCents - period.getBudgetCents())
+                .asConstraint("Period budget");
+    }
+
+    /**
+     * Hard constraint: Every coverage deadline must be met
+     * Items count toward the deadlines of their category that are not before their period, and the complement
+     * adds the deadlines without any such item at a count of 0
+     */
+    Constraint coverageDeadlines(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .join(CoverageDeadline.class,
+                        Joiners.equal(PlannedPurchase::getCategory, CoverageDeadline::getCategory),
+                        Joiners.lessThanOrEqual(PlannedPurchase::getPeriodIndex, CoverageDeadline::getPeriodIndex))
+                .groupBy((purchase, deadline) -> deadline, ConstraintCollectors.countBi())
+                .complement(CoverageDeadline.class, deadline -> 0)
+                .filter((deadline, count) -> deadline.shortfall(count) > 0)
+                .penalize(HardSoftScore.ONE_HARD,
+                        (deadline, count) -> WardrobeConstraintProvider.QUOTA_PENALTY * deadline.shortfall(count))
+                .asConstraint("Coverage deadline");
+    }
+
+    /**
+     * Hard constraint: Cannot buy items that are not in stock
+     */
+    Constraint mustBeInStockConstraint(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .filter(purchase -> !purchase.isInStock())
+                .penalize(HardSoftScore.ONE_HARD, purchase -> 100)
+                .asConstraint("Items must be in stock");
+    }
+
+    /**
+     * Hard constraint: No top and bottom bought over the season may have the same or clashing colors
+     */
+    Constraint topAndBottomDifferentColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .filter(purchase -> purchase.getCategory() == ClothingCategory.TOP)
+                .join(constraintFactory.forEach(PlannedPurchase.class)
+                                .filter(purchase -> purchase.getCategory() == ClothingCategory.BOTTOM),
+                        Joiners.filtering((top, bottom) -> colors.clashes(top.getColorId(), bottom.getColorId())))
+                .penalize(HardSoftScore.ONE_HARD, (top, bottom) -> 1000)
+                .asConstraint("Top and bottom must have different colors");
+    }
+
+    /**
+     * Hard constraint: No bottom and shoes bought over the season may have the same or clashing colors
+     */
+    Constraint bottomAndShoesDifferentColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .filter(purchase -> purchase.getCategory() == ClothingCategory.BOTTOM)
+                .join(constraintFactory.forEach(PlannedPurchase.class)
+                                .filter(purchase -> purchase.getCategory() == ClothingCategory.SHOES),
+                        Joiners.filtering((bottom, shoes) -> colors.clashes(bottom.getColorId(), shoes.getColorId())))
+                .penalize(HardSoftScore.ONE_HARD, (bottom, shoes) -> 1000)
+                .asConstraint("Bottom and shoes must have different colors");
+    }
+
+    // ==================== SOFT CONSTRAINTS ====================
+
+    /**
+     * Soft constraint: Maximize the outfit combinations of everything bought over the season
+     */
+    Constraint maximizeOutfitCombinations(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .filter(purchase -> purchase.getCategory() == ClothingCategory.TOP
+                        || purchase.getCategory() == ClothingCategory.BOTTOM
+                        || purchase.getCategory() == ClothingCategory.SHOES)
+                .groupBy(OutfitCounter.collector(PlannedPurchase::getCategory, PlannedPurchase::getColorId,
+                        purchase -> 1))
+                .filter(outfits -> outfits > 0)
+                .reward(HardSoftScore.ONE_SOFT, outfits -> outfits * WardrobeConstraintProvider.OUTFIT_REWARD)
+                .asConstraint("Maximize outfit combinations");
+    }
+
+    /**
+     * Soft constraint: Reward coordinated colors, per item bought
+     */
+    Constraint coordinatedColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .reward(HardSoftScore.ONE_SOFT, purchase -> colors.isNeutral(purchase.getColorId())
+                        ? WardrobeConstraintProvider.NEUTRAL_COLOR_REWARD
+                        : WardrobeConstraintProvider.OTHER_COLOR_REWARD)
+                .asConstraint("Coordinated colors");
+    }
+
+    /**
+     * Soft constraint: Reward items bought in one of the preferred styles
+     */
+    Constraint preferredStyles(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(PlannedPurchase.class)
+                .join(StylePreference.class,
+                        Joiners.filtering((purchase, preference) -> preference.matches(purchase.getStyleMask())))
+                .reward(HardSoftScore.ONE_SOFT,
+                        (purchase, preference) -> WardrobeConstraintProvider.PREFERRED_STYLE_REWARD)
+                .asConstraint("Preferred styles");
+    }
+}
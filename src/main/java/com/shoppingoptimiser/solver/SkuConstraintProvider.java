@@ -0,0 +1,172 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import com.shoppingoptimiser.domain.Budget;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ColorRegistry;
+import com.shoppingoptimiser.domain.SkuGroup;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.StylePreference;
+
+
+/**
+ * Constraints of {@link WardrobeConstraintProvider}, restated on the aggregated SKU model.
+ * Every penalty and reward is weighted by the selected quantity, so a solved
+ * {@link com.shoppingoptimiser.domain.AggregatedWardrobeSolution} scores exactly like its expanded
+ * {@link com.shoppingoptimiser.domain.WardrobeSolution}.
+ */
+public class SkuConstraintProvider implements ConstraintProvider {
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        return new Constraint[]{
+                // Hard constraints
+                budgetConstraint(constraintFactory),
+                categoryQuotas(constraintFactory),
+                mustBeInStockConstraint(constraintFactory),
+                topAndBottomDifferentColors(constraintFactory),
+                bottomAndShoesDifferentColors(constraintFactory),
+
+                // Soft constraints
+                maximizeOutfitCombinations(constraintFactory),
+                coordinatedColors(constraintFactory),
+                preferredStyles(constraintFactory)
+        };
+    }
+
+    // ==================== HARD CONSTRAINTS ====================
+
+    /**
+     * Hard constraint: Total cost of the selected quantities, plus shipping per store used, must not exceed budget
+     */
+    Constraint budgetConstraint(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0)
+                .groupBy(SkuGroup::getStore,
+                        ConstraintCollectors.sum(group -> group.getPriceCents() * group.getSelectedQuantity()))
+                .groupBy(ConstraintCollectors.sum((store, subtotal) -> subtotal + Store.shippingCents(store, subtotal)))
+                .join(Budget.class)
+                .filter((totalCost, budget) -> totalCost > budget.getAmountCents())
+                .penalize(HardSoftScore.ONE_HARD,
+                        (totalCost, budget) -> (int) (totalCost - budget.getAmountCents()))
+                .asConstraint("Budget constraint");
+    }
+
+    /**
+     * Hard constraint: Every category must be within its quota, counting the selected quantities per shopper
+     */
+    Constraint categoryQuotas(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0)
+                .join(CategoryQuota.class, Joiners.equal(SkuGroup::getCategory, CategoryQuota::getCategory),
+                        Joiners.equal(SkuGroup::getShopper, CategoryQuota::getShopper))
+                .groupBy((group, quota) -> quota,
+                        ConstraintCollectors.sum((group, quota) -> group.getSelectedQuantity()))
+                .complement(CategoryQuota.class, quota -> 0)
+                .filter((quota, count) -> quota.violation(count) > 0)
+                .penalize(HardSoftScore.ONE_HARD,
+                        (quota, count) -> WardrobeConstraintProvider.QUOTA_PENALTY * quota.violation(count))
+                .asConstraint("Category quota");
+    }
+
+    /**
+     * Hard constraint: Cannot select items that are not in stock
+     */
+    Constraint mustBeInStockConstraint(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0 && !group.isInStock())
+                .penalize(HardSoftScore.ONE_HARD, group -> 100 * group.getSelectedQuantity())
+                .asConstraint("Items must be in stock");
+    }
+
+    /**
+     * Hard constraint: Top and bottom cannot be the same color (or clashing colors)
+     * Penalizes every selected top/bottom pair, hence the product of quantities, except pairs of owned groups
+     */
+    Constraint topAndBottomDifferentColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0 && group.getCategory() == ClothingCategory.TOP)
+                .join(constraintFactory.forEach(SkuGroup.class)
+                                .filter(group -> group.getSelectedQuantity() > 0
+                                        && group.getCategory() == ClothingCategory.BOTTOM),
+                        Joiners.equal(SkuGroup::getShopper),
+                        Joiners.filtering((top, bottom) -> !(top.isOwned() && bottom.isOwned())
+                                && colors.clashes(top.getColorId(), bottom.getColorId())))
+                .penalize(HardSoftScore.ONE_HARD,
+                        (top, bottom) -> 1000 * top.getSelectedQuantity() * bottom.getSelectedQuantity())
+                .asConstraint("Top and bottom must have different colors");
+    }
+
+    /**
+     * Hard constraint: Bottom and shoes cannot be the same color (or clashing colors), except in owned pairs
+     */
+    Constraint bottomAndShoesDifferentColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0 && group.getCategory() == ClothingCategory.BOTTOM)
+                .join(constraintFactory.forEach(SkuGroup.class)
+                                .filter(group -> group.getSelectedQuantity() > 0
+                                        && group.getCategory() == ClothingCategory.SHOES),
+                        Joiners.equal(SkuGroup::getShopper),
+                        Joiners.filtering((bottom, shoes) -> !(bottom.isOwned() && shoes.isOwned())
+                                && colors.clashes(bottom.getColorId(), shoes.getColorId())))
+                .penalize(HardSoftScore.ONE_HARD,
+                        (bottom, shoes) -> 1000 * bottom.getSelectedQuantity() * shoes.getSelectedQuantity())
+                .asConstraint("Bottom and shoes must have different colors");
+    }
+
+    // ==================== SOFT CONSTRAINTS ====================
+
+    /**
+     * Soft constraint: Maximize outfit combinations
+     * Count the valid outfits over the selected quantities, per shopper and color, with OutfitCounter
+     */
+    Constraint maximizeOutfitCombinations(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0)
+                .filter(group -> group.getCategory() == ClothingCategory.TOP
+                        || group.getCategory() == ClothingCategory.BOTTOM
+                        || group.getCategory() == ClothingCategory.SHOES)
+                .groupBy(SkuGroup::getShopper, OutfitCounter.collector(SkuGroup::getCategory, SkuGroup::getColorId,
+                        SkuGroup::getSelectedQuantity))
+                .filter((shopper, outfits) -> outfits > 0)
+                .reward(HardSoftScore.ONE_SOFT,
+                        (shopper, outfits) -> outfits * WardrobeConstraintProvider.OUTFIT_REWARD)
+                .asConstraint("Maximize outfit combinations");
+    }
+
+    /**
+     * Soft constraint: Reward coordinated colors, per selected item
+     */
+    Constraint coordinatedColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0)
+                .reward(HardSoftScore.ONE_SOFT, group ->
+                        (colors.isNeutral(group.getColorId())
+                                ? WardrobeConstraintProvider.NEUTRAL_COLOR_REWARD
+                                : WardrobeConstraintProvider.OTHER_COLOR_REWARD) * group.getSelectedQuantity())
+                .asConstraint("Coordinated colors");
+    }
+
+    /**
+     * Soft constraint: Reward items in one of the preferred styles of their shopper, per selected item
+     */
+    Constraint preferredStyles(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(SkuGroup.class)
+                .filter(group -> group.getSelectedQuantity() > 0)
+                .join(StylePreference.class,
+                        Joiners.filtering((group, preference) ->
+                                preference.matches(group.getStyleMask(), group.getShopper())))
+                .reward(HardSoftScore.ONE_SOFT, (group, preference) ->
+                        WardrobeConstraintProvider.PREFERRED_STYLE_REWARD * group.getSelectedQuantity())
+                .asConstraint("Preferred styles");
+    }
+}
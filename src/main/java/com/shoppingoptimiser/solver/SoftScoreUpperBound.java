@@ -0,0 +1,226 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.ColorRegistry;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.StylePreference;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cheap upper bound on the soft score any feasible solution can reach, as the sum of two separate bounds.
+ *
+ * {@code coordinatedColors} and {@code preferredStyles} reward every selected item independently, so their best
+ * total under the budget is a 0/1 knapsack. Its fractional relaxation, solved greedily by reward per dollar,
+ * bounds it from above. If the quotas require shoes, every feasible solution has at least one pair, so unless the
+ * shopper owns some, the cheapest in-stock shoes are reserved first.
+ *
+ * {@code maximizeOutfitCombinations} rewards valid outfits, of which there are at most tops * bottoms * shoes.
+ * That product is maximized over the owned counts plus the counts affordable at the cheapest in-stock price of
+ * each category. In a household that bound is summed over the shoppers, each with the whole budget.
+ *
+ * Owned items are always selected and free, so their rewards are added as they are.
+ *
+ * Shipping only makes baskets more expensive, so leaving it out keeps the bound valid.
+ */
+public final class SoftScoreUpperBound {
+
+    // Above this many (tops, bottoms) pairs the outfit term falls back to the AM-GM bound
+    private static final long MAX_OUTFIT_ENUMERATION = 1_000_000L;
+
+    private SoftScoreUpperBound() {
+    }
+
+    public static long compute(WardrobeSolution problem) {
+        long budgetCents = problem.getBudget().getAmountCents();
+        StylePreference preference = problem.getStylePreference();
+        List<ClothingItem> candidates = new ArrayList<>();
+        // Per shopper, or under the null key for a single shopper
+        Map<Shopper, OutfitCounts> countsByShopper = new LinkedHashMap<>();
+        long cheapestShoesCents = Long.MAX_VALUE;
+        int bestShoesReward = 0;
+        long ownedReward = 0L;
+        int ownedShoes = 0;
+        for (ClothingItem item : problem.getItems()) {
+            OutfitCounts counts = countsByShopper.computeIfAbsent(item.getShopper(), shopper -> new OutfitCounts());
+            if (item.isOwned()) {
+                ownedReward += softRewardOf(item, preference);
+                counts.addOwned(item.getCategory());
+                if (item.getCategory() == ClothingCategory.SHOES) {
+                    ownedShoes++;
+                }
+                continue;
+            }
+            // Selecting an out-of-stock item or one over budget is never feasible
+            if (!item.isInStock() || item.getPriceCents() > budgetCents) {
+                continue;
+            }
+            candidates.add(item);
+            counts.addCandidate(item.getCategory(), item.getPriceCents());
+            if (item.getCategory() == ClothingCategory.SHOES) {
+                cheapestShoesCents = Math.min(cheapestShoesCents, item.getPriceCents());
+                bestShoesReward = Math.max(bestShoesReward, softRewardOf(item, preference));
+            }
+        }
+        boolean reserveShoes = ownedShoes == 0 && requiresShoes(problem.getCategoryQuotas());
+        if (reserveShoes && cheapestShoesCents == Long.MAX_VALUE) {
+            return 0L; // No feasible solution at all
+        }
+        // Every shopper's outfits are bounded as if they had the whole budget to themselves
+        long outfitBound = 0L;
+        for (OutfitCounts counts : countsByShopper.values()) {
+            outfitBound += WardrobeConstraintProvider.OUTFIT_REWARD * maxOutfits(budgetCents,
+                    counts.cheapestTopCents, counts.tops, counts.ownedTops,
+                    counts.cheapestBottomCents, counts.bottoms, counts.ownedBottoms,
+                    counts.cheapestShoesCents, counts.shoes, counts.ownedShoes);
+        }
+
+        candidates.sort((a, b) -> Double.compare(rewardPerCent(b, preference), rewardPerCent(a, preference)));
+        double bound = ownedReward;
+        long remainingCents = budgetCents;
+        if (reserveShoes) {
+            bound += bestShoesReward;
+            remainingCents -= cheapestShoesCents;
+        }
+        for (ClothingItem item : candidates) {
+            if (remainingCents <= 0) {
+                break;
+            }
+            long priceCents = item.getPriceCents();
+            if (priceCents <= remainingCents) {
+                bound += softRewardOf(item, preference);
+                remainingCents -= priceCents;
+            } else {
+                bound += softRewardOf(item, preference) * (double) remainingCents / priceCents;
+                remainingCents = 0;
+            }
+        }
+        return (long) Math.floor(bound) + outfitBound;
+    }
+
+    /**
+     * Whether some quota, of the request or of a shopper, needs at least one pair of shoes.
+     */
+    private static boolean requiresShoes(List<CategoryQuota> quotas) {
+        for (CategoryQuota quota : quotas) {
+            if (quota.getCategory() == ClothingCategory.SHOES && quota.getMinCount() >= 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Largest tops * bottoms * shoes with at most the given counts, buying every item at its category's lowest price.
+     */
+    static long maxOutfits(long budgetCents, long topCents, int tops, long bottomCents, int bottoms,
+                           long shoesCents, int shoes) {
+        return maxOutfits(budgetCents, topCents, tops, 0, bottomCents, bottoms, 0, shoesCents, shoes, 0);
+    }
+
+    /**
+     * Largest (owned + bought) tops * bottoms * shoes, buying at most the given counts of every category at its
+     * lowest price. A price of {@code Long.MAX_VALUE} means nothing of the category can be bought.
+     */
+    static long maxOutfits(long budgetCents, long topCents, int tops, int ownedTops, long bottomCents, int bottoms,
+                           int ownedBottoms, long shoesCents, int shoes, int ownedShoes) {
+        long topCents1 = Math.max(1L, topCents);
+        long bottomCents1 = Math.max(1L, bottomCents);
+        long shoesCents1 = Math.max(1L, shoesCents);
+        long maxTops = Math.min(tops, budgetCents / topCents1);
+        long maxBottoms = Math.min(bottoms, budgetCents / bottomCents1);
+        if ((maxTops + 1) * (maxBottoms + 1) > MAX_OUTFIT_ENUMERATION) {
+            // Continuous relaxation: owning k items of a category is like having bought them at its lowest price,
+            // and the product peaks when the budget so extended is split evenly over the three categories
+            double extendedCents = budgetCents + (double) ownedTops * topCents1 + (double) ownedBottoms * bottomCents1
+                    + (double) ownedShoes * shoesCents1;
+            double third = extendedCents / 3.0;
+            return (long) Math.floor(third * third * third / ((double) topCents1 * bottomCents1 * shoesCents1));
+        }
+        long best = 0L;
+        for (long t = ownedTops > 0 ? 0 : 1; t <= maxTops; t++) {
+            for (long b = ownedBottoms > 0 ? 0 : 1; b <= maxBottoms; b++) {
+                long remainingCents = budgetCents - t * topCents1 - b * bottomCents1;
+                if (remainingCents < (ownedShoes > 0 ? 0 : shoesCents1)) {
+                    break;
+                }
+                long s = Math.min(shoes, remainingCents / shoesCents1);
+                best = Math.max(best, (ownedTops + t) * (ownedBottoms + b) * (ownedShoes + s));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Relative distance between the best known soft score and the bound: 0.0 means provably optimal.
+     */
+    public static double gap(long upperBound, HardSoftScore score) {
+        if (upperBound <= 0 || score.softScore() >= upperBound) {
+            return 0.0;
+        }
+        return (upperBound - score.softScore()) / (double) upperBound;
+    }
+
+    /**
+     * Soft score a single selected item contributes on its own, leaving out the outfits it takes part in.
+     */
+    static int softRewardOf(ClothingItem item, StylePreference preference) {
+        int reward = ColorRegistry.getDefault().isNeutral(item.getColorId())
+                ? WardrobeConstraintProvider.NEUTRAL_COLOR_REWARD
+                : WardrobeConstraintProvider.OTHER_COLOR_REWARD;
+        if (preference != null && preference.matches(item.getStyleMask(), item.getShopper())) {
+            reward += WardrobeConstraintProvider.PREFERRED_STYLE_REWARD;
+        }
+        return reward;
+    }
+
+    private static double rewardPerCent(ClothingItem item, StylePreference preference) {
+        return softRewardOf(item, preference) / (double) Math.max(1L, item.getPriceCents());
+    }
+
+    /**
+     * Owned items and cheapest candidate price of the outfit categories of one shopper.
+     */
+    private static final class OutfitCounts {
+
+        private long cheapestTopCents = Long.MAX_VALUE;
+        private long cheapestBottomCents = Long.MAX_VALUE;
+        private long cheapestShoesCents = Long.MAX_VALUE;
+        private int tops;
+        private int bottoms;
+        private int shoes;
+        private int ownedTops;
+        private int ownedBottoms;
+        private int ownedShoes;
+
+        private void addOwned(ClothingCategory category) {
+            if (category == ClothingCategory.TOP) {
+                ownedTops++;
+            } else if (category == ClothingCategory.BOTTOM) {
+                ownedBottoms++;
+            } else if (category == ClothingCategory.SHOES) {
+                ownedShoes++;
+            }
+        }
+
+        private void addCandidate(ClothingCategory category, long priceCents) {
+            if (category == ClothingCategory.TOP) {
+                cheapestTopCents = Math.min(cheapestTopCents, priceCents);
+                tops++;
+            } else if (category == ClothingCategory.BOTTOM) {
+                cheapestBottomCents = Math.min(cheapestBottomCents, priceCents);
+                bottoms++;
+            } else if (category == ClothingCategory.SHOES) {
+                cheapestShoesCents = Math.min(cheapestShoesCents, priceCents);
+                shoes++;
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The selection of a best solution in compact binary form: a fingerprint of the catalog, the positions of the
+ * selected items as a bitset and the score. A checkpoint only applies to a problem with the same items in the
+ * same order, which the fingerprint checks, so it stays a few bytes per hundred items whatever the catalog holds.
+ */
+public final class SolveCheckpoint {
+
+    private static final int MAGIC = 0x57435031; // "WCP1"
+
+    private final long fingerprint;
+    private final int itemCount;
+    private final BitSet selected;
+    private final HardSoftScore score;
+
+    private SolveCheckpoint(long fingerprint, int itemCount, BitSet selected, HardSoftScore score) {
+        this.fingerprint = fingerprint;
+        this.itemCount = itemCount;
+        this.selected = selected;
+        this.score = score;
+    }
+
+    /**
+     * Capture the selection of a solution whose catalog has the given {@link #fingerprint(WardrobeSolution)}.
+     */
+    public static SolveCheckpoint of(WardrobeSolution solution, long fingerprint) {
+        List<ClothingItem> items = solution.getItems();
+        BitSet selected = new BitSet(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).isSelected()) {
+                selected.set(i);
+            }
+        }
+        return new SolveCheckpoint(fingerprint, items.size(), selected, solution.getScore());
+    }
+
+    /**
+     * 64-bit FNV-1a hash of every item's id, category, price, stock status and store, in catalog order.
+     */
+    public static long fingerprint(WardrobeSolution problem) {
+        long hash = 0xcbf29ce484222325L;
+        for (ClothingItem item : problem.getItems()) {
+            hash = mix(hash, item.getId());
+            hash = mix(hash, item.getCategory().name());
+            hash = mix(hash, item.getPriceCents());
+            hash = mix(hash, item.isInStock() ? 1L : 0L);
+            hash = mix(hash, item.getStore() == null ? "" : item.getStore().getId());
+        }
+        return mix(hash, problem.getItems().size());
+    }
+
+    private static long mix(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        // Separator, so that "ab" + "c" and "a" + "bc" differ
+        return (hash ^ 0xff) * 0x100000001b3L;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Whether this checkpoint was taken on the problem's catalog.
+     */
+    public boolean matches(WardrobeSolution problem) {
+        return problem.getItems().size() == itemCount && fingerprint(problem) == fingerprint;
+    }
+
+    /**
+     * Select exactly the checkpointed items in the problem, to warm start a solve from them.
+     */
+    public void applyTo(WardrobeSolution problem) {
+        if (!matches(problem)) {
+            throw new IllegalArgumentException("The checkpoint was taken on a different catalog.");
+        }
+        List<ClothingItem> items = problem.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setSelected(selected.get(i));
+        }
+        problem.refreshSelectionIndex();
+    }
+
+    /**
+     * Write the checkpoint to a temporary file and move it over the target, so a crash mid-write never
+     * leaves a truncated checkpoint behind.
+     */
+    public void write(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(fingerprint);
+            out.writeInt(itemCount);
+            out.writeUTF(score == null ? "" : score.toString());
+            long[] words = selected.toLongArray();
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static SolveCheckpoint read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("The file (" + file + ") is not a solve checkpoint.");
+            }
+            long fingerprint = in.readLong();
+            int itemCount = in.readInt();
+            String score = in.readUTF();
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return new SolveCheckpoint(fingerprint, itemCount, BitSet.valueOf(words),
+                    score.isEmpty() ? null : HardSoftScore.parseScore(score));
+        }
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getSelectedCount() {
+        return selected.cardinality();
+    }
+
+    public HardSoftScore getScore() {
+        return score;
+    }
+}
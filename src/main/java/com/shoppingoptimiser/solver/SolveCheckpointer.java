@@ -0,0 +1,94 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.api.solver.event.SolverEventListener;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Periodically writes the best solution of a running solve to a {@link SolveCheckpoint} file.
+ * The solver thread only hands over the best solution, which is already a clone the solver no longer touches;
+ * a background thread builds and writes the checkpoint at the given interval, and only if the best solution
+ * changed since the last write. Closing the checkpointer writes the final best solution.
+ */
+public class SolveCheckpointer implements SolverEventListener<WardrobeSolution>, AutoCloseable {
+
+    private final Path file;
+    private final long fingerprint;
+    private final ScheduledExecutorService writer;
+    private final AtomicReference<WardrobeSolution> pending = new AtomicReference<>();
+    private volatile int writeCount;
+    private volatile IOException lastError;
+
+    /**
+     * Start checkpointing solves of the given problem. The catalog fingerprint is computed here, before solving.
+     */
+    public SolveCheckpointer(Path file, WardrobeSolution problem, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("The checkpoint interval (" + interval + ") must be positive.");
+        }
+        this.file = file;
+        this.fingerprint = SolveCheckpoint.fingerprint(problem);
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "solve-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        writer.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void attachTo(Solver<WardrobeSolution> solver) {
+        solver.addEventListener(this);
+    }
+
+    @Override
+    public void bestSolutionChanged(BestSolutionChangedEvent<WardrobeSolution> event) {
+        pending.set(event.getNewBestSolution());
+    }
+
+    private void flush() {
+        WardrobeSolution best = pending.getAndSet(null);
+        if (best == null) {
+            return;
+        }
+        try {
+            SolveCheckpoint.of(best, fingerprint).write(file);
+            writeCount++;
+            lastError = null;
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+
+    /**
+     * Stop the periodic writes and write the last best solution, if it has not been written yet.
+     *
+     * @throws IOException if the last write failed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (lastError != null) {
+            throw lastError;
+        }
+    }
+
+    public int getWriteCount() {
+        return writeCount;
+    }
+}
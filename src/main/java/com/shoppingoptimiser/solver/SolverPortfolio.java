@@ -0,0 +1,243 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchType;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.monitoring.SolveFlightRecorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Races several solver configurations (algorithms and/or random seeds) on the same problem in parallel.
+ * The global best is shared between contenders: once the grace period is over, a contender that trails
+ * the leader and has not improved for the patience period is terminated early. When any contender
+ * finishes on its own termination, the race is over and the remaining contenders are stopped.
+ */
+public class SolverPortfolio {
+
+    private final List<Contender> contenders;
+    private long graceMillis = 2000L;
+    private long patienceMillis = 5000L;
+    private long checkIntervalMillis = 250L;
+
+    public SolverPortfolio(List<Contender> contenders) {
+        if (contenders.isEmpty()) {
+            throw new IllegalArgumentException("A portfolio needs at least one contender.");
+        }
+        this.contenders = new ArrayList<>(contenders);
+    }
+
+    /**
+     * Late acceptance, tabu search and simulated annealing, each with {@code seedsPerAlgorithm} random seeds.
+     * The base config provides the domain, the constraints and the termination.
+     */
+    public static List<Contender> defaultContenders(SolverConfig baseConfig, int seedsPerAlgorithm) {
+        List<Contender> contenders = new ArrayList<>();
+        for (int seed = 0; seed < seedsPerAlgorithm; seed++) {
+            long randomSeed = 1000L + seed;
+            contenders.add(new Contender("late-acceptance#" + seed, withLocalSearch(baseConfig, randomSeed,
+                    new LocalSearchPhaseConfig().withLocalSearchType(LocalSearchType.LATE_ACCEPTANCE))));
+            contenders.add(new Contender("tabu-search#" + seed, withLocalSearch(baseConfig, randomSeed,
+                    new LocalSearchPhaseConfig().withLocalSearchType(LocalSearchType.TABU_SEARCH))));
+            contenders.add(new Contender("simulated-annealing#" + seed, withLocalSearch(baseConfig, randomSeed,
+                    new LocalSearchPhaseConfig()
+                            .withAcceptorConfig(new LocalSearchAcceptorConfig()
+                                    .withSimulatedAnnealingStartingTemperature("1hard/10soft"))
+                            .withForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(1)))));
+        }
+        return contenders;
+    }
+
+    private static SolverConfig withLocalSearch(SolverConfig baseConfig, long randomSeed,
+                                                LocalSearchPhaseConfig localSearchPhaseConfig) {
+        return baseConfig.copyConfig()
+                .withRandomSeed(randomSeed)
+                .withPhases(new ConstructionHeuristicPhaseConfig(), localSearchPhaseConfig);
+    }
+
+    /**
+     * Race all contenders on the problem and return the best solution with the standings of every contender.
+     */
+    public PortfolioResult solve(WardrobeSolution problem) {
+        List<Runner> runners = new ArrayList<>(contenders.size());
+        for (Contender contender : contenders) {
+            String solveLabel = "portfolio/" + contender.getName();
+            Solver<WardrobeSolution> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                    () -> SolverFactory.<WardrobeSolution>create(contender.getConfig()).buildSolver());
+            new SolveFlightRecorder<WardrobeSolution>(solveLabel).attachTo(solver);
+            runners.add(new Runner(contender, solver));
+        }
+        AtomicReference<Standing> leader = new AtomicReference<>();
+        long startNanos = System.nanoTime();
+        for (Runner runner : runners) {
+            runner.solver.addEventListener(event -> {
+                HardSoftScore score = (HardSoftScore) event.getNewBestScore();
+                runner.improved(event.getNewBestSolution(), score, event.getTimeMillisSpent());
+                Standing standing = new Standing(runner, score);
+                leader.accumulateAndGet(standing, (current, candidate) ->
+                        current == null || candidate.score.compareTo(current.score) > 0 ? candidate : current);
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(runners.size());
+        ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            monitor.scheduleAtFixedRate(() -> eliminateLosers(runners, leader.get(), startNanos),
+                    checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+            List<Future<?>> futures = new ArrayList<>(runners.size());
+            for (Runner runner : runners) {
+                futures.add(executor.submit(() -> {
+                    runner.solver.solve(problem);
+                    runner.finished = true;
+                    if (!runner.stoppedEarly) {
+                        // This contender hit its own termination: the race is over
+                        for (Runner other : runners) {
+                            other.stop();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            runners.forEach(Runner::stop);
+            throw new IllegalStateException("The portfolio solve was interrupted.", e);
+        } catch (ExecutionException e) {
+            runners.forEach(Runner::stop);
+            throw new IllegalStateException("A portfolio contender failed.", e.getCause());
+        } finally {
+            monitor.shutdownNow();
+            executor.shutdownNow();
+        }
+
+        List<ContenderOutcome> outcomes = new ArrayList<>(runners.size());
+        ContenderOutcome winner = null;
+        for (Runner runner : runners) {
+            ContenderOutcome outcome = new ContenderOutcome(runner.contender.getName(), runner.bestScore,
+                    runner.bestTimeMillis, runner.stoppedEarly, runner.bestSolution);
+            outcomes.add(outcome);
+            if (outcome.getBestScore() != null && (winner == null || outcome.beats(winner))) {
+                winner = outcome;
+            }
+        }
+        return new PortfolioResult(problem.getItems().size(), winner, outcomes,
+                (System.nanoTime() - startNanos) / 1_000_000L);
+    }
+
+    private void eliminateLosers(List<Runner> runners, Standing leader, long startNanos) {
+        long nowNanos = System.nanoTime();
+        if (leader == null || nowNanos - startNanos < TimeUnit.MILLISECONDS.toNanos(graceMillis)) {
+            return;
+        }
+        for (Runner runner : runners) {
+            if (runner == leader.runner || runner.finished || runner.stoppedEarly) {
+                continue;
+            }
+            HardSoftScore score = runner.bestScore;
+            boolean trailing = score == null || score.compareTo(leader.score) < 0;
+            boolean stale = nowNanos - runner.lastImprovementNanos > TimeUnit.MILLISECONDS.toNanos(patienceMillis);
+            if (trailing && stale) {
+                runner.stop();
+            }
+        }
+    }
+
+    public SolverPortfolio withGraceMillis(long graceMillis) {
+        this.graceMillis = graceMillis;
+        return this;
+    }
+
+    public SolverPortfolio withPatienceMillis(long patienceMillis) {
+        this.patienceMillis = patienceMillis;
+        return this;
+    }
+
+    public SolverPortfolio withCheckIntervalMillis(long checkIntervalMillis) {
+        this.checkIntervalMillis = checkIntervalMillis;
+        return this;
+    }
+
+    /**
+     * A named solver configuration taking part in the race.
+     */
+    public static class Contender {
+        private final String name;
+        private final SolverConfig config;
+
+        public Contender(String name, SolverConfig config) {
+            this.name = name;
+            this.config = config;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SolverConfig getConfig() {
+            return config;
+        }
+    }
+
+    /**
+     * Live state of one contender during the race.
+     */
+    private static class Runner {
+        private final Contender contender;
+        private final Solver<WardrobeSolution> solver;
+        private volatile WardrobeSolution bestSolution;
+        private volatile HardSoftScore bestScore;
+        private volatile long bestTimeMillis;
+        private volatile long lastImprovementNanos = System.nanoTime();
+        private volatile boolean stoppedEarly;
+        private volatile boolean finished;
+
+        private Runner(Contender contender, Solver<WardrobeSolution> solver) {
+            this.contender = contender;
+            this.solver = solver;
+        }
+
+        private void improved(WardrobeSolution solution, HardSoftScore score, long timeMillisSpent) {
+            bestSolution = solution;
+            bestScore = score;
+            bestTimeMillis = timeMillisSpent;
+            lastImprovementNanos = System.nanoTime();
+        }
+
+        private void stop() {
+            if (!finished) {
+                stoppedEarly = true;
+                solver.terminateEarly();
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the leading contender and its score.
+     */
+    private static class Standing {
+        private final Runner runner;
+        private final HardSoftScore score;
+
+        private Standing(Runner runner, HardSoftScore score) {
+            this.runner = runner;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Item-level solver configurations shipped as XML resources, each tuned for a catalog size and latency budget
+ * (construction heuristic, acceptor, forager limits and termination). {@link #select(int, Duration)} picks one,
+ * and every profile parses its XML and builds its {@link SolverFactory} once, on first use.
+ */
+public enum SolverProfile {
+
+    /**
+     * Simulated annealing with cheap steps: the fastest to a feasible basket, for answers within seconds.
+     */
+    INTERACTIVE("solverConfig-interactive.xml"),
+    /**
+     * Tabu search over up to {@value #LARGE_CATALOG_ITEMS} items: slower to start, but the best baskets.
+     */
+    DEFAULT("solverConfig.xml"),
+    /**
+     * Larger catalogs, where every step of a tabu search would cost seconds.
+     */
+    LARGE("solverConfig-large.xml");
+
+    // Catalogs with more items than this use the large profile
+    public static final int LARGE_CATALOG_ITEMS = 2000;
+    // Latency budgets up to this use the interactive profile
+    public static final Duration INTERACTIVE_LATENCY = Duration.ofSeconds(10);
+
+    private final String resource;
+    private volatile SolverConfig solverConfig;
+    private volatile SolverFactory<WardrobeSolution> solverFactory;
+
+    SolverProfile(String resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * The profile for a problem with the given number of planning entities that must be solved within the
+     * given latency budget.
+     */
+    public static SolverProfile select(int entityCount, Duration latencyBudget) {
+        if (entityCount > LARGE_CATALOG_ITEMS) {
+            return LARGE;
+        }
+        return latencyBudget.compareTo(INTERACTIVE_LATENCY) <= 0 ? INTERACTIVE : DEFAULT;
+    }
+
+    /**
+     * The profile with the given name, ignoring case.
+     */
+    public static SolverProfile parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown solver profile (" + name + "), expected one of "
+                    + Arrays.toString(values()).toLowerCase(Locale.ROOT) + ".");
+        }
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * A copy of this profile's configuration, to adjust before building a solver factory of one's own.
+     */
+    public SolverConfig createSolverConfig() {
+        SolverConfig config = solverConfig;
+        if (config == null) {
+            synchronized (this) {
+                config = solverConfig;
+                if (config == null) {
+                    config = SolverConfig.createFromXmlResource(resource);
+                    solverConfig = config;
+                }
+            }
+        }
+        return config.copyConfig();
+    }
+
+    /**
+     * The solver factory of this profile, shared by all solves that do not change the configuration.
+     */
+    public SolverFactory<WardrobeSolution> getSolverFactory() {
+        SolverFactory<WardrobeSolution> factory = solverFactory;
+        if (factory == null) {
+            synchronized (this) {
+                factory = solverFactory;
+                if (factory == null) {
+                    factory = SolverFactory.create(createSolverConfig());
+                    solverFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Build a solver from the cached factory that also stops once the latency budget is spent.
+     */
+    public Solver<WardrobeSolution> buildSolver(Duration latencyBudget) {
+        return getSolverFactory().buildSolver(new SolverConfigOverride<WardrobeSolution>()
+                .withTerminationConfig(createTerminationConfig(latencyBudget)));
+    }
+
+    /**
+     * This profile's termination with its time limit capped at the latency budget. Both time limits are
+     * returned as durations, so callers can replace either with {@code withSpentLimit} or
+     * {@code withUnimprovedSpentLimit}.
+     */
+    public TerminationConfig createTerminationConfig(Duration latencyBudget) {
+        TerminationConfig profileTermination = createSolverConfig().getTerminationConfig();
+        TerminationConfig termination = profileTermination == null
+                ? new TerminationConfig() : profileTermination.copyConfig();
+        Long profileLimit = termination.calculateTimeMillisSpentLimit();
+        Long unimprovedLimit = termination.calculateUnimprovedTimeMillisSpentLimit();
+        termination.setSpentLimit(null);
+        termination.setMillisecondsSpentLimit(null);
+        termination.setSecondsSpentLimit(null);
+        termination.setMinutesSpentLimit(null);
+        termination.setHoursSpentLimit(null);
+        termination.setDaysSpentLimit(null);
+        termination.setUnimprovedSpentLimit(null);
+        termination.setUnimprovedMillisecondsSpentLimit(null);
+        termination.setUnimprovedSecondsSpentLimit(null);
+        termination.setUnimprovedMinutesSpentLimit(null);
+        termination.setUnimprovedHoursSpentLimit(null);
+        termination.setUnimprovedDaysSpentLimit(null);
+        termination.setSpentLimit(profileLimit == null || latencyBudget.toMillis() < profileLimit
+                ? latencyBudget : Duration.ofMillis(profileLimit));
+        if (unimprovedLimit != null) {
+            termination.setUnimprovedSpentLimit(Duration.ofMillis(unimprovedLimit));
+        }
+        return termination;
+    }
+}
@@ -7,106 +7,99 @@ import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
 import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
 import ai.timefold.solver.core.api.score.stream.Joiners;
 import com.shoppingoptimiser.domain.Budget;
+import com.shoppingoptimiser.domain.CategoryQuota;
 import com.shoppingoptimiser.domain.ClothingCategory;
 import com.shoppingoptimiser.domain.ClothingItem;
-
-import java.util.Set;
+import com.shoppingoptimiser.domain.ColorRegistry;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.StylePreference;
 
 /**
  * Defines the constraints for the wardrobe optimization problem.
  *
  * HARD CONSTRAINTS (must-haves):
- * 1. Total cost must be less than or equal to budget
- * 2. Must have at least 1 TOP, 1 BOTTOM, and 1 SHOES (essentials for a complete outfit)
+ * 1. Total cost, shipping included, must be less than or equal to budget
+ * 2. Every category within its quota, by default at least 1 TOP, 1 BOTTOM and 1 SHOES (see CategoryQuota)
  * 3. Items must be in stock in your size
- * 4. Top and bottom cannot be the same color
- * 5. Bottom and shoes cannot be the same color
+ * 4. Top and bottom cannot be the same color (or clashing colors, see ColorRegistry)
+ * 5. Bottom and shoes cannot be the same color (or clashing colors)
  *
  * SOFT CONSTRAINTS (what we optimize):
  * 1. Maximize number of outfit combinations you can create
  * 2. Prefer coordinated colors that work well together
+ *
+ * In a household (see Shopper) the budget is shared, while quotas, color rules, outfits and preferred styles
+ * apply per shopper: the joins and groups are keyed by the item's shopper, so a move only touches its
+ * shopper's counts and pairs.
  */
 public class WardrobeConstraintProvider implements ConstraintProvider {
 
+    // Soft rewards, also used by SoftScoreUpperBound
+    static final int OUTFIT_REWARD = 10;
+    static final int NEUTRAL_COLOR_REWARD = 5;
+    static final int OTHER_COLOR_REWARD = 1;
+    static final int PREFERRED_STYLE_REWARD = 3;
+    // Hard penalty per item a category is short of its minimum or over its maximum
+    static final int QUOTA_PENALTY = 1000;
+
     @Override
     public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
         return new Constraint[]{
                 // Hard constraints
                 budgetConstraint(constraintFactory),
-                mustHaveAtLeastOneTop(constraintFactory),
-                mustHaveAtLeastOneBottom(constraintFactory),
-                mustHaveAtLeastOneShoes(constraintFactory),
+                categoryQuotas(constraintFactory),
                 mustBeInStockConstraint(constraintFactory),
                 topAndBottomDifferentColors(constraintFactory),
                 bottomAndShoesDifferentColors(constraintFactory),
 
                 // Soft constraints
                 maximizeOutfitCombinations(constraintFactory),
-                coordinatedColors(constraintFactory)
+                coordinatedColors(constraintFactory),
+                preferredStyles(constraintFactory)
         };
     }
 
     // ==================== HARD CONSTRAINTS ====================
 
     /**
-     * Hard constraint: Total cost of selected items must not exceed budget
-     * Budget is retrieved from the Budget problem fact
+     * Hard constraint: Total cost of selected items, plus shipping, must not exceed budget
+     * Items are first grouped by store, so every store used charges its shipping once on its own subtotal,
+     * and a changed item only updates its store's subtotal. Budget is retrieved from the Budget problem fact
      */
     Constraint budgetConstraint(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(ClothingItem.class)
                 .filter(item -> item.getSelected() != null && item.getSelected())
-                .groupBy(ConstraintCollectors.sum(item -> (int) (item.getPrice() * 100)))
+                .groupBy(ClothingItem::getStore, ConstraintCollectors.sum(item -> (int) item.getPriceCents()))
+                .groupBy(ConstraintCollectors.sum((store, subtotal) -> subtotal + Store.shippingCents(store, subtotal)))
                 .join(Budget.class)
-                .filter((totalCost, budget) -> totalCost > (int) (budget.getAmount() * 100))
+                .filter((totalCost, budget) -> totalCost > budget.getAmountCents())
                 .penalize(HardSoftScore.ONE_HARD,
-                        (totalCost, budget) -> totalCost - (int) (budget.getAmount() * 100))
+                        (totalCost, budget) -> (int) (totalCost - budget.getAmountCents()))
                 .asConstraint("Budget constraint");
     }
 
     /**
-     * Hard constraint: Must have at least 1 TOP to create a complete outfit
-     * Penalizes when there are no selected TOPs
-     */
-    Constraint mustHaveAtLeastOneTop(ConstraintFactory constraintFactory) {
-        return constraintFactory.fromUnfiltered(ClothingItem.class)
-                .filter(item -> item.getCategory() == ClothingCategory.TOP)
-                .ifNotExists(ClothingItem.class,
-                        Joiners.equal(ClothingItem::getCategory),
-                        Joiners.filtering((a, b) -> b.getSelected() != null && b.getSelected()))
-                .penalize(HardSoftScore.ONE_HARD, item -> 1000)
-                .asConstraint("Must have at least 1 TOP");
-    }
-
-    /**
-     * Hard constraint: Must have at least 1 BOTTOM to create a complete outfit
-     * Penalizes when there are no selected BOTTOMs
-     */
-    Constraint mustHaveAtLeastOneBottom(ConstraintFactory constraintFactory) {
-        return constraintFactory.fromUnfiltered(ClothingItem.class)
-                .filter(item -> item.getCategory() == ClothingCategory.BOTTOM)
-                .ifNotExists(ClothingItem.class,
-                        Joiners.equal(ClothingItem::getCategory),
-                        Joiners.filtering((a, b) -> b.getSelected() != null && b.getSelected()))
-                .penalize(HardSoftScore.ONE_HARD, item -> 1000)
-                .asConstraint("Must have at least 1 BOTTOM");
-    }
-
-    /**
-     * Hard constraint: Must have at least 1 SHOES to create a complete outfit
-     * Penalizes when there are no selected SHOES
+     * Hard constraint: Every category must be within its quota
+     * Selected items are counted per quota of their category, and the complement adds the categories without
+     * any selected item at a count of 0. A changed item only updates its category's count, and the penalty
+     * depends on how far the count is off, not on the size of the catalog. In a household every shopper's
+     * items are counted against that shopper's quotas
      */
-    Constraint mustHaveAtLeastOneShoes(ConstraintFactory constraintFactory) {
-        return constraintFactory.fromUnfiltered(ClothingItem.class)
-                .filter(item -> item.getCategory() == ClothingCategory.SHOES)
-                .ifNotExists(ClothingItem.class,
-                        Joiners.equal(ClothingItem::getCategory),
-                        Joiners.filtering((a, b) -> b.getSelected() != null && b.getSelected()))
-                .penalize(HardSoftScore.ONE_HARD, item -> 1000)
-                .asConstraint("Must have at least 1 SHOES");
+    Constraint categoryQuotas(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(ClothingItem.class)
+                .filter(item -> item.getSelected() != null && item.getSelected())
+                .join(CategoryQuota.class, Joiners.equal(ClothingItem::getCategory, CategoryQuota::getCategory),
+                        Joiners.equal(ClothingItem::getShopper, CategoryQuota::getShopper))
+                .groupBy((item, quota) -> quota, ConstraintCollectors.countBi())
+                .complement(CategoryQuota.class, quota -> 0)
+                .filter((quota, count) -> quota.violation(count) > 0)
+                .penalize(HardSoftScore.ONE_HARD, (quota, count) -> QUOTA_PENALTY * quota.violation(count))
+                .asConstraint("Category quota");
     }
 
     /**
      * Hard constraint: Cannot select items that are not in stock
+     * For a household member, in stock means stocked in their size, which is one bit test per item
      */
     Constraint mustBeInStockConstraint(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(ClothingItem.class)
@@ -117,36 +110,40 @@ public class WardrobeConstraintProvider implements ConstraintProvider {
 
     /**
      * Hard constraint: Top and bottom cannot be the same color
-     * Penalizes when a selected top and a selected bottom have the same color
+     * Penalizes when a selected top and a selected bottom of the same shopper have the same color or clashing
+     * colors. A pair the shopper already owns cannot be changed, so it is not penalized
      */
     Constraint topAndBottomDifferentColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
         return constraintFactory.forEach(ClothingItem.class)
                 .filter(item -> item.getSelected() != null && item.getSelected())
                 .filter(item -> item.getCategory() == ClothingCategory.TOP)
-                .join(ClothingItem.class,
-                        Joiners.filtering((top, bottom) ->
-                                bottom.getSelected() != null &&
-                                bottom.getSelected() &&
-                                bottom.getCategory() == ClothingCategory.BOTTOM &&
-                                top.getColor().equalsIgnoreCase(bottom.getColor())))
+                .join(constraintFactory.forEach(ClothingItem.class)
+                                .filter(item -> item.getSelected() != null && item.getSelected())
+                                .filter(item -> item.getCategory() == ClothingCategory.BOTTOM),
+                        Joiners.equal(ClothingItem::getShopper),
+                        Joiners.filtering((top, bottom) -> !(top.isOwned() && bottom.isOwned())
+                                && colors.clashes(top.getColorId(), bottom.getColorId())))
                 .penalize(HardSoftScore.ONE_HARD, (top, bottom) -> 1000)
                 .asConstraint("Top and bottom must have different colors");
     }
 
     /**
      * Hard constraint: Bottom and shoes cannot be the same color
-     * Penalizes when a selected bottom and selected shoes have the same color
+     * Penalizes when a selected bottom and selected shoes of the same shopper have the same color or clashing
+     * colors. A pair the shopper already owns cannot be changed, so it is not penalized
      */
     Constraint bottomAndShoesDifferentColors(ConstraintFactory constraintFactory) {
+        ColorRegistry colors = ColorRegistry.getDefault();
         return constraintFactory.forEach(ClothingItem.class)
                 .filter(item -> item.getSelected() != null && item.getSelected())
                 .filter(item -> item.getCategory() == ClothingCategory.BOTTOM)
-                .join(ClothingItem.class,
-                        Joiners.filtering((bottom, shoes) ->
-                                shoes.getSelected() != null &&
-                                shoes.getSelected() &&
-                                shoes.getCategory() == ClothingCategory.SHOES &&
-                                bottom.getColor().equalsIgnoreCase(shoes.getColor())))
+                .join(constraintFactory.forEach(ClothingItem.class)
+                                .filter(item -> item.getSelected() != null && item.getSelected())
+                                .filter(item -> item.getCategory() == ClothingCategory.SHOES),
+                        Joiners.equal(ClothingItem::getShopper),
+                        Joiners.filtering((bottom, shoes) -> !(bottom.isOwned() && shoes.isOwned())
+                                && colors.clashes(bottom.getColorId(), shoes.getColorId())))
                 .penalize(HardSoftScore.ONE_HARD, (bottom, shoes) -> 1000)
                 .asConstraint("Bottom and shoes must have different colors");
     }
@@ -155,14 +152,19 @@ public class WardrobeConstraintProvider implements ConstraintProvider {
 
     /**
      * Soft constraint: Maximize outfit combinations
-     * Count tops and bottoms separately, then multiply to get combinations
+     * Reward every valid (top, bottom, shoes) outfit, counted incrementally per color by OutfitCounter.
+     * Outfits are counted per shopper, since nobody wears another household member's clothes
      */
     Constraint maximizeOutfitCombinations(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(ClothingItem.class)
                 .filter(item -> item.getSelected() != null && item.getSelected())
-                .filter(item -> item.getCategory() == ClothingCategory.TOP || item.getCategory() == ClothingCategory.BOTTOM)
-                .groupBy(ClothingItem::getCategory, ConstraintCollectors.count())
-                .reward(HardSoftScore.ONE_SOFT, (category, count) -> count * 10)
+                .filter(item -> item.getCategory() == ClothingCategory.TOP
+                        || item.getCategory() == ClothingCategory.BOTTOM
+                        || item.getCategory() == ClothingCategory.SHOES)
+                .groupBy(ClothingItem::getShopper,
+                        OutfitCounter.collector(ClothingItem::getCategory, ClothingItem::getColorId, item -> 1))
+                .filter((shopper, outfits) -> outfits > 0)
+                .reward(HardSoftScore.ONE_SOFT, (shopper, outfits) -> outfits * OUTFIT_REWARD)
                 .asConstraint("Maximize outfit combinations");
     }
 
@@ -171,17 +173,30 @@ public class WardrobeConstraintProvider implements ConstraintProvider {
      * For simplicity, we'll reward having items with common neutral colors
      */
     Constraint coordinatedColors(ConstraintFactory constraintFactory) {
-        Set<String> neutralColors = Set.of("black", "white", "gray", "grey", "navy", "beige", "brown");
-
+        ColorRegistry colors = ColorRegistry.getDefault();
         return constraintFactory.forEach(ClothingItem.class)
                 .filter(item -> item.getSelected() != null && item.getSelected())
                 .reward(HardSoftScore.ONE_SOFT, item -> {
                     // Reward neutral colors that coordinate well
-                    if (neutralColors.contains(item.getColor().toLowerCase())) {
-                        return 5;
+                    if (colors.isNeutral(item.getColorId())) {
+                        return NEUTRAL_COLOR_REWARD;
                     }
-                    return 1;
+                    return OTHER_COLOR_REWARD;
                 })
                 .asConstraint("Coordinated colors");
     }
+
+    /**
+     * Soft constraint: Reward items in one of the preferred styles, of the item's shopper in a household.
+     * Uses the precomputed style bitmask, so the check is a single AND per item.
+     */
+    Constraint preferredStyles(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(ClothingItem.class)
+                .filter(item -> item.getSelected() != null && item.getSelected())
+                .join(StylePreference.class,
+                        Joiners.filtering((item, preference) ->
+                                preference.matches(item.getStyleMask(), item.getShopper())))
+                .reward(HardSoftScore.ONE_SOFT, (item, preference) -> PREFERRED_STYLE_REWARD)
+                .asConstraint("Preferred styles");
+    }
 }
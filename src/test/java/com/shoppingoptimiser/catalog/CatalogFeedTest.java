@@ -0,0 +1,89 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.Store;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for CatalogFeed - reading and writing catalog feed snapshots.
+ */
+public class CatalogFeedTest {
+
+    @Test
+    public void write_read_sameRows() throws IOException {
+        List<ClothingItem> catalog = SampleCatalog.generate(300, new Random(7));
+        SampleCatalog.assignSizeStock(catalog.subList(0, 100), new Random(7));
+        List<Store> stores = SampleCatalog.generateStores(3, new Random(7));
+        SampleCatalog.assignStores(catalog.subList(50, 300), stores, new Random(7));
+        StringWriter writer = new StringWriter();
+
+        CatalogFeed.write(catalog, writer);
+        List<ClothingItem> read = CatalogFeed.read(new StringReader(writer.toString()), stores);
+
+        assertEquals(catalog.size(), read.size());
+        for (int i = 0; i < catalog.size(); i++) {
+            assertEquals(DeltaImporter.hash(catalog.get(i)), DeltaImporter.hash(read.get(i)), catalog.get(i).getId());
+        }
+        assertSame(catalog.get(120).getStore(), read.get(120).getStore());
+        assertTrue(new DeltaImporter(CatalogIndex.of(catalog)).diff(read).isEmpty());
+    }
+
+    @Test
+    public void read_skipsCommentsAndParsesSizes() throws IOException {
+        List<ClothingItem> read = CatalogFeed.read(new StringReader("id,name,category,price,style,color,inStock,sizes,store\n"
+                + "# spring drop\n"
+                + "\n"
+                + "S1, Brown Boots ,shoes,89.50,casual,Brown,true,20,\n"), List.of());
+
+        ClothingItem boots = read.get(0);
+        assertEquals("Brown Boots", boots.getName());
+        assertEquals(ClothingCategory.SHOES, boots.getCategory());
+        assertEquals(8950L, boots.getPriceCents());
+        assertEquals("brown", boots.getColor());
+        assertEquals(SizeProfile.maskOf(ClothingCategory.SHOES, "42"), boots.getSizeStock());
+    }
+
+    @Test
+    public void write_read_namesWithCommasAndQuotes() throws IOException {
+        List<ClothingItem> catalog = List.of(
+                new ClothingItem("T1", "Shirt, Oxford", ClothingCategory.TOP, 39.0, "smart-casual", "white", true),
+                new ClothingItem("T2", "The \"Everyday\" Tee", ClothingCategory.TOP, 12.5, "casual", "gray", true),
+                new ClothingItem("T3", " Padded ", ClothingCategory.TOP, 20.0, "casual", "black", false));
+        StringWriter writer = new StringWriter();
+
+        CatalogFeed.write(catalog, writer);
+        List<ClothingItem> read = CatalogFeed.read(new StringReader(writer.toString()), List.of());
+
+        assertEquals(List.of("Shirt, Oxford", "The \"Everyday\" Tee", " Padded "),
+                read.stream().map(ClothingItem::getName).collect(Collectors.toList()));
+        assertTrue(new DeltaImporter(CatalogIndex.of(catalog)).diff(read).isEmpty());
+    }
+
+    @Test
+    public void write_nameWithLineBreak_throws() {
+        List<ClothingItem> catalog = List.of(
+                new ClothingItem("T1", "Two\nLines", ClothingCategory.TOP, 10.0, "casual", "white", true));
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogFeed.write(catalog, new StringWriter()));
+    }
+
+    @Test
+    public void read_unknownStore_throws() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogFeed.read(
+                new StringReader("T1,Black Tee,top,45.00,casual,black,true,,ST9\n"), List.of()));
+    }
+}
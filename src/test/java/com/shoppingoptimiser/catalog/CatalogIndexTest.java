@@ -0,0 +1,122 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.Store;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for CatalogIndex - attribute queries against the inverted index.
+ */
+public class CatalogIndexTest {
+
+    private final List<ClothingItem> items = List.of(
+            new ClothingItem("T1", "Black Tee", ClothingCategory.TOP, 45.0, "casual", "black", true),
+            new ClothingItem("T2", "White Shirt", ClothingCategory.TOP, 40.0, "Smart-Casual", "white", true),
+            new ClothingItem("T3", "Navy Polo", ClothingCategory.TOP, 15.0, "casual", "navy", false),
+            new ClothingItem("T4", "Red Jersey", ClothingCategory.TOP, 20.0, "sport", "red", true),
+            new ClothingItem("T5", "Gray Tee", ClothingCategory.TOP, 25.0, "casual", "gray", true),
+            new ClothingItem("B1", "Black Jeans", ClothingCategory.BOTTOM, 30.0, "casual", "black", true));
+
+    @Test
+    public void query_stylesCategoryPriceAndStock() {
+        CatalogIndex index = CatalogIndex.of(items);
+
+        List<ClothingItem> found = index.find(CatalogQuery.all()
+                .categories(ClothingCategory.TOP)
+                .styles("casual", "smart-casual")
+                .maxPrice(40.0)
+                .inStockOnly());
+
+        assertEquals(List.of("T2", "T5"), ids(found));
+    }
+
+    @Test
+    public void query_colorsAcrossCategories() {
+        CatalogIndex index = CatalogIndex.of(items);
+
+        assertEquals(List.of("T1", "B1"), ids(index.find(CatalogQuery.all().colors("Black"))));
+    }
+
+    @Test
+    public void query_matchesLinearScanOnSampleCatalog() {
+        List<ClothingItem> catalog = SampleCatalog.generate(2000, new Random(7));
+        CatalogIndex index = CatalogIndex.of(catalog);
+
+        List<ClothingItem> found = index.find(CatalogQuery.all()
+                .categories(ClothingCategory.TOP, ClothingCategory.SHOES)
+                .styles("casual", "outdoor")
+                .maxPrice(60.0)
+                .inStockOnly());
+
+        List<ClothingItem> expected = catalog.stream()
+                .filter(item -> item.getCategory() == ClothingCategory.TOP || item.getCategory() == ClothingCategory.SHOES)
+                .filter(item -> item.getStyle().equals("casual") || item.getStyle().equals("outdoor"))
+                .filter(item -> item.getPrice() <= 60.0)
+                .filter(ClothingItem::isInStock)
+                .collect(Collectors.toList());
+        assertEquals(ids(expected), ids(found));
+    }
+
+    @Test
+    public void query_storesMatchesLinearScan() {
+        List<ClothingItem> catalog = SampleCatalog.generate(2000, new Random(7));
+        List<Store> stores = SampleCatalog.generateStores(10, new Random(7));
+        SampleCatalog.assignStores(catalog, stores, new Random(7));
+        CatalogIndex index = CatalogIndex.of(catalog);
+
+        List<ClothingItem> found = index.find(CatalogQuery.all()
+                .categories(ClothingCategory.BOTTOM)
+                .stores("ST2", "ST5"));
+
+        List<ClothingItem> expected = catalog.stream()
+                .filter(item -> item.getCategory() == ClothingCategory.BOTTOM)
+                .filter(item -> item.getStore().getId().equals("ST2") || item.getStore().getId().equals("ST5"))
+                .collect(Collectors.toList());
+        assertEquals(ids(expected), ids(found));
+    }
+
+    @Test
+    public void query_sizesMatchesLinearScan() {
+        List<ClothingItem> catalog = SampleCatalog.generate(2000, new Random(7));
+        SampleCatalog.assignSizeStock(catalog, new Random(7));
+        CatalogIndex index = CatalogIndex.of(catalog);
+        SizeProfile sizes = SizeProfile.parse("top:M,shoes:42");
+
+        List<ClothingItem> found = index.find(CatalogQuery.all().sizes(sizes));
+
+        List<ClothingItem> expected = catalog.stream()
+                .filter(item -> item.isStockedIn(sizes.maskOf(item.getCategory())))
+                .collect(Collectors.toList());
+        assertEquals(ids(expected), ids(found));
+        assertTrue(found.size() < catalog.size());
+        assertTrue(found.stream().anyMatch(item -> item.getCategory() == ClothingCategory.BOTTOM));
+    }
+
+    @Test
+    public void query_cheapestPerGroupKeepsCheapestEligibleItems() {
+        CatalogIndex index = CatalogIndex.of(items);
+
+        List<ClothingItem> found = index.find(CatalogQuery.all().styles("casual").inStockOnly().cheapestPerGroup(1));
+
+        // T3 is the cheapest navy casual top but out of stock, so its group has no item
+        assertEquals(List.of("T1", "T5", "B1"), ids(found));
+        assertEquals(6, index.groupCount());
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private List<String> ids(List<ClothingItem> items) {
+        return items.stream().map(ClothingItem::getId).collect(Collectors.toList());
+    }
+}
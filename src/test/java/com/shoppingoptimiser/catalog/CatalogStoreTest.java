@@ -0,0 +1,139 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.SizeProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for CatalogStore - writing a catalog to disk and answering the same queries as CatalogIndex.
+ */
+public class CatalogStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void find_sameItemsAsCatalogIndex() throws IOException {
+        List<ClothingItem> catalog = sampleCatalog();
+        CatalogIndex index = CatalogIndex.of(catalog);
+
+        try (CatalogStore store = write(catalog)) {
+            assertEquals(catalog.size(), store.size());
+            for (CatalogQuery query : List.of(
+                    CatalogQuery.all(),
+                    CatalogQuery.all().inStockOnly().maxPrice(60),
+                    CatalogQuery.all().categories(ClothingCategory.TOP, ClothingCategory.SHOES)
+                            .styles("casual", "Smart-Casual").colors("navy"),
+                    CatalogQuery.all().stores("ST2", "ST5").sizes(SizeProfile.parse("top:M,shoes:42")))) {
+                assertEquals(sortedIds(index.find(query)), sortedIds(store.find(query)));
+            }
+        }
+    }
+
+    @Test
+    public void find_bucketsCheapestFirst() throws IOException {
+        try (CatalogStore store = write(sampleCatalog())) {
+            List<ClothingItem> found = store.find(CatalogQuery.all().categories(ClothingCategory.BOTTOM)
+                    .styles("casual").colors("black").maxPrice(80));
+
+            assertTrue(found.size() > 1);
+            for (int i = 1; i < found.size(); i++) {
+                assertTrue(found.get(i - 1).getPrice() <= found.get(i).getPrice());
+                assertTrue(found.get(i).getPrice() <= 80.0);
+            }
+        }
+    }
+
+    @Test
+    public void find_itemsRoundTrip() throws IOException {
+        List<ClothingItem> catalog = sampleCatalog();
+        Map<String, ClothingItem> byId = catalog.stream()
+                .collect(Collectors.toMap(ClothingItem::getId, Function.identity()));
+
+        try (CatalogStore store = write(catalog)) {
+            for (ClothingItem item : store.find(CatalogQuery.all())) {
+                ClothingItem original = byId.get(item.getId());
+                assertNotNull(original);
+                assertEquals(original.getName(), item.getName());
+                assertEquals(original.getCategory(), item.getCategory());
+                assertEquals(original.getPriceCents(), item.getPriceCents());
+                assertEquals(original.getStyle(), item.getStyle());
+                assertEquals(original.getColorId(), item.getColorId());
+                assertEquals(original.isInStock(), item.isInStock());
+                assertEquals(original.getSizeStock(), item.getSizeStock());
+                assertEquals(original.getStore().getId(), item.getStore().getId());
+                assertEquals(original.getStore().getShippingFee(), item.getStore().getShippingFee());
+            }
+        }
+    }
+
+    @Test
+    public void open_otherFile_throwsIOException() throws IOException {
+        Path file = directory.resolve("not-a-store.bin");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> CatalogStore.open(file));
+    }
+
+    @Test
+    public void close_failure_throwsCauseAndRemovesSpillsAndTemporaryFile() throws IOException {
+        Path file = directory.resolve("catalog.store");
+        CatalogStore.Writer writer = CatalogStore.create(file);
+        for (ClothingItem item : sampleCatalog()) {
+            writer.add(item);
+        }
+        Path spillDirectory;
+        try (Stream<Path> files = Files.list(directory)) {
+            spillDirectory = files.filter(Files::isDirectory).findFirst().orElseThrow();
+        }
+        Files.delete(spillDirectory.resolve("bucket3"));
+
+        assertThrows(NoSuchFileException.class, writer::close);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(), files.collect(Collectors.toList()));
+        }
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private List<ClothingItem> sampleCatalog() {
+        List<ClothingItem> catalog = SampleCatalog.generate(2000, new Random(7));
+        SampleCatalog.assignSizeStock(catalog, new Random(7));
+        SampleCatalog.assignStores(catalog, SampleCatalog.generateStores(10, new Random(7)), new Random(7));
+        return catalog;
+    }
+
+    private CatalogStore write(List<ClothingItem> catalog) throws IOException {
+        Path file = directory.resolve("catalog.store");
+        try (CatalogStore.Writer writer = CatalogStore.create(file)) {
+            for (ClothingItem item : catalog) {
+                writer.add(item);
+            }
+        }
+        return CatalogStore.open(file);
+    }
+
+    private List<String> sortedIds(List<ClothingItem> items) {
+        return items.stream().map(ClothingItem::getId).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,153 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.Store;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for DeltaImporter - detecting the changes of a feed snapshot and applying them to a CatalogIndex.
+ */
+public class DeltaImporterTest {
+
+    @Test
+    public void diff_detectsInsertsUpdatesAndDeletes() {
+        DeltaImporter importer = new DeltaImporter(CatalogIndex.of(List.of(
+                item("T1", 45.0, true), item("T2", 40.0, true), item("T3", 15.0, false))));
+
+        CatalogDelta delta = importer.diff(List.of(
+                item("T1", 45.0, true), item("T2", 35.0, true), item("T4", 20.0, true)));
+
+        assertEquals(List.of("T4"), ids(delta.getInserted()));
+        assertEquals(List.of("T2"), ids(delta.getUpdated()));
+        assertEquals(List.of("T3"), ids(delta.getDeleted()));
+        assertEquals("1 inserted, 1 updated, 1 deleted", delta.toString());
+    }
+
+    @Test
+    public void importSnapshot_sameRows_emptyDelta() {
+        List<ClothingItem> catalog = SampleCatalog.generate(500, new Random(7));
+        DeltaImporter importer = new DeltaImporter(CatalogIndex.of(catalog));
+        List<ClothingItem> snapshot = new ArrayList<>();
+        for (ClothingItem item : catalog) {
+            ClothingItem copy = item(item.getId(), item.getPrice(), item.isInStock());
+            copy.setName(item.getName());
+            copy.setCategory(item.getCategory());
+            copy.setStyle(item.getStyle());
+            copy.setColor(item.getColor());
+            copy.setSelected(true); // Planning state is not part of the row
+            snapshot.add(copy);
+        }
+
+        assertTrue(importer.importSnapshot(snapshot).isEmpty());
+    }
+
+    @Test
+    public void diff_missingNameReadBackFromFeed_isNotAnUpdate() throws IOException {
+        ClothingItem unnamed = item("T1", 45.0, true);
+        unnamed.setName(null);
+        DeltaImporter importer = new DeltaImporter(CatalogIndex.of(List.of(unnamed)));
+        StringWriter feed = new StringWriter();
+        CatalogFeed.write(List.of(unnamed), feed);
+
+        CatalogDelta delta = importer.diff(CatalogFeed.read(new StringReader(feed.toString()), List.of()));
+
+        assertTrue(delta.isEmpty(), delta.toString());
+    }
+
+    @Test
+    public void importSnapshot_indexAnswersLikeRebuiltIndex() {
+        List<ClothingItem> catalog = SampleCatalog.generate(2000, new Random(7));
+        SampleCatalog.assignSizeStock(catalog, new Random(7));
+        List<Store> stores = SampleCatalog.generateStores(5, new Random(7));
+        SampleCatalog.assignStores(catalog, stores, new Random(7));
+        CatalogIndex index = CatalogIndex.of(catalog);
+        DeltaImporter importer = new DeltaImporter(index);
+        Random random = new Random(8);
+
+        List<ClothingItem> snapshot = catalog;
+        for (int i = 0; i < 3; i++) {
+            snapshot = SampleCatalog.nextSnapshot(snapshot, 0.1, random);
+            CatalogDelta delta = importer.importSnapshot(snapshot);
+            assertTrue(delta.getInserted().size() > 0 && delta.getUpdated().size() > 0 && delta.getDeleted().size() > 0);
+        }
+
+        CatalogIndex rebuilt = CatalogIndex.of(snapshot);
+        assertEquals(rebuilt.size(), index.size());
+        for (CatalogQuery query : List.of(
+                CatalogQuery.all(),
+                CatalogQuery.all().inStockOnly().maxPrice(60.0),
+                CatalogQuery.all().categories(ClothingCategory.TOP).styles("casual").stores("ST2", "ST4"),
+                CatalogQuery.all().sizes(SizeProfile.parse("top:M,shoes:42")).colors("navy", "black"))) {
+            assertEquals(sortedIds(rebuilt.find(query)), sortedIds(index.find(query)));
+            assertEquals(sortedIds(rebuilt.find(query)),
+                    sortedIds(snapshot.stream().filter(query::matches).collect(Collectors.toList())));
+        }
+        assertNull(index.get(importer.diff(catalog).getInserted().get(0).getId()));
+    }
+
+    @Test
+    public void importSnapshot_manyDeltas_indexStaysBounded() {
+        List<ClothingItem> snapshot = SampleCatalog.generate(2000, new Random(9));
+        SampleCatalog.assignStores(snapshot, SampleCatalog.generateStores(3, new Random(9)), new Random(9));
+        CatalogIndex index = CatalogIndex.of(snapshot);
+        DeltaImporter importer = new DeltaImporter(index);
+        Random random = new Random(10);
+
+        for (int i = 0; i < 50; i++) {
+            snapshot = SampleCatalog.nextSnapshot(snapshot, 0.1, random);
+            importer.importSnapshot(snapshot);
+            assertTrue(index.capacity() <= index.size() / (1 - CatalogIndex.MAX_DEAD_SHARE),
+                    index.capacity() + " positions for " + index.size() + " items");
+        }
+
+        assertEquals(snapshot.size(), index.size());
+        for (CatalogQuery query : List.of(
+                CatalogQuery.all(),
+                CatalogQuery.all().inStockOnly().maxPrice(60.0).stores("ST1"),
+                CatalogQuery.all().styles("casual").cheapestPerGroup(2))) {
+            assertEquals(sortedIds(CatalogIndex.of(snapshot).find(query)), sortedIds(index.find(query)));
+        }
+        for (ClothingItem item : snapshot) {
+            assertEquals(DeltaImporter.hash(item), DeltaImporter.hash(index.get(item.getId())));
+        }
+    }
+
+    @Test
+    public void apply_insertedItemAlreadyIndexed_throws() {
+        CatalogIndex index = CatalogIndex.of(List.of(item("T1", 45.0, true)));
+
+        assertThrows(IllegalArgumentException.class, () -> index.apply(
+                new CatalogDelta(List.of(item("T1", 40.0, true)), List.of(), List.of())));
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private ClothingItem item(String id, double price, boolean inStock) {
+        return new ClothingItem(id, "Tee " + id, ClothingCategory.TOP, price, "casual", "black", inStock);
+    }
+
+    private List<String> ids(List<ClothingItem> items) {
+        return items.stream().map(ClothingItem::getId).collect(Collectors.toList());
+    }
+
+    private List<String> sortedIds(List<ClothingItem> items) {
+        return items.stream().map(ClothingItem::getId).sorted().collect(Collectors.toList());
+    }
+}
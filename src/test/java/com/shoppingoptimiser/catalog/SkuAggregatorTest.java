@@ -0,0 +1,99 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.AggregatedWardrobeSolution;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.SkuGroup;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SkuAggregator - grouping interchangeable items and expanding solved groups.
+ */
+public class SkuAggregatorTest {
+
+    private final SkuAggregator aggregator = new SkuAggregator();
+
+    @Test
+    public void aggregate_groupsInterchangeableItems() {
+        List<ClothingItem> items = List.of(
+                new ClothingItem("T1", "Black Tee", ClothingCategory.TOP, 20.0, "casual", "black", true),
+                new ClothingItem("T2", "Black Polo", ClothingCategory.TOP, 20.0, "casual", "Black", true),
+                new ClothingItem("T3", "Black Tee", ClothingCategory.TOP, 25.0, "casual", "black", true),
+                new ClothingItem("T4", "Black Tee", ClothingCategory.TOP, 20.0, "casual", "black", false),
+                new ClothingItem("B1", "Black Jeans", ClothingCategory.BOTTOM, 20.0, "casual", "black", true));
+
+        AggregatedWardrobeSolution aggregated = aggregator.aggregate(new WardrobeSolution(items, 100.0, null));
+
+        assertEquals(4, aggregated.getGroups().size());
+        assertEquals(List.of("T1", "T2"), aggregated.getGroups().get(0).getItemIds());
+        assertEquals(5, aggregated.getItemCount());
+        assertEquals(100.0, aggregated.getBudget().getAmount(), 0.001);
+    }
+
+    @Test
+    public void aggregate_ownedItems_formPinnedGroupsAtFullQuantity() {
+        List<ClothingItem> items = List.of(
+                ClothingItem.owned("W1", "Black Tee", ClothingCategory.TOP, "casual", "black"),
+                ClothingItem.owned("W2", "Black Tee", ClothingCategory.TOP, "casual", "black"),
+                new ClothingItem("T1", "Black Tee", ClothingCategory.TOP, 0.0, "casual", "black", true));
+
+        AggregatedWardrobeSolution aggregated = aggregator.aggregate(new WardrobeSolution(items, 100.0, null));
+
+        assertEquals(2, aggregated.getGroups().size());
+        SkuGroup owned = aggregated.getGroups().get(0);
+        assertTrue(owned.isOwned());
+        assertEquals(2, owned.getQuantity());
+        assertFalse(aggregated.getGroups().get(1).isOwned());
+    }
+
+    @Test
+    public void aggregate_sameItemForDifferentShoppers_staysInSeparateGroups() {
+        Shopper alice = new Shopper(0, "Alice", List.of("casual"));
+        Shopper bob = new Shopper(1, "Bob", List.of());
+        List<ClothingItem> items = new ArrayList<>();
+        for (Shopper shopper : List.of(alice, bob, alice)) {
+            ClothingItem item = new ClothingItem(shopper.getId() + items.size(), "Black Tee", ClothingCategory.TOP,
+                    20.0, "casual", "black", true);
+            item.setShopper(shopper);
+            items.add(item);
+        }
+
+        AggregatedWardrobeSolution aggregated = aggregator.aggregate(new WardrobeSolution(items, 100.0, null));
+
+        assertEquals(2, aggregated.getGroups().size());
+        assertEquals(alice, aggregated.getGroups().get(0).getShopper());
+        assertEquals(2, aggregated.getGroups().get(0).getAvailable());
+        assertEquals(List.of(alice, bob), aggregated.getShoppers());
+        assertTrue(aggregated.getStylePreference().matches(aggregated.getGroups().get(0).getStyleMask(), alice));
+        assertFalse(aggregated.getStylePreference().matches(aggregated.getGroups().get(1).getStyleMask(), bob));
+    }
+
+    @Test
+    public void expand_selectsQuantityItemsPerGroup() {
+        ClothingItem first = new ClothingItem("T1", "Black Tee", ClothingCategory.TOP, 20.0, "casual", "black", true);
+        ClothingItem second = new ClothingItem("T2", "Black Tee", ClothingCategory.TOP, 20.0, "casual", "black", true);
+        ClothingItem third = new ClothingItem("T3", "Black Tee", ClothingCategory.TOP, 20.0, "casual", "black", true);
+        WardrobeSolution problem = new WardrobeSolution(List.of(first, second, third), 100.0, null);
+
+        AggregatedWardrobeSolution aggregated = aggregator.aggregate(problem);
+        SkuGroup group = aggregated.getGroups().get(0);
+        group.setQuantity(2);
+
+        WardrobeSolution expanded = aggregator.expand(aggregated, problem);
+
+        assertTrue(first.isSelected());
+        assertTrue(second.isSelected());
+        assertFalse(third.isSelected());
+        assertEquals(2, expanded.getCategoryCount(ClothingCategory.TOP));
+        assertEquals(40.0, expanded.getTotalCost(), 0.001);
+    }
+}
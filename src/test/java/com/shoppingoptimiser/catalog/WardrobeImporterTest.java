@@ -0,0 +1,60 @@
+package com.shoppingoptimiser.catalog;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for WardrobeImporter - reading owned items from CSV lines.
+ */
+public class WardrobeImporterTest {
+
+    @Test
+    public void read_validLines_returnsPinnedFreeSelectedItems() throws IOException {
+        List<ClothingItem> items = read("Blue Jeans,bottom,casual,Blue\nBrown Boots,SHOES,casual,brown\n");
+
+        assertEquals(2, items.size());
+        ClothingItem jeans = items.get(0);
+        assertEquals("W1", jeans.getId());
+        assertEquals("Blue Jeans", jeans.getName());
+        assertEquals(ClothingCategory.BOTTOM, jeans.getCategory());
+        assertEquals("blue", jeans.getColor());
+        assertEquals(0L, jeans.getPriceCents());
+        assertTrue(jeans.isOwned());
+        assertTrue(jeans.isSelected());
+        assertEquals("W2", items.get(1).getId());
+    }
+
+    @Test
+    public void read_headerBlankLinesAndComments_areSkipped() throws IOException {
+        List<ClothingItem> items = read("name,category,style,color\n\n# winter\nGrey Hoodie,top,casual,gray\n");
+
+        assertEquals(1, items.size());
+        assertEquals("Grey Hoodie", items.get(0).getName());
+    }
+
+    @Test
+    public void read_invalidLine_throwsIllegalArgumentException() {
+        IllegalArgumentException wrongFields = assertThrows(IllegalArgumentException.class,
+                () -> read("Grey Hoodie,top,casual\n"));
+        assertTrue(wrongFields.getMessage().startsWith("Line 1 "));
+
+        IllegalArgumentException unknownCategory = assertThrows(IllegalArgumentException.class,
+                () -> read("# hats\nBeanie,hat,casual,black\n"));
+        assertTrue(unknownCategory.getMessage().startsWith("Line 2 "));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private List<ClothingItem> read(String csv) throws IOException {
+        return WardrobeImporter.read(new StringReader(csv));
+    }
+}
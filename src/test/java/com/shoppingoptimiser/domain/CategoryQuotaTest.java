@@ -0,0 +1,73 @@
+package com.shoppingoptimiser.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for CategoryQuota - the defaults, parsing overrides and measuring violations.
+ */
+public class CategoryQuotaTest {
+
+    @Test
+    public void defaults_essentialCategories_needOneItem() {
+        List<CategoryQuota> quotas = CategoryQuota.defaults();
+
+        assertEquals(ClothingCategory.values().length, quotas.size());
+        assertEquals(1, quota(quotas, ClothingCategory.SHOES).getMinCount());
+        assertEquals(0, quota(quotas, ClothingCategory.OUTERWEAR).getMinCount());
+        assertEquals(CategoryQuota.UNBOUNDED, quota(quotas, ClothingCategory.ACCESSORY).getMaxCount());
+    }
+
+    @Test
+    public void parse_overrides_replaceOnlyTheirCategory() {
+        List<CategoryQuota> quotas = CategoryQuota.parse("outerwear:1-1, ACCESSORY:0-2, top:2-");
+
+        assertEquals(ClothingCategory.values().length, quotas.size());
+        assertEquals(1, quota(quotas, ClothingCategory.OUTERWEAR).getMaxCount());
+        assertEquals(2, quota(quotas, ClothingCategory.ACCESSORY).getMaxCount());
+        assertEquals(2, quota(quotas, ClothingCategory.TOP).getMinCount());
+        assertEquals(CategoryQuota.UNBOUNDED, quota(quotas, ClothingCategory.TOP).getMaxCount());
+        assertEquals(1, quota(quotas, ClothingCategory.BOTTOM).getMinCount());
+    }
+
+    @Test
+    public void parse_invalidQuota_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CategoryQuota.parse("hats:1-2"));
+        assertThrows(IllegalArgumentException.class, () -> CategoryQuota.parse("top:3-1"));
+        assertThrows(IllegalArgumentException.class, () -> CategoryQuota.parse("top:1"));
+        assertThrows(IllegalArgumentException.class, () -> CategoryQuota.parse("top:x-2"));
+    }
+
+    @Test
+    public void perShopper_copiesEveryQuotaForEveryShopper() {
+        Shopper alice = new Shopper(0, "Alice", List.of());
+        Shopper bob = new Shopper(1, "Bob", List.of());
+
+        List<CategoryQuota> quotas = CategoryQuota.perShopper(CategoryQuota.parse("top:2-"), List.of(alice, bob));
+
+        assertEquals(2 * ClothingCategory.values().length, quotas.size());
+        assertEquals(bob, quotas.get(quotas.size() - 1).getShopper());
+        assertEquals(2, quotas.stream()
+                .filter(quota -> quota.getShopper() == bob && quota.getCategory() == ClothingCategory.TOP)
+                .findFirst().orElseThrow().getMinCount());
+    }
+
+    @Test
+    public void violation_outsideRange_countsMissingOrExtraItems() {
+        CategoryQuota quota = new CategoryQuota(ClothingCategory.TOP, 2, 4);
+
+        assertEquals(2, quota.violation(0));
+        assertEquals(0, quota.violation(3));
+        assertEquals(3, quota.violation(7));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private CategoryQuota quota(List<CategoryQuota> quotas, ClothingCategory category) {
+        return quotas.stream().filter(quota -> quota.getCategory() == category).findFirst().orElseThrow();
+    }
+}
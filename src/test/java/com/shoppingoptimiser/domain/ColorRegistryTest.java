@@ -0,0 +1,89 @@
+package com.shoppingoptimiser.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ColorRegistry - palette parsing, dense ids and the clash matrix.
+ */
+public class ColorRegistryTest {
+
+    @Test
+    public void load_assignsDenseIdsInFileOrder() throws IOException {
+        ColorRegistry colors = load("# comment\n"
+                + "black = #000000 neutral\n"
+                + "\n"
+                + "Red = #FF0000 accent\n");
+
+        assertEquals(2, colors.size());
+        assertEquals(0, colors.idOf("black"));
+        assertEquals(1, colors.idOf("RED"));
+        assertTrue(colors.isNeutral(0));
+        assertFalse(colors.isNeutral(1));
+        assertEquals(0xFF0000, colors.rgbOf(1));
+    }
+
+    @Test
+    public void clashes_isSymmetricAndIncludesSameColor() throws IOException {
+        ColorRegistry colors = load("red = #FF0000 accent clashes orange\n"
+                + "orange = #FFA500 accent\n"
+                + "black = #000000 neutral\n");
+        int red = colors.idOf("red");
+        int orange = colors.idOf("orange");
+        int black = colors.idOf("black");
+
+        assertTrue(colors.clashes(red, orange));
+        assertTrue(colors.clashes(orange, red));
+        assertTrue(colors.clashes(black, black));
+        assertFalse(colors.clashes(red, black));
+        assertArrayEquals(new int[]{orange, red}, colors.clashesOf(orange));
+    }
+
+    @Test
+    public void idOf_appendsUnknownColorKeepingClashes() throws IOException {
+        ColorRegistry colors = load("red = #FF0000 accent clashes orange\n"
+                + "orange = #FFA500 accent\n");
+
+        int teal = colors.idOf("teal");
+
+        assertEquals(2, teal);
+        assertEquals(teal, colors.idOf("Teal"));
+        assertFalse(colors.isNeutral(teal));
+        assertTrue(colors.clashes(teal, teal));
+        assertFalse(colors.clashes(teal, colors.idOf("red")));
+        assertTrue(colors.clashes(colors.idOf("red"), colors.idOf("orange")));
+    }
+
+    @Test
+    public void load_invalidDefinition_throws() {
+        assertThrows(IllegalArgumentException.class, () -> load("black = neutral\n"));
+        assertThrows(IllegalArgumentException.class, () -> load("black = #000000 dark\n"));
+        assertThrows(IllegalArgumentException.class, () -> load("red = #FF0000 accent clashes pink\n"));
+        assertThrows(IllegalArgumentException.class, () -> load("red = #FF0000 accent\nRED = #FF0000 accent\n"));
+    }
+
+    @Test
+    public void getDefault_loadsBundledPalette() {
+        ColorRegistry colors = ColorRegistry.getDefault();
+
+        assertTrue(colors.isNeutral(colors.idOf("navy")));
+        assertFalse(colors.isNeutral(colors.idOf("orange")));
+        assertFalse(colors.clashes(colors.idOf("gray"), colors.idOf("grey")));
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private ColorRegistry load(String palette) throws IOException {
+        return ColorRegistry.load(new StringReader(palette));
+    }
+}
@@ -0,0 +1,57 @@
+package com.shoppingoptimiser.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for CoverageDeadline - the defaults, parsing overrides and measuring shortfalls.
+ */
+public class CoverageDeadlineTest {
+
+    @Test
+    public void defaults_outfitCategories_neededInTheFirstPeriod() {
+        List<CoverageDeadline> deadlines = CoverageDeadline.defaults();
+
+        assertEquals(3, deadlines.size());
+        assertEquals(1, deadline(deadlines, ClothingCategory.SHOES).getMinCount());
+        assertEquals(0, deadline(deadlines, ClothingCategory.SHOES).getPeriodIndex());
+    }
+
+    @Test
+    public void parse_overrides_replaceOrAddTheirCategory() {
+        List<CoverageDeadline> deadlines = CoverageDeadline.parse("outerwear:1@3, TOP:3@2");
+
+        assertEquals(4, deadlines.size());
+        assertEquals(2, deadline(deadlines, ClothingCategory.OUTERWEAR).getPeriodIndex());
+        assertEquals(3, deadline(deadlines, ClothingCategory.TOP).getMinCount());
+        assertEquals(1, deadline(deadlines, ClothingCategory.TOP).getPeriodIndex());
+        assertEquals(0, deadline(deadlines, ClothingCategory.BOTTOM).getPeriodIndex());
+    }
+
+    @Test
+    public void parse_invalidDeadline_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CoverageDeadline.parse("hats:1@2"));
+        assertThrows(IllegalArgumentException.class, () -> CoverageDeadline.parse("top:1"));
+        assertThrows(IllegalArgumentException.class, () -> CoverageDeadline.parse("top:x@2"));
+        assertThrows(IllegalArgumentException.class, () -> CoverageDeadline.parse("top:1@0"));
+        assertThrows(IllegalArgumentException.class, () -> CoverageDeadline.parse("top:0@2"));
+    }
+
+    @Test
+    public void shortfall_belowMinimum_missingCount() {
+        CoverageDeadline deadline = new CoverageDeadline(ClothingCategory.TOP, 3, 1);
+
+        assertEquals(2, deadline.shortfall(1));
+        assertEquals(0, deadline.shortfall(4));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private CoverageDeadline deadline(List<CoverageDeadline> deadlines, ClothingCategory category) {
+        return deadlines.stream().filter(deadline -> deadline.getCategory() == category).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,92 @@
+package com.shoppingoptimiser.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SelectionIndex - the incrementally maintained selection view of a WardrobeSolution.
+ */
+public class SelectionIndexTest {
+
+    @Test
+    public void of_countsOnlySelectedItems() {
+        ClothingItem top = createItem("1", ClothingCategory.TOP, 20.0, true);
+        ClothingItem bottom = createItem("2", ClothingCategory.BOTTOM, 35.5, true);
+        ClothingItem shoes = createItem("3", ClothingCategory.SHOES, 60.0, false);
+
+        SelectionIndex index = SelectionIndex.of(List.of(top, bottom, shoes));
+
+        assertEquals(2, index.getSelectedCount());
+        assertEquals(5550L, index.getTotalCostCents());
+        assertEquals(1, index.getCategoryCount(ClothingCategory.TOP));
+        assertEquals(1, index.getCategoryCount(ClothingCategory.BOTTOM));
+        assertEquals(0, index.getCategoryCount(ClothingCategory.SHOES));
+        assertTrue(top.getIndexedSelected());
+        assertEquals(Boolean.FALSE, shoes.getIndexedSelected());
+    }
+
+    @Test
+    public void addAndRemove_updateRunningTotals() {
+        ClothingItem top = createItem("1", ClothingCategory.TOP, 20.0, false);
+        ClothingItem otherTop = createItem("2", ClothingCategory.TOP, 15.0, false);
+        SelectionIndex index = SelectionIndex.of(List.of(top, otherTop));
+
+        index.add(top);
+        index.add(otherTop);
+        index.add(top); // Adding twice must not double count
+        assertEquals(2, index.getCategoryCount(ClothingCategory.TOP));
+        assertEquals(3500L, index.getTotalCostCents());
+        assertEquals(List.of(top, otherTop), index.getSelectedItems(ClothingCategory.TOP));
+
+        index.remove(top);
+        index.remove(top); // Removing twice must not double count
+        assertEquals(1, index.getSelectedCount());
+        assertEquals(1500L, index.getTotalCostCents());
+    }
+
+    @Test
+    public void rebuild_picksUpChangesMadeOutsideTheSolver() {
+        ClothingItem top = createItem("1", ClothingCategory.TOP, 20.0, false);
+        WardrobeSolution solution = new WardrobeSolution(List.of(top), 100.0, null);
+        assertEquals(0, solution.getSelectedCount());
+
+        top.setSelected(true);
+        solution.refreshSelectionIndex();
+
+        assertEquals(1, solution.getSelectedCount());
+        assertEquals(20.0, solution.getTotalCost(), 0.001);
+    }
+
+    @Test
+    public void getTotalCost_addsShippingOncePerStoreUsed() {
+        Store store = new Store("A", "Store A", 5.0, 50.0);
+        ClothingItem top = createItem("1", ClothingCategory.TOP, 20.0, true);
+        top.setStore(store);
+        ClothingItem bottom = createItem("2", ClothingCategory.BOTTOM, 20.0, true);
+        bottom.setStore(store);
+        ClothingItem shoes = createItem("3", ClothingCategory.SHOES, 60.0, false);
+        shoes.setStore(store);
+        WardrobeSolution solution = new WardrobeSolution(List.of(top, bottom, shoes), 100.0, null);
+
+        assertEquals(List.of(store), solution.getStores());
+        assertEquals(5.0, solution.getShippingCost(), 0.001);
+        assertEquals(45.0, solution.getTotalCost(), 0.001);
+
+        shoes.setSelected(true);
+        solution.refreshSelectionIndex();
+
+        // $100 at the store reaches its free shipping threshold
+        assertEquals(0.0, solution.getShippingCost(), 0.001);
+        assertEquals(100.0, solution.getTotalCost(), 0.001);
+    }
+
+    private ClothingItem createItem(String id, ClothingCategory category, double price, boolean selected) {
+        ClothingItem item = new ClothingItem(id, "Item " + id, category, price, "casual", "blue", true);
+        item.setSelected(selected);
+        return item;
+    }
+}
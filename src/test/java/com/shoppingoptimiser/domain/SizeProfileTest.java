@@ -0,0 +1,49 @@
+package com.shoppingoptimiser.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SizeProfile - size masks, parsing and categories without a size.
+ */
+public class SizeProfileTest {
+
+    @Test
+    public void maskOf_size_bitOfItsPositionInTheChart() {
+        assertEquals(1L, SizeProfile.maskOf(ClothingCategory.TOP, "xs"));
+        assertEquals(1L << 5, SizeProfile.maskOf(ClothingCategory.SHOES, "42"));
+    }
+
+    @Test
+    public void parse_someCategories_othersMatchEverySize() {
+        SizeProfile sizes = SizeProfile.parse("top:M, shoes:42");
+
+        assertEquals(SizeProfile.maskOf(ClothingCategory.TOP, "M"), sizes.maskOf(ClothingCategory.TOP));
+        assertEquals(SizeProfile.maskOf(ClothingCategory.SHOES, "42"), sizes.maskOf(ClothingCategory.SHOES));
+        assertEquals(SizeProfile.ALL_SIZES, sizes.maskOf(ClothingCategory.BOTTOM));
+        assertEquals("TOP M, SHOES 42", sizes.toString());
+    }
+
+    @Test
+    public void parse_invalidSize_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> SizeProfile.parse("hats:M"));
+        assertThrows(IllegalArgumentException.class, () -> SizeProfile.parse("top:M:L"));
+        assertThrows(IllegalArgumentException.class, () -> SizeProfile.parse("shoes:M"));
+    }
+
+    @Test
+    public void isStockedIn_unsizedItem_inStockInEverySize() {
+        ClothingItem unsized = new ClothingItem("1", "Shirt", ClothingCategory.TOP, 20.0, "casual", "white", true);
+        ClothingItem sized = new ClothingItem("2", "Shirt", ClothingCategory.TOP, 20.0, "casual", "white", true);
+        sized.setSizeStock(SizeProfile.maskOf(ClothingCategory.TOP, "S") | SizeProfile.maskOf(ClothingCategory.TOP, "L"));
+        long medium = SizeProfile.maskOf(ClothingCategory.TOP, "M");
+
+        assertTrue(unsized.isStockedIn(medium));
+        assertFalse(sized.isStockedIn(medium));
+        assertTrue(sized.isStockedIn(SizeProfile.maskOf(ClothingCategory.TOP, "L")));
+    }
+}
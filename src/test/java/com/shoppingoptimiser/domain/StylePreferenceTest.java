@@ -0,0 +1,45 @@
+package com.shoppingoptimiser.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for StylePreference - the preferred styles as a bitmask.
+ */
+public class StylePreferenceTest {
+
+    @Test
+    public void maskOf_onlyPreferredStylesHaveBits() {
+        Shopper alice = new Shopper(0, "Alice", List.of("formal"));
+        StylePreference preference = StylePreference.of(List.of("Casual"), List.of(alice));
+
+        assertNotEquals(0L, preference.maskOf("casual"));
+        assertNotEquals(0L, preference.maskOf("formal"));
+        assertEquals(0L, preference.maskOf("sport"));
+        assertTrue(preference.matches(preference.maskOf("CASUAL")));
+        assertTrue(preference.matches(preference.maskOf("formal"), alice));
+        assertFalse(preference.matches(preference.maskOf("casual"), alice));
+    }
+
+    @Test
+    public void wardrobeSolution_moreStylesThanMaskBits_onlyPreferredMatch() {
+        List<ClothingItem> items = new ArrayList<>();
+        for (int i = 0; i < StylePreference.MAX_STYLES + 36; i++) {
+            items.add(new ClothingItem("T" + i, "Tee " + i, ClothingCategory.TOP, 10.0, "style-" + i, "black", true));
+        }
+
+        WardrobeSolution solution = new WardrobeSolution(items, 120.0, List.of("style-70"));
+
+        for (ClothingItem item : items) {
+            assertEquals(item.getStyle().equals("style-70"),
+                    solution.getStylePreference().matches(item.getStyleMask()), item.getStyle());
+        }
+    }
+}
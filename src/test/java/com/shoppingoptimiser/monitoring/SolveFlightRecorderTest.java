@@ -0,0 +1,89 @@
+package com.shoppingoptimiser.monitoring;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import com.shoppingoptimiser.solver.WardrobeConstraintProvider;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the JFR events - the bundled configuration and the events emitted during a solve.
+ */
+public class SolveFlightRecorderTest {
+
+    @Test
+    public void bundledConfiguration_enablesSolveEvents() throws Exception {
+        Configuration configuration = FlightRecording.bundledConfiguration();
+
+        assertEquals("true", configuration.getSettings().get("com.shoppingoptimiser.Solve#enabled"));
+        assertEquals("true", configuration.getSettings().get("com.shoppingoptimiser.NewBestSolution#enabled"));
+        assertEquals("true", configuration.getSettings().get("jdk.ExecutionSample#enabled"));
+    }
+
+    @Test
+    public void solve_emitsBootstrapSolveAndPhaseEvents(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("solve.jfr");
+        try (Recording recording = FlightRecording.start(file)) {
+            String solveLabel = "test";
+            Solver<WardrobeSolution> solver = SolveFlightRecorder.buildSolver(solveLabel,
+                    () -> SolverFactory.<WardrobeSolution>create(solverConfig()).buildSolver());
+            new SolveFlightRecorder<WardrobeSolution>(solveLabel).attachTo(solver);
+            solver.solve(problem());
+            recording.stop();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Map<String, Long> countByName = events.stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.shoppingoptimiser."))
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName(), Collectors.counting()));
+        assertEquals(1L, countByName.get("com.shoppingoptimiser.SolverBootstrap"));
+        assertEquals(1L, countByName.get("com.shoppingoptimiser.Solve"));
+        assertEquals(2L, countByName.get("com.shoppingoptimiser.SolverPhase"));
+
+        Map<String, RecordedEvent> phaseByType = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.shoppingoptimiser.SolverPhase"))
+                .collect(Collectors.toMap(event -> event.getString("phaseType"), Function.identity()));
+        assertTrue(phaseByType.containsKey("ConstructionHeuristic"));
+        assertTrue(phaseByType.get("LocalSearch").getInt("stepCount") > 0);
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private SolverConfig solverConfig() {
+        return new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(Duration.ofMillis(500)));
+    }
+
+    private WardrobeSolution problem() {
+        List<ClothingItem> items = List.of(
+                new ClothingItem("T1", "Black T-shirt", ClothingCategory.TOP, 20.0, "casual", "black", true),
+                new ClothingItem("T2", "White Polo", ClothingCategory.TOP, 25.0, "casual", "white", true),
+                new ClothingItem("B1", "Navy Chinos", ClothingCategory.BOTTOM, 35.0, "casual", "navy", true),
+                new ClothingItem("S1", "Brown Loafers", ClothingCategory.SHOES, 45.0, "casual", "brown", true));
+        return new WardrobeSolution(items, 120.0, List.of("casual"));
+    }
+}
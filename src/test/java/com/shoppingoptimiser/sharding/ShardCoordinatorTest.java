@@ -0,0 +1,120 @@
+package com.shoppingoptimiser.sharding;
+
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ShardCoordinator - price-ordered partitioning and an end-to-end solve on worker JVMs on localhost.
+ */
+public class ShardCoordinatorTest {
+
+    @Test
+    public void partitionByPrice_coversEveryItemOnceWithEveryPriceBand() {
+        List<ClothingItem> items = SampleCatalog.generate(500, new Random(42));
+
+        List<List<ClothingItem>> shards = ShardCoordinator.partitionByPrice(items, 3);
+
+        assertEquals(3, shards.size());
+        Set<ClothingItem> seen = new HashSet<>();
+        for (List<ClothingItem> shard : shards) {
+            seen.addAll(shard);
+            for (ClothingCategory category : ClothingCategory.values()) {
+                assertTrue(shard.stream().anyMatch(item -> item.getCategory() == category),
+                        "Every shard holds every category");
+            }
+        }
+        assertEquals(items.size(), seen.size());
+        assertEquals(items.size(), shards.stream().mapToInt(List::size).sum());
+        // Items are dealt in price order, so every shard has a top within one deal of the cheapest and dearest
+        List<ClothingItem> tops = items.stream()
+                .filter(item -> item.getCategory() == ClothingCategory.TOP)
+                .sorted(Comparator.comparingLong(ClothingItem::getPriceCents))
+                .collect(Collectors.toList());
+        for (List<ClothingItem> shard : shards) {
+            assertTrue(minPrice(shard, ClothingCategory.TOP) <= tops.get(2).getPrice());
+            assertTrue(maxPrice(shard, ClothingCategory.TOP) >= tops.get(tops.size() - 3).getPrice());
+        }
+    }
+
+    @Test
+    public void partitionByPrice_ownedItems_goToEveryShard() {
+        List<ClothingItem> items = new ArrayList<>(SampleCatalog.generate(60, new Random(42)));
+        ClothingItem owned = ClothingItem.owned("W1", "Brown Boots", ClothingCategory.SHOES, "casual", "brown");
+        items.add(owned);
+
+        List<List<ClothingItem>> shards = ShardCoordinator.partitionByPrice(items, 3);
+
+        for (List<ClothingItem> shard : shards) {
+            assertTrue(shard.contains(owned));
+        }
+        assertEquals(items.size() + 2, shards.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    public void parseWorkers_invalidAddress_throws() {
+        List<InetSocketAddress> workers = ShardCoordinator.parseWorkers("localhost:7001, 127.0.0.1:7002");
+
+        assertEquals(2, workers.size());
+        assertEquals(7002, workers.get(1).getPort());
+        assertThrows(IllegalArgumentException.class, () -> ShardCoordinator.parseWorkers("localhost"));
+        assertThrows(IllegalArgumentException.class, () -> ShardCoordinator.parseWorkers("localhost:http"));
+    }
+
+    @Test
+    public void solve_onLocalWorkers_returnsFeasibleBasketFromCatalog() throws IOException {
+        List<ClothingItem> items = SampleCatalog.generate(300, new Random(42)).stream()
+                .filter(ClothingItem::isInStock)
+                .collect(Collectors.toList());
+        WardrobeSolution problem = new WardrobeSolution(items, 120.0, List.of("casual", "smart-casual"));
+
+        try (LocalWorkerPool workers = LocalWorkerPool.start(2, List.of("-Xmx256m"))) {
+            ShardCoordinator coordinator = new ShardCoordinator(workers.getAddresses())
+                    .withShardTimeLimit(Duration.ofSeconds(3))
+                    .withRepairTimeLimit(Duration.ofSeconds(2));
+            WardrobeSolution solution = coordinator.solve(problem);
+
+            assertEquals(2, coordinator.getLastShardResults().size());
+            assertTrue(solution.getScore().isFeasible(), "Repaired basket must be feasible: " + solution.getScore());
+            assertTrue(solution.getTotalCost() <= 120.0);
+            Set<String> catalogIds = items.stream().map(ClothingItem::getId).collect(Collectors.toSet());
+            for (ClothingItem item : solution.getSelectedItems()) {
+                assertTrue(catalogIds.contains(item.getId()));
+            }
+            // The repair starts from the best partial basket, so it never ends up worse
+            coordinator.getLastShardResults().forEach(result ->
+                    assertTrue(solution.getScore().compareTo(result.getScore()) >= 0 || !result.getScore().isFeasible()));
+        }
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private double maxPrice(List<ClothingItem> shard, ClothingCategory category) {
+        return shard.stream().filter(item -> item.getCategory() == category)
+                .mapToDouble(ClothingItem::getPrice).max().orElseThrow();
+    }
+
+    private double minPrice(List<ClothingItem> shard, ClothingCategory category) {
+        return shard.stream().filter(item -> item.getCategory() == category)
+                .mapToDouble(ClothingItem::getPrice).min().orElseThrow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.shoppingoptimiser.sharding;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for ShardProtocol - round trips of solve requests and replies.
+ */
+public class ShardProtocolTest {
+
+    @Test
+    public void solveRequest_roundTripsItemsStoresQuotasAndSettings() throws IOException {
+        Store store = new Store("S1", "Corner Shop", 4.99, 50.0);
+        ClothingItem top = new ClothingItem("T1", "White Tee", ClothingCategory.TOP, 19.99, "casual", "white", true);
+        top.setStore(store);
+        ClothingItem shoes = new ClothingItem("S1", "Brown Boots", ClothingCategory.SHOES, 59.0, "formal", "brown", false);
+        top.setSelected(true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        WardrobeSolution shard = new WardrobeSolution(List.of(top, shoes), 120.0, List.of("casual"));
+        shard.setCategoryQuotas(CategoryQuota.parse("accessory:1-2"));
+
+        ShardProtocol.writeSolve(new DataOutputStream(bytes), shard, 1500L, 0.1);
+        DataInputStream in = input(bytes);
+        assertEquals(ShardProtocol.SOLVE, ShardProtocol.readType(in));
+        ShardProtocol.SolveRequest request = ShardProtocol.readSolve(in);
+
+        assertEquals(1500L, request.timeLimitMillis);
+        assertEquals(0.1, request.maxGap);
+        WardrobeSolution problem = request.problem;
+        assertEquals(120.0, problem.getBudget().getAmount());
+        assertEquals(List.of("casual"), problem.getPreferredStyles());
+        assertEquals(shard.getCategoryQuotas().toString(), problem.getCategoryQuotas().toString());
+        assertEquals(2, problem.getItems().size());
+        ClothingItem readTop = problem.getItems().get(0);
+        assertEquals("T1", readTop.getId());
+        assertEquals(ClothingCategory.TOP, readTop.getCategory());
+        assertEquals(19.99, readTop.getPrice());
+        assertEquals(top.getColorId(), readTop.getColorId());
+        assertEquals(false, readTop.isSelected());
+        assertEquals("Corner Shop", readTop.getStore().getName());
+        assertEquals(50.0, readTop.getStore().getFreeShippingThreshold());
+        assertSame(readTop.getStore(), problem.getStores().get(0));
+        ClothingItem readShoes = problem.getItems().get(1);
+        assertEquals(false, readShoes.isInStock());
+        assertNull(readShoes.getStore());
+    }
+
+    @Test
+    public void result_roundTripsScoreAndSelectedIds() throws IOException {
+        ClothingItem top = new ClothingItem("T1", "White Tee", ClothingCategory.TOP, 19.99, "casual", "white", true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ShardProtocol.writeResult(new DataOutputStream(bytes), HardSoftScore.of(0, 42), List.of(top));
+        ShardResult result = ShardProtocol.readResult(input(bytes));
+
+        assertEquals(HardSoftScore.of(0, 42), result.getScore());
+        assertEquals(List.of("T1"), result.getSelectedIds());
+    }
+
+    @Test
+    public void readResult_errorReply_throwsWithWorkerMessage() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ShardProtocol.writeError(new DataOutputStream(bytes), "out of memory");
+
+        IOException e = assertThrows(IOException.class, () -> ShardProtocol.readResult(input(bytes)));
+        assertEquals("The worker failed: out of memory", e.getMessage());
+    }
+
+    @Test
+    public void readType_wrongMagic_throws() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(1);
+        bytes.write(2);
+        bytes.write(3);
+        bytes.write(4);
+        bytes.write(ShardProtocol.SOLVE);
+
+        assertThrows(IOException.class, () -> ShardProtocol.readType(input(bytes)));
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private DataInputStream input(ByteArrayOutputStream bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.CatalogDelta;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for CatalogDeltaChange - applying catalog changes to a running solve.
+ */
+public class CatalogDeltaChangeTest {
+
+    @Test
+    public void doChange_duringSolve_solutionFollowsCatalog() {
+        List<ClothingItem> catalog = SampleCatalog.generate(300, new Random(1));
+        CatalogQuery candidateQuery = CatalogQuery.all().inStockOnly().maxPrice(120.0);
+        List<ClothingItem> candidates = catalog.stream().filter(candidateQuery::matches).collect(Collectors.toList());
+        List<ClothingItem> deleted = candidates.subList(0, 10);
+        List<ClothingItem> soldOut = copies(candidates.subList(10, 15));
+        soldOut.forEach(item -> item.setInStock(false));
+        List<ClothingItem> repriced = copies(candidates.subList(15, 20));
+        repriced.forEach(item -> item.setPrice(item.getPrice() - 5.0));
+        List<ClothingItem> inserted = SampleCatalog.generate(50, new Random(2));
+        inserted.forEach(item -> item.setId("N-" + item.getId()));
+        List<ClothingItem> updated = new ArrayList<>(soldOut);
+        updated.addAll(repriced);
+        CatalogDelta delta = new CatalogDelta(inserted, updated, deleted);
+
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(Duration.ofSeconds(2)));
+        SolverFactory<WardrobeSolution> solverFactory = SolverFactory.create(solverConfig);
+        Solver<WardrobeSolution> solver = solverFactory.buildSolver();
+        AtomicBoolean submitted = new AtomicBoolean();
+        solver.addEventListener(event -> {
+            if (submitted.compareAndSet(false, true)) {
+                solver.addProblemChange(new CatalogDeltaChange(delta, candidateQuery::matches));
+            }
+        });
+        WardrobeSolution solution = solver.solve(new WardrobeSolution(new ArrayList<>(candidates), 120.0, List.of("casual")));
+
+        Map<String, ClothingItem> byId = solution.getItems().stream()
+                .collect(Collectors.toMap(ClothingItem::getId, Function.identity()));
+        long insertedCandidates = inserted.stream().filter(candidateQuery::matches).count();
+        assertEquals(candidates.size() - 15 + insertedCandidates, solution.getItems().size());
+        deleted.forEach(item -> assertFalse(byId.containsKey(item.getId())));
+        soldOut.forEach(item -> assertFalse(byId.containsKey(item.getId())));
+        repriced.forEach(item -> assertEquals(item.getPrice(), byId.get(item.getId()).getPrice()));
+        inserted.stream().filter(candidateQuery::matches).forEach(item -> assertTrue(byId.containsKey(item.getId())));
+        assertEquals(SolutionManager.create(solverFactory).update(solution), solution.getScore());
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private List<ClothingItem> copies(List<ClothingItem> items) {
+        return items.stream()
+                .map(item -> new ClothingItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                        item.getStyle(), item.getColor(), item.isInStock()))
+                .collect(Collectors.toList());
+    }
+}
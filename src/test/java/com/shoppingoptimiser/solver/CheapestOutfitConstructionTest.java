@@ -0,0 +1,50 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for CheapestOutfitConstruction - the greedy starting basket of deadline solves.
+ */
+public class CheapestOutfitConstructionTest {
+
+    @Test
+    public void construct_sampleCatalog_isFeasibleAndMeetsQuotas() {
+        List<ClothingItem> candidates = SampleCatalog.generate(2000, new Random(3)).stream()
+                .filter(ClothingItem::isInStock)
+                .collect(Collectors.toList());
+        WardrobeSolution problem = new WardrobeSolution(candidates, 120.0, List.of("casual"));
+
+        int selected = CheapestOutfitConstruction.construct(problem);
+
+        HardSoftScore score = SolutionManager.<WardrobeSolution, HardSoftScore>create(
+                SolverProfile.INTERACTIVE.getSolverFactory()).update(problem);
+        assertTrue(score.isFeasible(), "Constructed basket scored " + score);
+        assertEquals(selected, problem.getSelectedItems().size());
+        for (CategoryQuota quota : CategoryQuota.defaults()) {
+            assertTrue(problem.getCategoryCount(quota.getCategory()) >= quota.getMinCount(), quota.toString());
+        }
+    }
+
+    @Test
+    public void construct_skipsOutOfStockItems() {
+        List<ClothingItem> items = SampleCatalog.generate(500, new Random(4));
+        WardrobeSolution problem = new WardrobeSolution(items, 120.0, List.of("casual"));
+
+        CheapestOutfitConstruction.construct(problem);
+
+        assertTrue(problem.getSelectedItems().stream().allMatch(ClothingItem::isInStock));
+    }
+}
@@ -0,0 +1,59 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ConvergenceRecorder - the fixed-size buffer and the exports.
+ */
+public class ConvergenceRecorderTest {
+
+    @Test
+    public void add_fullBuffer_keepsFirstPointAndHalvesResolution() {
+        ConvergenceRecorder<Object> recorder = new ConvergenceRecorder<>("run", 4);
+        for (int i = 0; i < 5; i++) {
+            recorder.add(i * 100L, 0, i, i, 1000L);
+        }
+
+        // Points 0..3 fill the buffer; compaction keeps 0 and 2, then 4 is appended
+        assertEquals(3, recorder.size());
+        assertEquals(0L, recorder.getTimeMillis(0));
+        assertEquals(200L, recorder.getTimeMillis(1));
+        assertEquals(HardSoftScore.of(0, 4), recorder.getBestScore(2));
+    }
+
+    @Test
+    public void writeCsv_writesHeaderAndOneRowPerPoint() throws IOException {
+        ConvergenceRecorder<Object> recorder = new ConvergenceRecorder<>("late \"acceptance\"");
+        recorder.add(250L, -1000, 15, 42L, 9000L);
+        recorder.add(900L, 0, 60, 4200L, 12000L);
+
+        StringWriter writer = new StringWriter();
+        recorder.writeCsv(writer);
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("label,timeMillis,hardScore,softScore,movesEvaluated,scoreCalculationSpeed", lines[0]);
+        assertEquals("\"late \"\"acceptance\"\"\",900,0,60,4200,12000", lines[2]);
+    }
+
+    @Test
+    public void writeJson_escapesLabelAndListsPoints() throws IOException {
+        ConvergenceRecorder<Object> recorder = new ConvergenceRecorder<>("tabu \"search\"");
+        recorder.add(250L, -1000, 15, 42L, 9000L);
+
+        StringWriter writer = new StringWriter();
+        recorder.writeJson(writer);
+
+        String json = writer.toString();
+        assertTrue(json.startsWith("{\"label\":\"tabu \\\"search\\\"\",\"points\":["));
+        assertTrue(json.contains("{\"timeMillis\":250,\"hardScore\":-1000,\"softScore\":15,"
+                + "\"movesEvaluated\":42,\"scoreCalculationSpeed\":9000}"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ConvergenceTermination - the improvement rate over the sliding window and its scaling with
+ * catalog size.
+ */
+public class ConvergenceTerminationTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void isConverged_beforeFirstWindow_returnsFalse() {
+        ConvergenceTermination<Object> termination = new ConvergenceTermination<>(1.0, Duration.ofSeconds(10));
+        termination.record(0L, HardSoftScore.of(0, 10));
+
+        assertFalse(termination.isConverged(9 * SECOND));
+    }
+
+    @Test
+    public void isConverged_slowImprovement_returnsTrue() {
+        ConvergenceTermination<Object> termination = new ConvergenceTermination<>(1.0, Duration.ofSeconds(10));
+        termination.record(0L, HardSoftScore.of(0, 10));
+        termination.record(4 * SECOND, HardSoftScore.of(0, 15));
+
+        assertTrue(termination.isConverged(10 * SECOND));
+        assertEquals(0.5, termination.getLastRate(), 1e-9);
+    }
+
+    @Test
+    public void isConverged_fastImprovement_returnsFalse() {
+        ConvergenceTermination<Object> termination = new ConvergenceTermination<>(1.0, Duration.ofSeconds(10));
+        termination.record(0L, HardSoftScore.of(0, 10));
+        termination.record(4 * SECOND, HardSoftScore.of(0, 30));
+
+        assertFalse(termination.isConverged(10 * SECOND));
+    }
+
+    @Test
+    public void isConverged_windowSlides_measuresFromLastSampleBeforeWindow() {
+        ConvergenceTermination<Object> termination = new ConvergenceTermination<>(1.0, Duration.ofSeconds(10));
+        termination.record(0L, HardSoftScore.of(0, 0));
+        termination.record(2 * SECOND, HardSoftScore.of(0, 50));
+        termination.record(8 * SECOND, HardSoftScore.of(0, 55));
+
+        // At 10 s the baseline is 0 soft at 0 s, at 13 s it is 50 soft at 2 s
+        assertFalse(termination.isConverged(10 * SECOND));
+        assertTrue(termination.isConverged(13 * SECOND));
+    }
+
+    @Test
+    public void isConverged_infeasibleOrHardImproving_returnsFalse() {
+        ConvergenceTermination<Object> infeasible = new ConvergenceTermination<>(1.0, Duration.ofSeconds(10));
+        infeasible.record(0L, HardSoftScore.of(-1000, 0));
+        assertFalse(infeasible.isConverged(20 * SECOND));
+
+        ConvergenceTermination<Object> hardImproving = new ConvergenceTermination<>(1.0, Duration.ofSeconds(10));
+        hardImproving.record(0L, HardSoftScore.of(-1000, 40));
+        hardImproving.record(5 * SECOND, HardSoftScore.of(0, 20));
+        assertFalse(hardImproving.isConverged(10 * SECOND));
+    }
+
+    @Test
+    public void forCatalog_largerCatalog_lowersThresholdAndWidensWindow() {
+        assertEquals(ConvergenceTermination.REFERENCE_SOFT_PER_SECOND,
+                ConvergenceTermination.forCatalog(ConvergenceTermination.REFERENCE_ITEMS).getMinSoftPerSecond(), 1e-9);
+        assertEquals(ConvergenceTermination.REFERENCE_SOFT_PER_SECOND / 10,
+                ConvergenceTermination.forCatalog(ConvergenceTermination.REFERENCE_ITEMS * 10).getMinSoftPerSecond(),
+                1e-9);
+        assertEquals(ConvergenceTermination.DEFAULT_WINDOW,
+                ConvergenceTermination.forCatalog(ConvergenceTermination.ITEMS_PER_WINDOW).getWindow());
+        assertEquals(ConvergenceTermination.DEFAULT_WINDOW.multipliedBy(3),
+                ConvergenceTermination.forCatalog(5000).getWindow());
+        assertThrows(IllegalArgumentException.class, () -> new ConvergenceTermination<>(1.0, Duration.ZERO));
+    }
+}
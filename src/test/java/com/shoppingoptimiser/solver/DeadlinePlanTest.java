@@ -0,0 +1,48 @@
+package com.shoppingoptimiser.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for DeadlinePlan - splitting a deadline between the stages of a solve by catalog size.
+ */
+public class DeadlinePlanTest {
+
+    @Test
+    public void partition_smallCatalog_leavesMostTimeToLocalSearch() {
+        DeadlinePlan plan = DeadlinePlan.partition(Duration.ofMillis(800), 500);
+
+        assertEquals(Duration.ofMillis(40), plan.getMargin());
+        assertEquals(Duration.ofNanos(500 * DeadlinePlan.PREPROCESSING_NANOS_PER_ITEM), plan.getPreprocessing());
+        assertEquals(Duration.ofNanos(500 * DeadlinePlan.CONSTRUCTION_NANOS_PER_ITEM), plan.getConstruction());
+        assertEquals(plan.getTotal(), plan.getPreprocessing().plus(plan.getConstruction())
+                .plus(plan.getLocalSearch()).plus(plan.getMargin()));
+        assertTrue(plan.getMaxEntities() > 500);
+    }
+
+    @Test
+    public void partition_hugeCatalog_capsPreprocessingAndConstruction() {
+        DeadlinePlan plan = DeadlinePlan.partition(Duration.ofMillis(800), 100_000_000L);
+
+        assertEquals(Duration.ofMillis(320), plan.getPreprocessing());
+        assertEquals(Duration.ofMillis(120), plan.getConstruction());
+        assertEquals(Duration.ofMillis(320), plan.getLocalSearch());
+        assertTrue(plan.getMaxEntities() < 100_000_000L);
+        assertTrue(DeadlinePlan.solverStart(plan.getMaxEntities()).compareTo(plan.getLocalSearch()) < 0);
+    }
+
+    @Test
+    public void partition_shortOrPastDeadline_keepsTheMarginOnly() {
+        DeadlinePlan tight = DeadlinePlan.partition(Duration.ofMillis(10), 1000);
+        DeadlinePlan past = DeadlinePlan.partition(Duration.ofMillis(-5), 1000);
+
+        assertEquals(Duration.ofMillis(10), tight.getMargin());
+        assertEquals(Duration.ZERO, tight.getLocalSearch());
+        assertEquals(Duration.ZERO, past.getTotal());
+        assertEquals(0, past.getMaxEntities());
+    }
+}
@@ -0,0 +1,71 @@
+package com.shoppingoptimiser.solver;
+
+import com.shoppingoptimiser.catalog.CatalogIndex;
+import com.shoppingoptimiser.catalog.CatalogQuery;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for DeadlineSolver - anytime solves that answer by a deadline.
+ */
+public class DeadlineSolverTest {
+
+    private final CatalogIndex catalog = CatalogIndex.of(SampleCatalog.generate(2000, new Random(5)));
+    private final CatalogQuery candidateQuery = CatalogQuery.all().inStockOnly().maxPrice(120.0);
+
+    @Test
+    public void solve_answersFeasibleBasketByTheDeadline() {
+        DeadlineSolver solver = new DeadlineSolver();
+
+        DeadlineResult result = solver.solve(catalog, candidateQuery,
+                candidates -> new WardrobeSolution(candidates, 120.0, List.of("casual")),
+                Instant.now().plusMillis(1500));
+
+        assertTrue(result.isFeasible(), result.toString());
+        assertFalse(result.isMissed(), result.toString());
+        assertTrue(result.getLocalSearch().compareTo(Duration.ZERO) > 0);
+        assertEquals(1, solver.getStatistics().getSolveCount());
+        assertEquals(0, solver.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void solve_budgetTooSmall_explainsInfeasibleBasket() {
+        DeadlineSolver solver = new DeadlineSolver();
+
+        DeadlineResult result = solver.solve(catalog, candidateQuery,
+                candidates -> new WardrobeSolution(candidates, 5.0, List.of("casual")),
+                Instant.now().plusMillis(500));
+
+        assertFalse(result.isFeasible());
+        assertTrue(result.getExplanation().startsWith("No feasible basket was found by the deadline"),
+                result.getExplanation());
+        assertTrue(result.getExplanation().contains("Budget constraint"), result.getExplanation());
+        assertEquals(1, solver.getStatistics().getInfeasibleCount());
+    }
+
+    @Test
+    public void solve_pastDeadline_returnsConstructedBasketAndRecordsMiss() {
+        DeadlineSolver solver = new DeadlineSolver();
+
+        DeadlineResult result = solver.solve(catalog, candidateQuery,
+                candidates -> new WardrobeSolution(candidates, 120.0, List.of("casual")),
+                Instant.now().minusMillis(100));
+
+        assertTrue(result.isMissed());
+        assertTrue(result.isFeasible(), result.toString());
+        assertEquals(Duration.ZERO, result.getLocalSearch());
+        assertEquals(1, solver.getStatistics().getMissCount());
+        assertEquals(1, solver.getStatistics().getLocalSearchSkippedCount());
+        assertTrue(solver.getStatistics().getMaxOverrunMillis() >= 100.0);
+    }
+}
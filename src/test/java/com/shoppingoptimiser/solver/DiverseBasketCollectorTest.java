@@ -0,0 +1,72 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for DiverseBasketCollector - ranking and diversity of the kept baskets.
+ */
+public class DiverseBasketCollectorTest {
+
+    @Test
+    public void offer_keepsBestKRankedByScore() {
+        DiverseBasketCollector collector = new DiverseBasketCollector(2, 1);
+
+        assertTrue(collector.offer(basket(10, 0, 1)));
+        assertTrue(collector.offer(basket(30, 2, 3)));
+        assertTrue(collector.offer(basket(20, 4, 5)));
+        assertFalse(collector.offer(basket(5, 6, 7)));
+
+        List<DiverseBasket> baskets = collector.getBaskets();
+        assertEquals(2, baskets.size());
+        assertEquals(HardSoftScore.ofSoft(30), baskets.get(0).getScore());
+        assertEquals(HardSoftScore.ofSoft(20), baskets.get(1).getScore());
+    }
+
+    @Test
+    public void offer_rejectsDuplicateSelection() {
+        DiverseBasketCollector collector = new DiverseBasketCollector(3, 1);
+
+        assertTrue(collector.offer(basket(10, 0, 1)));
+        assertFalse(collector.offer(basket(10, 0, 1)));
+        assertEquals(1, collector.getBaskets().size());
+    }
+
+    @Test
+    public void offer_betterNeighbourReplacesCloseBaskets() {
+        DiverseBasketCollector collector = new DiverseBasketCollector(3, 3);
+
+        assertTrue(collector.offer(basket(10, 0, 1, 2)));
+        assertTrue(collector.offer(basket(12, 10, 11, 12)));
+        // Differs from the first basket in 2 items only, and is better: it takes its place
+        assertTrue(collector.offer(basket(15, 0, 1, 3)));
+        // Differs from the new basket in 2 items only, and is worse: rejected
+        assertFalse(collector.offer(basket(14, 0, 1, 4)));
+
+        List<DiverseBasket> baskets = collector.getBaskets();
+        assertEquals(2, baskets.size());
+        assertEquals(HardSoftScore.ofSoft(15), baskets.get(0).getScore());
+        assertEquals(HardSoftScore.ofSoft(12), baskets.get(1).getScore());
+    }
+
+    @Test
+    public void hammingDistance_handlesDifferentLengths() {
+        assertEquals(3, DiverseBasket.hammingDistance(new long[]{0b1011L}, new long[]{0b0001L, 1L}));
+        assertTrue(basket(1, 0, 70).isSelected(70));
+        assertEquals(List.of("a", "c"), basket(1, 0, 2).selectedFrom(List.of("a", "b", "c")));
+    }
+
+    private DiverseBasket basket(int softScore, int... positions) {
+        long[] selection = new long[2];
+        for (int position : positions) {
+            selection[position >>> 6] |= 1L << position;
+        }
+        return new DiverseBasket(HardSoftScore.ofSoft(softScore), selection);
+    }
+}
@@ -0,0 +1,116 @@
+package com.shoppingoptimiser.solver;
+
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.ColorRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for OutfitCounter - the per-color outfit count against brute force, and incremental updates.
+ */
+public class OutfitCounterTest {
+
+    private static final String[] COLORS = {"black", "white", "navy", "red", "Black"};
+    private static final ClothingCategory[] CATEGORIES = {
+            ClothingCategory.TOP, ClothingCategory.BOTTOM, ClothingCategory.SHOES, ClothingCategory.ACCESSORY};
+
+    @Test
+    public void countOutfits_matchesBruteForce() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            List<ClothingItem> items = new ArrayList<>();
+            int size = random.nextInt(20);
+            for (int i = 0; i < size; i++) {
+                items.add(item(CATEGORIES[random.nextInt(CATEGORIES.length)], COLORS[random.nextInt(COLORS.length)]));
+            }
+            assertEquals(bruteForce(items), OutfitCounter.countOutfits(items));
+        }
+    }
+
+    @Test
+    public void add_negativeQuantityUndoesAdd() {
+        OutfitCounter counter = new OutfitCounter();
+        counter.add(ClothingCategory.TOP, colorId("white"), 2);
+        counter.add(ClothingCategory.BOTTOM, colorId("navy"), 1);
+        counter.add(ClothingCategory.SHOES, colorId("brown"), 3);
+        assertEquals(6L, counter.count());
+
+        counter.add(ClothingCategory.SHOES, colorId("navy"), 1);
+        // Navy shoes do not go with the navy bottom
+        assertEquals(6L, counter.count());
+
+        counter.add(ClothingCategory.SHOES, colorId("brown"), -3);
+        counter.add(ClothingCategory.SHOES, colorId("navy"), -1);
+        assertEquals(0L, counter.count());
+
+        counter.add(ClothingCategory.BOTTOM, colorId("navy"), -1);
+        counter.add(ClothingCategory.BOTTOM, colorId("beige"), 1);
+        counter.add(ClothingCategory.SHOES, colorId("brown"), 1);
+        assertEquals(2L, counter.count());
+    }
+
+    @Test
+    public void add_ignoresOtherCategories() {
+        OutfitCounter counter = new OutfitCounter();
+        counter.add(ClothingCategory.TOP, colorId("white"), 1);
+        counter.add(ClothingCategory.BOTTOM, colorId("navy"), 1);
+        counter.add(ClothingCategory.SHOES, colorId("brown"), 1);
+        counter.add(ClothingCategory.ACCESSORY, colorId("navy"), 5);
+
+        assertEquals(1L, counter.count());
+    }
+
+    @Test
+    public void count_excludesConfiguredClashes() throws IOException {
+        ColorRegistry colors = ColorRegistry.load(new StringReader(
+                "red = #FF0000 accent clashes orange\n"
+                        + "orange = #FFA500 accent\n"
+                        + "black = #000000 neutral\n"));
+        OutfitCounter counter = new OutfitCounter(colors);
+        counter.add(ClothingCategory.TOP, colors.idOf("orange"), 1);
+        counter.add(ClothingCategory.TOP, colors.idOf("black"), 1);
+        counter.add(ClothingCategory.BOTTOM, colors.idOf("red"), 1);
+        counter.add(ClothingCategory.SHOES, colors.idOf("black"), 1);
+
+        // Only the black top goes with the red bottom
+        assertEquals(1L, counter.count());
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private long bruteForce(List<ClothingItem> items) {
+        long outfits = 0L;
+        for (ClothingItem top : items) {
+            for (ClothingItem bottom : items) {
+                for (ClothingItem shoes : items) {
+                    if (top.getCategory() == ClothingCategory.TOP
+                            && bottom.getCategory() == ClothingCategory.BOTTOM
+                            && shoes.getCategory() == ClothingCategory.SHOES
+                            && !top.getColor().equalsIgnoreCase(bottom.getColor())
+                            && !bottom.getColor().equalsIgnoreCase(shoes.getColor())) {
+                        outfits++;
+                    }
+                }
+            }
+        }
+        return outfits;
+    }
+
+    private int colorId(String color) {
+        return ColorRegistry.getDefault().idOf(color);
+    }
+
+    private ClothingItem item(ClothingCategory category, String color) {
+        return new ClothingItem("x", "x", category, 10.0, "casual", color, true);
+    }
+}
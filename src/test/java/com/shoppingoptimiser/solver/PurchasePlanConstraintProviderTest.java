@@ -0,0 +1,122 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.test.api.score.stream.ConstraintVerifier;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.CoverageDeadline;
+import com.shoppingoptimiser.domain.PlannedPurchase;
+import com.shoppingoptimiser.domain.PurchasePeriod;
+import com.shoppingoptimiser.domain.PurchasePlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Tests for PurchasePlanConstraintProvider - the per-period budgets, the coverage deadlines and the outfits
+ * counted over the whole season.
+ */
+public class PurchasePlanConstraintProviderTest {
+
+    private ConstraintVerifier<PurchasePlanConstraintProvider, PurchasePlan> constraintVerifier;
+    private List<PurchasePeriod> periods;
+
+    @BeforeEach
+    public void setup() {
+        constraintVerifier = ConstraintVerifier.build(
+                new PurchasePlanConstraintProvider(),
+                PurchasePlan.class,
+                PlannedPurchase.class);
+        periods = PurchasePeriod.months(3, 100.0);
+    }
+
+    // ==================== HARD CONSTRAINT TESTS ====================
+
+    @Test
+    public void periodBudgets_spreadOverPeriods_noPenalty() {
+        // $160 in total, but $80 in each of two months
+        PlannedPurchase top = purchase("1", ClothingCategory.TOP, 80.0, "white", periods.get(0));
+        PlannedPurchase bottom = purchase("2", ClothingCategory.BOTTOM, 80.0, "navy", periods.get(1));
+
+        constraintVerifier.verifyThat(PurchasePlanConstraintProvider::periodBudgets)
+                .given(top, bottom, periods.get(0), periods.get(1), periods.get(2))
+                .penalizesBy(0);
+    }
+
+    @Test
+    public void periodBudgets_overOnePeriodsBudget_penalizedByTheExcess() {
+        PlannedPurchase top = purchase("1", ClothingCategory.TOP, 80.0, "white", periods.get(0));
+        PlannedPurchase bottom = purchase("2", ClothingCategory.BOTTOM, 80.0, "navy", periods.get(0));
+        PlannedPurchase notBought = purchase("3", ClothingCategory.SHOES, 500.0, "brown", null);
+
+        // $160 in the first month is $60 over, in cents
+        constraintVerifier.verifyThat(PurchasePlanConstraintProvider::periodBudgets)
+                .given(top, bottom, notBought, periods.get(0), periods.get(1), periods.get(2))
+                .penalizesBy(6000);
+    }
+
+    @Test
+    public void coverageDeadlines_boughtByTheDeadline_noPenalty() {
+        CoverageDeadline coat = new CoverageDeadline(ClothingCategory.OUTERWEAR, 1, 1);
+        PlannedPurchase outerwear = purchase("1", ClothingCategory.OUTERWEAR, 90.0, "black", periods.get(1));
+
+        constraintVerifier.verifyThat(PurchasePlanConstraintProvider::coverageDeadlines)
+                .given(coat, outerwear)
+                .penalizesBy(0);
+    }
+
+    @Test
+    public void coverageDeadlines_boughtAfterTheDeadline_penalized() {
+        CoverageDeadline coat = new CoverageDeadline(ClothingCategory.OUTERWEAR, 1, 1);
+        PlannedPurchase late = purchase("1", ClothingCategory.OUTERWEAR, 90.0, "black", periods.get(2));
+        PlannedPurchase notBought = purchase("2", ClothingCategory.OUTERWEAR, 90.0, "navy", null);
+
+        constraintVerifier.verifyThat(PurchasePlanConstraintProvider::coverageDeadlines)
+                .given(coat, late, notBought)
+                .penalizesBy(WardrobeConstraintProvider.QUOTA_PENALTY);
+    }
+
+    @Test
+    public void coverageDeadlines_partlyMet_penalizedByTheShortfall() {
+        CoverageDeadline tops = new CoverageDeadline(ClothingCategory.TOP, 3, 0);
+        PlannedPurchase onTime = purchase("1", ClothingCategory.TOP, 20.0, "white", periods.get(0));
+        PlannedPurchase late = purchase("2", ClothingCategory.TOP, 20.0, "red", periods.get(1));
+
+        constraintVerifier.verifyThat(PurchasePlanConstraintProvider::coverageDeadlines)
+                .given(tops, onTime, late)
+                .penalizesBy(2 * WardrobeConstraintProvider.QUOTA_PENALTY);
+    }
+
+    // ==================== SOFT CONSTRAINT TESTS ====================
+
+    @Test
+    public void maximizeOutfitCombinations_boughtInDifferentPeriods_countedOverTheSeason() {
+        PlannedPurchase top = purchase("1", ClothingCategory.TOP, 50.0, "white", periods.get(0));
+        PlannedPurchase bottom1 = purchase("2", ClothingCategory.BOTTOM, 50.0, "navy", periods.get(1));
+        PlannedPurchase bottom2 = purchase("3", ClothingCategory.BOTTOM, 50.0, "beige", periods.get(2));
+        PlannedPurchase shoes = purchase("4", ClothingCategory.SHOES, 50.0, "brown", periods.get(2));
+        PlannedPurchase notBought = purchase("5", ClothingCategory.TOP, 50.0, "red", null);
+
+        // 1 top * 2 bottoms * 1 shoes = 2 outfits * 10 = 20
+        constraintVerifier.verifyThat(PurchasePlanConstraintProvider::maximizeOutfitCombinations)
+                .given(top, bottom1, bottom2, shoes, notBought)
+                .rewardsWith(20);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private PlannedPurchase purchase(String id, ClothingCategory category, double price, String color,
+                                     PurchasePeriod period) {
+        ClothingItem item = new ClothingItem();
+        item.setId(id);
+        item.setName(category + " " + id);
+        item.setCategory(category);
+        item.setPrice(price);
+        item.setStyle("casual");
+        item.setColor(color);
+        item.setInStock(true);
+        PlannedPurchase purchase = new PlannedPurchase(item);
+        purchase.setPeriod(period);
+        return purchase;
+    }
+}
@@ -0,0 +1,197 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.test.api.score.stream.ConstraintVerifier;
+import com.shoppingoptimiser.domain.AggregatedWardrobeSolution;
+import com.shoppingoptimiser.domain.Budget;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.SkuGroup;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.StylePreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for SkuConstraintProvider - every constraint must weigh groups by their selected quantity.
+ */
+public class SkuConstraintProviderTest {
+
+    private ConstraintVerifier<SkuConstraintProvider, AggregatedWardrobeSolution> constraintVerifier;
+
+    @BeforeEach
+    public void setup() {
+        constraintVerifier = ConstraintVerifier.build(
+                new SkuConstraintProvider(),
+                AggregatedWardrobeSolution.class,
+                SkuGroup.class);
+    }
+
+    @Test
+    public void budgetConstraint_quantityMultipliesPrice() {
+        // 3 x $100 = $300 against a $250 budget
+        SkuGroup shirts = createGroup("1", ClothingCategory.TOP, 100.0, "blue", true, 3);
+        shirts.setQuantity(3);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::budgetConstraint)
+                .given(shirts, new Budget(250.0))
+                .penalizesBy(5000);
+    }
+
+    @Test
+    public void budgetConstraint_shippingOnStoreSubtotal() {
+        // 2 x $20 + $10 shipping below the $50 threshold, against a $45 budget
+        Store store = new Store("A", "Store A", 10.0, 50.0);
+        SkuGroup shirts = createGroup("1", ClothingCategory.TOP, 20.0, "blue", true, 3);
+        shirts.setStore(store);
+        shirts.setQuantity(2);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::budgetConstraint)
+                .given(shirts, store, new Budget(45.0))
+                .penalizesBy(500);
+    }
+
+    @Test
+    public void categoryQuotas_noTopSelected_penalizedOncePerMissingItem() {
+        SkuGroup tops = createGroup("1", ClothingCategory.TOP, 20.0, "blue", true, 4);
+        tops.setQuantity(0);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::categoryQuotas)
+                .given(withQuotas("top:1-,bottom:0-,shoes:0-", tops))
+                .penalizesBy(1000);
+    }
+
+    @Test
+    public void categoryQuotas_topSelected_noPenalty() {
+        SkuGroup tops = createGroup("1", ClothingCategory.TOP, 20.0, "blue", true, 4);
+        tops.setQuantity(1);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::categoryQuotas)
+                .given(withQuotas("top:1-,bottom:0-,shoes:0-", tops))
+                .penalizesBy(0);
+    }
+
+    @Test
+    public void categoryQuotas_quantityOverMaximum_penalizedPerExtraItem() {
+        SkuGroup tops = createGroup("1", ClothingCategory.TOP, 20.0, "blue", true, 4);
+        tops.setQuantity(4);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::categoryQuotas)
+                .given(withQuotas("top:1-2,bottom:0-,shoes:0-", tops))
+                .penalizesBy(2000);
+    }
+
+    @Test
+    public void mustBeInStockConstraint_penalizedPerSelectedItem() {
+        SkuGroup outOfStock = createGroup("1", ClothingCategory.TOP, 20.0, "blue", false, 5);
+        outOfStock.setQuantity(2);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::mustBeInStockConstraint)
+                .given(outOfStock)
+                .penalizesBy(200);
+    }
+
+    @Test
+    public void topAndBottomDifferentColors_sameColor_penalizedPerPair() {
+        SkuGroup tops = createGroup("1", ClothingCategory.TOP, 20.0, "Red", true, 3);
+        tops.setQuantity(2);
+        SkuGroup bottoms = createGroup("2", ClothingCategory.BOTTOM, 30.0, "red", true, 3);
+        bottoms.setQuantity(3);
+        SkuGroup otherBottoms = createGroup("3", ClothingCategory.BOTTOM, 30.0, "blue", true, 3);
+        otherBottoms.setQuantity(1);
+
+        // 2 tops x 3 bottoms = 6 clashing pairs
+        constraintVerifier.verifyThat(SkuConstraintProvider::topAndBottomDifferentColors)
+                .given(tops, bottoms, otherBottoms)
+                .penalizesBy(6000);
+    }
+
+    @Test
+    public void topAndBottomDifferentColors_clashingOwnedGroups_notPenalized() {
+        SkuGroup ownedTops = createGroup("1", ClothingCategory.TOP, 0.0, "navy", true, 1);
+        ownedTops.setOwned(true);
+        ownedTops.setQuantity(1);
+        SkuGroup ownedBottoms = createGroup("2", ClothingCategory.BOTTOM, 0.0, "navy", true, 1);
+        ownedBottoms.setOwned(true);
+        ownedBottoms.setQuantity(1);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::topAndBottomDifferentColors)
+                .given(ownedTops, ownedBottoms)
+                .penalizesBy(0);
+    }
+
+    @Test
+    public void bottomAndShoesDifferentColors_sameColor_penalizedPerPair() {
+        SkuGroup bottoms = createGroup("1", ClothingCategory.BOTTOM, 30.0, "black", true, 2);
+        bottoms.setQuantity(2);
+        SkuGroup shoes = createGroup("2", ClothingCategory.SHOES, 50.0, "black", true, 2);
+        shoes.setQuantity(1);
+
+        constraintVerifier.verifyThat(SkuConstraintProvider::bottomAndShoesDifferentColors)
+                .given(bottoms, shoes)
+                .penalizesBy(2000);
+    }
+
+    @Test
+    public void maximizeOutfitCombinations_countsQuantities() {
+        SkuGroup tops = createGroup("1", ClothingCategory.TOP, 20.0, "blue", true, 3);
+        tops.setQuantity(3);
+        SkuGroup bottoms = createGroup("2", ClothingCategory.BOTTOM, 30.0, "black", true, 2);
+        bottoms.setQuantity(1);
+        SkuGroup shoes = createGroup("3", ClothingCategory.SHOES, 50.0, "white", true, 2);
+        shoes.setQuantity(2);
+
+        // 3 tops * 1 bottom * 2 shoes = 6 outfits * 10 = 60
+        constraintVerifier.verifyThat(SkuConstraintProvider::maximizeOutfitCombinations)
+                .given(tops, bottoms, shoes)
+                .rewardsWith(60);
+    }
+
+    @Test
+    public void coordinatedColors_weightedByQuantity() {
+        SkuGroup neutral = createGroup("1", ClothingCategory.TOP, 20.0, "Navy", true, 3);
+        neutral.setQuantity(2);
+        SkuGroup bright = createGroup("2", ClothingCategory.TOP, 20.0, "orange", true, 3);
+        bright.setQuantity(3);
+
+        // 2 * 5 + 3 * 1 = 13
+        constraintVerifier.verifyThat(SkuConstraintProvider::coordinatedColors)
+                .given(neutral, bright)
+                .rewardsWith(13);
+    }
+
+    @Test
+    public void preferredStyles_weightedByQuantity() {
+        StylePreference preference = StylePreference.of(List.of("casual"));
+        SkuGroup casual = createGroup("1", ClothingCategory.TOP, 20.0, "black", true, 3);
+        casual.setStyleMask(preference.maskOf("casual"));
+        casual.setQuantity(2);
+        SkuGroup formal = new SkuGroup("2", ClothingCategory.SHOES, 60.0, "formal", "black", true, List.of("2-0"));
+        formal.setStyleMask(preference.maskOf("formal"));
+        formal.setQuantity(1);
+
+        // 2 casual items * 3 = 6
+        constraintVerifier.verifyThat(SkuConstraintProvider::preferredStyles)
+                .given(casual, formal, preference)
+                .rewardsWith(6);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private Object[] withQuotas(String quotas, Object... facts) {
+        List<Object> all = new ArrayList<>(CategoryQuota.parse(quotas));
+        all.addAll(List.of(facts));
+        return all.toArray();
+    }
+
+    private SkuGroup createGroup(String id, ClothingCategory category, double price, String color,
+                                 boolean inStock, int available) {
+        List<String> itemIds = new ArrayList<>();
+        for (int i = 0; i < available; i++) {
+            itemIds.add(id + "-" + i);
+        }
+        return new SkuGroup(id, category, price, "casual", color, inStock, itemIds);
+    }
+}
@@ -0,0 +1,177 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.shoppingoptimiser.domain.CategoryQuota;
+import com.shoppingoptimiser.domain.ClothingCategory;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for SoftScoreUpperBound - the fractional knapsack bound and the optimality gap.
+ */
+public class SoftScoreUpperBoundTest {
+
+    @Test
+    public void compute_reservesShoesAndFillsByRewardPerDollar() {
+        WardrobeSolution problem = problem(100.0,
+                item("S1", ClothingCategory.SHOES, 40.0, "black", true),
+                item("T1", ClothingCategory.TOP, 20.0, "black", true),
+                item("B1", ClothingCategory.BOTTOM, 40.0, "red", true),
+                item("A1", ClothingCategory.ACCESSORY, 10.0, "red", true));
+
+        // Colors: reserved shoes 5, then top 5 and shoes again 5 by reward per dollar; plus at most one outfit 10.
+        // The true optimum is 21: shoes, top and bottom
+        assertEquals(25L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_takesFractionOfLastItem() {
+        WardrobeSolution problem = problem(60.0,
+                item("S1", ClothingCategory.SHOES, 40.0, "red", true),
+                item("T1", ClothingCategory.TOP, 40.0, "black", true));
+
+        // Shoes 1 + half of the top 5, and no outfit without a bottom
+        assertEquals(3L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_ignoresOutOfStockItems() {
+        WardrobeSolution problem = problem(200.0,
+                item("S1", ClothingCategory.SHOES, 40.0, "black", true),
+                item("T1", ClothingCategory.TOP, 20.0, "black", false));
+
+        // Reserved shoes 5, plus the shoes again from the relaxation: a second pair is allowed
+        assertEquals(10L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_noShoesInStock_returnsZero() {
+        WardrobeSolution problem = problem(200.0,
+                item("S1", ClothingCategory.SHOES, 40.0, "black", false),
+                item("T1", ClothingCategory.TOP, 20.0, "black", true));
+
+        assertEquals(0L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_noShoesRequired_reservesNoShoes() {
+        WardrobeSolution problem = problem(60.0,
+                item("S1", ClothingCategory.SHOES, 40.0, "red", true),
+                item("T1", ClothingCategory.TOP, 40.0, "black", true));
+        problem.setCategoryQuotas(CategoryQuota.parse("shoes:0-"));
+
+        // Without a reservation the top 5 comes first by reward per dollar, then half of the shoes 1
+        assertEquals(5L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_noShoesRequiredNorInStock_isNotZero() {
+        WardrobeSolution problem = problem(200.0,
+                item("S1", ClothingCategory.SHOES, 40.0, "black", false),
+                item("T1", ClothingCategory.TOP, 20.0, "black", true));
+        problem.setCategoryQuotas(CategoryQuota.parse("top:1-,bottom:0-,shoes:0-"));
+
+        assertEquals(5L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_addsPreferredStyleReward() {
+        WardrobeSolution problem = new WardrobeSolution(List.of(
+                item("S1", ClothingCategory.SHOES, 40.0, "black", true),
+                item("T1", ClothingCategory.TOP, 20.0, "black", true)), 60.0, List.of("casual"));
+
+        // Shoes 5 + 3 and top 5 + 3
+        assertEquals(16L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_ownedItems_addRewardsAndSkipShoesReservation() {
+        WardrobeSolution problem = problem(40.0,
+                owned("W1", ClothingCategory.SHOES, "black"),
+                owned("W2", ClothingCategory.TOP, "black"),
+                item("B1", ClothingCategory.BOTTOM, 40.0, "red", true),
+                item("S1", ClothingCategory.SHOES, 40.0, "red", true));
+
+        // Owned shoes 5 and top 5, then the bottom 1 fills the budget; owned shoes and top plus it make one outfit 10
+        assertEquals(21L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void compute_onlyOwnedShoes_isNotZero() {
+        WardrobeSolution problem = problem(20.0,
+                owned("W1", ClothingCategory.SHOES, "black"),
+                item("T1", ClothingCategory.TOP, 20.0, "black", true));
+
+        // Owned shoes 5 and the top 5, but no outfit without a bottom
+        assertEquals(10L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void maxOutfits_countsOwnedItems() {
+        // Nothing affordable, so only the owned 2 tops * 1 bottom * 1 shoes remain
+        assertEquals(2L, SoftScoreUpperBound.maxOutfits(0L, 10L, 50, 2, 10L, 50, 1, 10L, 50, 1));
+        // 30 dollars buys one more of each: 3 * 2 * 2
+        assertEquals(12L, SoftScoreUpperBound.maxOutfits(30L, 10L, 50, 2, 10L, 50, 1, 10L, 50, 1));
+    }
+
+    @Test
+    public void compute_household_boundsOutfitsPerShopper() {
+        Shopper alice = new Shopper(0, "Alice", List.of());
+        Shopper bob = new Shopper(1, "Bob", List.of());
+        List<ClothingItem> items = new ArrayList<>();
+        for (Shopper shopper : List.of(alice, bob)) {
+            for (ClothingCategory category : List.of(ClothingCategory.TOP, ClothingCategory.BOTTOM,
+                    ClothingCategory.SHOES)) {
+                ClothingItem item = item(shopper.getId() + category, category, 10.0, "red", true);
+                item.setShopper(shopper);
+                items.add(item);
+            }
+        }
+        WardrobeSolution problem = new WardrobeSolution(items, 60.0, List.of());
+
+        // Reserved shoes 1 plus 5 more items 5; each shopper's 1 outfit 10 as if they had the whole budget
+        assertEquals(26L, SoftScoreUpperBound.compute(problem));
+    }
+
+    @Test
+    public void maxOutfits_splitsBudgetEvenly() {
+        // 10 items at 10 cents: 3 tops * 3 bottoms * 4 shoes
+        assertEquals(36L, SoftScoreUpperBound.maxOutfits(100L, 10L, 50, 10L, 50, 10L, 50));
+    }
+
+    @Test
+    public void maxOutfits_respectsAvailableCounts() {
+        // A single top leaves 9 items for bottoms and shoes: 1 * 4 * 5
+        assertEquals(20L, SoftScoreUpperBound.maxOutfits(100L, 10L, 1, 10L, 50, 10L, 50));
+    }
+
+    @Test
+    public void gap_isRelativeToBound() {
+        assertEquals(0.25, SoftScoreUpperBound.gap(80L, HardSoftScore.of(0, 60)), 1e-9);
+        assertEquals(0.0, SoftScoreUpperBound.gap(80L, HardSoftScore.of(0, 80)), 1e-9);
+        assertEquals(0.0, SoftScoreUpperBound.gap(0L, HardSoftScore.of(0, 0)), 1e-9);
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private WardrobeSolution problem(double budget, ClothingItem... items) {
+        return new WardrobeSolution(List.of(items), budget, List.of());
+    }
+
+    private ClothingItem item(String id, ClothingCategory category, double price, String color, boolean inStock) {
+        return new ClothingItem(id, id, category, price, "casual", color, inStock);
+    }
+
+    private ClothingItem owned(String id, ClothingCategory category, String color) {
+        return ClothingItem.owned(id, id, category, "casual", color);
+    }
+}
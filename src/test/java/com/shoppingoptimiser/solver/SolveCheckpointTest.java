@@ -0,0 +1,115 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SolveCheckpoint and SolveCheckpointer - the binary round trip, the catalog fingerprint check
+ * and checkpointing a running solve.
+ */
+public class SolveCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void write_read_restoresSelectionAndScore() throws IOException {
+        WardrobeSolution solution = problem(new Random(1));
+        List<ClothingItem> items = solution.getItems();
+        items.get(3).setSelected(true);
+        items.get(64).setSelected(true);
+        items.get(199).setSelected(true);
+        solution.setScore(HardSoftScore.of(0, 42));
+        Path file = directory.resolve("best.checkpoint");
+
+        SolveCheckpoint.of(solution, SolveCheckpoint.fingerprint(solution)).write(file);
+        SolveCheckpoint checkpoint = SolveCheckpoint.read(file);
+        WardrobeSolution fresh = problem(new Random(1));
+        checkpoint.applyTo(fresh);
+
+        assertEquals(HardSoftScore.of(0, 42), checkpoint.getScore());
+        assertEquals(3, checkpoint.getSelectedCount());
+        assertEquals(ids(List.of(items.get(3), items.get(64), items.get(199))), ids(fresh.getSelectedItems()));
+        assertEquals(3, fresh.getSelectedCount());
+        assertFalse(Files.exists(directory.resolve("best.checkpoint.tmp")));
+    }
+
+    @Test
+    public void matches_changedCatalog_false() {
+        WardrobeSolution solution = problem(new Random(1));
+        SolveCheckpoint checkpoint = SolveCheckpoint.of(solution, SolveCheckpoint.fingerprint(solution));
+
+        WardrobeSolution repriced = problem(new Random(1));
+        repriced.getItems().get(10).setPrice(repriced.getItems().get(10).getPrice() + 1.0);
+
+        assertTrue(checkpoint.matches(problem(new Random(1))));
+        assertFalse(checkpoint.matches(repriced));
+        assertFalse(checkpoint.matches(problem(new Random(2))));
+        assertThrows(IllegalArgumentException.class, () -> checkpoint.applyTo(repriced));
+    }
+
+    @Test
+    public void read_notACheckpoint_throws() throws IOException {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> SolveCheckpoint.read(file));
+    }
+
+    @Test
+    public void checkpointer_close_writesFinalBestSolution() throws IOException {
+        WardrobeSolution problem = problem(new Random(1));
+        Path file = directory.resolve("solve.checkpoint");
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(WardrobeConstraintProvider.class)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(Duration.ofSeconds(2)));
+        Solver<WardrobeSolution> solver = SolverFactory.<WardrobeSolution>create(solverConfig).buildSolver();
+
+        SolveCheckpointer checkpointer = new SolveCheckpointer(file, problem, Duration.ofMillis(200));
+        checkpointer.attachTo(solver);
+        WardrobeSolution solution = solver.solve(problem);
+        checkpointer.close();
+
+        assertTrue(checkpointer.getWriteCount() >= 1);
+        SolveCheckpoint checkpoint = SolveCheckpoint.read(file);
+        assertEquals(solution.getScore(), checkpoint.getScore());
+        WardrobeSolution resumed = problem(new Random(1));
+        checkpoint.applyTo(resumed);
+        assertEquals(ids(solution.getSelectedItems()), ids(resumed.getSelectedItems()));
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private WardrobeSolution problem(Random random) {
+        return new WardrobeSolution(SampleCatalog.generate(200, random), 120.0, List.of("casual"));
+    }
+
+    private List<String> ids(List<ClothingItem> items) {
+        return items.stream().map(ClothingItem::getId).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,157 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.shoppingoptimiser.catalog.SampleCatalog;
+import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.WardrobeSolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SolverPortfolio - racing solver configurations, eliminating trailing contenders and picking
+ * the winner.
+ */
+public class SolverPortfolioTest {
+
+    @Test
+    public void constructor_noContenders_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SolverPortfolio(List.of()));
+    }
+
+    @Test
+    public void solve_staleContenderTrailingSharedBest_isEliminatedWithoutEndingRace() {
+        // Without elimination the stuck contender would hit its own 1.5 s limit first and stop the leader
+        SolverPortfolio portfolio = new SolverPortfolio(List.of(
+                new SolverPortfolio.Contender("leader", solverConfig(WardrobeConstraintProvider.class,
+                        new TerminationConfig().withSpentLimit(Duration.ofSeconds(3)))),
+                new SolverPortfolio.Contender("stuck", solverConfig(EveryItemPenalizedConstraintProvider.class,
+                        new TerminationConfig().withSpentLimit(Duration.ofMillis(1500))))))
+                .withGraceMillis(200L)
+                .withPatienceMillis(300L)
+                .withCheckIntervalMillis(50L);
+
+        PortfolioResult result = portfolio.solve(problem());
+
+        ContenderOutcome leader = result.getOutcomes().get(0);
+        ContenderOutcome stuck = result.getOutcomes().get(1);
+        assertTrue(stuck.isStoppedEarly());
+        assertFalse(leader.isStoppedEarly());
+        assertSame(leader, result.getWinner());
+        // A score that never changes is never a new best, so the stuck contender has no score to share
+        assertNull(stuck.getBestScore());
+        assertTrue(result.getWallTimeMillis() >= 3000L, result.toReport());
+    }
+
+    @Test
+    public void solve_bestScoreLimitFeasible_raceEndsAtFirstFeasibleSolution() {
+        SolverConfig baseConfig = solverConfig(WardrobeConstraintProvider.class,
+                new TerminationConfig().withSpentLimit(Duration.ofSeconds(30)).withBestScoreLimit("0hard/*soft"));
+        SolverPortfolio portfolio = new SolverPortfolio(SolverPortfolio.defaultContenders(baseConfig, 1));
+
+        PortfolioResult result = portfolio.solve(problem());
+
+        assertEquals(3, result.getOutcomes().size());
+        assertTrue(result.getWinner().getBestScore().isFeasible(), result.toReport());
+        assertSame(result.getWinner().getBestSolution(), result.getSolution());
+        assertTrue(result.getOutcomes().stream().anyMatch(outcome -> !outcome.isStoppedEarly()),
+                result.toReport());
+        assertTrue(result.getWallTimeMillis() < 10_000L, result.toReport());
+    }
+
+    @Test
+    public void beats_higherScore_winsEvenIfReachedLater() {
+        ContenderOutcome better = outcome("better", HardSoftScore.of(0, -50), 900L, false);
+        ContenderOutcome worse = outcome("worse", HardSoftScore.of(0, -80), 100L, false);
+
+        assertTrue(better.beats(worse));
+        assertFalse(worse.beats(better));
+    }
+
+    @Test
+    public void beats_equalScore_goesToContenderThatReachedItFirst() {
+        ContenderOutcome first = outcome("first", HardSoftScore.of(0, -50), 400L, true);
+        ContenderOutcome second = outcome("second", HardSoftScore.of(0, -50), 700L, false);
+
+        assertTrue(first.beats(second));
+        assertFalse(second.beats(first));
+        assertFalse(first.beats(first));
+    }
+
+    @Test
+    public void toReport_listsEveryContenderAndMarksWinnerAndStoppedEarly() {
+        ContenderOutcome winner = outcome("tabu-search#0", HardSoftScore.of(0, -50), 400L, false);
+        ContenderOutcome loser = outcome("late-acceptance#0", HardSoftScore.of(-1, -20), 1200L, true);
+        PortfolioResult result = new PortfolioResult(500, winner, List.of(winner, loser), 1500L);
+
+        String[] lines = result.toReport().split("\\R");
+
+        assertEquals(3, lines.length);
+        assertEquals("Portfolio race on 500 items (1.50 s)", lines[0]);
+        assertTrue(lines[1].startsWith("  * tabu-search#0 "), lines[1]);
+        assertTrue(lines[1].contains("best 0hard/-50soft"), lines[1]);
+        assertTrue(lines[1].endsWith("at    400 ms"), lines[1]);
+        assertTrue(lines[2].startsWith("    late-acceptance#0 "), lines[2]);
+        assertTrue(lines[2].endsWith("at   1200 ms  (stopped early)"), lines[2]);
+    }
+
+    @Test
+    public void getSolution_noWinner_isNull() {
+        ContenderOutcome unscored = new ContenderOutcome("unscored", null, 0L, true, null);
+        PortfolioResult result = new PortfolioResult(10, null, List.of(unscored), 5L);
+
+        assertNull(result.getSolution());
+        assertTrue(result.toReport().contains("unscored"));
+    }
+
+    // ************************************************************************
+    // HELPER METHODS
+    // ************************************************************************
+
+    private WardrobeSolution problem() {
+        return new WardrobeSolution(SampleCatalog.generate(300, new Random(7)), 120.0, List.of("casual"));
+    }
+
+    private SolverConfig solverConfig(Class<? extends ConstraintProvider> constraintProviderClass,
+                                      TerminationConfig terminationConfig) {
+        return new SolverConfig()
+                .withSolutionClass(WardrobeSolution.class)
+                .withEntityClasses(ClothingItem.class)
+                .withConstraintProviderClass(constraintProviderClass)
+                .withTerminationConfig(terminationConfig);
+    }
+
+    private ContenderOutcome outcome(String name, HardSoftScore bestScore, long bestTimeMillis,
+                                     boolean stoppedEarly) {
+        return new ContenderOutcome(name, bestScore, bestTimeMillis, stoppedEarly, null);
+    }
+
+    /**
+     * The same hard penalty for every item whatever is selected, so a contender using it never improves.
+     */
+    public static class EveryItemPenalizedConstraintProvider implements ConstraintProvider {
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[]{
+                    constraintFactory.forEach(ClothingItem.class)
+                            .penalize(HardSoftScore.ONE_HARD)
+                            .asConstraint("Every item")
+            };
+        }
+    }
+}
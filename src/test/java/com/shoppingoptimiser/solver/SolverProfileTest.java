@@ -0,0 +1,70 @@
+package com.shoppingoptimiser.solver;
+
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for SolverProfile - choosing a profile by catalog size and latency budget, loading the shipped XML
+ * configurations and capping their termination at the latency budget.
+ */
+public class SolverProfileTest {
+
+    @Test
+    public void select_largeCatalog_returnsLarge() {
+        assertEquals(SolverProfile.LARGE,
+                SolverProfile.select(SolverProfile.LARGE_CATALOG_ITEMS + 1, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void select_shortLatency_returnsInteractive() {
+        assertEquals(SolverProfile.INTERACTIVE,
+                SolverProfile.select(SolverProfile.LARGE_CATALOG_ITEMS, SolverProfile.INTERACTIVE_LATENCY));
+    }
+
+    @Test
+    public void select_longLatency_returnsDefault() {
+        assertEquals(SolverProfile.DEFAULT, SolverProfile.select(500, Duration.ofSeconds(60)));
+    }
+
+    @Test
+    public void parse_unknownName_throwsIllegalArgumentException() {
+        assertEquals(SolverProfile.LARGE, SolverProfile.parse("large"));
+        assertThrows(IllegalArgumentException.class, () -> SolverProfile.parse("huge"));
+    }
+
+    @Test
+    public void getSolverFactory_everyProfile_loadsOnceAndCaches() {
+        for (SolverProfile profile : SolverProfile.values()) {
+            SolverConfig first = profile.createSolverConfig();
+            SolverConfig second = profile.createSolverConfig();
+            assertNotSame(first, second, profile.name());
+            assertEquals(2, first.getPhaseConfigList().size(), profile.name());
+            assertSame(profile.getSolverFactory(), profile.getSolverFactory(), profile.name());
+        }
+    }
+
+    @Test
+    public void createTerminationConfig_latencyBelowProfileLimit_capsSpentLimit() {
+        TerminationConfig termination = SolverProfile.DEFAULT.createTerminationConfig(Duration.ofSeconds(3));
+
+        assertEquals(3000L, termination.calculateTimeMillisSpentLimit());
+        assertEquals(5000L, termination.calculateUnimprovedTimeMillisSpentLimit());
+    }
+
+    @Test
+    public void createTerminationConfig_latencyAboveProfileLimit_keepsProfileLimit() {
+        TerminationConfig termination = SolverProfile.LARGE.createTerminationConfig(Duration.ofMinutes(5))
+                .withUnimprovedSpentLimit(Duration.ofSeconds(10));
+
+        assertEquals(60000L, termination.calculateTimeMillisSpentLimit());
+        assertEquals(10000L, termination.calculateUnimprovedTimeMillisSpentLimit());
+    }
+}
@@ -2,8 +2,13 @@ package com.shoppingoptimiser.solver;
 
 import ai.timefold.solver.test.api.score.stream.ConstraintVerifier;
 import com.shoppingoptimiser.domain.Budget;
+import com.shoppingoptimiser.domain.CategoryQuota;
 import com.shoppingoptimiser.domain.ClothingCategory;
 import com.shoppingoptimiser.domain.ClothingItem;
+import com.shoppingoptimiser.domain.Shopper;
+import com.shoppingoptimiser.domain.SizeProfile;
+import com.shoppingoptimiser.domain.Store;
+import com.shoppingoptimiser.domain.StylePreference;
 import com.shoppingoptimiser.domain.WardrobeSolution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -74,6 +79,22 @@ public class WardrobeConstraintProviderTest {
                 .penalizesBy(0);
     }
 
+    @Test
+    public void budgetConstraint_pricesRoundedToCents() {
+        // $0.29 * 100 is 28.999..., so truncating would count $0.84 against a $0.86 budget instead of $0.87
+        Budget budget = new Budget(0.86);
+        ClothingItem item1 = createItem("1", "Socks", ClothingCategory.ACCESSORY, 0.29, true, false);
+        item1.setSelected(true);
+        ClothingItem item2 = createItem("2", "Socks", ClothingCategory.ACCESSORY, 0.29, true, false);
+        item2.setSelected(true);
+        ClothingItem item3 = createItem("3", "Socks", ClothingCategory.ACCESSORY, 0.29, true, false);
+        item3.setSelected(true);
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::budgetConstraint)
+                .given(item1, item2, item3, budget)
+                .penalizesBy(1);
+    }
+
     @Test
     public void budgetConstraint_unselectedItemsNotCounted() {
         // Selected items total $100, unselected would push over budget
@@ -90,99 +111,149 @@ public class WardrobeConstraintProviderTest {
     }
 
     @Test
-    public void mustHaveAtLeastOneTop_topSelected_noPenalty() {
-        ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
-        top.setSelected(true);
+    public void budgetConstraint_shippingChargedOncePerStore() {
+        // $80 + $10 shipping at store A, $5 + $10 shipping at store B: $105 against $100
+        Budget budget = new Budget(100.0);
+        Store storeA = new Store("A", "Store A", 10.0, 0.0);
+        Store storeB = new Store("B", "Store B", 10.0, 0.0);
+        ClothingItem shirt = createItem("1", "Shirt", ClothingCategory.TOP, 40.0, true, false);
+        shirt.setStore(storeA);
+        shirt.setSelected(true);
 
-        ClothingItem bottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, true, false);
-        bottom.setSelected(true);
+        ClothingItem pants = createItem("2", "Pants", ClothingCategory.BOTTOM, 40.0, true, false);
+        pants.setStore(storeA);
+        pants.setSelected(true);
 
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneTop)
-                .given(top, bottom)
-                .penalizesBy(0);
+        ClothingItem belt = createItem("3", "Belt", ClothingCategory.ACCESSORY, 5.0, true, false);
+        belt.setStore(storeB);
+        belt.setSelected(true);
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::budgetConstraint)
+                .given(shirt, pants, belt, storeA, storeB, budget)
+                .penalizesBy(500);
     }
 
     @Test
-    public void mustHaveAtLeastOneTop_noTopSelected_penalized() {
-        ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
-        top.setSelected(false);
+    public void budgetConstraint_freeShippingThresholdReached_noShipping() {
+        // $60 at a store shipping free from $50
+        Budget budget = new Budget(60.0);
+        Store store = new Store("A", "Store A", 10.0, 50.0);
+        ClothingItem shirt = createItem("1", "Shirt", ClothingCategory.TOP, 60.0, true, false);
+        shirt.setStore(store);
+        shirt.setSelected(true);
 
-        ClothingItem bottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, true, false);
-        bottom.setSelected(true);
+        ClothingItem unselectedItem = createItem("2", "Pants", ClothingCategory.BOTTOM, 30.0, true, false);
+        unselectedItem.setStore(new Store("B", "Store B", 10.0, 0.0));
+        unselectedItem.setSelected(false);
 
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneTop)
-                .given(top, bottom)
-                .penalizesBy(1000);
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::budgetConstraint)
+                .given(shirt, unselectedItem, store, budget)
+                .penalizesBy(0);
     }
 
     @Test
-    public void mustHaveAtLeastOneBottom_bottomSelected_noPenalty() {
+    public void categoryQuotas_essentialsSelected_noPenalty() {
         ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
         top.setSelected(true);
 
         ClothingItem bottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, true, false);
         bottom.setSelected(true);
 
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneBottom)
-                .given(top, bottom)
+        ClothingItem shoes = createItem("3", "Sneakers", ClothingCategory.SHOES, 80.0, true, false);
+        shoes.setSelected(true);
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::categoryQuotas)
+                .given(withDefaultQuotas(top, bottom, shoes))
                 .penalizesBy(0);
     }
 
     @Test
-    public void mustHaveAtLeastOneBottom_noBottomSelected_penalized() {
-        ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
-        top.setSelected(true);
+    public void categoryQuotas_noTopSelected_penalizedOnceWhateverTheCatalogSize() {
+        List<Object> facts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ClothingItem top = createItem("T" + i, "Shirt", ClothingCategory.TOP, 50.0, true, false);
+            top.setSelected(false);
+            facts.add(top);
+        }
+        ClothingItem bottom = createItem("B", "Pants", ClothingCategory.BOTTOM, 50.0, true, false);
+        bottom.setSelected(true);
+        facts.add(bottom);
 
-        ClothingItem bottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, true, false);
-        bottom.setSelected(false);
+        ClothingItem shoes = createItem("S", "Sneakers", ClothingCategory.SHOES, 80.0, true, false);
+        shoes.setSelected(true);
+        facts.add(shoes);
 
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneBottom)
-                .given(top, bottom)
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::categoryQuotas)
+                .given(withDefaultQuotas(facts.toArray()))
                 .penalizesBy(1000);
     }
 
     @Test
-    public void mustHaveAtLeastOneShoes_shoesSelected_noPenalty() {
+    public void categoryQuotas_multipleAccessoriesButNoShoesOrBottomSelected_penalizedPerMissingCategory() {
         ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
         top.setSelected(true);
 
-        ClothingItem shoes = createItem("2", "Sneakers", ClothingCategory.SHOES, 80.0, true, false);
-        shoes.setSelected(true);
-
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneShoes)
-                .given(top, shoes)
-                .penalizesBy(0);
-    }
+        ClothingItem accessory1 = createItem("2", "Belt", ClothingCategory.ACCESSORY, 30.0, true, false);
+        accessory1.setSelected(true);
 
-    @Test
-    public void mustHaveAtLeastOneShoes_noShoesSelected_penalized() {
-        ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
-        top.setSelected(true);
+        ClothingItem accessory2 = createItem("3", "Hat", ClothingCategory.ACCESSORY, 25.0, true, false);
+        accessory2.setSelected(true);
 
-        ClothingItem shoes = createItem("2", "Sneakers", ClothingCategory.SHOES, 80.0, true, false);
+        ClothingItem shoes = createItem("4", "Sneakers", ClothingCategory.SHOES, 80.0, true, false);
         shoes.setSelected(false);
 
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneShoes)
-                .given(top, shoes)
-                .penalizesBy(1000);
+        // No bottom in the catalog at all still counts as a missing category
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::categoryQuotas)
+                .given(withDefaultQuotas(top, accessory1, accessory2, shoes))
+                .penalizesBy(2000);
     }
 
     @Test
-    public void mustHaveAtLeastOneShoes_multipleAccessoriesButNoShoesSelected_penalized() {
-        ClothingItem accessory1 = createItem("1", "Belt", ClothingCategory.ACCESSORY, 30.0, true, false);
-        accessory1.setSelected(true);
+    public void categoryQuotas_overMaximum_penalizedPerExtraItem() {
+        List<Object> facts = new ArrayList<>(CategoryQuota.parse("accessory:0-1,top:0-,bottom:0-,shoes:0-"));
+        for (int i = 0; i < 3; i++) {
+            ClothingItem accessory = createItem("A" + i, "Belt", ClothingCategory.ACCESSORY, 30.0, true, false);
+            accessory.setSelected(true);
+            facts.add(accessory);
+        }
 
-        ClothingItem accessory2 = createItem("2", "Hat", ClothingCategory.ACCESSORY, 25.0, true, false);
-        accessory2.setSelected(true);
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::categoryQuotas)
+                .given(facts.toArray())
+                .penalizesBy(2000);
+    }
 
-        ClothingItem shoes = createItem("3", "Sneakers", ClothingCategory.SHOES, 80.0, true, false);
-        shoes.setSelected(false);
+    @Test
+    public void categoryQuotas_outerwearMinimum_penalizedWhenMissing() {
+        ClothingItem jacket = createItem("1", "Jacket", ClothingCategory.OUTERWEAR, 90.0, true, false);
+        jacket.setSelected(false);
+
+        List<Object> facts = new ArrayList<>(CategoryQuota.parse("outerwear:1-1,top:0-,bottom:0-,shoes:0-"));
+        facts.add(jacket);
 
-        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustHaveAtLeastOneShoes)
-                .given(accessory1, accessory2, shoes)
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::categoryQuotas)
+                .given(facts.toArray())
                 .penalizesBy(1000);
     }
 
+    @Test
+    public void categoryQuotas_household_countsEveryShopperAgainstTheirOwnQuotas() {
+        Shopper alice = new Shopper(0, "Alice", List.of());
+        Shopper bob = new Shopper(1, "Bob", List.of());
+        ClothingItem aliceTop = forShopper(createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false), alice);
+        ClothingItem aliceBottom = forShopper(
+                createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, true, false), alice);
+        ClothingItem aliceShoes = forShopper(
+                createItem("3", "Sneakers", ClothingCategory.SHOES, 80.0, true, false), alice);
+        ClothingItem bobTop = forShopper(createItem("4", "Shirt", ClothingCategory.TOP, 50.0, true, false), bob);
+
+        // Alice's items do not count for Bob, who misses a bottom and shoes
+        List<Object> facts = new ArrayList<>(CategoryQuota.perShopper(CategoryQuota.defaults(), List.of(alice, bob)));
+        facts.addAll(List.of(aliceTop, aliceBottom, aliceShoes, bobTop));
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::categoryQuotas)
+                .given(facts.toArray())
+                .penalizesBy(2000);
+    }
+
     @Test
     public void mustBeInStockConstraint_inStockItemSelected_noPenalty() {
         ClothingItem inStockItem = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
@@ -213,6 +284,20 @@ public class WardrobeConstraintProviderTest {
                 .penalizesBy(0);
     }
 
+    @Test
+    public void mustBeInStockConstraint_household_onlyStockedInTheShoppersSize() {
+        Shopper medium = new Shopper(0, "Alex", List.of(), SizeProfile.parse("top:M"));
+        Shopper large = new Shopper(1, "Sam", List.of(), SizeProfile.parse("top:L"));
+        ClothingItem forMedium = forShopper(createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false), medium);
+        forMedium.setSizeStock(SizeProfile.maskOf(ClothingCategory.TOP, "M"));
+        ClothingItem forLarge = forShopper(createItem("2", "Shirt", ClothingCategory.TOP, 50.0, true, false), large);
+        forLarge.setSizeStock(SizeProfile.maskOf(ClothingCategory.TOP, "M"));
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::mustBeInStockConstraint)
+                .given(forMedium, forLarge, medium, large)
+                .penalizesBy(100);
+    }
+
     @Test
     public void topAndBottomDifferentColors_differentColors_noPenalty() {
         ClothingItem blackTop = createItem("1", "Black Shirt", ClothingCategory.TOP, 50.0, "black", true, false);
@@ -318,6 +403,18 @@ public class WardrobeConstraintProviderTest {
                 .penalizesBy(1000);
     }
 
+    @Test
+    public void topAndBottomDifferentColors_sameColorForDifferentShoppers_noPenalty() {
+        ClothingItem top = forShopper(createItem("1", "Shirt", ClothingCategory.TOP, 50.0, "blue", true, false),
+                new Shopper(0, "Alice", List.of()));
+        ClothingItem bottom = forShopper(createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, "blue", true, false),
+                new Shopper(1, "Bob", List.of()));
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::topAndBottomDifferentColors)
+                .given(top, bottom)
+                .penalizesBy(0);
+    }
+
     @Test
     public void bottomAndShoesDifferentColors_differentColors_noPenalty() {
         ClothingItem blackBottom = createItem("1", "Black Pants", ClothingCategory.BOTTOM, 50.0, "black", true, false);
@@ -423,41 +520,89 @@ public class WardrobeConstraintProviderTest {
                 .penalizesBy(1000);
     }
 
+    @Test
+    public void topAndBottomDifferentColors_clashingOwnedPair_notPenalized() {
+        // The owned navy pair cannot be changed, but a new navy top still clashes with the owned jeans
+        ClothingItem ownedShirt = ClothingItem.owned("O1", "Navy Shirt", ClothingCategory.TOP, "casual", "navy");
+        ClothingItem ownedJeans = ClothingItem.owned("O2", "Navy Jeans", ClothingCategory.BOTTOM, "casual", "navy");
+        ClothingItem navyTop = createItem("3", "Navy Polo", ClothingCategory.TOP, 30.0, "navy", true, false);
+        navyTop.setSelected(true);
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::topAndBottomDifferentColors)
+                .given(ownedShirt, ownedJeans, navyTop)
+                .penalizesBy(1000);
+    }
+
+    @Test
+    public void bottomAndShoesDifferentColors_clashingOwnedPair_notPenalized() {
+        ClothingItem ownedJeans = ClothingItem.owned("O1", "Black Jeans", ClothingCategory.BOTTOM, "casual", "black");
+        ClothingItem ownedShoes = ClothingItem.owned("O2", "Black Boots", ClothingCategory.SHOES, "casual", "black");
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::bottomAndShoesDifferentColors)
+                .given(ownedJeans, ownedShoes)
+                .penalizesBy(0);
+    }
+
     // ==================== SOFT CONSTRAINT TESTS ====================
 
     @Test
     public void maximizeOutfitCombinations_multipleTopAndBottoms_rewarded() {
-        // 2 tops and 2 bottoms selected
-        ClothingItem top1 = createItem("1", "Shirt 1", ClothingCategory.TOP, 50.0, true, false);
+        // 2 tops, 2 bottoms and 1 pair of shoes, all in distinct colors
+        ClothingItem top1 = createItem("1", "Shirt 1", ClothingCategory.TOP, 50.0, "white", true, false);
         top1.setSelected(true);
 
-        ClothingItem top2 = createItem("2", "Shirt 2", ClothingCategory.TOP, 50.0, true, false);
+        ClothingItem top2 = createItem("2", "Shirt 2", ClothingCategory.TOP, 50.0, "red", true, false);
         top2.setSelected(true);
 
-        ClothingItem bottom1 = createItem("3", "Pants 1", ClothingCategory.BOTTOM, 50.0, true, false);
+        ClothingItem bottom1 = createItem("3", "Pants 1", ClothingCategory.BOTTOM, 50.0, "navy", true, false);
         bottom1.setSelected(true);
 
-        ClothingItem bottom2 = createItem("4", "Pants 2", ClothingCategory.BOTTOM, 50.0, true, false);
+        ClothingItem bottom2 = createItem("4", "Pants 2", ClothingCategory.BOTTOM, 50.0, "beige", true, false);
         bottom2.setSelected(true);
 
-        // Each category gets count * 10 reward: 2*10 + 2*10 = 40
+        ClothingItem shoes = createItem("5", "Sneakers", ClothingCategory.SHOES, 80.0, "brown", true, false);
+        shoes.setSelected(true);
+
+        // 2 tops * 2 bottoms * 1 shoes = 4 outfits * 10 = 40
         constraintVerifier.verifyThat(WardrobeConstraintProvider::maximizeOutfitCombinations)
-                .given(top1, top2, bottom1, bottom2)
+                .given(top1, top2, bottom1, bottom2, shoes)
                 .rewardsWith(40);
     }
 
     @Test
-    public void maximizeOutfitCombinations_onlyTops_lessReward() {
-        ClothingItem top1 = createItem("1", "Shirt 1", ClothingCategory.TOP, 50.0, true, false);
-        top1.setSelected(true);
+    public void maximizeOutfitCombinations_sameColorPairsExcluded() {
+        ClothingItem blackTop = createItem("1", "Black Shirt", ClothingCategory.TOP, 50.0, "black", true, false);
+        blackTop.setSelected(true);
 
-        ClothingItem top2 = createItem("2", "Shirt 2", ClothingCategory.TOP, 50.0, true, false);
-        top2.setSelected(true);
+        ClothingItem whiteTop = createItem("2", "White Shirt", ClothingCategory.TOP, 50.0, "white", true, false);
+        whiteTop.setSelected(true);
+
+        ClothingItem blackBottom = createItem("3", "Black Pants", ClothingCategory.BOTTOM, 50.0, "black", true, false);
+        blackBottom.setSelected(true);
 
-        // Only tops: 2*10 = 20
+        ClothingItem brownShoes = createItem("4", "Brown Boots", ClothingCategory.SHOES, 90.0, "brown", true, false);
+        brownShoes.setSelected(true);
+
+        ClothingItem blackShoes = createItem("5", "Black Sneakers", ClothingCategory.SHOES, 80.0, "black", true, false);
+        blackShoes.setSelected(true);
+
+        // Only white top + black bottom + brown shoes is a valid outfit: 1 * 10 = 10
         constraintVerifier.verifyThat(WardrobeConstraintProvider::maximizeOutfitCombinations)
-                .given(top1, top2)
-                .rewardsWith(20);
+                .given(blackTop, whiteTop, blackBottom, brownShoes, blackShoes)
+                .rewardsWith(10);
+    }
+
+    @Test
+    public void maximizeOutfitCombinations_noShoes_noReward() {
+        ClothingItem top = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, "white", true, false);
+        top.setSelected(true);
+
+        ClothingItem bottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, "navy", true, false);
+        bottom.setSelected(true);
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::maximizeOutfitCombinations)
+                .given(top, bottom)
+                .rewardsWith(0);
     }
 
     @Test
@@ -475,16 +620,38 @@ public class WardrobeConstraintProviderTest {
 
     @Test
     public void maximizeOutfitCombinations_unselectedItemsNotCounted() {
-        ClothingItem selectedTop = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, true, false);
+        ClothingItem selectedTop = createItem("1", "Shirt", ClothingCategory.TOP, 50.0, "white", true, false);
         selectedTop.setSelected(true);
 
-        ClothingItem unselectedBottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, true, false);
+        ClothingItem unselectedBottom = createItem("2", "Pants", ClothingCategory.BOTTOM, 50.0, "navy", true, false);
         unselectedBottom.setSelected(false);
 
-        // Only 1 top selected: 1*10 = 10
+        ClothingItem selectedShoes = createItem("3", "Sneakers", ClothingCategory.SHOES, 80.0, "brown", true, false);
+        selectedShoes.setSelected(true);
+
+        // No selected bottom, so no outfit
         constraintVerifier.verifyThat(WardrobeConstraintProvider::maximizeOutfitCombinations)
-                .given(selectedTop, unselectedBottom)
-                .rewardsWith(10);
+                .given(selectedTop, unselectedBottom, selectedShoes)
+                .rewardsWith(0);
+    }
+
+    @Test
+    public void maximizeOutfitCombinations_household_countsOutfitsPerShopper() {
+        List<Object> items = new ArrayList<>();
+        for (Shopper shopper : List.of(new Shopper(0, "Alice", List.of()), new Shopper(1, "Bob", List.of()))) {
+            String id = shopper.getId();
+            items.add(forShopper(createItem(id + "T", "Shirt", ClothingCategory.TOP, 50.0, "white", true, false),
+                    shopper));
+            items.add(forShopper(createItem(id + "B", "Pants", ClothingCategory.BOTTOM, 50.0, "navy", true, false),
+                    shopper));
+            items.add(forShopper(createItem(id + "S", "Sneakers", ClothingCategory.SHOES, 80.0, "brown", true, false),
+                    shopper));
+        }
+
+        // One outfit each, not 2 * 2 * 2 = 8 across the household: 2 * 10 = 20
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::maximizeOutfitCombinations)
+                .given(items.toArray())
+                .rewardsWith(20);
     }
 
     @Test
@@ -546,8 +713,81 @@ public class WardrobeConstraintProviderTest {
                 .rewardsWith(5);
     }
 
+    @Test
+    public void preferredStyles_onlyPreferredSelectedItemsRewarded() {
+        StylePreference preference = StylePreference.of(List.of("casual", "smart-casual"));
+
+        ClothingItem casualShirt = createItem("1", "Casual Shirt", ClothingCategory.TOP, 50.0, "casual", "blue", true);
+        casualShirt.setStyleMask(preference.maskOf("casual"));
+        casualShirt.setSelected(true);
+
+        ClothingItem smartPants = createItem("2", "Chinos", ClothingCategory.BOTTOM, 50.0, "Smart-Casual", "beige", true);
+        smartPants.setStyleMask(preference.maskOf("Smart-Casual"));
+        smartPants.setSelected(true);
+
+        ClothingItem formalShoes = createItem("3", "Oxfords", ClothingCategory.SHOES, 50.0, "formal", "black", true);
+        formalShoes.setStyleMask(preference.maskOf("formal"));
+        formalShoes.setSelected(true);
+
+        ClothingItem unselectedCasual = createItem("4", "Casual Tee", ClothingCategory.TOP, 50.0, "casual", "red", true);
+        unselectedCasual.setStyleMask(preference.maskOf("casual"));
+        unselectedCasual.setSelected(false);
+
+        // 2 selected items in preferred styles: 2 * 3 = 6
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::preferredStyles)
+                .given(casualShirt, smartPants, formalShoes, unselectedCasual, preference)
+                .rewardsWith(6);
+    }
+
+    @Test
+    public void preferredStyles_noPreferences_noReward() {
+        StylePreference preference = StylePreference.of(List.of());
+
+        ClothingItem casualShirt = createItem("1", "Casual Shirt", ClothingCategory.TOP, 50.0, "casual", "blue", true);
+        casualShirt.setStyleMask(preference.maskOf("casual"));
+        casualShirt.setSelected(true);
+
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::preferredStyles)
+                .given(casualShirt, preference)
+                .rewardsWith(0);
+    }
+
+    @Test
+    public void preferredStyles_household_rewardsEachShoppersOwnStyles() {
+        Shopper alice = new Shopper(0, "Alice", List.of("casual"));
+        Shopper bob = new Shopper(1, "Bob", List.of("formal"));
+        StylePreference preference = StylePreference.of(List.of(), List.of(alice, bob));
+
+        ClothingItem aliceShirt = forShopper(
+                createItem("1", "Casual Shirt", ClothingCategory.TOP, 50.0, "casual", "blue", true), alice);
+        aliceShirt.setStyleMask(preference.maskOf("casual"));
+        ClothingItem bobShirt = forShopper(
+                createItem("2", "Casual Shirt", ClothingCategory.TOP, 50.0, "casual", "blue", true), bob);
+        bobShirt.setStyleMask(preference.maskOf("casual"));
+        ClothingItem bobShoes = forShopper(
+                createItem("3", "Oxfords", ClothingCategory.SHOES, 50.0, "formal", "black", true), bob);
+        bobShoes.setStyleMask(preference.maskOf("formal"));
+
+        // Alice's casual shirt and Bob's formal shoes, but not Bob's casual shirt: 2 * 3 = 6
+        constraintVerifier.verifyThat(WardrobeConstraintProvider::preferredStyles)
+                .given(aliceShirt, bobShirt, bobShoes, preference)
+                .rewardsWith(6);
+    }
+
     // ==================== HELPER METHODS ====================
 
+    private Object[] withDefaultQuotas(Object... facts) {
+        List<Object> all = new ArrayList<>(CategoryQuota.defaults());
+        all.addAll(List.of(facts));
+        return all.toArray();
+    }
+
+    private ClothingItem forShopper(ClothingItem item, Shopper shopper) {
+        item.setShopper(shopper);
+        item.setSelected(true);
+        return item;
+    }
+
     private ClothingItem createItem(String id, String name, ClothingCategory category,
                                    double price, boolean inStock, boolean essential) {
         return createItem(id, name, category, price, "casual", "blue", inStock);